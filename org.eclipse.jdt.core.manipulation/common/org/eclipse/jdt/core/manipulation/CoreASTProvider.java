@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 IBM Corporation and others.
+ * Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.core.resources.IResource;
+
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -31,12 +33,18 @@ import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 
 /**
  * The {@link CoreASTProvider} provides access to the {@link CompilationUnit AST root} used by
  * the current active Java editor.
+ * <p>
+ * The ASTs of recently active editors and the ASTs created for other elements are kept in a bounded
+ * cache, from which they are returned for all wait flags as long as the elements have not been
+ * modified.
+ * </p>
  *
  * The {@link CoreASTProvider} contains all methods/functionality that are
  * not dependent on the UI, from org.eclipse.jdt.internal.ui.javaeditor.ASTProvider
@@ -59,6 +67,10 @@ public final class CoreASTProvider {
 	private volatile ITypeRoot fReconcilingJavaElement;
 	private ITypeRoot fActiveJavaElement;
 	private CompilationUnit fAST;
+	private ITypeRoot fASTJavaElement;
+	private long fASTStamp= IResource.NULL_STAMP;
+	private volatile long fReconcilingStamp= IResource.NULL_STAMP;
+	private final RecentASTCache fRecentASTs= RecentASTCache.getInstance();
 	private Object fReconcileLock= new Object();
 	private Object fWaitLock= new Object();
 	private volatile boolean fIsReconciling;
@@ -135,14 +147,25 @@ public final class CoreASTProvider {
 		boolean isActiveElement;
 		synchronized (this) {
 			isActiveElement= input.equals(fActiveJavaElement);
-			if (isActiveElement) {
-				if (fAST != null) {
-					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
-						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(fAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			if (isActiveElement && fAST != null) {
+				if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+					System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning cached AST:" + toString(fAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
-					return fAST;
-				}
-				if (waitFlag == CoreASTProvider.WAIT_NO) {
+				return fAST;
+			}
+		}
+
+		CompilationUnit recentAST= fRecentASTs.get(input);
+		if (recentAST != null) {
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+				System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning recent AST:" + toString(recentAST) + " for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+			return recentAST;
+		}
+
+		synchronized (this) {
+			if (isActiveElement) {
+				if (fAST == null && waitFlag == CoreASTProvider.WAIT_NO) {
 					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 						System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "returning null (WAIT_NO) for: " + input.getElementName()); //$NON-NLS-1$ //$NON-NLS-2$
 
@@ -194,6 +217,7 @@ public final class CoreASTProvider {
 			return null;
 
 
+		long stamp= isActiveElement ? IResource.NULL_STAMP : RecentASTCache.getModificationStamp(input);
 		CompilationUnit ast= null;
 		try {
 			ast= createAST(input, progressMonitor);
@@ -212,6 +236,8 @@ public final class CoreASTProvider {
 					return fAST;
 				} else
 					reconciled(ast, input, null);
+			} else if (ast != null) {
+				fRecentASTs.put(input, ast, stamp);
 			}
 		}
 		return ast;
@@ -250,8 +276,11 @@ public final class CoreASTProvider {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "about to reconcile: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$
 
+		// obtained before the reconciler reads the buffer, so that a later change invalidates the AST
+		long stamp= RecentASTCache.getModificationStamp(javaElement);
 		synchronized (fReconcileLock) {
 			fReconcilingJavaElement= javaElement;
+			fReconcilingStamp= stamp;
 			fIsReconciling= true;
 			this.fFinishReconciling = finishReconciling;
 		}
@@ -337,7 +366,8 @@ public final class CoreASTProvider {
 
 				return;
 			}
-			cache(ast, javaElement);
+			fRecentASTs.remove(javaElement);
+			cache(ast, javaElement, fReconcilingStamp);
 		}
 	}
 
@@ -357,7 +387,11 @@ public final class CoreASTProvider {
 	 * @param ast the ast
 	 * @param javaElement the java element
 	 */
-	public synchronized void cache(CompilationUnit ast, ITypeRoot javaElement) {
+	public void cache(CompilationUnit ast, ITypeRoot javaElement) {
+		cache(ast, javaElement, IResource.NULL_STAMP);
+	}
+
+	private synchronized void cache(CompilationUnit ast, ITypeRoot javaElement, long stamp) {
 
 		if (fActiveJavaElement != null && !fActiveJavaElement.equals(javaElement)) {
 			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && javaElement != null) // don't report call from disposeAST()
@@ -368,10 +402,17 @@ public final class CoreASTProvider {
 		if (JavaManipulationPlugin.DEBUG_AST_PROVIDER && (javaElement != null || ast != null)) // don't report call from disposeAST()
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "caching AST: " + toString(ast) + " for: " + toString(javaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
+		if (fAST != null && fASTJavaElement != null && !fASTJavaElement.equals(javaElement)) {
+			// the active editor changed, keep its AST for when it becomes visible again
+			fRecentASTs.put(fASTJavaElement, fAST, fASTStamp);
+		}
+
 		if (fAST != null)
-			disposeAST();
+			disposeActiveAST();
 
 		fAST= ast;
+		fASTJavaElement= ast != null ? javaElement : null;
+		fASTStamp= ast != null ? stamp : IResource.NULL_STAMP;
 
 		// Signal AST change
 		synchronized (fWaitLock) {
@@ -399,9 +440,14 @@ public final class CoreASTProvider {
 	}
 
 	/**
-	 * Disposes the cached AST.
+	 * Disposes the cached AST and the ASTs of recently active editors.
 	 */
 	public synchronized void disposeAST() {
+		fRecentASTs.clear();
+		disposeActiveAST();
+	}
+
+	private synchronized void disposeActiveAST() {
 
 		if (fAST == null)
 			return;
@@ -410,6 +456,8 @@ public final class CoreASTProvider {
 			System.out.println(getThreadName() + " - " + DEBUG_PREFIX + "disposing AST: " + toString(fAST) + " for: " + toString(fActiveJavaElement)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
 		fAST= null;
+		fASTJavaElement= null;
+		fASTStamp= IResource.NULL_STAMP;
 
 		cache(null, null);
 	}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+
+/**
+ * Visits an AST once on behalf of several participants. Each participant registers the kinds of
+ * nodes it is interested in, like the predicates and consumers of a {@link HelperVisitor}, and is
+ * only called for these.
+ * <p>
+ * A participant behaves as if it visited the AST alone with an {@link ASTVisitor}: if its visit
+ * predicate returns <code>false</code> for a node, it is not called for the descendants of that
+ * node, but its end visit consumer is still called for the node itself. The walk only descends
+ * into a subtree as long as at least one participant is interested in it. Javadoc comments are not
+ * visited.
+ * </p>
+ */
+public class FusedASTVisitor extends ASTVisitor {
+
+	/**
+	 * The node kinds a participant is interested in and what to do when visiting them.
+	 */
+	public static class Participant {
+
+		private final Map<VisitorEnum, Predicate<ASTNode>> fVisits= new EnumMap<>(VisitorEnum.class);
+
+		private final Map<VisitorEnum, Consumer<ASTNode>> fEndVisits= new EnumMap<>(VisitorEnum.class);
+
+		/**
+		 * The node whose descendants this participant does not want to visit, or <code>null</code>.
+		 */
+		private ASTNode fSkippedNode;
+
+		private int fVisitCount;
+
+		private long fVisitTime;
+
+		/**
+		 * Registers the visit of a node kind.
+		 *
+		 * @param <N> the class of the nodes of the kind
+		 * @param kind the node kind
+		 * @param visit called with each node of the kind, returns whether the descendants of the node
+		 *            should be visited
+		 * @return this participant
+		 */
+		@SuppressWarnings("unchecked")
+		public <N extends ASTNode> Participant visit(VisitorEnum kind, Predicate<N> visit) {
+			fVisits.put(kind, (Predicate<ASTNode>) visit);
+			return this;
+		}
+
+		/**
+		 * Registers the end visit of a node kind.
+		 *
+		 * @param <N> the class of the nodes of the kind
+		 * @param kind the node kind
+		 * @param endVisit called with each node of the kind after its descendants
+		 * @return this participant
+		 */
+		@SuppressWarnings("unchecked")
+		public <N extends ASTNode> Participant endVisit(VisitorEnum kind, Consumer<N> endVisit) {
+			fEndVisits.put(kind, (Consumer<ASTNode>) endVisit);
+			return this;
+		}
+
+		/**
+		 * @return the number of nodes this participant has been called for by the last visit
+		 */
+		public int getVisitCount() {
+			return fVisitCount;
+		}
+
+		/**
+		 * @return the wall time in nanoseconds this participant has been called for by the last
+		 *         visit, 0 if the visit has not been timed
+		 */
+		public long getVisitTime() {
+			return fVisitTime;
+		}
+	}
+
+	private static final Participant[] NO_PARTICIPANTS= new Participant[0];
+
+	/**
+	 * The interested participants, indexed by node type.
+	 */
+	private final Participant[][] fParticipants;
+
+	private final int fParticipantCount;
+
+	private int fSkippingCount;
+
+	private final boolean fTimed;
+
+	/**
+	 * @param participants the participants, called in this order for each node
+	 */
+	public FusedASTVisitor(List<? extends Participant> participants) {
+		this(participants, false);
+	}
+
+	/**
+	 * @param participants the participants, called in this order for each node
+	 * @param timed <code>true</code> to measure the time spent in each participant, see
+	 *            {@link Participant#getVisitTime()}
+	 */
+	public FusedASTVisitor(List<? extends Participant> participants, boolean timed) {
+		super(false);
+		fTimed= timed;
+		List<List<Participant>> byNodeType= new ArrayList<>();
+		for (Participant participant : participants) {
+			for (VisitorEnum kind : VisitorEnum.values()) {
+				if (participant.fVisits.containsKey(kind) || participant.fEndVisits.containsKey(kind)) {
+					int nodeType= kind.getValue();
+					while (byNodeType.size() <= nodeType) {
+						byNodeType.add(null);
+					}
+					if (byNodeType.get(nodeType) == null) {
+						byNodeType.set(nodeType, new ArrayList<>());
+					}
+					byNodeType.get(nodeType).add(participant);
+				}
+			}
+			participant.fSkippedNode= null;
+			participant.fVisitCount= 0;
+			participant.fVisitTime= 0;
+		}
+		fParticipants= new Participant[byNodeType.size()][];
+		for (int i= 0; i < fParticipants.length; i++) {
+			List<Participant> interested= byNodeType.get(i);
+			fParticipants[i]= interested == null ? NO_PARTICIPANTS : interested.toArray(new Participant[interested.size()]);
+		}
+		fParticipantCount= participants.size();
+	}
+
+	/**
+	 * Visits a node and its descendants for the given participants.
+	 *
+	 * @param node the node to visit
+	 * @param participants the participants
+	 */
+	public static void visit(ASTNode node, List<? extends Participant> participants) {
+		if (!participants.isEmpty()) {
+			node.accept(new FusedASTVisitor(participants));
+		}
+	}
+
+	@Override
+	public boolean preVisit2(ASTNode node) {
+		Participant[] participants= getParticipants(node);
+		VisitorEnum kind= participants.length > 0 ? VisitorEnum.fromNode(node) : null;
+		for (Participant participant : participants) {
+			if (participant.fSkippedNode == null) {
+				Predicate<ASTNode> visit= participant.fVisits.get(kind);
+				participant.fVisitCount++;
+				if (visit != null && !test(participant, visit, node)) {
+					participant.fSkippedNode= node;
+					fSkippingCount++;
+				}
+			}
+		}
+		return fSkippingCount < fParticipantCount;
+	}
+
+	@Override
+	public void postVisit(ASTNode node) {
+		Participant[] participants= getParticipants(node);
+		VisitorEnum kind= participants.length > 0 ? VisitorEnum.fromNode(node) : null;
+		for (Participant participant : participants) {
+			if (participant.fSkippedNode == null || participant.fSkippedNode == node) {
+				Consumer<ASTNode> endVisit= participant.fEndVisits.get(kind);
+				if (endVisit != null) {
+					if (fTimed) {
+						long start= System.nanoTime();
+						endVisit.accept(node);
+						participant.fVisitTime+= System.nanoTime() - start;
+					} else {
+						endVisit.accept(node);
+					}
+				}
+				if (participant.fSkippedNode == node) {
+					participant.fSkippedNode= null;
+					fSkippingCount--;
+				}
+			}
+		}
+	}
+
+	private boolean test(Participant participant, Predicate<ASTNode> visit, ASTNode node) {
+		if (!fTimed)
+			return visit.test(node);
+
+		long start= System.nanoTime();
+		try {
+			return visit.test(node);
+		} finally {
+			participant.fVisitTime+= System.nanoTime() - start;
+		}
+	}
+
+	private Participant[] getParticipants(ASTNode node) {
+		int nodeType= node.getNodeType();
+		return nodeType < fParticipants.length ? fParticipants[nodeType] : NO_PARTICIPANTS;
+	}
+}
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Bounded cache of the shared ASTs of Java elements that are not in the active editor.
+ * <p>
+ * {@link org.eclipse.jdt.core.manipulation.CoreASTProvider} only keeps the AST of the active editor.
+ * The AST of an editor that gets deactivated, and ASTs that are created for other elements, are kept
+ * here, so that switching between editors or running hovers, code minings and quick fixes on a
+ * recently visible element does not parse it again.
+ * </p>
+ * <p>
+ * An AST is only returned as long as the modification stamp of its element's buffer is the one the
+ * AST has been created from. Java element deltas that may change the resolved bindings of other
+ * elements clear the cache. Entries are evicted in least recently used order when the number of
+ * entries or their estimated heap size exceed the configured limits.
+ * </p>
+ */
+public final class RecentASTCache {
+
+	private record Entry(CompilationUnit ast, long stamp, long size) {
+	}
+
+	private class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			processDelta(event.getDelta());
+		}
+	}
+
+	/**
+	 * Maximal number of cached ASTs. Can be configured with the system property
+	 * <code>org.eclipse.jdt.core.manipulation.astCacheSize</code>; <code>0</code> disables the cache.
+	 */
+	private static final int MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.core.manipulation.astCacheSize", 8).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Maximal estimated heap size of the cached ASTs in bytes. Can be configured with the system
+	 * property <code>org.eclipse.jdt.core.manipulation.astCacheBudget</code>.
+	 */
+	private static final long MEMORY_BUDGET= Long.getLong("org.eclipse.jdt.core.manipulation.astCacheBudget", Runtime.getRuntime().maxMemory() / 32).longValue(); //$NON-NLS-1$
+
+	/**
+	 * Estimated number of bytes retained by an AST with resolved bindings per character of source,
+	 * including the compiler structures referenced by the binding resolver.
+	 */
+	private static final int ESTIMATED_SIZE_PER_CHAR= 48;
+
+	private static final RecentASTCache fgInstance= new RecentASTCache();
+
+	private final Map<ITypeRoot, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+
+	private long fRetainedSize;
+
+	private int fHits;
+
+	private int fMisses;
+
+	private boolean fListenerInstalled;
+
+	private RecentASTCache() {
+	}
+
+	/**
+	 * @return the cache used by the shared AST provider
+	 */
+	public static RecentASTCache getInstance() {
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the cached AST for the given element if it is still up to date.
+	 *
+	 * @param input the Java element
+	 * @return the AST or <code>null</code>
+	 */
+	public CompilationUnit get(ITypeRoot input) {
+		long stamp= getModificationStamp(input);
+		synchronized (this) {
+			Entry entry= fEntries.get(input);
+			if (entry != null && (stamp == IResource.NULL_STAMP || entry.stamp() != stamp)) {
+				remove(input);
+				entry= null;
+			}
+			if (entry == null) {
+				fMisses++;
+				return null;
+			}
+			fHits++;
+			return entry.ast();
+		}
+	}
+
+	/**
+	 * Adds the given AST to the cache.
+	 *
+	 * @param input the Java element
+	 * @param ast the AST of the element
+	 * @param stamp the modification stamp of the element's buffer, obtained with
+	 *            {@link #getModificationStamp(ITypeRoot)} before the contents were read for
+	 *            creating the AST
+	 */
+	public void put(ITypeRoot input, CompilationUnit ast, long stamp) {
+		if (ast == null || stamp == IResource.NULL_STAMP || MAX_ENTRIES <= 0)
+			return;
+		long size= estimateSize(ast);
+		synchronized (this) {
+			if (!fListenerInstalled) {
+				JavaCore.addElementChangedListener(new DeltaListener(), ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+				fListenerInstalled= true;
+			}
+			remove(input);
+			fEntries.put(input, new Entry(ast, stamp, size));
+			fRetainedSize+= size;
+			for (Iterator<Entry> iter= fEntries.values().iterator(); iter.hasNext() && (fEntries.size() > MAX_ENTRIES || fRetainedSize > MEMORY_BUDGET);) {
+				fRetainedSize-= iter.next().size();
+				iter.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes the AST of the given element.
+	 *
+	 * @param input the Java element
+	 */
+	public synchronized void remove(ITypeRoot input) {
+		Entry entry= fEntries.remove(input);
+		if (entry != null)
+			fRetainedSize-= entry.size();
+	}
+
+	/**
+	 * Removes all ASTs.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fRetainedSize= 0;
+	}
+
+	public synchronized int getSize() {
+		return fEntries.size();
+	}
+
+	public synchronized int getHitCount() {
+		return fHits;
+	}
+
+	public synchronized int getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the ratio of lookups that were answered from the cache, or <code>0</code> if there
+	 *         were no lookups
+	 */
+	public synchronized double getHitRate() {
+		int lookups= fHits + fMisses;
+		return lookups == 0 ? 0 : (double) fHits / lookups;
+	}
+
+	/**
+	 * @return the estimated number of bytes retained by the cached ASTs
+	 */
+	public synchronized long getRetainedSize() {
+		return fRetainedSize;
+	}
+
+	/**
+	 * Returns the modification stamp of the buffer of the given element.
+	 *
+	 * @param input the Java element
+	 * @return the modification stamp of the editor document or of the file, or
+	 *         {@link IResource#NULL_STAMP} if the buffer contents cannot be identified by a stamp
+	 */
+	public static long getModificationStamp(ITypeRoot input) {
+		IResource resource= input.getResource();
+		if (input instanceof IClassFile)
+			return resource != null ? resource.getModificationStamp() : 0; // archive changes are reported as class path deltas
+		if (!(input instanceof ICompilationUnit) || !(resource instanceof IFile))
+			return IResource.NULL_STAMP;
+		ICompilationUnit cu= (ICompilationUnit) input;
+		if (cu.getOwner() != null)
+			return IResource.NULL_STAMP; // working copy of a refactoring or another client
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(resource.getFullPath(), LocationKind.IFILE);
+		if (buffer != null) {
+			IDocument document= buffer.getDocument();
+			if (document instanceof IDocumentExtension4)
+				return ((IDocumentExtension4) document).getModificationStamp();
+			return IResource.NULL_STAMP;
+		}
+		try {
+			if (cu.isWorkingCopy() || cu.hasUnsavedChanges())
+				return IResource.NULL_STAMP; // buffer is not backed by the file
+		} catch (JavaModelException e) {
+			return IResource.NULL_STAMP;
+		}
+		return resource.getModificationStamp();
+	}
+
+	private static long estimateSize(CompilationUnit ast) {
+		return (long) (ast.getStartPosition() + ast.getLength()) * ESTIMATED_SIZE_PER_CHAR;
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & ~IJavaElementDelta.F_CHILDREN) != 0) {
+					clear();
+					return;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				// changed members or coarse-grained changes may affect the bindings in other ASTs,
+				// while edits in method bodies only affect the element itself
+				if (kind != IJavaElementDelta.CHANGED || delta.getAffectedChildren().length > 0
+						|| (flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+					clear();
+				} else {
+					remove((ITypeRoot) element);
+				}
+				return;
+			default:
+				clear();
+				return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren())
+			processDelta(child);
+	}
+}
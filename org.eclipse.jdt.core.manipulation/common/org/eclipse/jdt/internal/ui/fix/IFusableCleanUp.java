@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.fix;
+
+import java.util.Collections;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
+
+import org.eclipse.jdt.internal.common.FusedASTVisitor;
+
+/**
+ * A clean up that finds what to fix in a single traversal of the AST, which it can share with
+ * other clean ups. The clean up refactoring visits the AST once for all fusable clean ups instead
+ * of once per clean up.
+ */
+public interface IFusableCleanUp extends ICleanUp {
+
+	/**
+	 * Collects the fixes of a clean up for one compilation unit while its AST is visited.
+	 */
+	public static abstract class FixCollector extends FusedASTVisitor.Participant {
+
+		/**
+		 * Called after the AST has been visited.
+		 *
+		 * @return the fix for the collected problems or <code>null</code> if there is nothing to fix
+		 * @throws CoreException if the fix could not be created
+		 */
+		public abstract ICleanUpFix createFix() throws CoreException;
+	}
+
+	/**
+	 * Creates the collector for the given AST. All state of the clean up for the compilation unit
+	 * has to be kept in the collector, collectors of different compilation units may be used
+	 * concurrently. The collector must therefore not change the clean up while the AST is visited
+	 * or its fix is created; it may only read the options of the clean up, which are set before any
+	 * collector is created.
+	 *
+	 * @param unit the AST of the compilation unit
+	 * @return the collector or <code>null</code> if the clean up is not enabled
+	 * @throws CoreException if the collector could not be created
+	 */
+	FixCollector createFixCollector(CompilationUnit unit) throws CoreException;
+
+	/**
+	 * Creates the fix of a fusable clean up on its own.
+	 *
+	 * @param cleanUp the clean up
+	 * @param unit the AST of the compilation unit
+	 * @return the fix or <code>null</code> if there is nothing to fix
+	 * @throws CoreException if the fix could not be created
+	 */
+	static ICleanUpFix createFix(IFusableCleanUp cleanUp, CompilationUnit unit) throws CoreException {
+		FixCollector collector= cleanUp.createFixCollector(unit);
+		if (collector == null)
+			return null;
+
+		FusedASTVisitor.visit(unit, Collections.singletonList(collector));
+		return collector.createFix();
+	}
+}
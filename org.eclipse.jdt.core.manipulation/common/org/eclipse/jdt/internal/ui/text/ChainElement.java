@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2019 Darmstadt University of Technology and others.
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -55,6 +55,22 @@ public class ChainElement {
 		initializeReturnType();
 	}
 
+	/**
+	 * Creates a chain element whose return type is already known, see {@link ChainTypeIndex}.
+	 *
+	 * @param element the field or method
+	 * @param elementType the kind of the element
+	 * @param returnType the return type of the element
+	 * @param dimension the array dimension of the return type
+	 */
+	ChainElement(final IJavaElement element, final ElementType elementType, final ChainType returnType, final int dimension) {
+		this.element= element;
+		this.elementType= elementType;
+		this.returnType= returnType;
+		this.dimension= dimension;
+		this.requireThis= false;
+	}
+
 	private void initializeReturnType() {
 		String signature= null;
 		IJavaProject proj= element.getJavaProject();
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2011, 2019 Stefan Henss and others.
+ * Copyright (c) 2011, 2026 Stefan Henss and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,11 +12,13 @@ package org.eclipse.jdt.internal.ui.text;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import org.eclipse.jdt.core.CompletionContext;
@@ -24,6 +26,7 @@ import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
@@ -34,7 +37,7 @@ import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 public final class ChainElementAnalyzer {
 
-	private static final Map<String, IType> typeCache= new HashMap<>();
+	private static final Map<String, IType> typeCache= new ConcurrentHashMap<>();
 
 	private static final Predicate<IField> NON_STATIC_FIELDS_ONLY_FILTER = t -> {
 		try {
@@ -71,7 +74,7 @@ public final class ChainElementAnalyzer {
     private ChainElementAnalyzer() {
     }
 
-    private static boolean isVoid(final IMethod m) {
+    static boolean isVoid(final IMethod m) {
         try {
 			return String.valueOf(Signature.C_VOID).equals(m.getReturnType());
 		} catch (JavaModelException e) {
@@ -125,6 +128,39 @@ public final class ChainElementAnalyzer {
         return tmp.values();
     }
 
+    /**
+     * Returns the chain elements of the visible fields and relevant methods of an indexed type and
+     * its super types, like {@link #findVisibleInstanceFieldsAndRelevantInstanceMethods(ChainType, ChainType)}
+     * and {@link #findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(ChainType, ChainType)}.
+     *
+     * @param type the type
+     * @param receiverType the type the members have to be visible from
+     * @param staticOnly <code>true</code> for the static members, <code>false</code> for the
+     *            instance members
+     * @return the chain elements or <code>null</code> if the type is not indexed by
+     *         {@link ChainTypeIndex}
+     */
+    static Collection<ChainElement> findIndexedEdges(final ChainType type, final ChainType receiverType, final boolean staticOnly) {
+        final ChainTypeIndex.Entry entry= type.getType() != null ? ChainTypeIndex.get(type.getType()) : null;
+        if (entry == null) {
+            return null;
+        }
+        final Set<ChainElement> edges= new LinkedHashSet<>();
+        for (final ChainTypeIndex.Member member : entry.members()) {
+            if (member.isStatic() != staticOnly) {
+                continue;
+            }
+            final IJavaElement element= member.edge().getElement();
+            final boolean visible= element instanceof IMethod
+                    ? methodCanBeSeenBy((IMethod) element, member.flags(), receiverType.getType())
+                    : fieldCanBeSeenBy((IField) element, member.flags(), receiverType.getType());
+            if (visible) {
+                edges.add(member.edge());
+            }
+        }
+        return edges;
+    }
+
     private static List<IType> findAllSupertypesIncludingArgument(final ChainType type) {
         if ((type.getPrimitiveType() != null)) {
             return Collections.emptyList();
@@ -157,6 +193,10 @@ public final class ChainElementAnalyzer {
 
     public static boolean isAssignable(final ChainElement edge, final IType expectedType,
             final int expectedDimension) {
+        final Boolean indexed= isAssignableByIndex(edge, expectedType, expectedDimension);
+        if (indexed != null) {
+            return indexed.booleanValue();
+        }
         if (expectedDimension <= edge.getReturnTypeDimension()) {
             final IType base = edge.getReturnType().getType();
             if (isAssignmentCompatible(base, expectedType)) {
@@ -192,6 +232,26 @@ public final class ChainElementAnalyzer {
         return false;
     }
 
+    /**
+     * Tells whether the return type of a chain element is assignable to the expected type with a
+     * lookup in {@link ChainTypeIndex}.
+     *
+     * @param edge the chain element
+     * @param expectedType the expected type
+     * @param expectedDimension the expected array dimension
+     * @return whether the return type is assignable, or <code>null</code> if it is not indexed
+     */
+    static Boolean isAssignableByIndex(final ChainElement edge, final IType expectedType,
+            final int expectedDimension) {
+        final IType base= edge.getReturnType().getType();
+        final ChainTypeIndex.Entry entry= base != null ? ChainTypeIndex.get(base) : null;
+        if (entry == null) {
+            return null;
+        }
+        return Boolean.valueOf(expectedDimension <= edge.getReturnTypeDimension()
+                && entry.supertypes().contains(expectedType.getFullyQualifiedName()));
+    }
+
     private static boolean isAssignmentCompatible(IType base, IType expectedType) {
         LinkedList<IType> types= new LinkedList<> ();
         types.add(base);
@@ -293,7 +353,7 @@ public final class ChainElementAnalyzer {
 			if (resType != null) {
 				String fqExpectedType= JavaModelUtil.concatenateName(resType[0][0], resType[0][1]);
 				res= proj.findType(fqExpectedType);
-				if (isResolved) {
+				if (isResolved && res != null) {
 					typeCache.put(typeSig, res);
 				}
 				return res;
@@ -305,12 +365,12 @@ public final class ChainElementAnalyzer {
 	}
 
 	private static boolean methodCanBeSeenBy(IMethod mb, IType invocationType) {
-		try {
-			if (Flags.isPublic(mb.getFlags())) {
-				return true;
-			}
-		} catch (JavaModelException e1) {
-			// ignore
+		return methodCanBeSeenBy(mb, getFlags(mb), invocationType);
+	}
+
+	private static boolean methodCanBeSeenBy(IMethod mb, int flags, IType invocationType) {
+		if (Flags.isPublic(flags)) {
+			return true;
 		}
 		if (invocationType.equals(mb.getDeclaringType())) {
 			return true;
@@ -318,42 +378,34 @@ public final class ChainElementAnalyzer {
 
 		String invocationPackage= invocationType.getPackageFragment().getElementName();
 		String methodPackage= mb.getDeclaringType().getPackageFragment().getElementName();
-		try {
-			if (Flags.isProtected(mb.getFlags())) {
-				if (invocationPackage.equals(methodPackage)) {
-					return false; // isSuper ?
-				}
+		if (Flags.isProtected(flags)) {
+			if (invocationPackage.equals(methodPackage)) {
+				return false; // isSuper ?
 			}
-		} catch (JavaModelException e) {
-			// ignore
 		}
 
-		try {
-			if (Flags.isPrivate(mb.getFlags())) {
-				IType mTypeRoot= mb.getDeclaringType();
-				while (invocationType.getDeclaringType() != null) {
-					mTypeRoot= mTypeRoot.getDeclaringType();
-				}
-				IType invTypeRoot= invocationType;
-				while (invTypeRoot.getDeclaringType() != null) {
-					invTypeRoot= invTypeRoot.getDeclaringType();
-				}
-				return mTypeRoot.equals(invTypeRoot);
+		if (Flags.isPrivate(flags)) {
+			IType mTypeRoot= mb.getDeclaringType();
+			while (invocationType.getDeclaringType() != null) {
+				mTypeRoot= mTypeRoot.getDeclaringType();
 			}
-		} catch (JavaModelException e) {
-			// ignore
+			IType invTypeRoot= invocationType;
+			while (invTypeRoot.getDeclaringType() != null) {
+				invTypeRoot= invTypeRoot.getDeclaringType();
+			}
+			return mTypeRoot.equals(invTypeRoot);
 		}
 
 		return invocationPackage.equals(methodPackage);
 	}
 
 	private static boolean fieldCanBeSeenBy(IField fb, IType invocationType) {
-		try {
-			if (Flags.isPublic(fb.getFlags())) {
-				return true;
-			}
-		} catch (JavaModelException e2) {
-			// ignore
+		return fieldCanBeSeenBy(fb, getFlags(fb), invocationType);
+	}
+
+	private static boolean fieldCanBeSeenBy(IField fb, int flags, IType invocationType) {
+		if (Flags.isPublic(flags)) {
+			return true;
 		}
 
 		if (invocationType.equals(fb.getDeclaringType())) {
@@ -363,7 +415,7 @@ public final class ChainElementAnalyzer {
 		String invocationpackage = invocationType.getPackageFragment().getElementName();
 		String fieldPackage = fb.getDeclaringType().getPackageFragment().getElementName();
 		try {
-			if (Flags.isProtected(fb.getFlags())) {
+			if (Flags.isProtected(flags)) {
 				if (invocationType.equals(fb.getDeclaringType())) {
 					return true;
 				}
@@ -383,22 +435,18 @@ public final class ChainElementAnalyzer {
 			// ignore
 		}
 
-		try {
-			if (Flags.isPrivate(fb.getFlags())) {
-				IType fTypeRoot= fb.getDeclaringType();
-				while (invocationType.getDeclaringType() != null) {
-					fTypeRoot= fTypeRoot.getDeclaringType();
-				}
-				IType invTypeRoot= invocationType;
-				while (invTypeRoot.getDeclaringType() != null) {
-					invTypeRoot= invTypeRoot.getDeclaringType();
-				}
-				if (fTypeRoot.equals(invTypeRoot)) {
-					return true;
-				}
+		if (Flags.isPrivate(flags)) {
+			IType fTypeRoot= fb.getDeclaringType();
+			while (invocationType.getDeclaringType() != null) {
+				fTypeRoot= fTypeRoot.getDeclaringType();
+			}
+			IType invTypeRoot= invocationType;
+			while (invTypeRoot.getDeclaringType() != null) {
+				invTypeRoot= invTypeRoot.getDeclaringType();
+			}
+			if (fTypeRoot.equals(invTypeRoot)) {
+				return true;
 			}
-		} catch (JavaModelException e) {
-			// ignore
 		}
 
 		if (! invocationpackage.equals(fieldPackage)) {
@@ -408,6 +456,14 @@ public final class ChainElementAnalyzer {
 		return false;
 	}
 
+	private static int getFlags(IMember member) {
+		try {
+			return member.getFlags();
+		} catch (JavaModelException e) {
+			return 0;
+		}
+	}
+
 	public static boolean isPrimitive (String typeSig) {
 		String elementType= Signature.getElementType(typeSig);
 		int kind= Signature.getTypeSignatureKind(elementType);
@@ -1,5 +1,5 @@
 /**
- * Copyright (c) 2010, 2020 Darmstadt University of Technology and others.
+ * Copyright (c) 2010, 2026 Darmstadt University of Technology and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,11 +11,19 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
@@ -24,24 +32,100 @@ import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
 
 public class ChainFinder {
 
+	/**
+	 * A chain that shares its prefix with all other chains extending the same parent.
+	 */
+	private static final class ChainNode {
+
+		private final ChainElement edge;
+
+		private final ChainNode parent;
+
+		private final ChainElement start;
+
+		private final int length;
+
+		ChainNode(final ChainElement edge, final ChainNode parent) {
+			this.edge= edge;
+			this.parent= parent;
+			this.start= parent == null ? edge : parent.start;
+			this.length= parent == null ? 1 : parent.length + 1;
+		}
+
+		boolean contains(final ChainElement element) {
+			for (ChainNode node= this; node != null; node= node.parent) {
+				if (node.edge.equals(element)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		List<ChainElement> toList() {
+			final ChainElement[] elements= new ChainElement[length];
+			int i= length;
+			for (ChainNode node= this; node != null; node= node.parent) {
+				elements[--i]= node.edge;
+			}
+			return new ArrayList<>(Arrays.asList(elements));
+		}
+	}
+
+	/**
+	 * The result of visiting a part of the frontier: the complete chains and the chains to extend
+	 * at the next depth, in the order of the frontier.
+	 */
+	private static final class Expansion {
+
+		private final List<ChainNode> complete= new ArrayList<>();
+
+		private final List<ChainNode> incomplete= new ArrayList<>();
+	}
+
+	/**
+	 * The number of chains the search with copied chains keeps in its queue at most.
+	 */
+	private static final int MAX_QUEUE_SIZE= 50000;
+
+	/**
+	 * The number of chains the search with shared prefixes keeps in its frontier at most. A chain
+	 * only costs a node there, so it can look at more chains than the search with copied chains.
+	 */
+	private static final int MAX_FRONTIER_SIZE= 500000;
+
+	/**
+	 * The number of chains of the frontier visited by one task.
+	 */
+	private static final int CHUNK_SIZE= 64;
+
+	/**
+	 * Default number of tasks searching chains with shared prefixes at the same time. Can be
+	 * configured with the system property <code>org.eclipse.jdt.ui.chainSearchParallelism</code>.
+	 */
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.chainSearchParallelism", Runtime.getRuntime().availableProcessors()).intValue(); //$NON-NLS-1$
+
 	private final List<ChainType> expectedTypes;
 
 	private final List<String> excludedTypes;
 
 	private final IType receiverType;
 
-	private final List<Chain> chains= new LinkedList<>();
+	private final List<Chain> chains= new CopyOnWriteArrayList<>();
 
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
+	private final Map<IJavaElement, ChainElement> edgeCache= new ConcurrentHashMap<>();
 
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
+	private final Map<String, List<ChainElement>> fieldsAndMethodsCache= new ConcurrentHashMap<>();
 
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final Map<String, Boolean> assignableCache= new ConcurrentHashMap<>();
 
 	private volatile boolean isCanceled;
 
 	private String token;
 
+	private boolean sharePrefixes= true;
+
+	private int parallelism= DEFAULT_PARALLELISM;
+
 	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
 			final IType receiverType) {
 		this(expectedTypes, excludedTypes, receiverType, null);
@@ -55,6 +139,26 @@ public class ChainFinder {
 		this.token= token;
 	}
 
+	/**
+	 * Sets whether the chains share their prefixes while they are searched. Otherwise each chain is
+	 * copied when it is extended and the search runs on the calling thread.
+	 *
+	 * @param sharePrefixes <code>true</code> to share the prefixes, the default
+	 */
+	public void setSharePrefixes(final boolean sharePrefixes) {
+		this.sharePrefixes= sharePrefixes;
+	}
+
+	/**
+	 * Sets the number of tasks searching chains with shared prefixes at the same time in the common
+	 * pool. The chains are found in the same order, whatever the parallelism.
+	 *
+	 * @param parallelism the number of tasks, a value of 1 or less searches on the calling thread
+	 */
+	public void setParallelism(final int parallelism) {
+		this.parallelism= Math.max(1, parallelism);
+	}
+
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
 			final int maxDepth) {
 		for (final ChainType expected : expectedTypes) {
@@ -64,8 +168,13 @@ public class ChainFinder {
 				if (expectedType.getDimension() > 0) {
 					expectedDimension= expectedType.getDimension();
 				}
-				searchChainsForExpectedType(expectedType, expectedDimension, entrypoints, maxChains, minDepth,
-						maxDepth);
+				if (sharePrefixes) {
+					searchChainsWithSharedPrefixes(expectedType, expectedDimension, entrypoints, maxChains, minDepth,
+							maxDepth);
+				} else {
+					searchChainsForExpectedType(expectedType, expectedDimension, entrypoints, maxChains, minDepth,
+							maxDepth);
+				}
 			}
 		}
 	}
@@ -91,12 +200,148 @@ public class ChainFinder {
 				}
 				continue;
 			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
+			if (chain.size() < maxDepth && incompleteChains.size() <= MAX_QUEUE_SIZE) {
 				searchDeeper(chain, incompleteChains, edge.getReturnType());
 			}
 		}
 	}
 
+	/**
+	 * Searches the chains breadth first like {@link #searchChainsForExpectedType}, but a chain
+	 * only adds a node pointing to the chain it extends. The chains of each depth are visited in
+	 * chunks, in parallel in the common pool if the parallelism allows. The complete chains of a
+	 * chunk are published as soon as it and all chunks before it have been visited, so a time out
+	 * keeps the chains found so far.
+	 */
+	private void searchChainsWithSharedPrefixes(final ChainType expectedType, final int expectedDimensions,
+			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
+		List<ChainNode> frontier= new ArrayList<>(entrypoints.size());
+		for (final ChainElement entrypoint : entrypoints) {
+			frontier.add(new ChainNode(entrypoint, null));
+		}
+
+		while (!frontier.isEmpty() && !isCanceled) {
+			final List<ChainNode> next= new ArrayList<>();
+			final boolean done;
+			if (parallelism > 1 && frontier.size() > CHUNK_SIZE) {
+				done= expandInParallel(frontier, next, expectedType, expectedDimensions, maxChains, minDepth, maxDepth);
+			} else {
+				done= expand(frontier, next, expectedType, expectedDimensions, maxChains, minDepth, maxDepth);
+			}
+			if (done) {
+				return;
+			}
+			frontier= next;
+		}
+	}
+
+	/**
+	 * Visits the frontier on the calling thread, publishing each complete chain right away.
+	 *
+	 * @return <code>true</code> if the maximum number of chains has been found
+	 */
+	private boolean expand(final List<ChainNode> frontier, final List<ChainNode> next, final ChainType expectedType,
+			final int expectedDimensions, final int maxChains, final int minDepth, final int maxDepth) {
+		for (int i= 0; i < frontier.size() && !isCanceled; i++) {
+			if (publish(expand(frontier, i, i + 1, expectedType, expectedDimensions, minDepth, maxDepth), next, expectedDimensions, maxChains)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Visits the frontier in chunks in the common pool, at most as many at the same time as the
+	 * parallelism. The chunks are published in the order of the frontier.
+	 *
+	 * @return <code>true</code> if the maximum number of chains has been found
+	 */
+	private boolean expandInParallel(final List<ChainNode> frontier, final List<ChainNode> next, final ChainType expectedType,
+			final int expectedDimensions, final int maxChains, final int minDepth, final int maxDepth) {
+		final ForkJoinPool pool= ForkJoinPool.commonPool();
+		final Deque<Future<Expansion>> tasks= new ArrayDeque<>(parallelism);
+		int submitted= 0;
+		try {
+			while (!isCanceled) {
+				while (tasks.size() < parallelism && submitted < frontier.size()) {
+					final int from= submitted;
+					final int to= Math.min(frontier.size(), from + CHUNK_SIZE);
+					tasks.add(pool.submit(() -> expand(frontier, from, to, expectedType, expectedDimensions, minDepth, maxDepth)));
+					submitted= to;
+				}
+				final Future<Expansion> task= tasks.poll();
+				if (task == null) {
+					return false;
+				}
+				if (publish(task.get(), next, expectedDimensions, maxChains)) {
+					return true;
+				}
+			}
+			return false;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cancel();
+			return false;
+		} catch (final ExecutionException e) {
+			final Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} finally {
+			// the pool is shared, the chunks nobody waits for any more must not keep it busy
+			for (final Future<Expansion> task : tasks) {
+				task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Adds the complete chains of the expansion to the found chains and its incomplete chains to
+	 * the next frontier.
+	 *
+	 * @return <code>true</code> if the maximum number of chains has been found
+	 */
+	private boolean publish(final Expansion expansion, final List<ChainNode> next, final int expectedDimensions,
+			final int maxChains) {
+		for (final ChainNode chain : expansion.complete) {
+			chains.add(new Chain(chain.toList(), expectedDimensions));
+			if (chains.size() >= maxChains) {
+				return true;
+			}
+		}
+		final int room= MAX_FRONTIER_SIZE - next.size();
+		if (room > 0) {
+			next.addAll(expansion.incomplete.size() <= room ? expansion.incomplete : expansion.incomplete.subList(0, room));
+		}
+		return false;
+	}
+
+	private Expansion expand(final List<ChainNode> frontier, final int from, final int to,
+			final ChainType expectedType, final int expectedDimensions, final int minDepth, final int maxDepth) {
+		final Expansion expansion= new Expansion();
+		for (int i= from; i < to && !isCanceled; i++) {
+			final ChainNode chain= frontier.get(i);
+			if (isValidEndOfChain(chain.edge, chain.start, expectedType, expectedDimensions)) {
+				if (chain.length >= minDepth) {
+					expansion.complete.add(chain);
+				}
+				continue;
+			}
+			if (chain.length < maxDepth) {
+				final boolean staticOnly= chain.edge.getElementType() == ElementType.TYPE;
+				for (final ChainElement newEdge : findAllFieldsAndMethods(chain.edge.getReturnType(), staticOnly)) {
+					if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
+						expansion.incomplete.add(new ChainNode(newEdge, chain));
+					}
+				}
+			}
+		}
+		return expansion;
+	}
+
 	/**
 	 * Returns the potentially incomplete list of call chains that could be found before a time out
 	 * happened. The contents of this list are mutable and may change as the search makes progress.
@@ -147,10 +392,15 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
+		final Boolean isIndexedAssignable= ChainElementAnalyzer.isAssignableByIndex(edge, expectedType.getType(), expectedDimension);
+		if (isIndexedAssignable != null) {
+			return isIndexedAssignable;
+		}
+		final String key= edge.toString() + expectedType.toString();
+		Boolean isAssignable= assignableCache.get(key);
 		if (isAssignable == null) {
 			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
+			assignableCache.putIfAbsent(key, isAssignable);
 		}
 		return isAssignable;
 	}
@@ -162,27 +412,43 @@ public class ChainFinder {
 			staticOnly= true;
 		}
 
-		for (final IJavaElement element : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
-			final ChainElement newEdge= createEdge(element);
+		for (final ChainElement newEdge : findAllFieldsAndMethods(currentlyVisitedType, staticOnly)) {
 			if (newEdge.getElementType() != null && !chain.contains(newEdge)) {
 				incompleteChains.add(cloneChainAndAppendEdge(chain, newEdge));
 			}
 		}
 	}
 
-	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
+	/**
+	 * Returns the chain elements of the fields and methods a chain can continue with. They are
+	 * taken from the {@link ChainTypeIndex} if the type is indexed.
+	 */
+	private List<ChainElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
+		final String key= chainElementType.toString() + Boolean.toString(staticOnly);
+		List<ChainElement> cached= fieldsAndMethodsCache.get(key);
 		if (cached == null) {
-			cached= new LinkedList<>();
-			Collection<IJavaElement> candidates= staticOnly
-					? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
-					: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
-			for (final IJavaElement e : candidates) {
-				if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
-					cached.add(e);
+			cached= new ArrayList<>();
+			final Collection<ChainElement> indexed= ChainElementAnalyzer.findIndexedEdges(chainElementType, new ChainType(receiverType), staticOnly);
+			if (indexed != null) {
+				for (final ChainElement edge : indexed) {
+					if (!ChainFinder.isFromExcludedType(excludedTypes, edge.getElement())) {
+						cached.add(edge);
+					}
+				}
+			} else {
+				Collection<IJavaElement> candidates= staticOnly
+						? ChainElementAnalyzer.findAllPublicStaticFieldsAndNonVoidNonPrimitiveStaticMethods(chainElementType, new ChainType(receiverType))
+						: ChainElementAnalyzer.findVisibleInstanceFieldsAndRelevantInstanceMethods(chainElementType, new ChainType(receiverType));
+				for (final IJavaElement e : candidates) {
+					if (!ChainFinder.isFromExcludedType(excludedTypes, e)) {
+						cached.add(createEdge(e));
+					}
 				}
 			}
-			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
+			final List<ChainElement> other= fieldsAndMethodsCache.putIfAbsent(key, cached);
+			if (other != null) {
+				cached= other;
+			}
 		}
 		return cached;
 	}
@@ -191,7 +457,10 @@ public class ChainFinder {
 		ChainElement cached= edgeCache.get(member);
 		if (cached == null) {
 			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
+			final ChainElement other= edgeCache.putIfAbsent(member, cached);
+			if (other != null) {
+				cached= other;
+			}
 		}
 		return cached;
 	}
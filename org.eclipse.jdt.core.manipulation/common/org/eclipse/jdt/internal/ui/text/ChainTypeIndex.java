@@ -0,0 +1,750 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
+
+/**
+ * Workspace-wide index of the class path types that chain completion walks through, see
+ * {@link ChainFinder}.
+ * <p>
+ * For a binary type from an archive, the index keeps the fully qualified names of the type and of
+ * all its super types, which tells with a single lookup whether the type is assignable to another
+ * type, and the chain elements of the fields and the relevant methods of the type and its super
+ * types along with their modifiers. Repeated searches therefore neither walk the type hierarchy
+ * nor resolve the return types of the members again. Types from source folders and class folders
+ * are not indexed.
+ * </p>
+ * <p>
+ * The index is kept up to date with Java element deltas. An entry only depends on archives and on
+ * the class path of its project, so it is dropped when an archive or the class path of the project
+ * changes. Changes in compilation units only drop the entries that refer to types outside of
+ * archives and the entries whose super types may be shadowed by added source types.
+ * </p>
+ * <p>
+ * Entries that only refer to types in archives are written to the state location of the plug-in
+ * when it stops and are read again when the index is first used, so that chain completion does not
+ * start cold after a restart. A stored entry is only used if neither the class path of its project
+ * nor the modification times of its archives changed since it was computed.
+ * </p>
+ */
+public final class ChainTypeIndex {
+
+	/**
+	 * A field or method a chain can continue with.
+	 *
+	 * @param edge the chain element of the member
+	 * @param flags the modifiers of the member
+	 * @param isStatic whether the member is static
+	 */
+	record Member(ChainElement edge, int flags, boolean isStatic) {
+	}
+
+	/**
+	 * An indexed type.
+	 *
+	 * @param supertypes the fully qualified names of the type and of all its super types
+	 * @param members the fields and the non-void methods of the type and of its super types,
+	 *            breadth first from the type
+	 * @param dependsOnSource whether the entry refers to types that are not in archives or could
+	 *            not be resolved
+	 * @param classpathStamp the stamp of the resolved class path of the project of the type
+	 * @param rootStamps the modification times of the archives the entry refers to, or
+	 *            <code>null</code> if they are not known
+	 */
+	record Entry(Set<String> supertypes, Member[] members, boolean dependsOnSource, long classpathStamp, Map<IPackageFragmentRoot, Long> rootStamps) {
+
+		boolean isPersistent() {
+			return !dependsOnSource && rootStamps != null;
+		}
+	}
+
+	/**
+	 * An entry read from a file, which is restored when its type is first looked up.
+	 */
+	private record StoredEntry(String project, long classpathStamp, String[] roots, long[] rootStamps, Set<String> supertypes, StoredMember[] members) {
+	}
+
+	/**
+	 * A member of a stored entry. The handle identifier of the member is the one of its declaring
+	 * type followed by the suffix.
+	 */
+	private record StoredMember(String declaringType, String suffix, int flags, boolean isStatic, int elementType, int dimension, String returnType, boolean isReturnTypeHandle) {
+	}
+
+	/**
+	 * The parts of the index that are affected by a delta.
+	 */
+	private static final class Invalidation {
+
+		final Set<IJavaProject> projects= new HashSet<>();
+
+		final Set<String> addedTypes= new HashSet<>();
+
+		final Set<String> addedPackages= new HashSet<>();
+
+		boolean sourceChanged;
+
+		boolean isEmpty() {
+			return projects.isEmpty() && addedTypes.isEmpty() && addedPackages.isEmpty() && !sourceChanged;
+		}
+
+		boolean affects(String project, Set<String> supertypes, boolean dependsOnSource) {
+			if (dependsOnSource && sourceChanged)
+				return true;
+			for (IJavaProject javaProject : projects) {
+				if (javaProject.getHandleIdentifier().equals(project))
+					return true;
+			}
+			if (!addedTypes.isEmpty() || !addedPackages.isEmpty()) {
+				for (String supertype : supertypes) {
+					if (addedTypes.contains(supertype) || addedPackages.contains(getPackageName(supertype)))
+						return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			Invalidation invalidation= new Invalidation();
+			collectInvalidation(event.getDelta(), invalidation);
+			if (!invalidation.isEmpty())
+				invalidate(invalidation);
+		}
+	}
+
+	/**
+	 * Maximal number of indexed types. Can be configured with the system property
+	 * <code>org.eclipse.jdt.ui.chainTypeIndexSize</code>.
+	 */
+	private static final int MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.ui.chainTypeIndexSize", 2048).intValue(); //$NON-NLS-1$
+
+	private static final String FILE_NAME= "ChainTypeIndex.bin"; //$NON-NLS-1$
+
+	private static final int FILE_VERSION= 1;
+
+	private static final Map<IType, Entry> fgEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IType, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * The entries read from a file that have not been looked up yet, by handle identifier of their
+	 * type.
+	 */
+	private static final Map<String, StoredEntry> fgStoredEntries= new LinkedHashMap<>();
+
+	/**
+	 * Incremented on every change that invalidates entries, so that an entry which was computed
+	 * while the Java model changed is not added to the index.
+	 */
+	private static long fgGeneration;
+
+	private static boolean fgInitialized;
+
+	private static DeltaListener fgDeltaListener;
+
+	private static int fgHits;
+
+	private static int fgMisses;
+
+	private static int fgRestores;
+
+	private ChainTypeIndex() {
+	}
+
+	/**
+	 * Returns the entry of a type, computes it if the type is not indexed yet.
+	 *
+	 * @param type the type
+	 * @return the entry or <code>null</code> if the type cannot be indexed
+	 */
+	static Entry get(IType type) {
+		StoredEntry stored;
+		long generation;
+		synchronized (ChainTypeIndex.class) {
+			initialize();
+			Entry entry= fgEntries.get(type);
+			if (entry != null) {
+				fgHits++;
+				return entry;
+			}
+			fgMisses++;
+			stored= fgStoredEntries.remove(type.getHandleIdentifier());
+			generation= fgGeneration;
+		}
+
+		Entry entry= stored != null ? restore(type, stored) : null;
+		if (entry != null) {
+			synchronized (ChainTypeIndex.class) {
+				fgRestores++;
+			}
+		} else {
+			entry= compute(type);
+			if (entry == null)
+				return null;
+		}
+		synchronized (ChainTypeIndex.class) {
+			if (generation == fgGeneration)
+				fgEntries.put(type, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Removes all types from the index, including the ones read from a file that have not been
+	 * looked up yet.
+	 */
+	public static synchronized void clear() {
+		fgEntries.clear();
+		fgStoredEntries.clear();
+		fgGeneration++;
+	}
+
+	/**
+	 * @return the number of indexed types, including the ones read from a file that have not been
+	 *         looked up yet
+	 */
+	public static synchronized int getSize() {
+		return fgEntries.size() + fgStoredEntries.size();
+	}
+
+	public static synchronized int getHitCount() {
+		return fgHits;
+	}
+
+	public static synchronized int getMissCount() {
+		return fgMisses;
+	}
+
+	/**
+	 * @return the number of misses that were answered by an entry read from a file
+	 */
+	public static synchronized int getRestoreCount() {
+		return fgRestores;
+	}
+
+	/**
+	 * Writes the entries of the index to the state location of the plug-in. Does nothing if the
+	 * index has not been used.
+	 */
+	public static synchronized void save() {
+		if (!fgInitialized)
+			return;
+		File file= getFile();
+		if (file == null)
+			return;
+		try {
+			save(file);
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Writes the entries of the index to the state location of the plug-in and stops listening to
+	 * changes of the Java model. The index is initialized again when it is used next.
+	 */
+	public static synchronized void shutdown() {
+		save();
+		if (fgDeltaListener != null) {
+			JavaCore.removeElementChangedListener(fgDeltaListener);
+			fgDeltaListener= null;
+		}
+		fgEntries.clear();
+		fgStoredEntries.clear();
+		fgGeneration++;
+		fgInitialized= false;
+	}
+
+	/**
+	 * Writes the entries that only refer to types in archives to a file.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file cannot be written
+	 */
+	public static synchronized void save(File file) throws IOException {
+		// least recently used first, so that these are dropped first when the file is read again
+		Map<String, StoredEntry> entries= new LinkedHashMap<>(fgStoredEntries);
+		for (Map.Entry<IType, Entry> entry : fgEntries.entrySet()) {
+			if (entry.getValue().isPersistent())
+				entries.put(entry.getKey().getHandleIdentifier(), toStoredEntry(entry.getKey(), entry.getValue()));
+		}
+
+		Map<String, Integer> strings= new LinkedHashMap<>();
+		for (Map.Entry<String, StoredEntry> stored : entries.entrySet()) {
+			collectStrings(stored.getKey(), stored.getValue(), strings);
+		}
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))))) {
+			out.writeInt(FILE_VERSION);
+			out.writeInt(strings.size());
+			for (String string : strings.keySet()) {
+				out.writeUTF(string);
+			}
+			out.writeInt(entries.size());
+			for (Map.Entry<String, StoredEntry> stored : entries.entrySet()) {
+				writeStoredEntry(out, stored.getKey(), stored.getValue(), strings);
+			}
+		}
+	}
+
+	/**
+	 * Reads entries written by {@link #save(File)}. An entry is only used when its type is looked
+	 * up and neither the class path of its project nor its archives changed in the meantime.
+	 *
+	 * @param file the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static void load(File file) throws IOException {
+		Map<String, StoredEntry> entries= new LinkedHashMap<>();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+			if (in.readInt() != FILE_VERSION)
+				return;
+			String[] strings= new String[in.readInt()];
+			for (int i= 0; i < strings.length; i++) {
+				strings[i]= in.readUTF();
+			}
+			int count= in.readInt();
+			for (int i= 0; i < count; i++) {
+				String type= strings[in.readInt()];
+				entries.put(type, readStoredEntry(in, strings));
+			}
+		}
+		synchronized (ChainTypeIndex.class) {
+			initialize();
+			for (Map.Entry<String, StoredEntry> stored : entries.entrySet()) {
+				fgStoredEntries.putIfAbsent(stored.getKey(), stored.getValue());
+			}
+			while (fgStoredEntries.size() > MAX_ENTRIES) {
+				Iterator<String> iter= fgStoredEntries.keySet().iterator();
+				iter.next();
+				iter.remove();
+			}
+		}
+	}
+
+	private static void initialize() {
+		if (fgInitialized)
+			return;
+		fgInitialized= true;
+		fgDeltaListener= new DeltaListener();
+		JavaCore.addElementChangedListener(fgDeltaListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		File file= getFile();
+		if (file != null && file.isFile()) {
+			try {
+				load(file);
+			} catch (IOException | RuntimeException e) {
+				// start with an empty index, the file is written again on shutdown
+			}
+		}
+	}
+
+	private static File getFile() {
+		JavaManipulationPlugin plugin= JavaManipulationPlugin.getDefault();
+		if (plugin == null)
+			return null;
+		try {
+			return plugin.getStateLocation().append(FILE_NAME).toFile();
+		} catch (IllegalStateException e) {
+			// no instance location
+			return null;
+		}
+	}
+
+	private static synchronized void invalidate(Invalidation invalidation) {
+		for (Iterator<Map.Entry<IType, Entry>> iter= fgEntries.entrySet().iterator(); iter.hasNext();) {
+			Map.Entry<IType, Entry> entry= iter.next();
+			if (invalidation.affects(entry.getKey().getJavaProject().getHandleIdentifier(), entry.getValue().supertypes(), entry.getValue().dependsOnSource()))
+				iter.remove();
+		}
+		for (Iterator<StoredEntry> iter= fgStoredEntries.values().iterator(); iter.hasNext();) {
+			StoredEntry stored= iter.next();
+			if (invalidation.affects(stored.project(), stored.supertypes(), false))
+				iter.remove();
+		}
+		fgGeneration++;
+	}
+
+	/**
+	 * Collects the parts of the index that may be affected by the given delta.
+	 *
+	 * @param delta the delta
+	 * @param invalidation the collected invalidation
+	 */
+	private static void collectInvalidation(IJavaElementDelta delta, Invalidation invalidation) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+						| IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED)) != 0) {
+					invalidation.projects.add((IJavaProject) element);
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & ~IJavaElementDelta.F_CHILDREN) != 0) {
+					invalidation.projects.add(element.getJavaProject());
+					return;
+				}
+				break;
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (isArchived(element)) {
+					invalidation.projects.add(element.getJavaProject());
+					return;
+				}
+				if (kind != IJavaElementDelta.CHANGED) {
+					if (kind == IJavaElementDelta.ADDED)
+						invalidation.addedPackages.add(element.getElementName());
+					invalidation.sourceChanged= true;
+					return;
+				}
+				break;
+			case IJavaElement.CLASS_FILE:
+				if (isArchived(element)) {
+					invalidation.projects.add(element.getJavaProject());
+					return;
+				}
+				//$FALL-THROUGH$
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+					// the types of the unit are not known, any of them could shadow an indexed type
+					if (kind != IJavaElementDelta.REMOVED)
+						invalidation.addedPackages.add(element.getParent().getElementName());
+					invalidation.sourceChanged= true;
+					return;
+				}
+				break;
+			case IJavaElement.TYPE:
+				if (kind != IJavaElementDelta.CHANGED) {
+					if (kind == IJavaElementDelta.ADDED)
+						invalidation.addedTypes.add(((IType) element).getFullyQualifiedName());
+					invalidation.sourceChanged= true;
+					return;
+				}
+				break;
+			default:
+				// members of types that are not in archives are never indexed
+				return;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			collectInvalidation(child, invalidation);
+		}
+	}
+
+	private static Entry compute(IType type) {
+		if (!isArchived(type))
+			return null;
+
+		IJavaProject project= type.getJavaProject();
+		long classpathStamp= getClasspathStamp(project);
+		boolean dependsOnSource= false;
+		Set<IPackageFragmentRoot> roots= new HashSet<>();
+		List<IType> closure= new ArrayList<>();
+		LinkedList<IType> queue= new LinkedList<>();
+		queue.add(type);
+		while (!queue.isEmpty()) {
+			IType supertype= queue.poll();
+			if (supertype == null) {
+				dependsOnSource= true;
+				continue;
+			}
+			if (closure.contains(supertype))
+				continue;
+			if (!isArchived(supertype))
+				return null;
+			closure.add(supertype);
+			roots.add(getRoot(supertype));
+			try {
+				String superclass= supertype.getSuperclassTypeSignature();
+				if (superclass != null)
+					queue.add(ChainElementAnalyzer.getTypeFromSignature(project, superclass, supertype));
+				for (String superInterface : supertype.getSuperInterfaceTypeSignatures()) {
+					queue.add(ChainElementAnalyzer.getTypeFromSignature(project, superInterface, supertype));
+				}
+			} catch (JavaModelException e) {
+				return null;
+			}
+		}
+
+		Set<String> supertypes= new HashSet<>();
+		List<Member> members= new ArrayList<>();
+		try {
+			for (IType supertype : closure) {
+				supertypes.add(supertype.getFullyQualifiedName());
+				for (IMethod method : supertype.getMethods()) {
+					if (!method.isConstructor() && !ChainElementAnalyzer.isVoid(method))
+						members.add(createMember(method, method.getFlags()));
+				}
+				for (IField field : supertype.getFields()) {
+					members.add(createMember(field, field.getFlags()));
+				}
+			}
+		} catch (JavaModelException e) {
+			return null;
+		}
+		for (Member member : members) {
+			ChainType returnType= member.edge().getReturnType();
+			IType returnTypeType= returnType.getType();
+			if (returnTypeType == null) {
+				String signature= returnType.getPrimitiveType();
+				if (signature == null || !ChainElementAnalyzer.isPrimitive(signature))
+					dependsOnSource= true;
+			} else if (isArchived(returnTypeType)) {
+				roots.add(getRoot(returnTypeType));
+			} else {
+				dependsOnSource= true;
+			}
+		}
+
+		Map<IPackageFragmentRoot, Long> rootStamps= new HashMap<>();
+		for (IPackageFragmentRoot root : roots) {
+			long stamp= getStamp(root);
+			if (stamp == 0) {
+				rootStamps= null;
+				break;
+			}
+			rootStamps.put(root, Long.valueOf(stamp));
+		}
+		return new Entry(supertypes, members.toArray(new Member[members.size()]), dependsOnSource, classpathStamp, rootStamps);
+	}
+
+	private static Member createMember(IMember member, int flags) {
+		return new Member(new ChainElement(member, false), flags, Flags.isStatic(flags));
+	}
+
+	private static Entry restore(IType type, StoredEntry stored) {
+		if (getClasspathStamp(type.getJavaProject()) != stored.classpathStamp())
+			return null;
+
+		Map<IPackageFragmentRoot, Long> rootStamps= new HashMap<>();
+		for (int i= 0; i < stored.roots().length; i++) {
+			IJavaElement root= JavaCore.create(stored.roots()[i]);
+			if (!(root instanceof IPackageFragmentRoot) || getStamp((IPackageFragmentRoot) root) != stored.rootStamps()[i])
+				return null;
+			rootStamps.put((IPackageFragmentRoot) root, Long.valueOf(stored.rootStamps()[i]));
+		}
+
+		ElementType[] elementTypes= ElementType.values();
+		Member[] members= new Member[stored.members().length];
+		for (int i= 0; i < members.length; i++) {
+			StoredMember member= stored.members()[i];
+			IJavaElement element= JavaCore.create(member.declaringType() + member.suffix());
+			if (!(element instanceof IMember) || member.elementType() >= elementTypes.length)
+				return null;
+			ChainType returnType;
+			if (member.isReturnTypeHandle()) {
+				IJavaElement returnTypeElement= JavaCore.create(member.returnType());
+				if (!(returnTypeElement instanceof IType))
+					return null;
+				returnType= new ChainType((IType) returnTypeElement);
+			} else {
+				returnType= new ChainType(member.returnType());
+			}
+			ChainElement edge= new ChainElement(element, elementTypes[member.elementType()], returnType, member.dimension());
+			members[i]= new Member(edge, member.flags(), member.isStatic());
+		}
+		return new Entry(stored.supertypes(), members, false, stored.classpathStamp(), rootStamps);
+	}
+
+	private static StoredEntry toStoredEntry(IType type, Entry entry) {
+		String[] roots= new String[entry.rootStamps().size()];
+		long[] rootStamps= new long[roots.length];
+		int i= 0;
+		for (Map.Entry<IPackageFragmentRoot, Long> rootStamp : entry.rootStamps().entrySet()) {
+			roots[i]= rootStamp.getKey().getHandleIdentifier();
+			rootStamps[i]= rootStamp.getValue().longValue();
+			i++;
+		}
+		StoredMember[] members= new StoredMember[entry.members().length];
+		for (int j= 0; j < members.length; j++) {
+			Member member= entry.members()[j];
+			ChainElement edge= member.edge();
+			String handle= edge.getElement().getHandleIdentifier();
+			String declaringType= ((IMember) edge.getElement()).getDeclaringType().getHandleIdentifier();
+			if (!handle.startsWith(declaringType))
+				declaringType= ""; //$NON-NLS-1$
+			IType returnType= edge.getReturnType().getType();
+			members[j]= new StoredMember(declaringType, handle.substring(declaringType.length()), member.flags(), member.isStatic(),
+					edge.getElementType().ordinal(), edge.getReturnTypeDimension(),
+					returnType != null ? returnType.getHandleIdentifier() : edge.getReturnType().getPrimitiveType(), returnType != null);
+		}
+		return new StoredEntry(type.getJavaProject().getHandleIdentifier(), entry.classpathStamp(), roots, rootStamps, entry.supertypes(), members);
+	}
+
+	private static void collectStrings(String type, StoredEntry stored, Map<String, Integer> strings) {
+		addString(type, strings);
+		addString(stored.project(), strings);
+		for (String root : stored.roots()) {
+			addString(root, strings);
+		}
+		for (String supertype : stored.supertypes()) {
+			addString(supertype, strings);
+		}
+		for (StoredMember member : stored.members()) {
+			addString(member.declaringType(), strings);
+			addString(member.suffix(), strings);
+			addString(member.returnType(), strings);
+		}
+	}
+
+	private static void addString(String string, Map<String, Integer> strings) {
+		strings.putIfAbsent(string, Integer.valueOf(strings.size()));
+	}
+
+	private static void writeStoredEntry(DataOutputStream out, String type, StoredEntry stored, Map<String, Integer> strings) throws IOException {
+		out.writeInt(strings.get(type).intValue());
+		out.writeInt(strings.get(stored.project()).intValue());
+		out.writeLong(stored.classpathStamp());
+		out.writeInt(stored.roots().length);
+		for (int i= 0; i < stored.roots().length; i++) {
+			out.writeInt(strings.get(stored.roots()[i]).intValue());
+			out.writeLong(stored.rootStamps()[i]);
+		}
+		out.writeInt(stored.supertypes().size());
+		for (String supertype : stored.supertypes()) {
+			out.writeInt(strings.get(supertype).intValue());
+		}
+		out.writeInt(stored.members().length);
+		for (StoredMember member : stored.members()) {
+			out.writeInt(strings.get(member.declaringType()).intValue());
+			out.writeInt(strings.get(member.suffix()).intValue());
+			out.writeInt(member.flags());
+			out.writeBoolean(member.isStatic());
+			out.writeByte(member.elementType());
+			out.writeInt(member.dimension());
+			out.writeInt(strings.get(member.returnType()).intValue());
+			out.writeBoolean(member.isReturnTypeHandle());
+		}
+	}
+
+	private static StoredEntry readStoredEntry(DataInputStream in, String[] strings) throws IOException {
+		String project= strings[in.readInt()];
+		long classpathStamp= in.readLong();
+		String[] roots= new String[in.readInt()];
+		long[] rootStamps= new long[roots.length];
+		for (int i= 0; i < roots.length; i++) {
+			roots[i]= strings[in.readInt()];
+			rootStamps[i]= in.readLong();
+		}
+		int supertypeCount= in.readInt();
+		Set<String> supertypes= new HashSet<>();
+		for (int i= 0; i < supertypeCount; i++) {
+			supertypes.add(strings[in.readInt()]);
+		}
+		StoredMember[] members= new StoredMember[in.readInt()];
+		for (int i= 0; i < members.length; i++) {
+			String declaringType= strings[in.readInt()];
+			String suffix= strings[in.readInt()];
+			int flags= in.readInt();
+			boolean isStatic= in.readBoolean();
+			int elementType= in.readByte();
+			int dimension= in.readInt();
+			String returnType= strings[in.readInt()];
+			boolean isReturnTypeHandle= in.readBoolean();
+			members[i]= new StoredMember(declaringType, suffix, flags, isStatic, elementType, dimension, returnType, isReturnTypeHandle);
+		}
+		return new StoredEntry(project, classpathStamp, roots, rootStamps, supertypes, members);
+	}
+
+	private static boolean isArchived(IJavaElement element) {
+		IPackageFragmentRoot root= getRoot(element);
+		return root != null && root.isArchive();
+	}
+
+	private static IPackageFragmentRoot getRoot(IJavaElement element) {
+		return (IPackageFragmentRoot) element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+	}
+
+	/**
+	 * @return the modification time of the archive, 0 if it is not known
+	 */
+	private static long getStamp(IPackageFragmentRoot root) {
+		IResource resource= root.getResource();
+		IPath location= resource != null ? resource.getLocation() : root.getPath();
+		return location != null ? location.toFile().lastModified() : 0;
+	}
+
+	/**
+	 * @return a hash of the resolved class path of the project, which decides how type names are
+	 *         resolved
+	 */
+	private static long getClasspathStamp(IJavaProject project) {
+		long stamp= 1;
+		try {
+			for (IClasspathEntry entry : project.getResolvedClasspath(true)) {
+				stamp= 31 * stamp + entry.getPath().toString().hashCode();
+			}
+		} catch (JavaModelException e) {
+			return 0;
+		}
+		return stamp;
+	}
+
+	private static String getPackageName(String fullyQualifiedName) {
+		int index= fullyQualifiedName.lastIndexOf('.');
+		return index == -1 ? "" : fullyQualifiedName.substring(0, index); //$NON-NLS-1$
+	}
+}
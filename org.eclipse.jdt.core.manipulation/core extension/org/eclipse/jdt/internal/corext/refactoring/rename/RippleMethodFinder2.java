@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,6 +49,7 @@ import org.eclipse.jdt.core.search.SearchRequestor;
 
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringScopeFactory;
 import org.eclipse.jdt.internal.corext.refactoring.base.ReferencesInBinaryContext;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodIndex.BinaryMode;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
 import org.eclipse.jdt.internal.corext.util.SearchUtils;
@@ -64,6 +65,7 @@ public class RippleMethodFinder2 {
 	private Set<IType> fRootTypes;
 	private MultiMap<IType, IType> fRootReps;
 	private Map<IType, ITypeHierarchy> fRootHierarchies;
+	private Map<IType, ITypeHierarchy> fTypeHierarchies;
 	private UnionFind fUnionFind;
 
 	private final boolean fExcludeBinaries;
@@ -186,7 +188,19 @@ public class RippleMethodFinder2 {
 	}
 
 	private IMethod[] getAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
-		IMethod[] rippleMethods= findAllRippleMethods(pm, owner);
+		IMethod[] rippleMethods;
+		BinaryMode mode= getBinaryMode(owner);
+		RippleMethodIndex.Entry entry= mode != null ? RippleMethodIndex.get(fMethod, mode) : null;
+		if (entry != null) {
+			rippleMethods= entry.rippleMethods().clone();
+			if (fDeclarationToMatch != null)
+				fDeclarationToMatch.putAll(entry.binaryDeclarations());
+		} else {
+			long generation= RippleMethodIndex.getGeneration();
+			rippleMethods= findAllRippleMethods(pm, owner);
+			if (mode != null)
+				RippleMethodIndex.put(fMethod, mode, generation, rippleMethods, fDeclarationToMatch);
+		}
 		if (fDeclarationToMatch == null)
 			return rippleMethods;
 
@@ -203,6 +217,20 @@ public class RippleMethodFinder2 {
 		return toArray(filteredMethods);
 	}
 
+	/**
+	 * @param owner the working copy owner of the query
+	 * @return the binary mode under which the ripple of this finder is kept in the
+	 *         {@link RippleMethodIndex}, or <code>null</code> if the ripple must not be indexed
+	 */
+	private BinaryMode getBinaryMode(WorkingCopyOwner owner) {
+		// the index is only updated for the primary working copies
+		if (owner != null || fSearchOnlyInCompilationUnit)
+			return null;
+		if (fBinaryRefs != null)
+			return BinaryMode.REPORT;
+		return fExcludeBinaries ? BinaryMode.EXCLUDE : BinaryMode.INCLUDE;
+	}
+
 	private IMethod[] findAllRippleMethods(IProgressMonitor pm, WorkingCopyOwner owner) throws CoreException {
 		pm.beginTask("", 4); //$NON-NLS-1$
 
@@ -306,9 +334,8 @@ public class RippleMethodFinder2 {
 			for (IType alienType : alienTypes) {
 				checkCanceled(pm);
 				Collection<IMethod> alienMethods= fTypeToMethod.get(alienType);
+				ITypeHierarchy hierarchy= hierarchy(pm, owner, alienType);
 				for (IMethod alienMethod : alienMethods) {
-					ITypeHierarchy hierarchy= hierarchy(pm, owner, alienType);
-
 					for (IType subtype : hierarchy.getAllSubtypes(alienType)) {
 						if (relatedSubTypes.contains(subtype)) {
 							if (JavaModelUtil.isVisibleInHierarchy(alienMethod, subtype.getPackageFragment())) {
@@ -336,6 +363,7 @@ public class RippleMethodFinder2 {
 
 		fRootReps= null;
 		fRootHierarchies= null;
+		fTypeHierarchies= null;
 		fTypeToMethod= null;
 		fUnionFind= null;
 
@@ -404,8 +432,14 @@ public class RippleMethodFinder2 {
 	private ITypeHierarchy hierarchy(IProgressMonitor pm, WorkingCopyOwner owner, IType type)
 			throws JavaModelException {
 		ITypeHierarchy hierarchy= getCachedHierarchy(type, owner, Progress.subMonitor(pm, 1));
-		if (hierarchy == null)
-			hierarchy= type.newTypeHierarchy(owner, Progress.subMonitor(pm, 1));
+		if (hierarchy == null) {
+			// alien types are visited again for every newly married type
+			hierarchy= fTypeHierarchies.get(type);
+			if (hierarchy == null) {
+				hierarchy= type.newTypeHierarchy(owner, Progress.subMonitor(pm, 1));
+				fTypeHierarchies.put(type, hierarchy);
+			}
+		}
 		return hierarchy;
 	}
 
@@ -513,6 +547,7 @@ public class RippleMethodFinder2 {
 				fRootReps.put(rep, type);
 		}
 		fRootHierarchies= new HashMap<>();
+		fTypeHierarchies= new HashMap<>();
 	}
 
 	private void uniteWithSupertypes(IType anchor, IType type) throws JavaModelException {
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.rename;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.search.SearchMatch;
+
+/**
+ * Session-wide index of the method override relationships computed by {@link RippleMethodFinder2}.
+ * <p>
+ * A ripple query for a method builds type hierarchies for all declarations of methods with the
+ * same signature and partitions them into methods that override each other. The resulting ripple
+ * is the same for every method in it whose query searches the same declarations, that is for all
+ * ripple methods with the same parameter types in the same package fragment. The ripple is
+ * therefore indexed for all these methods, so that the first query for any of them (for example
+ * when renaming an implementation after its interface method) is a lookup instead of hierarchy
+ * builds. Repeated queries for the same method, e.g. when a refactoring is re-run from the
+ * preview, are answered from the index as well.
+ * </p>
+ * <p>
+ * The index is kept up to date with Java element deltas. A ripple set only contains methods with
+ * the name of the queried method and only depends on the declarations of such methods and on the
+ * type hierarchies around them. Fine-grained deltas therefore only invalidate the entries for the
+ * names of methods that were added, removed or changed their modifiers, while edits in method
+ * bodies leave the index intact.
+ * Deltas that may change type hierarchies or name resolution (added or removed types, super type
+ * or import changes, coarse-grained compilation unit changes, class path changes) clear the index.
+ * </p>
+ */
+public final class RippleMethodIndex {
+
+	/**
+	 * How the declarations in binaries are treated by a query.
+	 */
+	enum BinaryMode {
+		/** Declarations in binaries are ignored. */
+		EXCLUDE,
+		/** Declarations in binaries are part of the ripple. */
+		INCLUDE,
+		/** Declarations in binaries are reported as binary references. */
+		REPORT
+	}
+
+	private record Key(IMethod method, BinaryMode mode) {
+	}
+
+	/**
+	 * A cached ripple, along with the search matches of the binary declarations for
+	 * {@link BinaryMode#REPORT} queries.
+	 */
+	record Entry(IMethod[] rippleMethods, Map<IMethod, SearchMatch> binaryDeclarations) {
+	}
+
+	private static class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			Set<String> names= new HashSet<>();
+			if (collectChangedMethodNames(event.getDelta(), names))
+				clear();
+			else if (!names.isEmpty())
+				invalidate(names);
+		}
+	}
+
+	/**
+	 * Maximal number of indexed methods. Methods of the same ripple share their entry. Can be
+	 * configured with the system property <code>org.eclipse.jdt.ui.rippleMethodIndexSize</code>.
+	 */
+	private static final int MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.ui.rippleMethodIndexSize", 4096).intValue(); //$NON-NLS-1$
+
+	private static final Map<Key, Entry> fgEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * Incremented on every change that invalidates entries, so that a ripple which was computed
+	 * while the Java model changed is not added to the index.
+	 */
+	private static long fgGeneration;
+
+	private static DeltaListener fgDeltaListener;
+
+	private static int fgHits;
+
+	private static int fgMisses;
+
+	private RippleMethodIndex() {
+	}
+
+	/**
+	 * Returns the current generation of the index. Must be obtained before computing a ripple that
+	 * is passed to {@link #put(IMethod, BinaryMode, long, IMethod[], Map)}.
+	 *
+	 * @return the generation
+	 */
+	static synchronized long getGeneration() {
+		if (fgDeltaListener == null) {
+			fgDeltaListener= new DeltaListener();
+			JavaCore.addElementChangedListener(fgDeltaListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgGeneration;
+	}
+
+	static synchronized Entry get(IMethod method, BinaryMode mode) {
+		Entry entry= fgEntries.get(new Key(method, mode));
+		if (entry != null)
+			fgHits++;
+		else
+			fgMisses++;
+		return entry;
+	}
+
+	/**
+	 * Adds the ripple of a method to the index, for the method itself and for all ripple methods
+	 * whose query would find the same ripple.
+	 *
+	 * @param method the queried method
+	 * @param mode how the query treated binaries
+	 * @param generation the generation obtained before the ripple was computed
+	 * @param rippleMethods the ripple methods
+	 * @param binaryDeclarations the search matches of the binary declarations, or <code>null</code>
+	 */
+	static synchronized void put(IMethod method, BinaryMode mode, long generation, IMethod[] rippleMethods, Map<IMethod, SearchMatch> binaryDeclarations) {
+		if (generation != fgGeneration)
+			return;
+		Entry entry= new Entry(rippleMethods.clone(), binaryDeclarations != null ? Map.copyOf(binaryDeclarations) : null);
+		for (IMethod rippleMethod : rippleMethods) {
+			if (!rippleMethod.equals(method) && hasSameQuery(method, rippleMethod))
+				fgEntries.putIfAbsent(new Key(rippleMethod, mode), entry);
+		}
+		fgEntries.put(new Key(method, mode), entry);
+	}
+
+	/**
+	 * Tells whether a ripple query for <code>other</code> searches the same declarations and applies
+	 * the same visibility as a query for <code>method</code>.
+	 *
+	 * @param method the queried method
+	 * @param other a ripple method of the queried method
+	 * @return <code>true</code> if both queries result in the same ripple
+	 */
+	private static boolean hasSameQuery(IMethod method, IMethod other) {
+		return method.isBinary() == other.isBinary()
+				&& Arrays.equals(method.getParameterTypes(), other.getParameterTypes())
+				&& method.getDeclaringType().getPackageFragment().equals(other.getDeclaringType().getPackageFragment());
+	}
+
+	/**
+	 * Removes all ripples from the index.
+	 */
+	public static synchronized void clear() {
+		fgEntries.clear();
+		fgGeneration++;
+	}
+
+	/**
+	 * Removes all ripples from the index and stops listening to changes of the Java model. The
+	 * listener is added again when the index is used next.
+	 */
+	public static synchronized void shutdown() {
+		if (fgDeltaListener != null) {
+			JavaCore.removeElementChangedListener(fgDeltaListener);
+			fgDeltaListener= null;
+		}
+		clear();
+	}
+
+	private static synchronized void invalidate(Set<String> methodNames) {
+		for (Iterator<Key> iter= fgEntries.keySet().iterator(); iter.hasNext();) {
+			if (methodNames.contains(iter.next().method().getElementName()))
+				iter.remove();
+		}
+		fgGeneration++;
+	}
+
+	public static synchronized int getSize() {
+		return fgEntries.size();
+	}
+
+	public static synchronized int getHitCount() {
+		return fgHits;
+	}
+
+	public static synchronized int getMissCount() {
+		return fgMisses;
+	}
+
+	/**
+	 * Collects the names of the methods whose ripples may be affected by the given delta.
+	 *
+	 * @param delta the delta
+	 * @param names the collected method names
+	 * @return <code>true</code> if the delta may affect arbitrary ripples
+	 */
+	private static boolean collectChangedMethodNames(IJavaElementDelta delta, Set<String> names) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (kind != IJavaElementDelta.CHANGED || (flags & ~IJavaElementDelta.F_CHILDREN) != 0)
+					return true;
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				if (kind != IJavaElementDelta.CHANGED)
+					return true;
+				if ((flags & IJavaElementDelta.F_CONTENT) != 0 && (flags & IJavaElementDelta.F_FINE_GRAINED) == 0)
+					return true;
+				break;
+			case IJavaElement.CLASS_FILE:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_CONTENT) != 0)
+					return true;
+				break;
+			case IJavaElement.IMPORT_CONTAINER:
+			case IJavaElement.IMPORT_DECLARATION:
+			case IJavaElement.PACKAGE_DECLARATION:
+				return true;
+			case IJavaElement.TYPE:
+				// an added type can marry methods it inherits from different super types
+				if (kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_SUPER_TYPES | IJavaElementDelta.F_MODIFIERS)) != 0)
+					return true;
+				break;
+			case IJavaElement.METHOD:
+				if (kind != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_MODIFIERS) != 0)
+					names.add(element.getElementName());
+				break;
+			default:
+				// fields and initializers do not affect ripples, but may contain local types
+				break;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (collectChangedMethodNames(child, names))
+				return true;
+		}
+		return false;
+	}
+}
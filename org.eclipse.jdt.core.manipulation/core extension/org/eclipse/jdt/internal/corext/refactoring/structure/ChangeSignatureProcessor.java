@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1664,49 +1664,57 @@ public class ChangeSignatureProcessor extends RefactoringProcessor implements ID
 		}else{
 			pm.worked(1);
 		}
-		for (SearchResultGroup occurrence : fOccurrences) {
+		Map<ICompilationUnit, SearchResultGroup> referencingGroups= new LinkedHashMap<>();
+		for (SearchResultGroup group : fOccurrences) {
 			if (pm.isCanceled())
 				throw new OperationCanceledException();
-			SearchResultGroup group= occurrence;
 			ICompilationUnit cu= group.getCompilationUnit();
 			if (cu == null)
 				continue;
-			CompilationUnitRewrite cuRewrite;
-			if (cu.equals(getCu())) {
-				cuRewrite= fBaseCuRewrite;
+			if (cu.equals(getCu()))
+				updateOccurrences(group, fBaseCuRewrite, namedSubclassMapping, result);
+			else
+				referencingGroups.put(cu, group);
+		}
+		// the other units are parsed in batches that share their bindings
+		final Map<ICompilationUnit, Set<IType>> subclassMapping= namedSubclassMapping;
+		new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).createASTs(referencingGroups.keySet(), null, true, true, false, (cu, root) -> {
+			CompilationUnitRewrite cuRewrite= new CompilationUnitRewrite(cu, root);
+			cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
+			updateOccurrences(referencingGroups.get(cu), cuRewrite, subclassMapping, result);
+		}, Progress.subMonitor(pm, 1));
+
+		pm.done();
+		return fChangeManager;
+	}
+
+	private void updateOccurrences(SearchResultGroup group, CompilationUnitRewrite cuRewrite, Map<ICompilationUnit, Set<IType>> namedSubclassMapping, RefactoringStatus result) throws CoreException {
+		ICompilationUnit cu= group.getCompilationUnit();
+		//IntroduceParameterObjectRefactoring needs to update declarations first:
+		List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
+		for (ASTNode node : ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot())) {
+			OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(node, cuRewrite, result);
+			if (update instanceof DeclarationUpdate) {
+				update.updateNode();
 			} else {
-				cuRewrite= new CompilationUnitRewrite(cu);
-				cuRewrite.getASTRewrite().setTargetSourceRangeComputer(new TightSourceRangeComputer());
-			}
-			//IntroduceParameterObjectRefactoring needs to update declarations first:
-			List<OccurrenceUpdate<? extends ASTNode>> deferredUpdates= new ArrayList<>();
-			for (ASTNode node : ASTNodeSearchUtil.findNodes(group.getSearchResults(), cuRewrite.getRoot())) {
-				OccurrenceUpdate<? extends ASTNode> update= createOccurrenceUpdate(node, cuRewrite, result);
-				if (update instanceof DeclarationUpdate) {
-					update.updateNode();
-				} else {
-					deferredUpdates.add(update);
-				}
-			}
-			for (OccurrenceUpdate<? extends ASTNode> occurrenceUpdate : deferredUpdates) {
-				occurrenceUpdate.updateNode();
+				deferredUpdates.add(update);
 			}
+		}
+		for (OccurrenceUpdate<? extends ASTNode> occurrenceUpdate : deferredUpdates) {
+			occurrenceUpdate.updateNode();
+		}
 
-			if (namedSubclassMapping != null && namedSubclassMapping.containsKey(cu)) {
-				//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
-				for (IType subtype : namedSubclassMapping.get(cu)) {
-					AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
-					if (subtypeNode != null)
-						modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
-				}
+		if (namedSubclassMapping != null && namedSubclassMapping.containsKey(cu)) {
+			//only non-anonymous subclasses may have noArgConstructors to modify - see bug 43444
+			for (IType subtype : namedSubclassMapping.get(cu)) {
+				AbstractTypeDeclaration subtypeNode= ASTNodeSearchUtil.getAbstractTypeDeclarationNode(subtype, cuRewrite.getRoot());
+				if (subtypeNode != null)
+					modifyImplicitCallsToNoArgConstructor(subtypeNode, cuRewrite);
 			}
-			TextChange change= cuRewrite.createChange(true);
-			if (change != null)
-				fChangeManager.manage(cu, change);
 		}
-
-		pm.done();
-		return fChangeManager;
+		TextChange change= cuRewrite.createChange(true);
+		if (change != null)
+			fChangeManager.manage(cu, change);
 	}
 
 	private Map<ICompilationUnit, Set<IType>> createNamedSubclassMapping(IProgressMonitor pm) throws JavaModelException{
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -116,6 +116,7 @@ import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.AbortSearchException;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.dom.BodyDeclarationRewrite;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.dom.ModifierRewrite;
 import org.eclipse.jdt.internal.corext.refactoring.Checks;
 import org.eclipse.jdt.internal.corext.refactoring.CollectingSearchRequestor;
@@ -137,6 +138,7 @@ import org.eclipse.jdt.internal.corext.refactoring.structure.MemberVisibilityAdj
 import org.eclipse.jdt.internal.corext.refactoring.tagging.IDelegateUpdating;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaElementUtil;
 import org.eclipse.jdt.internal.corext.refactoring.util.JavaStatusContext;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
 import org.eclipse.jdt.internal.corext.util.Messages;
@@ -884,20 +886,30 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 			final MemberVisibilityAdjustor adjustor= new MemberVisibilityAdjustor(fDestinationType, fDestinationType);
 			sub= Progress.subMonitor(monitor, 1);
 			sub.beginTask(RefactoringCoreMessages.MoveMembersRefactoring_creating, units.length);
+			List<ICompilationUnit> referencingUnits= new ArrayList<>(units.length);
 			for (ICompilationUnit unit : units) {
-				CompilationUnitRewrite rewrite= getCuRewrite(unit);
-				adjustor.setRewrites(Collections.singletonMap(unit, rewrite));
-				adjustor.setAdjustments(adjustments);
-				adjustor.rewriteVisibility(unit, Progress.subMonitor(sub, 1));
-				ReferenceAnalyzer analyzer= new ReferenceAnalyzer(rewrite, fMemberBindings, targetBinding, fSourceBinding);
-				rewrite.getRoot().accept(analyzer);
-				status.merge(analyzer.getStatus());
-				if (status.hasFatalError()) {
-					fChange= null;
-					return;
+				if (fSource.getCu().equals(unit) || fTarget.getCu().equals(unit)) {
+					updateReferences(getCuRewrite(unit), adjustor, adjustments, targetBinding, status, Progress.subMonitor(sub, 1));
+					if (status.hasFatalError()) {
+						fChange= null;
+						return;
+					}
+				} else {
+					referencingUnits.add(unit);
 				}
-				if (!fSource.getCu().equals(unit) && !fTarget.getCu().equals(unit))
+			}
+			// the remaining units are parsed in batches that share their bindings
+			new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).createASTs(referencingUnits, null, true, true, false, (unit, root) -> {
+				if (status.hasFatalError())
+					return;
+				CompilationUnitRewrite rewrite= new CompilationUnitRewrite(unit, root);
+				updateReferences(rewrite, adjustor, adjustments, targetBinding, status, new NullProgressMonitor());
+				if (!status.hasFatalError())
 					fChange.add(rewrite.createChange(true));
+			}, Progress.subMonitor(sub, referencingUnits.size()));
+			if (status.hasFatalError()) {
+				fChange= null;
+				return;
 			}
 			status.merge(moveMembers(fMemberDeclarations, memberSources));
 			fChange.add(fSource.createChange(true));
@@ -946,6 +958,16 @@ public final class MoveStaticMembersProcessor extends MoveProcessor implements I
 		return descriptor;
 	}
 
+	private void updateReferences(CompilationUnitRewrite rewrite, MemberVisibilityAdjustor adjustor, Map<IMember, IncomingMemberVisibilityAdjustment> adjustments, ITypeBinding targetBinding, RefactoringStatus status, IProgressMonitor monitor) throws JavaModelException {
+		ICompilationUnit unit= rewrite.getCu();
+		adjustor.setRewrites(Collections.singletonMap(unit, rewrite));
+		adjustor.setAdjustments(adjustments);
+		adjustor.rewriteVisibility(unit, monitor);
+		ReferenceAnalyzer analyzer= new ReferenceAnalyzer(rewrite, fMemberBindings, targetBinding, fSourceBinding);
+		rewrite.getRoot().accept(analyzer);
+		status.merge(analyzer.getStatus());
+	}
+
 	private CompilationUnitRewrite getCuRewrite(ICompilationUnit unit) {
 		if (fSource.getCu().equals(unit))
 			return fSource;
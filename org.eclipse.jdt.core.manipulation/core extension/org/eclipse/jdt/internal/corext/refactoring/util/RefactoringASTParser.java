@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -28,6 +34,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 
@@ -36,6 +43,43 @@ import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
 public class RefactoringASTParser {
 
+	/**
+	 * Receives the ASTs created by
+	 * {@link RefactoringASTParser#createASTs(Collection, WorkingCopyOwner, boolean, boolean, boolean, IASTCallback, IProgressMonitor)}.
+	 */
+	@FunctionalInterface
+	public interface IASTCallback {
+
+		/**
+		 * Accepts the AST of a compilation unit. The AST is only guaranteed to be referenced by the
+		 * parser during this call, so clients should not hold on to it unless they need to.
+		 *
+		 * @param unit the compilation unit
+		 * @param ast the AST of the compilation unit
+		 * @throws CoreException if the AST could not be processed; stops the creation of further ASTs
+		 */
+		void acceptAST(ICompilationUnit unit, CompilationUnit ast) throws CoreException;
+	}
+
+	/**
+	 * Wraps a {@link CoreException} thrown by an {@link IASTCallback} while
+	 * {@link ASTParser#createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)} is running.
+	 */
+	private static class CallbackException extends RuntimeException {
+
+		private static final long serialVersionUID= 1L;
+
+		CallbackException(CoreException cause) {
+			super(cause);
+		}
+	}
+
+	/**
+	 * Maximal number of compilation units that share a binding environment. Larger batches resolve
+	 * bindings once for more units, but keep more compiler state alive at the same time.
+	 */
+	private static final int SIZE_BATCH= 500;
+
 	private ASTParser fParser;
 
 	public RefactoringASTParser(int level) {
@@ -107,6 +151,62 @@ public class RefactoringASTParser {
 		return newCUNode;
 	}
 
+	/**
+	 * Creates the ASTs of the given compilation units and passes them to <code>callback</code>.
+	 * <p>
+	 * Unlike calling {@link #parse(ITypeRoot, WorkingCopyOwner, boolean, boolean, boolean, IProgressMonitor)}
+	 * once per unit, the units of a project are parsed in batches that share one binding environment,
+	 * so the bindings of commonly referenced types are only resolved once per batch. Units are
+	 * reported grouped by project, and within a project in the order of <code>units</code>.
+	 * </p>
+	 *
+	 * @param units the compilation units to parse
+	 * @param owner the working copy owner, or <code>null</code> for the primary owner
+	 * @param resolveBindings whether bindings are to be resolved
+	 * @param statementsRecovery whether statements recovery should be enabled
+	 * @param bindingsRecovery whether bindings recovery should be enabled
+	 * @param callback the callback receiving the ASTs
+	 * @param pm an {@link IProgressMonitor}, or <code>null</code>
+	 * @throws CoreException if the callback failed to process an AST
+	 */
+	public void createASTs(Collection<ICompilationUnit> units, WorkingCopyOwner owner, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, IASTCallback callback, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, units.size());
+		Map<IJavaProject, List<ICompilationUnit>> projects= new LinkedHashMap<>();
+		for (ICompilationUnit unit : units)
+			projects.computeIfAbsent(unit.getJavaProject(), project -> new ArrayList<>()).add(unit);
+
+		for (Entry<IJavaProject, List<ICompilationUnit>> entry : projects.entrySet()) {
+			IJavaProject project= entry.getKey();
+			List<ICompilationUnit> projectUnits= entry.getValue();
+			Map<String, String> options= getCompilerOptions(project);
+			for (int start= 0; start < projectUnits.size(); start+= SIZE_BATCH) {
+				List<ICompilationUnit> batch= projectUnits.subList(start, Math.min(projectUnits.size(), start + SIZE_BATCH));
+				fParser.setResolveBindings(resolveBindings);
+				fParser.setStatementsRecovery(statementsRecovery);
+				fParser.setBindingsRecovery(bindingsRecovery);
+				fParser.setProject(project);
+				fParser.setCompilerOptions(options);
+				if (owner != null)
+					fParser.setWorkingCopyOwner(owner);
+				try {
+					fParser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+
+						@Override
+						public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+							try {
+								callback.acceptAST(source, ast);
+							} catch (CoreException exception) {
+								throw new CallbackException(exception);
+							}
+						}
+					}, subMonitor.split(batch.size()));
+				} catch (CallbackException exception) {
+					throw (CoreException) exception.getCause();
+				}
+			}
+		}
+	}
+
 	/**
 	 * Tries to get the shared AST from the ASTProvider.
 	 * If the shared AST is not available, parses the type root with a
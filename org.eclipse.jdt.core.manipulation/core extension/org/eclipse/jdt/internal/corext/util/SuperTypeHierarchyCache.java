@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.util;
 
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -26,43 +28,75 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Lookups are lock-free: every type contained in a cached hierarchy is indexed, so a hierarchy
+ * built for a subtype also answers requests for its super types. Hierarchy computations are
+ * guarded by striped locks so that concurrent requests for the same type compute the hierarchy
+ * only once while requests for unrelated types proceed in parallel.
+ * </p>
+ * <p>
+ * The cache is bounded by an estimated memory budget rather than by a fixed number of entries.
+ * When the budget is exceeded, the least recently accessed hierarchies are evicted. An entry is
+ * removed as soon as its hierarchy reports a change.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private final ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final long fRetainedSize;
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters;
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
-			fTypeHierarchy.addTypeHierarchyChangedListener(this);
+			fTypes= hierarchy.getAllTypes();
+			fRetainedSize= ESTIMATED_SIZE_PER_ENTRY + (long) fTypes.length * ESTIMATED_SIZE_PER_TYPE;
+			fMethodOverrideTesters= new ConcurrentHashMap<>();
 			markAsAccessed();
 		}
 
 		@Override
 		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-			removeHierarchyEntryFromCache(this);
+			if (removeHierarchyEntryFromCache(this)) {
+				fgInvalidations.increment();
+			}
 		}
 
 		public ITypeHierarchy getTypeHierarchy() {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public long getRetainedSize() {
+			return fRetainedSize;
+		}
+
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, fTypeHierarchy));
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= System.nanoTime();
 		}
 
 		public long getLastAccess() {
 			return fLastAccess;
 		}
 
+		public void install() {
+			fTypeHierarchy.addTypeHierarchyChangedListener(this);
+		}
+
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
-				fTypeHierarchy= null;
-			}
+			fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			fMethodOverrideTesters.clear();
 		}
 
 		@Override
@@ -73,13 +107,42 @@ public class SuperTypeHierarchyCache {
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	/**
+	 * Estimated number of bytes retained by a cached hierarchy, in addition to the size of its types.
+	 */
+	private static final int ESTIMATED_SIZE_PER_ENTRY= 1024;
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	/**
+	 * Estimated number of bytes retained per type of a cached hierarchy, including the share of the
+	 * method override testers created for the hierarchy.
+	 */
+	private static final int ESTIMATED_SIZE_PER_TYPE= 2048;
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	/**
+	 * Memory budget (in bytes) of the cache. Can be configured with the system property
+	 * <code>org.eclipse.jdt.ui.superTypeHierarchyCacheSize</code>.
+	 */
+	private static final long CACHE_BUDGET= Long.getLong("org.eclipse.jdt.ui.superTypeHierarchyCacheSize", 64L * 1024 * 1024); //$NON-NLS-1$
+
+	private static final int LOCK_STRIPES= 32;
+
+	private static final Object[] fgBuildLocks= new Object[LOCK_STRIPES];
+	static {
+		for (int i= 0; i < LOCK_STRIPES; i++) {
+			fgBuildLocks[i]= new Object();
+		}
+	}
+
+	private static final Object fgEvictionLock= new Object();
+
+	private static final Set<HierarchyCacheEntry> fgHierarchyCache= ConcurrentHashMap.newKeySet();
+	private static final Map<IType, HierarchyCacheEntry> fgTypeToEntry= new ConcurrentHashMap<>();
+	private static final AtomicLong fgRetainedSize= new AtomicLong();
+
+	private static final LongAdder fgCacheHits= new LongAdder();
+	private static final LongAdder fgCacheMisses= new LongAdder();
+	private static final LongAdder fgEvictions= new LongAdder();
+	private static final LongAdder fgInvalidations= new LongAdder();
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,32 +160,7 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
-		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
-			}
-		}
-		return test;
-	}
-
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
-			}
-		}
+		return getHierarchyEntry(type, null).getMethodOverrideTester(type);
 	}
 
 	/**
@@ -138,44 +176,66 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
-		}
-		return hierarchy;
-	}
-
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
+		return getHierarchyEntry(type, progressMonitor).getTypeHierarchy();
+	}
+
+	private static HierarchyCacheEntry getHierarchyEntry(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
+		HierarchyCacheEntry entry= findHierarchyEntryInCache(type);
+		if (entry == null) {
+			synchronized (getBuildLock(type)) {
+				entry= findHierarchyEntryInCache(type); // test again after waiting for a concurrent computation
+				if (entry == null) {
+					fgCacheMisses.increment();
+					return addTypeHierarchyToCache(type.newSupertypeHierarchy(progressMonitor));
+				}
+			}
+		}
+		fgCacheHits.increment();
+		return entry;
+	}
+
+	private static Object getBuildLock(IType type) {
+		return fgBuildLocks[(type.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+	}
+
+	private static HierarchyCacheEntry addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
+
+		// remove obsolete entries and entries that are subsumed by the new hierarchy
+		for (HierarchyCacheEntry entry : fgHierarchyCache) {
+			ITypeHierarchy curr= entry.getTypeHierarchy();
+			if (!curr.exists() || hierarchy.contains(curr.getType())) {
+				removeHierarchyEntryFromCache(entry);
+			}
+		}
+
+		fgHierarchyCache.add(newEntry);
+		for (IType curr : newEntry.getTypes()) {
+			fgTypeToEntry.put(curr, newEntry);
+		}
+		fgRetainedSize.addAndGet(newEntry.getRetainedSize());
+		newEntry.install();
+
+		evictLeastRecentlyAccessed(newEntry);
+		return newEntry;
+	}
+
+	private static void evictLeastRecentlyAccessed(HierarchyCacheEntry keep) {
+		synchronized (fgEvictionLock) {
+			while (fgRetainedSize.get() > CACHE_BUDGET) {
 				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
 				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
+					if (entry != keep && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+						oldest= entry;
 					}
 				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
-					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
+				if (oldest == null) {
+					return;
+				}
+				if (removeHierarchyEntryFromCache(oldest)) {
+					fgEvictions.increment();
 				}
 			}
-			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
 		}
 	}
 
@@ -186,43 +246,51 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findHierarchyEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
-			}
+	private static HierarchyCacheEntry findHierarchyEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgTypeToEntry.get(type);
+		if (entry == null) {
+			return null;
+		}
+		if (!entry.getTypeHierarchy().exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
 		}
-		return null;
+		entry.markAsAccessed();
+		return entry;
 	}
 
-	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
-			entry.dispose();
-			fgHierarchyCache.remove(entry);
+	private static boolean removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
+		if (!fgHierarchyCache.remove(entry)) {
+			return false; // already removed by a concurrent caller
+		}
+		for (IType curr : entry.getTypes()) {
+			fgTypeToEntry.remove(curr, entry);
 		}
+		fgRetainedSize.addAndGet(-entry.getRetainedSize());
+		entry.dispose();
+		return true;
 	}
 
 
+	/**
+	 * Removes all hierarchies from the cache. The statistics are not reset.
+	 */
+	public static void flushCache() {
+		for (HierarchyCacheEntry entry : fgHierarchyCache) {
+			removeHierarchyEntryFromCache(entry);
+		}
+	}
+
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return fgCacheHits.intValue();
 	}
 
 	/**
@@ -230,7 +298,57 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return fgCacheMisses.intValue();
+	}
+
+	/**
+	 * Gets the number of hierarchies that have been evicted because the memory budget was exceeded.
+	 * @return the number of evictions
+	 */
+	public static long getEvictionCount() {
+		return fgEvictions.sum();
+	}
+
+	/**
+	 * Gets the number of hierarchies that have been removed because they reported a change.
+	 * @return the number of invalidations
+	 */
+	public static long getInvalidationCount() {
+		return fgInvalidations.sum();
+	}
+
+	/**
+	 * Gets the number of hierarchies currently held by the cache.
+	 * @return the number of cached hierarchies
+	 */
+	public static int getCacheSize() {
+		return fgHierarchyCache.size();
+	}
+
+	/**
+	 * Gets the estimated number of bytes retained by the cached hierarchies.
+	 * @return the estimated retained size in bytes
+	 */
+	public static long getRetainedSize() {
+		return fgRetainedSize.get();
+	}
+
+	/**
+	 * Gets the memory budget of the cache.
+	 * @return the memory budget in bytes
+	 */
+	public static long getCacheBudget() {
+		return CACHE_BUDGET;
+	}
+
+	/**
+	 * Resets the hit, miss, eviction and invalidation counters. Used for testing.
+	 */
+	public static void resetStatistics() {
+		fgCacheHits.reset();
+		fgCacheMisses.reset();
+		fgEvictions.reset();
+		fgInvalidations.reset();
 	}
 
 	private SuperTypeHierarchyCache() {
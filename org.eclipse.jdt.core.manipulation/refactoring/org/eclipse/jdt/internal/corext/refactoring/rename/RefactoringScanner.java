@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,25 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.rename;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
@@ -56,6 +70,48 @@ public class RefactoringScanner {
 		}
 	}
 
+	/**
+	 * The comment and string literal tokens of a compilation unit, stored as pairs of start offset
+	 * and length in {@link #regions}.
+	 * <p>
+	 * The tokens are only valid for the buffer contents they have been computed from. The
+	 * modification stamp alone does not identify the contents, since an editor buffer whose changes
+	 * have been discarded can reach the same stamp again, so the length and hash code of the contents
+	 * are checked as well.
+	 * </p>
+	 */
+	private record TokenRegions(long stamp, int length, int hash, String sourceLevel, String complianceLevel, int[] regions) {
+
+		boolean isValid(long currentStamp, char[] chars, int currentHash, String currentSourceLevel, String currentComplianceLevel) {
+			return stamp == currentStamp
+					&& length == chars.length
+					&& hash == currentHash
+					&& Objects.equals(sourceLevel, currentSourceLevel)
+					&& Objects.equals(complianceLevel, currentComplianceLevel);
+		}
+	}
+
+	/**
+	 * Maximal number of compilation units whose tokens are cached. Can be configured with the system
+	 * property <code>org.eclipse.jdt.core.manipulation.textMatchCacheSize</code>.
+	 */
+	private static final int MAX_CACHED_UNITS= Integer.getInteger("org.eclipse.jdt.core.manipulation.textMatchCacheSize", 2000).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Session-wide cache of the comment and string literal tokens of compilation units, so that
+	 * consecutive renames only match the names in the tokens instead of re-scanning all units.
+	 */
+	private static final Map<ICompilationUnit, TokenRegions> fgTokenRegions= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ICompilationUnit, TokenRegions> eldest) {
+			return size() > MAX_CACHED_UNITS;
+		}
+	};
+
+	private static int fgHits;
+
 	private final String fName;
 	private final String fQualifier;
 
@@ -72,16 +128,16 @@ public class RefactoringScanner {
 
 	public void scan(ICompilationUnit cu)	throws JavaModelException {
 		char[] chars= cu.getBuffer().getCharacters();
+		if (chars == null)
+			chars= new char[0];
 		fMatches= new HashSet<>();
+		String sourceLevel= null;
+		String complianceLevel= null;
 		IJavaProject javaProject= cu.getJavaProject();
-        if (javaProject != null) {
-            String sourceLevel = javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
-            String complianceLevel = javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
-            fScanner = ToolFactory.createScanner(true, true, true, sourceLevel, complianceLevel);
-        } else {
-        	fScanner= ToolFactory.createScanner(true, true, false, true);
-        }
-		fScanner.setSource(chars);
+		if (javaProject != null) {
+			sourceLevel= javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
+			complianceLevel= javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
+		}
 
 //		IImportContainer importContainer= cu.getImportContainer();
 //		if (importContainer.exists())
@@ -89,8 +145,22 @@ public class RefactoringScanner {
 //		else
 //			fNoFlyZone= null;
 
-		doScan();
-		fScanner= null;
+		long stamp= getModificationStamp(cu);
+		int hash= Arrays.hashCode(chars);
+		int[] regions= getCachedRegions(cu, stamp, chars, hash, sourceLevel, complianceLevel);
+		if (regions == null) {
+			if (javaProject != null) {
+				fScanner= ToolFactory.createScanner(true, true, true, sourceLevel, complianceLevel);
+			} else {
+				fScanner= ToolFactory.createScanner(true, true, false, true);
+			}
+			fScanner.setSource(chars);
+			regions= collectRegions();
+			fScanner= null;
+			if (stamp != IResource.NULL_STAMP)
+				putCachedRegions(cu, new TokenRegions(stamp, chars.length, hash, sourceLevel, complianceLevel, regions));
+		}
+		parseRegions(chars, regions);
 	}
 
 	/**
@@ -106,11 +176,72 @@ public class RefactoringScanner {
 		fMatches= new HashSet<>();
 		fScanner= ToolFactory.createScanner(true, true, false, true);
 		fScanner.setSource(chars);
-		doScan();
+		int[] regions= collectRegions();
 		fScanner= null;
+		parseRegions(chars, regions);
 	}
 
-	private void doScan() {
+	/**
+	 * Removes all cached tokens.
+	 */
+	public static synchronized void clearCache() {
+		fgTokenRegions.clear();
+	}
+
+	/**
+	 * @return the number of scans of compilation units that used cached tokens
+	 */
+	public static synchronized int getCacheHitCount() {
+		return fgHits;
+	}
+
+	private static synchronized int[] getCachedRegions(ICompilationUnit cu, long stamp, char[] chars, int hash, String sourceLevel, String complianceLevel) {
+		if (stamp == IResource.NULL_STAMP)
+			return null;
+		TokenRegions tokenRegions= fgTokenRegions.get(cu);
+		if (tokenRegions == null || !tokenRegions.isValid(stamp, chars, hash, sourceLevel, complianceLevel))
+			return null;
+		fgHits++;
+		return tokenRegions.regions();
+	}
+
+	private static synchronized void putCachedRegions(ICompilationUnit cu, TokenRegions tokenRegions) {
+		fgTokenRegions.put(cu, tokenRegions);
+	}
+
+	/**
+	 * Returns the modification stamp of the buffer of the given compilation unit.
+	 *
+	 * @param cu the compilation unit
+	 * @return the modification stamp of the editor document or of the file, or
+	 *         {@link IResource#NULL_STAMP} if the buffer contents cannot be identified by a stamp
+	 */
+	private static long getModificationStamp(ICompilationUnit cu) {
+		if (cu.getOwner() != null)
+			return IResource.NULL_STAMP; // working copy of a refactoring or another client
+		IResource resource= cu.getResource();
+		if (!(resource instanceof IFile))
+			return IResource.NULL_STAMP;
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(resource.getFullPath(), LocationKind.IFILE);
+		if (buffer != null) {
+			IDocument document= buffer.getDocument();
+			if (document instanceof IDocumentExtension4)
+				return ((IDocumentExtension4) document).getModificationStamp();
+			return IResource.NULL_STAMP;
+		}
+		if (cu.isWorkingCopy())
+			return IResource.NULL_STAMP; // buffer is not backed by the file
+		return resource.getModificationStamp();
+	}
+
+	/**
+	 * Collects the comment and string literal tokens of the scanner source.
+	 *
+	 * @return pairs of start offset and length of the tokens
+	 */
+	private int[] collectRegions() {
+		int[] regions= new int[16];
+		int count= 0;
 		try{
 			int token = fScanner.getNextToken();
 			while (token != ITerminalSymbols.TokenNameEOF) {
@@ -119,13 +250,24 @@ public class RefactoringScanner {
 					case ITerminalSymbols.TokenNameCOMMENT_JAVADOC :
 					case ITerminalSymbols.TokenNameCOMMENT_LINE :
 					case ITerminalSymbols.TokenNameCOMMENT_BLOCK :
-						parseCurrentToken();
+						if (count + 2 > regions.length)
+							regions= Arrays.copyOf(regions, regions.length * 2);
+						int start= fScanner.getCurrentTokenStartPosition();
+						regions[count++]= start;
+						regions[count++]= fScanner.getCurrentTokenEndPosition() + 1 - start;
 				}
 				token = fScanner.getNextToken();
 			}
 		} catch (InvalidInputException e){
 			//ignore
 		}
+		return Arrays.copyOf(regions, count);
+	}
+
+	private void parseRegions(char[] chars, int[] regions) {
+		for (int i= 0; i < regions.length; i+= 2) {
+			parseRegion(new String(chars, regions[i], regions[i + 1]), regions[i]);
+		}
 	}
 
 	private static boolean isWholeWord(String value, int from, int to){
@@ -144,10 +286,8 @@ public class RefactoringScanner {
 		return true;
 	}
 
-	private void parseCurrentToken() {
+	private void parseRegion(String value, int start) {
 		// only works for references without whitespace
-		String value = new String(fScanner.getRawTokenSource());
-		int start= fScanner.getCurrentTokenStartPosition();
 		int index= value.indexOf(fName);
 		while (index != -1) {
 			if (isWholeWord(value, index, index + fName.length())) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,11 +19,17 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -34,6 +40,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -139,6 +146,17 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 	private static final String ATTRIBUTE_SIMILAR_DECLARATIONS= "similarDeclarations"; //$NON-NLS-1$
 	private static final String ATTRIBUTE_MATCHING_STRATEGY= "matchStrategy"; //$NON-NLS-1$
 
+	/**
+	 * Number of compilation units with similarly named local variables that are parsed together.
+	 */
+	private static final int SIZE_PARSE_BATCH= 50;
+
+	/**
+	 * Number of threads used to process the search result groups by default. <code>1</code> processes
+	 * them sequentially in the calling thread.
+	 */
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("org.eclipse.jdt.core.manipulation.renameTypeParallelism", 1).intValue(); //$NON-NLS-1$
+
 	private static final GroupCategorySet CATEGORY_TYPE_RENAME= new GroupCategorySet(new GroupCategory("org.eclipse.jdt.internal.corext.refactoring.rename.renameType.type", RefactoringCoreMessages.RenameTypeProcessor_changeCategory_type, RefactoringCoreMessages.RenameTypeProcessor_changeCategory_type_description)); //$NON-NLS-1$
 	private static final GroupCategorySet CATEGORY_METHOD_RENAME= new GroupCategorySet(new GroupCategory("org.eclipse.jdt.internal.corext.refactoring.rename.renameType.method", RefactoringCoreMessages.RenameTypeProcessor_changeCategory_method, RefactoringCoreMessages.RenameTypeProcessor_changeCategory_method_description)); //$NON-NLS-1$
 	private static final GroupCategorySet CATEGORY_FIELD_RENAME= new GroupCategorySet(new GroupCategory("org.eclipse.jdt.internal.corext.refactoring.rename.renameType.field", RefactoringCoreMessages.RenameTypeProcessor_changeCategory_fields, RefactoringCoreMessages.RenameTypeProcessor_changeCategory_fields_description)); //$NON-NLS-1$
@@ -174,6 +192,20 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 	private int fCachedRenamingStrategy= -1;
 	private RefactoringStatus fCachedRefactoringStatus= null;
 
+	private int fParallelism= DEFAULT_PARALLELISM;
+
+	/**
+	 * Computes a result for a single element of the references, e.g. a search result group. Must
+	 * not depend on the results of other elements, as elements may be processed concurrently.
+	 *
+	 * @param <E> the type of the elements
+	 * @param <T> the type of the result
+	 */
+	@FunctionalInterface
+	private interface IReferenceProcessor<E, T> {
+		T process(E element) throws JavaModelException;
+	}
+
 	public static final class ParticipantDescriptorFilter implements IParticipantDescriptorFilter {
 
 		@Override
@@ -408,6 +440,23 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		return fUpdateSimilarElements;
 	}
 
+	/**
+	 * Sets the number of threads used to process the references to the type. With more than one
+	 * thread, the search result groups are processed on a fork-join pool and the results are
+	 * merged in the order of the groups, so that the resulting changes do not depend on the
+	 * scheduling.
+	 *
+	 * @param parallelism the number of threads, <code>1</code> to process the references sequentially
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isLegal(parallelism > 0);
+		fParallelism= parallelism;
+	}
+
+	public int getParallelism() {
+		return fParallelism;
+	}
+
 	@Override
 	public int getMatchStrategy() {
 		return fRenamingStrategy;
@@ -606,6 +655,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 
 		try {
+			SubMonitor subMonitor= SubMonitor.convert(monitor, 2);
 			SearchPattern pattern= SearchPattern.createPattern(fType, IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
 			Assert.isNotNull(pattern);
 
@@ -616,7 +666,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 					pattern,
 					RefactoringScopeFactory.create(fType, true, false),
 					new TypeOccurrenceCollector(fType, binaryRefs),
-					monitor,
+					subMonitor.split(1),
 					fCachedRefactoringStatus);
 
 			binaryRefs.addErrorIfNecessary(fCachedRefactoringStatus);
@@ -627,80 +677,11 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 
 			final String unQualifiedTypeName= fType.getElementName();
 
-			monitor.beginTask("", fReferences.length); //$NON-NLS-1$
-
 			if (getUpdateSimilarDeclarations()) {
 
-				RenamingNameSuggestor sugg= new RenamingNameSuggestor(fRenamingStrategy);
-
-				for (SearchResultGroup reference : fReferences) {
-					final ICompilationUnit cu= reference.getCompilationUnit();
-					if (cu == null)
-						continue;
-
-					final SearchMatch[] results= reference.getSearchResults();
-
-					for (SearchMatch result : results) {
-
-						if (! (result instanceof TypeReferenceMatch))
-							continue;
-
-						final TypeReferenceMatch match= (TypeReferenceMatch) result;
-						final List<IJavaElement> matches= new ArrayList<>();
-
-						if (match.getLocalElement() != null) {
-							if (match.getLocalElement() instanceof ILocalVariable) {
-								matches.add(match.getLocalElement());
-							}
-							// else don't update (e.g. match in type parameter, annotation, ...)
-						} else {
-							matches.add((IJavaElement) match.getElement());
-						}
-
-						final IJavaElement[] others= match.getOtherElements();
-						if (others != null)
-							matches.addAll(Arrays.asList(others));
-
-						for (IJavaElement element : matches) {
-							if (! (element instanceof IMethod) && ! (element instanceof IField) && ! (element instanceof ILocalVariable))
-								continue;
-
-							if (!isInDeclaredType(match.getOffset(), element))
-								continue;
-
-							if (element instanceof IField) {
-								final IField currentField= (IField) element;
-								final String newFieldName= sugg.suggestNewFieldName(currentField.getJavaProject(), currentField.getElementName(), Flags.isStatic(currentField.getFlags()),
-										unQualifiedTypeName, getNewElementName());
-
-								if (newFieldName != null)
-									fPreloadedElementToName.put(currentField, newFieldName);
-
-							} else if (element instanceof IMethod) {
-								final IMethod currentMethod= (IMethod) element;
-								addMethodRename(unQualifiedTypeName, sugg, currentMethod);
-
-							} else if (element instanceof ILocalVariable) {
-								final ILocalVariable currentLocal= (ILocalVariable) element;
-								final boolean isParameter;
-
-								if (currentLocal.isParameter()) {
-									addMethodRename(unQualifiedTypeName, sugg, (IMethod) currentLocal.getParent());
-									isParameter= true;
-								} else
-									isParameter= false;
-
-								final String newLocalName= sugg
-										.suggestNewLocalName(currentLocal.getJavaProject(), currentLocal.getElementName(), isParameter, unQualifiedTypeName, getNewElementName());
-
-								if (newLocalName != null)
-									fPreloadedElementToName.put(currentLocal, newLocalName);
-							}
-						}
-					}
-					if (monitor.isCanceled())
-						throw new OperationCanceledException();
-				}
+				final String newTypeName= getNewElementName();
+				for (Map<IJavaElement, String> similarElements : processReferences(Arrays.asList(fReferences), reference -> collectSimilarElements(reference, unQualifiedTypeName, newTypeName), subMonitor.split(1)))
+					fPreloadedElementToName.putAll(similarElements);
 			}
 
 			for (IJavaElement element : fPreloadedElementToName.keySet()) {
@@ -738,12 +719,92 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		return false;
 	}
 
-	private void addMethodRename(final String unQualifiedTypeName, RenamingNameSuggestor sugg, final IMethod currentMethod) throws JavaModelException {
+	/**
+	 * Collects the similarly named fields, methods and local variables whose declared type is
+	 * referenced by the matches of a single search result group.
+	 *
+	 * @param reference the search result group
+	 * @param unQualifiedTypeName the simple name of the renamed type
+	 * @param newTypeName the new name of the type
+	 * @return the similarly named elements mapped to their suggested new names, in match order
+	 * @throws JavaModelException should not happen
+	 */
+	private Map<IJavaElement, String> collectSimilarElements(SearchResultGroup reference, String unQualifiedTypeName, String newTypeName) throws JavaModelException {
+		final Map<IJavaElement, String> result= new LinkedHashMap<>();
+		final ICompilationUnit cu= reference.getCompilationUnit();
+		if (cu == null)
+			return result;
+
+		final RenamingNameSuggestor sugg= new RenamingNameSuggestor(fRenamingStrategy);
+		final SearchMatch[] results= reference.getSearchResults();
+
+		for (SearchMatch searchMatch : results) {
+
+			if (! (searchMatch instanceof TypeReferenceMatch))
+				continue;
+
+			final TypeReferenceMatch match= (TypeReferenceMatch) searchMatch;
+			final List<IJavaElement> matches= new ArrayList<>();
+
+			if (match.getLocalElement() != null) {
+				if (match.getLocalElement() instanceof ILocalVariable) {
+					matches.add(match.getLocalElement());
+				}
+				// else don't update (e.g. match in type parameter, annotation, ...)
+			} else {
+				matches.add((IJavaElement) match.getElement());
+			}
+
+			final IJavaElement[] others= match.getOtherElements();
+			if (others != null)
+				matches.addAll(Arrays.asList(others));
+
+			for (IJavaElement element : matches) {
+				if (! (element instanceof IMethod) && ! (element instanceof IField) && ! (element instanceof ILocalVariable))
+					continue;
+
+				if (!isInDeclaredType(match.getOffset(), element))
+					continue;
+
+				if (element instanceof IField) {
+					final IField currentField= (IField) element;
+					final String newFieldName= sugg.suggestNewFieldName(currentField.getJavaProject(), currentField.getElementName(), Flags.isStatic(currentField.getFlags()),
+							unQualifiedTypeName, newTypeName);
+
+					if (newFieldName != null)
+						result.put(currentField, newFieldName);
+
+				} else if (element instanceof IMethod) {
+					final IMethod currentMethod= (IMethod) element;
+					addMethodRename(result, unQualifiedTypeName, newTypeName, sugg, currentMethod);
+
+				} else if (element instanceof ILocalVariable) {
+					final ILocalVariable currentLocal= (ILocalVariable) element;
+					final boolean isParameter;
+
+					if (currentLocal.isParameter()) {
+						addMethodRename(result, unQualifiedTypeName, newTypeName, sugg, (IMethod) currentLocal.getParent());
+						isParameter= true;
+					} else
+						isParameter= false;
+
+					final String newLocalName= sugg
+							.suggestNewLocalName(currentLocal.getJavaProject(), currentLocal.getElementName(), isParameter, unQualifiedTypeName, newTypeName);
+
+					if (newLocalName != null)
+						result.put(currentLocal, newLocalName);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void addMethodRename(Map<IJavaElement, String> elementToName, final String unQualifiedTypeName, final String newTypeName, RenamingNameSuggestor sugg, final IMethod currentMethod) throws JavaModelException {
 		if (!currentMethod.isConstructor()) {
-			final String newMethodName= sugg.suggestNewMethodName(currentMethod.getElementName(), unQualifiedTypeName, getNewElementName());
+			final String newMethodName= sugg.suggestNewMethodName(currentMethod.getElementName(), unQualifiedTypeName, newTypeName);
 
 			if (newMethodName != null)
-				fPreloadedElementToName.put(currentMethod, newMethodName);
+				elementToName.put(currentMethod, newMethodName);
 		}
 	}
 
@@ -1200,23 +1261,102 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		}
 	}
 
-	private void addReferenceUpdates(TextChangeManager manager, IProgressMonitor pm) {
-		pm.beginTask("", fReferences.length); //$NON-NLS-1$
+	private void addReferenceUpdates(TextChangeManager manager, IProgressMonitor pm) throws JavaModelException {
+		// the manager is not thread safe, so all changes are looked up before the edits are added,
+		// and all groups of a compilation unit are handled by the same task
+		final Map<TextChange, List<SearchResultGroup>> changes= new LinkedHashMap<>();
 		for (SearchResultGroup reference : fReferences) {
 			ICompilationUnit cu= reference.getCompilationUnit();
-			if (cu == null)
-				continue;
-
+			if (cu != null)
+				changes.computeIfAbsent(manager.get(cu), change -> new ArrayList<>()).add(reference);
+		}
+		final String newName= getNewElementName();
+		processReferences(new ArrayList<>(changes.entrySet()), entry -> {
+			TextChange change= entry.getKey();
 			String name= RefactoringCoreMessages.RenameTypeRefactoring_update_reference;
 
-			for (SearchMatch match : reference.getSearchResults()) {
-				ReplaceEdit replaceEdit= new ReplaceEdit(match.getOffset(), match.getLength(), getNewElementName());
-				TextChangeCompatibility.addTextEdit(manager.get(cu), name, replaceEdit, CATEGORY_TYPE_RENAME);
+			for (SearchResultGroup reference : entry.getValue()) {
+				for (SearchMatch match : reference.getSearchResults()) {
+					ReplaceEdit replaceEdit= new ReplaceEdit(match.getOffset(), match.getLength(), newName);
+					TextChangeCompatibility.addTextEdit(change, name, replaceEdit, CATEGORY_TYPE_RENAME);
+				}
 			}
-			pm.worked(1);
+			return change;
+		}, pm);
+	}
+
+	/**
+	 * Processes the given elements of the references to the type, on a fork-join pool if the
+	 * parallelism is greater than one. Each element reports one unit of work to <code>pm</code>.
+	 *
+	 * @param <E> the type of the elements
+	 * @param <T> the type of the results
+	 * @param elements the elements to process
+	 * @param processor the processor
+	 * @param pm the progress monitor
+	 * @return the results, in the order of the elements
+	 * @throws JavaModelException if an element could not be processed
+	 */
+	private <E, T> List<T> processReferences(List<E> elements, IReferenceProcessor<E, T> processor, IProgressMonitor pm) throws JavaModelException {
+		final SubMonitor subMonitor= SubMonitor.convert(pm, elements.size());
+		final List<T> results= new ArrayList<>(elements.size());
+		if (fParallelism <= 1 || elements.size() <= 1) {
+			for (E element : elements) {
+				results.add(processor.process(element));
+				subMonitor.worked(1);
+				if (subMonitor.isCanceled())
+					throw new OperationCanceledException();
+			}
+			return results;
+		}
+
+		ForkJoinPool pool= new ForkJoinPool(Math.min(fParallelism, elements.size()));
+		try {
+			List<ForkJoinTask<T>> tasks= new ArrayList<>(elements.size());
+			for (E element : elements) {
+				tasks.add(pool.submit(() -> {
+					if (subMonitor.isCanceled())
+						throw new OperationCanceledException();
+					return processor.process(element);
+				}));
+			}
+			for (ForkJoinTask<T> task : tasks) {
+				results.add(task.get());
+				subMonitor.worked(1);
+			}
+			return results;
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof JavaModelException)
+				throw (JavaModelException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			// no task may still be adding edits when the caller continues or the exception is reported
+			pool.shutdownNow();
+			awaitTermination(pool);
 		}
 	}
 
+	private static void awaitTermination(ExecutorService executor) {
+		boolean interrupted= false;
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
 	private void computeQualifiedNameMatches(IProgressMonitor pm) {
 		IPackageFragment fragment= fType.getPackageFragment();
 		if (fQualifiedNameSearchResult == null)
@@ -1297,6 +1437,15 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		final List<RefactoringProcessor> processors= new ArrayList<>();
 		fFinalSimilarElementToName= new HashMap<>();
 
+		// units that need a resolved AST, in the order in which they are visited below
+		final Set<ICompilationUnit> localVariableCUSet= new LinkedHashSet<>();
+		for (IJavaElement element : fPreloadedElementToName.keySet()) {
+			if (element instanceof ILocalVariable && (fPreloadedElementToSelection.get(element)).booleanValue())
+				localVariableCUSet.add((ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT));
+		}
+		final List<ICompilationUnit> localVariableCUs= new ArrayList<>(localVariableCUSet);
+		final Map<ICompilationUnit, CompilationUnit> resolvedCUs= new HashMap<>();
+
 		CompilationUnit currentResolvedCU= null;
 		ICompilationUnit currentCU= null;
 
@@ -1343,7 +1492,7 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 				final ILocalVariable currentLocal= (ILocalVariable) element;
 
 				if (currentResolvedCU == null)
-					currentResolvedCU= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(currentCU, true);
+					currentResolvedCU= getResolvedCompilationUnit(currentCU, localVariableCUs, resolvedCUs);
 
 				processor= createLocalRenameProcessor(currentLocal, newName, currentResolvedCU);
 
@@ -1433,6 +1582,27 @@ public class RenameTypeProcessor extends JavaRenameProcessor implements ITextUpd
 		return status;
 	}
 
+	/**
+	 * Returns the resolved AST of a compilation unit. The ASTs of the next {@link #SIZE_PARSE_BATCH}
+	 * units are created together, so that they share their bindings, and are handed out only once.
+	 *
+	 * @param unit the compilation unit
+	 * @param units the compilation units that will be requested, in the order of the requests
+	 * @param resolvedCUs the ASTs that have been created but not yet requested
+	 * @return the resolved AST
+	 * @throws CoreException if the AST could not be created
+	 */
+	private static CompilationUnit getResolvedCompilationUnit(ICompilationUnit unit, List<ICompilationUnit> units, Map<ICompilationUnit, CompilationUnit> resolvedCUs) throws CoreException {
+		CompilationUnit resolvedCU= resolvedCUs.remove(unit);
+		if (resolvedCU == null) {
+			int start= units.indexOf(unit);
+			List<ICompilationUnit> batch= start < 0 ? List.of(unit) : units.subList(start, Math.min(units.size(), start + SIZE_PARSE_BATCH));
+			new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).createASTs(batch, null, true, false, false, resolvedCUs::put, null);
+			resolvedCU= resolvedCUs.remove(unit);
+		}
+		return resolvedCU;
+	}
+
 	private void checkCUCompleteConditions(final RefactoringStatus status, CompilationUnit currentResolvedCU, ICompilationUnit currentCU, List<RefactoringProcessor> processors) throws CoreException {
 
 		// check local variable conditions
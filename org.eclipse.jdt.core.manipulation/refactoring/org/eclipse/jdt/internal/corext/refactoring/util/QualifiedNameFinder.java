@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,25 +14,53 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceProxy;
 
 import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.text.edits.ReplaceEdit;
 
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
 import org.eclipse.search.core.text.TextSearchEngine;
 import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
@@ -45,8 +73,10 @@ import org.eclipse.ltk.core.refactoring.TextChange;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
 import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 import org.eclipse.jdt.internal.corext.refactoring.changes.TextChangeCompatibility;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult.ScannedFile;
 
 import org.eclipse.jdt.internal.ui.util.PatternConstructor;
 
@@ -75,20 +105,7 @@ public class QualifiedNameFinder {
 
 		@Override
 		public boolean acceptFile(IFile file) throws CoreException {
-			IJavaElement element= JavaCore.create(file);
-			if ((element != null && element.exists()))
-				return false;
-
-			// Only touch text files (see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=114153 ):
-			if (! FileBuffers.getTextFileBufferManager().isTextFileLocation(file.getFullPath(), false))
-				return false;
-
-			IPath path= file.getProjectRelativePath();
-			String segment= path.segment(0);
-			if (segment != null && (segment.startsWith(".refactorings") || segment.startsWith(".deprecations"))) //$NON-NLS-1$ //$NON-NLS-2$
-				return false;
-
-			return true;
+			return isCandidate(file);
 		}
 
 		@Override
@@ -110,23 +127,234 @@ public class QualifiedNameFinder {
 					return true;
 			}
 
-			IFile file= matchAccess.getFile();
-			synchronized(fResult) {
-				TextChange change= fResult.getChange(file);
-				TextChangeCompatibility.addTextEdit(
-					change,
-					RefactoringCoreMessages.QualifiedNameFinder_update_name,
-					new ReplaceEdit(start, length, fNewValue), QUALIFIED_NAMES);
+			addMatch(fResult, matchAccess.getFile(), start, length, fNewValue);
+			return true;
+		}
+	}
+
+	/**
+	 * The matches found by the parallel scanner in a file.
+	 *
+	 * @param file the file
+	 * @param state the state of the file when it was scanned
+	 * @param matches the matches, in document coordinates
+	 */
+	private record FileMatches(IFile file, ScannedFile state, List<IRegion> matches) {
+	}
+
+	/**
+	 * Scans the files with NIO on a fork-join pool. Files are read into heap buffers, so that no
+	 * file stays mapped after the scan. Before a file is decoded, its bytes are checked for the
+	 * literal part of the searched name, and files that have already been scanned for the same
+	 * name in the refactoring session are skipped. The matches are only added to the result once
+	 * all files have been scanned successfully.
+	 */
+	private static class ParallelScanner {
+
+		private final QualifiedNameSearchResult fResult;
+		private final Pattern fSearchPattern;
+		private final String fNewValue;
+		private final String fLiteral;
+		private final String fSessionKey;
+
+		public ParallelScanner(QualifiedNameSearchResult result, String pattern, Pattern searchPattern, String newValue) {
+			fResult= result;
+			fSearchPattern= searchPattern;
+			fNewValue= newValue;
+			fLiteral= getLiteral(pattern);
+			fSessionKey= pattern + '\n' + newValue;
+		}
+
+		public void scan(List<IFile> files, int parallelism, IProgressMonitor monitor) throws CoreException {
+			monitor.beginTask("", files.size()); //$NON-NLS-1$
+			ForkJoinPool pool= new ForkJoinPool(Math.max(1, Math.min(parallelism, files.size())));
+			try {
+				List<ForkJoinTask<FileMatches>> tasks= new ArrayList<>(files.size());
+				for (IFile file : files) {
+					tasks.add(pool.submit(() -> {
+						if (monitor.isCanceled())
+							throw new OperationCanceledException();
+						return scan(file);
+					}));
+				}
+				List<FileMatches> results= new ArrayList<>(files.size());
+				for (ForkJoinTask<FileMatches> task : tasks) {
+					FileMatches fileMatches= task.get();
+					if (fileMatches != null)
+						results.add(fileMatches);
+					monitor.worked(1);
+				}
+				for (FileMatches fileMatches : results) {
+					for (IRegion match : fileMatches.matches())
+						addMatch(fResult, fileMatches.file(), match.getOffset(), match.getLength(), fNewValue);
+					fResult.markScanned(fileMatches.file(), fileMatches.state(), fSessionKey);
+				}
+			} catch (ExecutionException e) {
+				Throwable cause= e.getCause();
+				if (cause instanceof CoreException)
+					throw (CoreException) cause;
+				if (cause instanceof RuntimeException)
+					throw (RuntimeException) cause;
+				if (cause instanceof Error)
+					throw (Error) cause;
+				throw new IllegalStateException(cause);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} finally {
+				pool.shutdownNow();
+				awaitTermination(pool);
+				monitor.done();
 			}
+		}
 
-			return true;
+		private FileMatches scan(IFile file) throws CoreException {
+			if (!isCandidate(file))
+				return null;
+
+			ScannedFile state;
+			CharSequence content;
+			List<IRegion> matches= new ArrayList<>();
+			ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+			if (buffer != null) {
+				// the file is open in an editor, which may hold unsaved changes
+				IDocument document= buffer.getDocument();
+				long stamp= document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+				state= new ScannedFile(stamp, document.getLength());
+				if (fResult.isScanned(file, state, fSessionKey))
+					return null;
+				String text= document.get();
+				if (fLiteral != null && text.indexOf(fLiteral) == -1)
+					return new FileMatches(file, state, matches);
+				content= text;
+			} else {
+				state= new ScannedFile(file.getModificationStamp(), getSize(file));
+				if (fResult.isScanned(file, state, fSessionKey))
+					return null;
+				Charset charset= Charset.forName(file.getCharset(true));
+				ByteBuffer bytes= read(file);
+				byte[] literalBytes= fResult.getEncodedLiteral(fLiteral, charset);
+				if (literalBytes != null && indexOf(bytes, literalBytes) == -1)
+					return new FileMatches(file, state, matches);
+				content= decode(bytes, charset);
+				if (fLiteral != null && literalBytes == null && content.toString().indexOf(fLiteral) == -1)
+					return new FileMatches(file, state, matches);
+			}
+
+			int length= content.length();
+			int offset= length > 0 && content.charAt(0) == '\uFEFF' ? 1 : 0; // the byte order mark is not part of the document
+			Matcher matcher= fSearchPattern.matcher(content);
+			while (matcher.find()) {
+				int start= matcher.start();
+				int end= matcher.end();
+				if (start == end)
+					continue;
+				// skip embedded FQNs (bug 130764):
+				if (start > 0) {
+					char before= content.charAt(start - 1);
+					if (before == '.' || Character.isJavaIdentifierPart(before))
+						continue;
+				}
+				if (end < length && Character.isJavaIdentifierPart(content.charAt(end)))
+					continue;
+				matches.add(new Region(start - offset, end - start));
+			}
+			return new FileMatches(file, state, matches);
+		}
+
+		private static long getSize(IFile file) {
+			IPath location= file.getLocation();
+			return location != null ? location.toFile().length() : -1;
+		}
+
+		private static ByteBuffer read(IFile file) throws CoreException {
+			IPath location= file.getLocation();
+			try {
+				if (location != null) {
+					try (FileChannel channel= FileChannel.open(location.toFile().toPath(), StandardOpenOption.READ)) {
+						long size= channel.size();
+						if (size > Integer.MAX_VALUE)
+							throw new IOException("File too large: " + location); //$NON-NLS-1$
+						ByteBuffer buffer= ByteBuffer.allocate((int) size);
+						while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+							// read fully
+						}
+						buffer.flip();
+						return buffer;
+					}
+				}
+				try (InputStream stream= file.getContents(true)) {
+					return ByteBuffer.wrap(stream.readAllBytes());
+				}
+			} catch (IOException e) {
+				throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), e.getLocalizedMessage(), e));
+			}
+		}
+
+		private static CharSequence decode(ByteBuffer bytes, Charset charset) throws CoreException {
+			CharsetDecoder decoder= charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			try {
+				return decoder.decode(bytes.duplicate());
+			} catch (IOException e) {
+				throw new CoreException(new Status(IStatus.ERROR, JavaManipulationPlugin.getPluginId(), e.getLocalizedMessage(), e));
+			}
+		}
+
+		private static int indexOf(ByteBuffer bytes, byte[] literal) {
+			int limit= bytes.limit() - literal.length;
+			byte first= literal[0];
+			outer: for (int i= bytes.position(); i <= limit; i++) {
+				if (bytes.get(i) != first)
+					continue;
+				for (int j= 1; j < literal.length; j++) {
+					if (bytes.get(i + j) != literal[j])
+						continue outer;
+				}
+				return i;
+			}
+			return -1;
+		}
+
+		/**
+		 * @param pattern the searched name, in the format of {@link PatternConstructor}
+		 * @return the part of the name that every match contains literally, or <code>null</code>
+		 */
+		private static String getLiteral(String pattern) {
+			if (pattern.indexOf('*') != -1 || pattern.indexOf('?') != -1 || pattern.indexOf('\\') != -1)
+				return null;
+			return pattern.isEmpty() ? null : pattern;
 		}
 	}
 
+	/**
+	 * Number of threads of the parallel NIO scanner. <code>0</code> (the default) uses the text
+	 * search engine instead. Can be configured with the system property
+	 * <code>org.eclipse.jdt.core.manipulation.qualifiedNameSearchParallelism</code>.
+	 */
+	private static final int PARALLELISM= Integer.getInteger("org.eclipse.jdt.core.manipulation.qualifiedNameSearchParallelism", 0).intValue(); //$NON-NLS-1$
+
 	private QualifiedNameFinder() {
 	}
 
 	public static void process(QualifiedNameSearchResult result, String pattern, String newValue, String filePatterns, IProject root, IProgressMonitor monitor) {
+		process(result, pattern, newValue, filePatterns, root, PARALLELISM, monitor);
+	}
+
+	/**
+	 * Finds the qualified name in the non-Java files that match the file patterns.
+	 *
+	 * @param result the result to add the matches to
+	 * @param pattern the qualified name to search for
+	 * @param newValue the replacement of the qualified name
+	 * @param filePatterns comma separated patterns of the file names to search in
+	 * @param root the project whose files and whose referencing projects' files are searched
+	 * @param parallelism the number of threads of the parallel scanner, or <code>0</code> to use the
+	 *            text search engine. If the parallel scanner fails, the text search engine is used.
+	 * @param monitor the progress monitor, or <code>null</code>
+	 */
+	public static void process(QualifiedNameSearchResult result, String pattern, String newValue, String filePatterns, IProject root, int parallelism, IProgressMonitor monitor) {
 		Assert.isNotNull(pattern);
 		Assert.isNotNull(newValue);
 		Assert.isNotNull(root);
@@ -141,17 +369,88 @@ public class QualifiedNameFinder {
 			return;
 		}
 
+		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
+		if (parallelism > 0) {
+			SubMonitor subMonitor= SubMonitor.convert(monitor, 1);
+			try {
+				List<IFile> files= collectFiles(filePatterns, root);
+				new ParallelScanner(result, pattern, searchPattern, newValue).scan(files, parallelism, subMonitor.split(1));
+				return;
+			} catch (CoreException e) {
+				// no match has been added yet, search all files again with the text search engine
+				JavaManipulationPlugin.log(e);
+				monitor= subMonitor.setWorkRemaining(1).split(1);
+			}
+		}
+
 		ResultCollector collector= new ResultCollector(result, newValue);
 		TextSearchEngine engine= TextSearchEngine.create();
-		Pattern searchPattern= PatternConstructor.createPattern(pattern, true, false);
 
 		engine.search(createScope(filePatterns, root), collector, searchPattern, monitor);
 	}
 
+	private static void awaitTermination(ExecutorService executor) {
+		boolean interrupted= false;
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	private static boolean isCandidate(IFile file) {
+		IJavaElement element= JavaCore.create(file);
+		if ((element != null && element.exists()))
+			return false;
+
+		// Only touch text files (see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=114153 ):
+		if (! FileBuffers.getTextFileBufferManager().isTextFileLocation(file.getFullPath(), false))
+			return false;
+
+		IPath path= file.getProjectRelativePath();
+		String segment= path.segment(0);
+		if (segment != null && (segment.startsWith(".refactorings") || segment.startsWith(".deprecations"))) //$NON-NLS-1$ //$NON-NLS-2$
+			return false;
+
+		return true;
+	}
+
+	private static void addMatch(QualifiedNameSearchResult result, IFile file, int start, int length, String newValue) {
+		synchronized(result) {
+			TextChange change= result.getChange(file);
+			TextChangeCompatibility.addTextEdit(
+				change,
+				RefactoringCoreMessages.QualifiedNameFinder_update_name,
+				new ReplaceEdit(start, length, newValue), QUALIFIED_NAMES);
+		}
+	}
+
+	private static List<IFile> collectFiles(String filePatterns, IProject root) throws CoreException {
+		Pattern filePattern= getFilePattern(filePatterns);
+		List<IFile> files= new ArrayList<>();
+		for (IProject project : getProjects(root)) {
+			if (!project.isAccessible())
+				continue;
+			project.accept((IResourceProxy proxy) -> {
+				if (proxy.isDerived())
+					return false;
+				if (proxy.getType() == IResource.FILE) {
+					if (filePattern.matcher(proxy.getName()).matches())
+						files.add((IFile) proxy.requestResource());
+					return false;
+				}
+				return true;
+			}, IResource.NONE);
+		}
+		return files;
+	}
+
 	private static TextSearchScope createScope(String filePatterns, IProject root) {
-		HashSet<IProject> res= new HashSet<>();
-		res.add(root);
-		addReferencingProjects(root, res);
+		Set<IProject> res= getProjects(root);
 		IResource[] resArr= res.toArray(new IResource[res.size()]);
 		Pattern filePattern= getFilePattern(filePatterns);
 
@@ -168,6 +467,13 @@ public class QualifiedNameFinder {
 		return PatternConstructor.createPattern(filePatternArray, true, false);
 	}
 
+	private static Set<IProject> getProjects(IProject root) {
+		HashSet<IProject> res= new HashSet<>();
+		res.add(root);
+		addReferencingProjects(root, res);
+		return res;
+	}
+
 	private static void addReferencingProjects(IProject root, Set<IProject> res) {
 		for (IProject project : root.getReferencingProjects()) {
 			if (res.add(project)) {
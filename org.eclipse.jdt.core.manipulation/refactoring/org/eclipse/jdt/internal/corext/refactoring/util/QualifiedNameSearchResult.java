@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,15 +13,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.refactoring.util;
 
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 
+import org.eclipse.jface.text.IDocumentExtension4;
+
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.TextChange;
@@ -31,8 +36,27 @@ import org.eclipse.jdt.internal.corext.refactoring.RefactoringCoreMessages;
 
 public class QualifiedNameSearchResult {
 
+	/**
+	 * The state of a file when it was scanned.
+	 *
+	 * @param modificationStamp the modification stamp of the file or of its open document
+	 * @param size the size of the file, or <code>-1</code> if unknown
+	 */
+	record ScannedFile(long modificationStamp, long size) {
+	}
+
+	private static final byte[] NO_LITERAL= new byte[0];
+
 	private Map<IFile, TextChange> fChanges;
 
+	/**
+	 * Files scanned in this refactoring session, with the searches they have been scanned for.
+	 * Only used by the parallel scanner of {@link QualifiedNameFinder}.
+	 */
+	private final Map<IFile, Map<ScannedFile, Set<String>>> fScannedFiles= new HashMap<>();
+
+	private final Map<Charset, Map<String, byte[]>> fEncodedLiterals= new HashMap<>();
+
 	public QualifiedNameSearchResult() {
 		fChanges= new HashMap<>();
 	}
@@ -72,4 +96,56 @@ public class QualifiedNameSearchResult {
 		}
 		return result;
 	}
+
+	/**
+	 * Tells whether a file has already been scanned for a search.
+	 *
+	 * @param file the file
+	 * @param state the current state of the file
+	 * @param search identifies the search
+	 * @return <code>true</code> if the file has already been scanned for the same search while it
+	 *         was in the same state, <code>false</code> otherwise
+	 */
+	synchronized boolean isScanned(IFile file, ScannedFile state, String search) {
+		Map<ScannedFile, Set<String>> states= fScannedFiles.get(file);
+		if (states == null)
+			return false;
+		Set<String> searches= states.get(state);
+		return searches != null && searches.contains(search);
+	}
+
+	/**
+	 * Records that a file has been scanned for a search and its matches have been added.
+	 *
+	 * @param file the file
+	 * @param state the state of the file when it was scanned
+	 * @param search identifies the search
+	 */
+	synchronized void markScanned(IFile file, ScannedFile state, String search) {
+		if (state.modificationStamp() == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP || state.size() < 0)
+			return;
+		Map<ScannedFile, Set<String>> states= fScannedFiles.computeIfAbsent(file, f -> new HashMap<>(2));
+		states.computeIfAbsent(state, s -> new HashSet<>()).add(search);
+	}
+
+	/**
+	 * Returns the encoded form of a literal, which can be searched for in the raw bytes of a file.
+	 *
+	 * @param literal the literal, or <code>null</code>
+	 * @param charset the charset of the file
+	 * @return the encoded literal, or <code>null</code> if the literal cannot be found reliably in
+	 *         the bytes of a file with the given charset
+	 */
+	synchronized byte[] getEncodedLiteral(String literal, Charset charset) {
+		if (literal == null)
+			return null;
+		byte[] encoded= fEncodedLiterals.computeIfAbsent(charset, c -> new HashMap<>()).computeIfAbsent(literal, l -> {
+			// only charsets that encode the literal like ASCII does, files in others (like UTF-16) are decoded first
+			byte[] ascii= l.getBytes(StandardCharsets.US_ASCII);
+			byte[] bytes= l.getBytes(charset);
+			boolean isAscii= l.chars().allMatch(c -> c < 0x80);
+			return isAscii && bytes.length > 0 && Arrays.equals(ascii, bytes) ? bytes : NO_LITERAL;
+		});
+		return encoded == NO_LITERAL ? null : encoded;
+	}
 }
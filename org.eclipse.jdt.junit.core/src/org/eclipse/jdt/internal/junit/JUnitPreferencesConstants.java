@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,12 @@ public class JUnitPreferencesConstants {
 	 */
 	public static final String MAX_TEST_RUNS= JUnitCorePlugin.PLUGIN_ID + ".max_test_runs"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether the JUnit 5 tests of a container are found by searching
+	 * for references to test annotations instead of checking every class of the container.
+	 */
+	public static final String INDEXED_TEST_DISCOVERY= JUnitCorePlugin.PLUGIN_ID + ".indexed_test_discovery"; //$NON-NLS-1$
+
 	/**
 	 * Javadoc location for JUnit 3
 	 */
@@ -245,4 +251,12 @@ public class JUnitPreferencesConstants {
 	public static void setFilterStack(boolean filter) {
 		InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).putBoolean(DO_FILTER_STACK, filter);
 	}
+
+	public static boolean isIndexedTestDiscovery() {
+		return Platform.getPreferencesService().getBoolean(JUnitCorePlugin.CORE_PLUGIN_ID, INDEXED_TEST_DISCOVERY, true, null);
+	}
+
+	public static void setIndexedTestDiscovery(boolean indexed) {
+		InstanceScope.INSTANCE.getNode(JUnitCorePlugin.CORE_PLUGIN_ID).putBoolean(INDEXED_TEST_DISCOVERY, indexed);
+	}
 }
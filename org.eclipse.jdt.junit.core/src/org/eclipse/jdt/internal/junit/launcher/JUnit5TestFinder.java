@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,18 +13,37 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
@@ -39,9 +58,17 @@ import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 
 public class JUnit5TestFinder implements ITestFinder {
@@ -196,6 +223,47 @@ public class JUnit5TestFinder implements ITestFinder {
 		}
 	}
 
+	/**
+	 * Test status of a source type, valid as long as the modification stamps of the compilation
+	 * units of the type and its supertypes do not change.
+	 */
+	private static class CachedTestStatus {
+
+		private final long[] fModificationStamps;
+
+		private final boolean fIsTest;
+
+		CachedTestStatus(long[] modificationStamps, boolean isTest) {
+			fModificationStamps= modificationStamps;
+			fIsTest= isTest;
+		}
+	}
+
+	/**
+	 * The test status of the types of a project, by handle identifier. It is valid only for the set
+	 * of test annotations it was computed with.
+	 */
+	private static class ProjectTestStatus {
+
+		private final Set<String> fAnnotations;
+
+		private final Map<String, CachedTestStatus> fTestStatus= new ConcurrentHashMap<>();
+
+		ProjectTestStatus(Set<String> annotations) {
+			fAnnotations= annotations;
+		}
+	}
+
+	private static final int PARALLELISM= Runtime.getRuntime().availableProcessors();
+
+	private static final int MAX_CACHED_TEST_STATUS= 50_000;
+
+	/**
+	 * The test status of types found by {@link #findTestsWithSearch}, by project name. The status
+	 * of a project is dropped when its set of test annotations changes.
+	 */
+	private static final Map<String, ProjectTestStatus> fgTestStatus= new ConcurrentHashMap<>();
+
 	@Override
 	public void findTestsInContainer(IJavaElement element, Set<IType> result, IProgressMonitor pm) throws CoreException {
 		if (element == null || result == null) {
@@ -214,12 +282,17 @@ public class JUnit5TestFinder implements ITestFinder {
 
 		IRegion region= CoreTestSearchEngine.getRegion(element);
 		ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, subMonitor.split(1));
-		IType[] allClasses= hierarchy.getAllClasses();
 
-		// search for all types with references to RunWith and Test and all subclasses
-		for (IType type : allClasses) {
-			if (region.contains(type) && internalIsTest(type, pm)) {
-				addTypeAndSubtypes(type, result, hierarchy);
+		if (JUnitPreferencesConstants.isIndexedTestDiscovery()) {
+			findTestsWithSearch(element.getJavaProject(), region, hierarchy, result, subMonitor.split(2));
+		} else {
+			IType[] allClasses= hierarchy.getAllClasses();
+
+			// search for all types with references to RunWith and Test and all subclasses
+			for (IType type : allClasses) {
+				if (region.contains(type) && internalIsTest(type, pm)) {
+					addTypeAndSubtypes(type, result, hierarchy);
+				}
 			}
 		}
 
@@ -242,6 +315,227 @@ public class JUnit5TestFinder implements ITestFinder {
 		}
 	}
 
+	/**
+	 * Finds the tests in the region like the loop over all classes of the hierarchy, but only checks
+	 * the classes that reference a test annotation, the classes enclosing them, and their subtypes.
+	 * The candidates are checked in parallel, one task per compilation unit.
+	 */
+	private void findTestsWithSearch(IJavaProject project, IRegion region, ITypeHierarchy hierarchy, Set<IType> result, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, 3);
+		Set<String> testAnnotations= findTestAnnotations(project, subMonitor.split(1));
+		Map<String, CachedTestStatus> testStatus= fgTestStatus.compute(project.getElementName(), (name, status) -> {
+			if (status == null || !status.fAnnotations.equals(testAnnotations) || status.fTestStatus.size() > MAX_CACHED_TEST_STATUS) {
+				return new ProjectTestStatus(testAnnotations);
+			}
+			return status;
+		}).fTestStatus;
+
+		Set<String> annotations= new HashSet<>(testAnnotations);
+		annotations.add(Annotation.RUN_WITH.getName());
+		annotations.add(Annotation.SUITE.getName());
+		annotations.add(Annotation.TEST_4.getName());
+		Set<IType> candidates= findCandidates(annotations, hierarchy, subMonitor.split(1));
+
+		Map<ITypeRoot, List<IType>> uncachedCandidates= new LinkedHashMap<>();
+		Map<IType, long[]> modificationStamps= new HashMap<>();
+		for (IType type : candidates) {
+			if (!region.contains(type)) {
+				continue;
+			}
+			long[] stamps= getModificationStamps(type, hierarchy);
+			CachedTestStatus status= stamps == null ? null : testStatus.get(type.getHandleIdentifier());
+			if (status != null && Arrays.equals(stamps, status.fModificationStamps)) {
+				if (status.fIsTest) {
+					addTypeAndSubtypes(type, result, hierarchy);
+				}
+			} else {
+				if (stamps != null) {
+					modificationStamps.put(type, stamps);
+				}
+				uncachedCandidates.computeIfAbsent(type.getTypeRoot(), k -> new ArrayList<>()).add(type);
+			}
+		}
+
+		Map<IType, Boolean> isTest= evaluateCandidates(uncachedCandidates.values(), subMonitor.split(1));
+		for (Map.Entry<IType, Boolean> entry : isTest.entrySet()) {
+			IType type= entry.getKey();
+			long[] stamps= modificationStamps.get(type);
+			if (stamps != null) {
+				testStatus.put(type.getHandleIdentifier(), new CachedTestStatus(stamps, entry.getValue().booleanValue()));
+			}
+			if (entry.getValue().booleanValue()) {
+				addTypeAndSubtypes(type, result, hierarchy);
+			}
+		}
+	}
+
+	/**
+	 * @return the names of the annotation types that are meta-annotated with
+	 *         <code>@Testable</code> or <code>@Nested</code>, directly or through other annotation
+	 *         types, including these two
+	 */
+	private static Set<String> findTestAnnotations(IJavaProject project, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, 10);
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project },
+				IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.REFERENCED_PROJECTS);
+		Set<String> result= new HashSet<>();
+		List<String> annotations= List.of(Annotation.TESTABLE.getName(), Annotation.NESTED.getName());
+		result.addAll(annotations);
+		while (!annotations.isEmpty()) {
+			List<String> metaAnnotated= new ArrayList<>();
+			searchAnnotationReferences(annotations, scope, new SearchRequestor() {
+				@Override
+				public void acceptSearchMatch(SearchMatch match) throws CoreException {
+					if (match.getElement() instanceof IType type && type.isAnnotation()) {
+						String name= type.getFullyQualifiedName('.');
+						if (result.add(name)) {
+							metaAnnotated.add(name);
+						}
+					}
+				}
+			}, subMonitor.setWorkRemaining(10).split(1));
+			annotations= metaAnnotated;
+		}
+		return result;
+	}
+
+	private static Set<IType> findCandidates(Set<String> annotations, ITypeHierarchy hierarchy, IProgressMonitor pm) throws CoreException {
+		// filter out anonymous classes which have no name
+		List<IType> namedTypes= new ArrayList<>();
+		for (IType type : hierarchy.getAllTypes()) {
+			if (!type.getElementName().isEmpty()) {
+				namedTypes.add(type);
+			}
+		}
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(namedTypes.toArray(new IType[namedTypes.size()]),
+				IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES);
+		Set<IType> candidates= new LinkedHashSet<>();
+		searchAnnotationReferences(annotations, scope, new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (!match.isInsideDocComment() && match.getElement() instanceof IJavaElement element) {
+					IType type= element instanceof IType ? (IType) element : (IType) element.getAncestor(IJavaElement.TYPE);
+					// @Nested classes make their enclosing classes tests
+					for (; type != null; type= type.getDeclaringType()) {
+						addTypeAndSubtypes(type, candidates);
+					}
+				}
+			}
+
+			private void addTypeAndSubtypes(IType type, Set<IType> result) {
+				if (result.add(type)) {
+					for (IType subtype : hierarchy.getSubtypes(type)) {
+						addTypeAndSubtypes(subtype, result);
+					}
+				}
+			}
+		}, pm);
+		return candidates;
+	}
+
+	private static void searchAnnotationReferences(Collection<String> annotations, IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor pm) throws CoreException {
+		int matchRule= SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+		SearchPattern pattern= null;
+		for (String annotation : annotations) {
+			SearchPattern annotationPattern= SearchPattern.createPattern(annotation, IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE, matchRule);
+			pattern= pattern == null ? annotationPattern : SearchPattern.createOrPattern(pattern, annotationPattern);
+		}
+		SearchParticipant[] searchParticipants= new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
+		new SearchEngine().search(pattern, searchParticipants, scope, requestor, pm);
+	}
+
+	/**
+	 * @return the modification stamps of the compilation units of the type and its supertypes, or
+	 *         <code>null</code> if one of them has unsaved changes. Binary types count as unchanged.
+	 */
+	private static long[] getModificationStamps(IType type, ITypeHierarchy hierarchy) throws JavaModelException {
+		IType[] supertypes= hierarchy.getAllSupertypes(type);
+		long[] stamps= new long[supertypes.length + 1];
+		for (int i= 0; i < stamps.length; i++) {
+			ICompilationUnit cu= (i == 0 ? type : supertypes[i - 1]).getCompilationUnit();
+			if (cu != null) {
+				IResource resource= cu.getResource();
+				if (resource == null || cu.hasUnsavedChanges()) {
+					return null;
+				}
+				stamps[i]= resource.getModificationStamp();
+			}
+		}
+		return stamps;
+	}
+
+	private Map<IType, Boolean> evaluateCandidates(Collection<List<IType>> candidatesByTypeRoot, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, candidatesByTypeRoot.size());
+		Map<IType, Boolean> result= new LinkedHashMap<>();
+		if (candidatesByTypeRoot.isEmpty()) {
+			return result;
+		}
+		ForkJoinPool pool= new ForkJoinPool(Math.max(1, Math.min(PARALLELISM, candidatesByTypeRoot.size())));
+		try {
+			List<ForkJoinTask<boolean[]>> tasks= new ArrayList<>(candidatesByTypeRoot.size());
+			for (List<IType> candidates : candidatesByTypeRoot) {
+				tasks.add(pool.submit(() -> {
+					if (subMonitor.isCanceled())
+						throw new OperationCanceledException();
+					return isTest(candidates);
+				}));
+			}
+			Iterator<List<IType>> typeRoots= candidatesByTypeRoot.iterator();
+			for (ForkJoinTask<boolean[]> task : tasks) {
+				List<IType> types= typeRoots.next();
+				boolean[] isTest= task.get();
+				for (int i= 0; i < isTest.length; i++) {
+					result.put(types.get(i), Boolean.valueOf(isTest[i]));
+				}
+				subMonitor.worked(1);
+			}
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof CoreException)
+				throw (CoreException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} finally {
+			pool.shutdownNow();
+		}
+		return result;
+	}
+
+	/**
+	 * Like {@link #isTest(IType)} for types of the same compilation unit or class file, which is
+	 * parsed only once. Called by the indexed test discovery for the candidates whose cached test
+	 * status is missing or outdated. May be called concurrently for different compilation units.
+	 *
+	 * @param types the types to check, all declared in the same compilation unit or class file
+	 * @return for each type whether it is a test
+	 * @throws JavaModelException if a type could not be accessed
+	 */
+	protected boolean[] isTest(List<IType> types) throws JavaModelException {
+		boolean[] result= new boolean[types.size()];
+		CompilationUnit root= null;
+		for (int i= 0; i < result.length; i++) {
+			IType type= types.get(i);
+			if (!CoreTestSearchEngine.isAccessibleClass(type, TestKindRegistry.JUNIT5_TEST_KIND_ID)) {
+				continue;
+			}
+			if (CoreTestSearchEngine.hasSuiteMethod(type) || type.getCompilationUnit() == null && !isAvailable(type.getSourceRange())) {
+				result[i]= internalIsTest(type, null);
+			} else {
+				if (root == null) {
+					root= createAST(type, null);
+				}
+				result[i]= isTest(type, root);
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public boolean isTest(IType type) throws JavaModelException {
 		return internalIsTest(type, null);
@@ -252,10 +546,8 @@ public class JUnit5TestFinder implements ITestFinder {
 			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
 				return true;
 			}
-			ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
-			if (type.getCompilationUnit() != null) {
-				parser.setSource(type.getCompilationUnit());
-			} else if (!isAvailable(type.getSourceRange())) { // class file with no source
+			if (type.getCompilationUnit() == null && !isAvailable(type.getSourceRange())) { // class file with no source
+				ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
 				parser.setProject(type.getJavaProject());
 				IBinding[] bindings= parser.createBindings(new IJavaElement[] { type }, monitor);
 				if (bindings.length == 1 && bindings[0] instanceof ITypeBinding) {
@@ -263,24 +555,36 @@ public class JUnit5TestFinder implements ITestFinder {
 					return isTest(binding);
 				}
 				return false;
-			} else {
-				parser.setSource(type.getClassFile());
-			}
-			parser.setFocalPosition(0);
-			parser.setResolveBindings(true);
-			CompilationUnit root= (CompilationUnit) parser.createAST(monitor);
-			ASTNode node= root.findDeclaringNode(type.getKey());
-			if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
-				ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
-				if (binding != null) {
-					return isTest(binding);
-				}
 			}
+			return isTest(type, createAST(type, monitor));
 		}
 		return false;
 
 	}
 
+	private static CompilationUnit createAST(IType type, IProgressMonitor monitor) {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		if (type.getCompilationUnit() != null) {
+			parser.setSource(type.getCompilationUnit());
+		} else {
+			parser.setSource(type.getClassFile());
+		}
+		parser.setFocalPosition(0);
+		parser.setResolveBindings(true);
+		return (CompilationUnit) parser.createAST(monitor);
+	}
+
+	private boolean isTest(IType type, CompilationUnit root) {
+		ASTNode node= root.findDeclaringNode(type.getKey());
+		if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
+			ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
+			if (binding != null) {
+				return isTest(binding);
+			}
+		}
+		return false;
+	}
+
 	private static boolean isAvailable(ISourceRange range) {
 		return range != null && range.getOffset() != -1;
 	}
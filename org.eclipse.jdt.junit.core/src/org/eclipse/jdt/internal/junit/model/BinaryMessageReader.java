@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+
+/**
+ * Reads the frames written by a {@link BinaryMessageSender} and keeps the test names that are sent
+ * once per test id.
+ */
+class BinaryMessageReader {
+
+	/**
+	 * Receives the messages read from the frames.
+	 */
+	interface Handler {
+
+		/**
+		 * @param message a message of the line based protocol
+		 */
+		void message(String message);
+
+		/**
+		 * @param treeEntry the test tree entry, see {@link ITestRunListener2#testTreeEntry(String)}
+		 */
+		void treeEntry(String treeEntry);
+
+		void testStarted(String testId, String testName);
+
+		void testEnded(String testId, String testName);
+
+		/**
+		 * @param status {@link ITestRunListener2#STATUS_FAILURE} or {@link ITestRunListener2#STATUS_ERROR}
+		 * @param testId the test id
+		 * @param testName the test name
+		 */
+		void testFailed(int status, String testId, String testName);
+	}
+
+	private final DataInputStream fIn;
+
+	private byte[] fBuffer= new byte[1024];
+
+	private String[] fIds= new String[1024];
+
+	private String[] fNames= new String[1024];
+
+	BinaryMessageReader(InputStream in) {
+		fIn= new DataInputStream(in);
+	}
+
+	/**
+	 * Reads the next frame and passes its messages to the handler.
+	 *
+	 * @param handler the handler
+	 * @return <code>false</code> if the end of the stream is reached
+	 * @throws IOException if reading fails
+	 */
+	boolean read(Handler handler) throws IOException {
+		int length;
+		try {
+			length= fIn.readInt();
+		} catch (EOFException e) {
+			return false;
+		}
+		byte type= fIn.readByte();
+		switch (type) {
+		case BinaryMessageSender.MESSAGE:
+			handler.message(readString());
+			break;
+		case BinaryMessageSender.TEST_NAME: {
+			int id= fIn.readInt();
+			setName(id, readString());
+			break;
+		}
+		case BinaryMessageSender.TREE_ENTRY: {
+			int id= fIn.readInt();
+			String name= readString();
+			String rest= readString();
+			setName(id, name);
+			handler.treeEntry(getId(id) + ',' + name + ',' + rest);
+			break;
+		}
+		case BinaryMessageSender.EVENTS: {
+			int count= fIn.readInt();
+			for (int i= 0; i < count; i++) {
+				int event= fIn.readInt();
+				int id= event >>> 1;
+				if ((event & 1) == 0)
+					handler.testStarted(getId(id), fNames[id]);
+				else
+					handler.testEnded(getId(id), fNames[id]);
+			}
+			break;
+		}
+		case BinaryMessageSender.TEST_FAILED: {
+			int id= fIn.readInt();
+			handler.testFailed(ITestRunListener2.STATUS_FAILURE, getId(id), fNames[id]);
+			break;
+		}
+		case BinaryMessageSender.TEST_ERROR: {
+			int id= fIn.readInt();
+			handler.testFailed(ITestRunListener2.STATUS_ERROR, getId(id), fNames[id]);
+			break;
+		}
+		default:
+			// frame of a later protocol revision
+			fIn.skipNBytes(length - 1);
+			break;
+		}
+		return true;
+	}
+
+	private String readString() throws IOException {
+		int length= fIn.readInt();
+		if (length > fBuffer.length)
+			fBuffer= new byte[Math.max(length, fBuffer.length * 2)];
+		fIn.readFully(fBuffer, 0, length);
+		return new String(fBuffer, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private void setName(int id, String name) {
+		if (id >= fNames.length) {
+			int length= Math.max(id + 1, fNames.length * 2);
+			fNames= Arrays.copyOf(fNames, length);
+			fIds= Arrays.copyOf(fIds, length);
+		}
+		fNames[id]= name;
+	}
+
+	private String getId(int id) {
+		String testId= fIds[id];
+		if (testId == null) {
+			testId= Integer.toString(id);
+			fIds[id]= testId;
+		}
+		return testId;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.model;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -132,6 +135,38 @@ public class RemoteTestRunnerClient {
 	    }
 	}
 
+	/**
+	 * Passes the messages of the binary protocol to the listeners
+	 */
+	class BinaryMessageHandler implements BinaryMessageReader.Handler {
+		@Override
+		public void message(String message) {
+			receiveMessage(message);
+		}
+
+		@Override
+		public void treeEntry(String treeEntry) {
+			notifyTestTreeEntry(treeEntry);
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			notifyTestStarted(testId, testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			notifyTestEnded(testId, testName);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName) {
+			fFailedTestId= testId;
+			fFailedTest= testName;
+			fFailureKind= status;
+		}
+	}
+
 	/**
 	 * Base class for states in which messages are appended to an internal
 	 * string buffer until an end message is read.
@@ -285,11 +320,21 @@ public class RemoteTestRunnerClient {
 					System.out.println("Creating server socket "+fServerPort); //$NON-NLS-1$
 				fServerSocket= new ServerSocket(fServerPort);
 				fSocket= fServerSocket.accept();
-				fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8)));
+				InputStream in= new BufferedInputStream(fSocket.getInputStream());
 				fWriter= new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), true);
-				String message;
-				while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+				String message= readFirstMessage(in);
+				if ((MessageIds.PROTOCOL + MessageIds.BINARY_PROTOCOL).equals(message)) {
+					BinaryMessageReader reader= new BinaryMessageReader(in);
+					BinaryMessageHandler handler= new BinaryMessageHandler();
+					while (fSocket != null && reader.read(handler)) {
+						// read until the end of the stream
+					}
+				} else if (message != null) {
+					fPushbackReader= new PushbackReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
 					receiveMessage(message);
+					while(fPushbackReader != null && (message= readMessage(fPushbackReader)) != null)
+						receiveMessage(message);
+				}
 			} catch (SocketException e) {
 				notifyTestRunTerminated();
 			} catch (IOException e) {
@@ -403,6 +448,41 @@ public class RemoteTestRunnerClient {
 		return buf.toString();
 	}
 
+	/**
+	 * Reads the first line, which announces the protocol, without reading ahead.
+	 *
+	 * @param in the input stream
+	 * @return the first line, or <code>null</code> if the stream is empty
+	 * @throws IOException if reading fails
+	 */
+	private String readFirstMessage(InputStream in) throws IOException {
+		ByteArrayOutputStream buf= new ByteArrayOutputStream(128);
+		int b;
+		while ((b= in.read()) != -1) {
+			switch (b) {
+			case '\n':
+				fLastLineDelimiter= "\n"; //$NON-NLS-1$
+				return buf.toString(StandardCharsets.UTF_8);
+			case '\r':
+				in.mark(1);
+				if (in.read() == '\n') {
+					fLastLineDelimiter= "\r\n"; //$NON-NLS-1$
+				} else {
+					in.reset();
+					fLastLineDelimiter= "\r"; //$NON-NLS-1$
+				}
+				return buf.toString(StandardCharsets.UTF_8);
+			default:
+				buf.write(b);
+				break;
+			}
+		}
+		fLastLineDelimiter= null;
+		if (buf.size() == 0)
+			return null;
+		return buf.toString(StandardCharsets.UTF_8);
+	}
+
 	private void receiveMessage(String message) {
 	    fCurrentState= fCurrentState.readMessage(message);
 	}
@@ -557,6 +637,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestEnded(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testEnded(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestStarted(final String test) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -571,6 +664,19 @@ public class RemoteTestRunnerClient {
 		}
 	}
 
+	private void notifyTestStarted(final String testId, final String testName) {
+		if (JUnitCorePlugin.isStopped())
+			return;
+		for (ITestRunListener2 listener : fListeners) {
+			SafeRunner.run(new ListenerSafeRunnable() {
+				@Override
+				public void run() {
+					listener.testStarted(testId, testName);
+				}
+			});
+		}
+	}
+
 	private void notifyTestRunStarted(final int count) {
 		if (JUnitCorePlugin.isStopped())
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -185,14 +185,22 @@ public abstract class TestElement implements ITestElement {
 
 	/**
 	 * The unique ID of the test element which can be <code>null</code> as it is applicable to JUnit 5
-	 * and above.
+	 * and above. If {@link #fUniqueIdIsRelative}, only the last segments that follow the unique ID
+	 * of the parent are kept. Only test cases keep a relative unique ID: suites keep the full one,
+	 * which their children need when they are created or asked for their unique ID.
 	 */
 	private String fUniqueId;
 
+	private boolean fUniqueIdIsRelative;
+
 	private Status fStatus;
 	private String fTrace;
 	private String fExpected;
 	private String fActual;
+	/**
+	 * The failure trace in the swap file that has not been read yet, or <code>null</code>
+	 */
+	private TestRunSessionSwapFile.SwappedFailureTrace fSwappedFailureTrace;
 
 	private boolean fAssumptionFailed;
 
@@ -227,6 +235,13 @@ public abstract class TestElement implements ITestElement {
 		fDisplayName= displayName;
 		fParameterTypes= parameterTypes;
 		fUniqueId= uniqueId;
+		String parentUniqueId= parent == null ? null : parent.getUniqueId();
+		if (this instanceof TestCaseElement && uniqueId != null && parentUniqueId != null && uniqueId.length() > parentUniqueId.length() + 1
+				&& uniqueId.charAt(parentUniqueId.length()) == '/' && uniqueId.startsWith(parentUniqueId)) {
+			// the tests of a large suite share the long unique ID of the suite
+			fUniqueId= uniqueId.substring(parentUniqueId.length() + 1);
+			fUniqueIdIsRelative= true;
+		}
 		fStatus= Status.NOT_RUN;
 		if (parent != null)
 			parent.addChild(this);
@@ -262,8 +277,8 @@ public abstract class TestElement implements ITestElement {
 	public FailureTrace getFailureTrace() {
 		Result testResult= getTestResult(false);
 		if (testResult == Result.ERROR || testResult == Result.FAILURE
-				|| (testResult == Result.IGNORED && fTrace != null)) {
-			return new FailureTrace(fTrace, fExpected, fActual);
+				|| (testResult == Result.IGNORED && getTrace() != null)) {
+			return new FailureTrace(getTrace(), getExpected(), getActual());
 		}
 		return null;
 	}
@@ -304,6 +319,7 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public void setStatus(Status status, String trace, String expected, String actual) {
+		loadSwappedFailureTrace();
 		if (trace != null && fTrace != null) {
 			//don't overwrite first trace if same test run logs multiple errors
 			fTrace= fTrace + trace;
@@ -320,19 +336,40 @@ public abstract class TestElement implements ITestElement {
 	}
 
 	public String getTrace() {
+		loadSwappedFailureTrace();
 		return fTrace;
 	}
 
 	public String getExpected() {
+		loadSwappedFailureTrace();
 		return fExpected;
 	}
 
 	public String getActual() {
+		loadSwappedFailureTrace();
 		return fActual;
 	}
 
 	public boolean isComparisonFailure() {
-		return fExpected != null && fActual != null;
+		return getExpected() != null && getActual() != null;
+	}
+
+	/**
+	 * @param swappedFailureTrace the failure trace in the swap file, read when it is first
+	 *            requested
+	 */
+	void setSwappedFailureTrace(TestRunSessionSwapFile.SwappedFailureTrace swappedFailureTrace) {
+		fSwappedFailureTrace= swappedFailureTrace;
+	}
+
+	private synchronized void loadSwappedFailureTrace() {
+		if (fSwappedFailureTrace != null) {
+			String[] failureTrace= fSwappedFailureTrace.load();
+			fSwappedFailureTrace= null;
+			fTrace= failureTrace[0];
+			fExpected= failureTrace[1];
+			fActual= failureTrace[2];
+		}
 	}
 
 	/**
@@ -419,6 +456,8 @@ public abstract class TestElement implements ITestElement {
 	 * @return the unique ID of the test, can be <code>null</code>
 	 */
 	public String getUniqueId() {
+		if (fUniqueIdIsRelative)
+			return fParent.getUniqueId() + '/' + fUniqueId; // a single concatenation, the suite keeps its full unique ID
 		return fUniqueId;
 	}
 
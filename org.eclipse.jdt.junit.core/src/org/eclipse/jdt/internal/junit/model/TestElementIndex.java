@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Maps test ids to test elements.
+ * <p>
+ * The test runners number the tests, so the ids are mostly small non-negative numbers. These are
+ * kept in an array indexed by the id, which needs no entry object and no hashing per test. All
+ * other ids, e.g. the ids of the unrooted tests suite, are kept in a hash map.
+ * </p>
+ */
+class TestElementIndex {
+
+	/**
+	 * Numeric ids above <code>MAX_GAP</code> plus the array length go to the hash map, so that a
+	 * few large ids do not allocate a sparse array.
+	 */
+	private static final int MAX_GAP= 1 << 16;
+
+	private TestElement[] fElements= new TestElement[256];
+
+	private HashMap<String, TestElement> fOtherElements;
+
+	void put(String id, TestElement testElement) {
+		int index= toIndex(id);
+		if (index >= fElements.length && index < fElements.length + MAX_GAP)
+			fElements= Arrays.copyOf(fElements, Math.max(index + 1, fElements.length * 2));
+		if (index >= 0 && index < fElements.length) {
+			fElements[index]= testElement;
+		} else {
+			if (fOtherElements == null)
+				fOtherElements= new HashMap<>();
+			fOtherElements.put(id, testElement);
+		}
+	}
+
+	TestElement get(String id) {
+		int index= toIndex(id);
+		if (index >= 0 && index < fElements.length) {
+			TestElement testElement= fElements[index];
+			if (testElement != null)
+				return testElement;
+		}
+		return fOtherElements == null ? null : fOtherElements.get(id);
+	}
+
+	/**
+	 * @param id the test id
+	 * @return the array index of the id, or <code>-1</code> if the id is not the canonical
+	 *         representation of a non-negative int
+	 */
+	private static int toIndex(String id) {
+		int length= id.length();
+		if (length == 0 || length > 9 || length > 1 && id.charAt(0) == '0')
+			return -1;
+		int index= 0;
+		for (int i= 0; i < length; i++) {
+			char c= id.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			index= index * 10 + c - '0';
+		}
+		return index;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -83,10 +83,21 @@ public class TestRunSession implements ITestRunSession {
 	 */
 	private Result fTestResult;
 
+	/**
+	 * <code>true</code> iff the swap file has been written. A swapped out session does not change
+	 * any more, so the swap file is written only once.
+	 */
+	private boolean fHasSwapFile;
+
 	/**
 	 * Map from testId to testElement.
 	 */
-	private HashMap<String, TestElement> fIdToTest;
+	private TestElementIndex fIdToTest;
+
+	/**
+	 * The parameter types of the test elements, shared by all tests with the same parameter types.
+	 */
+	private HashMap<List<String>, String[]> fParameterTypes;
 
 	/**
 	 * The TestSuites for which additional children are expected.
@@ -167,7 +178,8 @@ public class TestRunSession implements ITestRunSession {
 		fTestRunnerKind= ITestKind.NULL; //TODO
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestElementIndex();
+		fParameterTypes= new HashMap<>();
 
 		fTestRunnerClient= null;
 
@@ -191,7 +203,8 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		fTestRoot= new TestRoot(this);
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestElementIndex();
+		fParameterTypes= new HashMap<>();
 
 		fTestRunnerClient= new RemoteTestRunnerClient(fTestRunnerKind);
 		fTestRunnerClient.startListening(new ITestRunListener2[] { new TestSessionNotifier() }, port);
@@ -238,7 +251,8 @@ public class TestRunSession implements ITestRunSession {
 
 		fTestRoot= new TestRoot(this);
 		fTestResult= null;
-		fIdToTest= new HashMap<>();
+		fIdToTest= new TestElementIndex();
+		fParameterTypes= new HashMap<>();
 	}
 
 	@Override
@@ -368,13 +382,15 @@ public class TestRunSession implements ITestRunSession {
 		}
 
 		try {
-			File swapFile= getSwapFile();
-
-			JUnitModel.exportTestRunSession(this, swapFile);
+			if (!fHasSwapFile) {
+				TestRunSessionSwapFile.write(this, getSwapFile());
+				fHasSwapFile= true;
+			}
 			fTestResult= fTestRoot.getTestResult(true);
 			fTestRoot= null;
 			fTestRunnerClient= null;
-			fIdToTest= new HashMap<>();
+			fIdToTest= new TestElementIndex();
+			fParameterTypes= new HashMap<>();
 			fIncompleteTestSuites= null;
 			fFactoryTestSuites= null;
 			fUnrootedSuite= null;
@@ -391,14 +407,15 @@ public class TestRunSession implements ITestRunSession {
 
 	public void removeSwapFile() {
 		File swapFile= getSwapFile();
-		if (swapFile.exists())
-			swapFile.delete();
+		if (swapFile.exists() && !swapFile.delete())
+			swapFile.deleteOnExit(); // still mapped
+		fHasSwapFile= false;
 	}
 
 	private File getSwapFile() throws IllegalStateException {
 		File historyDir= JUnitCorePlugin.getHistoryDirectory();
 		String isoTime= new SimpleDateFormat("yyyyMMdd-HHmmss.SSS").format(new Date(getStartTime())); //$NON-NLS-1$
-		String swapFileName= isoTime + ".xml"; //$NON-NLS-1$
+		String swapFileName= isoTime + ".swap"; //$NON-NLS-1$
 		return new File(historyDir, swapFileName);
 	}
 
@@ -408,11 +425,12 @@ public class TestRunSession implements ITestRunSession {
 			return;
 
 		try {
-			JUnitModel.importIntoTestRunSession(getSwapFile(), this);
+			TestRunSessionSwapFile.read(getSwapFile(), this);
 		} catch (IllegalStateException | CoreException e) {
 			JUnitCorePlugin.log(e);
 			fTestRoot= new TestRoot(this);
 			fTestResult= null;
+			fHasSwapFile= false;
 		}
 	}
 
@@ -568,6 +586,11 @@ public class TestRunSession implements ITestRunSession {
 		if (parameterTypes != null && parameterTypes.length > 1) {
 			parameterTypes= Arrays.stream(parameterTypes).map(String::trim).toArray(String[]::new);
 		}
+		if (parameterTypes != null) {
+			String[] types= parameterTypes;
+			parameterTypes= fParameterTypes.computeIfAbsent(Arrays.asList(types), k -> types);
+		}
+		testName= shareTestName(parent, testName);
 		if (isSuite) {
 			TestSuiteElement testSuiteElement= new TestSuiteElement(parent, id, testName, testCount, displayName, parameterTypes, uniqueId);
 			testElement= testSuiteElement;
@@ -583,6 +606,28 @@ public class TestRunSession implements ITestRunSession {
 		return testElement;
 	}
 
+	/**
+	 * Returns the test name of the parent or of the previous sibling if it is equal to the given
+	 * test name, so that e.g. the invocations of a parameterized test share their name.
+	 *
+	 * @param parent the parent, can be <code>null</code>
+	 * @param testName the test name
+	 * @return an equal test name
+	 */
+	private static String shareTestName(TestSuiteElement parent, String testName) {
+		if (parent == null)
+			return testName;
+		if (testName.equals(parent.getTestName()))
+			return parent.getTestName();
+		int childCount= parent.getChildCount();
+		if (childCount > 0) {
+			String previousTestName= parent.getChild(childCount - 1).getTestName();
+			if (testName.equals(previousTestName))
+				return previousTestName;
+		}
+		return testName;
+	}
+
 	/**
 	 * Append the test name from <code>s</code> to <code>testName</code>.
 	 *
@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.model;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+import org.eclipse.jdt.junit.model.ITestElement.FailureTrace;
+import org.eclipse.jdt.junit.model.ITestElement.ProgressState;
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+
+import org.eclipse.jdt.internal.junit.BasicElementLabels;
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+import org.eclipse.jdt.internal.junit.Messages;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+
+/**
+ * Reads and writes the swap files of test run sessions.
+ * <p>
+ * The swap file is a binary file that is only read by the running workbench. XML export and
+ * import stay available for interchange, see {@link JUnitModel#exportTestRunSession(TestRunSession, File)}.
+ * The file consists of
+ * </p>
+ * <ul>
+ * <li>a header with {@link #MAGIC} and {@link #VERSION},</li>
+ * <li>the failure traces, each with its trace, expected and actual string,</li>
+ * <li>the test tree: a table of the distinct strings of the tree, followed by one record per test
+ * element in pre-order that refers to the strings by index and to its failure trace by file
+ * offset,</li>
+ * <li>the file offset of the test tree.</li>
+ * </ul>
+ * <p>
+ * A swap in only maps and reads the test tree, the failure traces are read when they are first
+ * requested, see {@link TestElement#getTrace()}. Strings are written as their int UTF-8 byte count,
+ * or <code>-1</code> for <code>null</code>, followed by the bytes.
+ * </p>
+ * <p>
+ * The test elements are restored with the same calls to {@link TestRunSession} as an XML import,
+ * so the counters of the session are recomputed the same way.
+ * </p>
+ */
+public class TestRunSessionSwapFile {
+
+	private static final int MAGIC= 0x4A555453; // "JUTS"
+
+	private static final int VERSION= 1;
+
+	private static final int SUITE= 1;
+	private static final int DYNAMIC_TEST= 1 << 1;
+	private static final int IGNORED= 1 << 2;
+	private static final int ASSUMPTION_FAILURE= 1 << 3;
+	private static final int INCOMPLETE= 1 << 4;
+	private static final int FAILURE_TRACE= 1 << 5;
+
+	/**
+	 * A failure trace that is read from the swap file when it is first requested.
+	 */
+	static final class SwappedFailureTrace {
+
+		private final File fFile;
+
+		private final long fOffset;
+
+		SwappedFailureTrace(File file, long offset) {
+			fFile= file;
+			fOffset= offset;
+		}
+
+		/**
+		 * @return the trace, the expected and the actual string, any of which can be
+		 *         <code>null</code>
+		 */
+		String[] load() {
+			try (FileChannel channel= FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+				long[] position= { fOffset };
+				return new String[] { readString(channel, position), readString(channel, position), readString(channel, position) };
+			} catch (IOException e) {
+				JUnitCorePlugin.log(e);
+				return new String[3];
+			}
+		}
+
+		private static String readString(FileChannel channel, long[] position) throws IOException {
+			ByteBuffer length= ByteBuffer.allocate(4);
+			readFully(channel, length, position);
+			int size= length.getInt(0);
+			if (size < 0)
+				return null;
+			ByteBuffer bytes= ByteBuffer.allocate(size);
+			readFully(channel, bytes, position);
+			return new String(bytes.array(), StandardCharsets.UTF_8);
+		}
+
+		private static void readFully(FileChannel channel, ByteBuffer buffer, long[] position) throws IOException {
+			while (buffer.hasRemaining()) {
+				int read= channel.read(buffer, position[0]);
+				if (read < 0)
+					throw new EOFException();
+				position[0]+= read;
+			}
+		}
+	}
+
+	private static class Writer {
+
+		private final DataOutputStream fOut;
+
+		private long fPosition;
+
+		private final HashMap<String, Integer> fStringIndexes= new HashMap<>();
+
+		private final List<String> fStrings= new ArrayList<>();
+
+		private final ByteArrayOutputStream fTreeBytes= new ByteArrayOutputStream(8192);
+
+		private final DataOutputStream fTree= new DataOutputStream(fTreeBytes);
+
+		Writer(OutputStream out) {
+			fOut= new DataOutputStream(new BufferedOutputStream(out, 65536));
+		}
+
+		void write(TestRunSession session) throws IOException {
+			fOut.writeInt(MAGIC);
+			fOut.writeInt(VERSION);
+			fPosition= 8;
+
+			ITestElement[] topSuites= session.getTestRoot().getChildren();
+			fTree.writeInt(topSuites.length);
+			for (ITestElement topSuite : topSuites)
+				writeElement((TestElement) topSuite);
+
+			long treeOffset= fPosition;
+			fOut.writeInt(fStrings.size());
+			for (String string : fStrings)
+				writeString(fOut, string);
+			fTreeBytes.writeTo(fOut);
+			fOut.writeLong(treeOffset);
+			fOut.flush();
+		}
+
+		private void writeElement(TestElement testElement) throws IOException {
+			int flags= 0;
+			boolean isSuite= testElement instanceof TestSuiteElement;
+			if (isSuite) {
+				flags|= SUITE;
+				// same condition as the XML export
+				if (testElement.getProgressState() != ProgressState.COMPLETED || testElement.getTestResult(false) != Result.UNDEFINED)
+					flags|= INCOMPLETE;
+			} else {
+				TestCaseElement testCaseElement= (TestCaseElement) testElement;
+				if (testCaseElement.isDynamicTest())
+					flags|= DYNAMIC_TEST;
+				if (testCaseElement.isIgnored())
+					flags|= IGNORED;
+				if (testElement.getProgressState() != ProgressState.COMPLETED)
+					flags|= INCOMPLETE;
+			}
+			if (testElement.isAssumptionFailure())
+				flags|= ASSUMPTION_FAILURE;
+			Status failureStatus= null;
+			FailureTrace failureTrace= testElement.getFailureTrace();
+			if (failureTrace != null) {
+				flags|= FAILURE_TRACE;
+				if (testElement.isAssumptionFailure())
+					failureStatus= Status.OK;
+				else
+					failureStatus= testElement.getTestResult(false) == Result.ERROR ? Status.ERROR : Status.FAILURE;
+			}
+
+			fTree.writeByte(flags);
+			fTree.writeInt(getStringIndex(testElement.getId()));
+			fTree.writeInt(getStringIndex(testElement.getTestName()));
+			fTree.writeInt(getStringIndex(testElement.getDisplayName()));
+			fTree.writeInt(getStringIndex(testElement.getUniqueId()));
+			String[] parameterTypes= testElement.getParameterTypes();
+			if (parameterTypes == null) {
+				fTree.writeInt(-1);
+			} else {
+				fTree.writeInt(parameterTypes.length);
+				for (String parameterType : parameterTypes)
+					fTree.writeInt(getStringIndex(parameterType));
+			}
+			fTree.writeDouble(testElement.getElapsedTimeInSeconds());
+			if (failureTrace != null) {
+				fTree.writeByte(failureStatus.getOldCode());
+				fTree.writeLong(fPosition);
+				writeTrace(failureTrace.getTrace());
+				writeTrace(failureTrace.getExpected());
+				writeTrace(failureTrace.getActual());
+			}
+			if (isSuite) {
+				ITestElement[] children= ((TestSuiteElement) testElement).getChildren();
+				fTree.writeInt(children.length);
+				for (ITestElement child : children)
+					writeElement((TestElement) child);
+			}
+		}
+
+		private void writeTrace(String string) throws IOException {
+			fPosition+= writeString(fOut, string);
+		}
+
+		private int getStringIndex(String string) {
+			if (string == null)
+				return -1;
+			Integer index= fStringIndexes.get(string);
+			if (index == null) {
+				index= Integer.valueOf(fStrings.size());
+				fStringIndexes.put(string, index);
+				fStrings.add(string);
+			}
+			return index.intValue();
+		}
+
+		private static int writeString(DataOutputStream out, String string) throws IOException {
+			if (string == null) {
+				out.writeInt(-1);
+				return 4;
+			}
+			byte[] bytes= string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+			return 4 + bytes.length;
+		}
+	}
+
+	private static class Reader {
+
+		private final File fFile;
+
+		private final TestRunSession fTestRunSession;
+
+		private ByteBuffer fTree;
+
+		private String[] fStrings;
+
+		Reader(File file, TestRunSession testRunSession) {
+			fFile= file;
+			fTestRunSession= testRunSession;
+		}
+
+		void read() throws IOException {
+			try (FileChannel channel= FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+				long size= channel.size();
+				ByteBuffer header= ByteBuffer.allocate(8);
+				channel.read(header, 0);
+				if (size < 16 || header.getInt(0) != MAGIC || header.getInt(4) != VERSION)
+					throw new IOException("not a test run swap file"); //$NON-NLS-1$
+				ByteBuffer trailer= ByteBuffer.allocate(8);
+				channel.read(trailer, size - 8);
+				long treeOffset= trailer.getLong(0);
+				if (treeOffset < 8 || treeOffset > size - 8)
+					throw new IOException("corrupt test run swap file"); //$NON-NLS-1$
+				// the failure traces before the test tree are not read
+				MappedByteBuffer tree= channel.map(FileChannel.MapMode.READ_ONLY, treeOffset, size - 8 - treeOffset);
+				fTree= tree;
+			}
+
+			try {
+				fStrings= new String[fTree.getInt()];
+				for (int i= 0; i < fStrings.length; i++)
+					fStrings[i]= readString();
+
+				fTestRunSession.reset();
+				TestRoot testRoot= fTestRunSession.getTestRoot();
+				int count= fTree.getInt();
+				for (int i= 0; i < count; i++)
+					readElement(testRoot);
+			} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+				throw new IOException("corrupt test run swap file", e); //$NON-NLS-1$
+			} finally {
+				fTree= null;
+			}
+		}
+
+		private void readElement(TestSuiteElement parent) {
+			int flags= fTree.get();
+			String id= getString(fTree.getInt());
+			String testName= getString(fTree.getInt());
+			String displayName= getString(fTree.getInt());
+			String uniqueId= getString(fTree.getInt());
+			String[] parameterTypes= null;
+			int parameterCount= fTree.getInt();
+			if (parameterCount >= 0) {
+				parameterTypes= new String[parameterCount];
+				for (int i= 0; i < parameterCount; i++)
+					parameterTypes[i]= getString(fTree.getInt());
+			}
+			double time= fTree.getDouble();
+
+			boolean isSuite= (flags & SUITE) != 0;
+			TestElement testElement= fTestRunSession.createTestElement(parent, id, testName, isSuite, 0, (flags & DYNAMIC_TEST) != 0, displayName, parameterTypes, uniqueId);
+			if (!Double.isNaN(time))
+				testElement.setElapsedTimeInSeconds(time);
+			if ((flags & IGNORED) != 0)
+				((TestCaseElement) testElement).setIgnored(true);
+			if ((flags & FAILURE_TRACE) != 0) {
+				Status status= Status.convert(fTree.get());
+				long traceOffset= fTree.getLong();
+				fTestRunSession.registerTestFailureStatus(testElement, status, null, null, null);
+				testElement.setSwappedFailureTrace(new SwappedFailureTrace(fFile, traceOffset));
+			}
+			if ((flags & ASSUMPTION_FAILURE) != 0)
+				testElement.setAssumptionFailed(true);
+
+			if (isSuite) {
+				int childCount= fTree.getInt();
+				for (int i= 0; i < childCount; i++)
+					readElement((TestSuiteElement) testElement);
+			}
+			fTestRunSession.registerTestEnded(testElement, (flags & INCOMPLETE) == 0);
+		}
+
+		private String readString() {
+			int length= fTree.getInt();
+			if (length < 0)
+				return null;
+			byte[] bytes= new byte[length];
+			fTree.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private String getString(int index) {
+			return index < 0 ? null : fStrings[index];
+		}
+	}
+
+	private TestRunSessionSwapFile() {
+	}
+
+	/**
+	 * Writes the swap file of the given test run session.
+	 *
+	 * @param testRunSession the test run session
+	 * @param file the swap file
+	 * @throws CoreException if the file could not be written
+	 */
+	public static void write(TestRunSession testRunSession, File file) throws CoreException {
+		try (FileOutputStream out= new FileOutputStream(file)) {
+			new Writer(out).write(testRunSession);
+		} catch (IOException e) {
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
+					JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_write, BasicElementLabels.getPathLabel(file)),
+					e));
+		}
+	}
+
+	/**
+	 * Replaces the test elements of the given test run session with the ones of the swap file.
+	 * The failure traces are read when they are first requested.
+	 *
+	 * @param file the swap file
+	 * @param testRunSession the test run session
+	 * @throws CoreException if the file could not be read
+	 */
+	public static void read(File file, TestRunSession testRunSession) throws CoreException {
+		try {
+			new Reader(file, testRunSession).read();
+		} catch (IOException e) {
+			throw new CoreException(new org.eclipse.core.runtime.Status(IStatus.ERROR,
+					JUnitCorePlugin.getPluginId(),
+					Messages.format(ModelMessages.JUnitModel_could_not_read, BasicElementLabels.getPathLabel(file)),
+					e));
+		}
+	}
+}
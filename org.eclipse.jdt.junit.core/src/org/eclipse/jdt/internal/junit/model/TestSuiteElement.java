@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,21 @@ public class TestSuiteElement extends TestElement implements ITestSuiteElement {
 		return fChildren.toArray(new ITestElement[fChildren.size()]);
 	}
 
+	/**
+	 * @return the number of children
+	 */
+	public int getChildCount() {
+		return fChildren.size();
+	}
+
+	/**
+	 * @param index the index of the child, less than {@link #getChildCount()}
+	 * @return the child at the given index
+	 */
+	public TestElement getChild(int index) {
+		return fChildren.get(index);
+	}
+
 	public void addChild(TestElement child) {
 		fChildren.add(child);
 	}
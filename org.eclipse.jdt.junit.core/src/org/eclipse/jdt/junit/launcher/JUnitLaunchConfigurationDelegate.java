@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -72,6 +72,7 @@ import org.eclipse.jdt.internal.junit.launcher.ITestKind;
 import org.eclipse.jdt.internal.junit.launcher.JUnitLaunchConfigurationConstants;
 import org.eclipse.jdt.internal.junit.launcher.JUnitRuntimeClasspathEntry;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
 import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 import org.eclipse.jdt.internal.junit.util.IJUnitStatusConstants;
 
@@ -100,6 +101,12 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 
 	private static final String DEFAULT= "<default>"; //$NON-NLS-1$
 
+	/**
+	 * Whether the test runner is asked to report in the binary protocol. Can be disabled with the
+	 * system property <code>org.eclipse.jdt.junit.binaryProtocol</code>.
+	 */
+	private static final boolean BINARY_PROTOCOL= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.junit.binaryProtocol", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	@Override
 	public String showCommandLine(ILaunchConfiguration configuration, String mode, ILaunch launch, IProgressMonitor monitor) throws CoreException {
 		if (monitor == null) {
@@ -454,6 +461,11 @@ public class JUnitLaunchConfigurationDelegate extends AbstractJavaLaunchConfigur
 		programArguments.add("-port"); //$NON-NLS-1$
 		programArguments.add(String.valueOf(fPort));
 
+		if (BINARY_PROTOCOL) {
+			programArguments.add("-protocol"); //$NON-NLS-1$
+			programArguments.add(MessageIds.BINARY_PROTOCOL);
+		}
+
 		if (fKeepAlive)
 			programArguments.add(0, "-keepalive"); //$NON-NLS-1$
 
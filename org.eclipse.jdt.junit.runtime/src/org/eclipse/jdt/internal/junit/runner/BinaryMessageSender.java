@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.runner;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * Sends the messages of the RemoteTestRunner in the {@link MessageIds#BINARY_PROTOCOL}.
+ * <p>
+ * The protocol is announced by a {@link MessageIds#PROTOCOL} line, followed by frames of the form
+ * <code>length type payload</code>, where <code>length</code> is the int byte count of type and
+ * payload. Strings are written as their int UTF-8 byte count followed by the bytes.
+ * </p>
+ * <p>
+ * The name of a test is sent once with its test id, later test started, test ended and failure
+ * notifications only send the id. Test started and test ended notifications are collected in
+ * {@link #EVENTS} frames, which are written when another frame is written, when the batch is
+ * full, or at most {@link #FLUSH_INTERVAL} milliseconds after the first notification of the
+ * batch. All other messages are sent in {@link #MESSAGE} frames with the text of the line based
+ * protocol.
+ * </p>
+ */
+public class BinaryMessageSender implements MessageSender {
+
+	/**
+	 * A message of the line based protocol.
+	 * MESSAGE + message
+	 */
+	public static final byte MESSAGE= 1;
+	/**
+	 * The name of a test.
+	 * TEST_NAME + testId + testName
+	 */
+	public static final byte TEST_NAME= 2;
+	/**
+	 * A test tree entry, see {@link MessageIds#TEST_TREE}.
+	 * TREE_ENTRY + testId + testName + remaining tree entry fields
+	 */
+	public static final byte TREE_ENTRY= 3;
+	/**
+	 * Test started and test ended notifications.
+	 * EVENTS + count + count * (testId &lt;&lt; 1 | ended)
+	 */
+	public static final byte EVENTS= 4;
+	/**
+	 * Notification that a test had a failure, see {@link MessageIds#TEST_FAILED}.
+	 * TEST_FAILED + testId
+	 */
+	public static final byte TEST_FAILED= 5;
+	/**
+	 * Notification that a test had an error, see {@link MessageIds#TEST_ERROR}.
+	 * TEST_ERROR + testId
+	 */
+	public static final byte TEST_ERROR= 6;
+
+	/**
+	 * Maximal delay in milliseconds before batched test notifications are sent.
+	 */
+	public static final int FLUSH_INTERVAL= 50;
+
+	private static final int MAX_EVENTS= 1024;
+
+	private final DataOutputStream fOut;
+
+	private final ByteArrayOutputStream fFrame= new ByteArrayOutputStream(256);
+
+	private final DataOutputStream fFrameData= new DataOutputStream(fFrame);
+
+	private final int[] fEvents= new int[MAX_EVENTS];
+
+	private int fEventCount;
+
+	private long fFirstEventTime;
+
+	private final Timer fTimer= new Timer("BinaryMessageSender", true); //$NON-NLS-1$
+
+	/**
+	 * The names sent for the test ids
+	 */
+	private String[] fNames= new String[1024];
+
+	/**
+	 * End marker of the trace, expected or actual block that is being sent, or <code>null</code>
+	 */
+	private String fBlockEnd;
+
+	private boolean fFailed;
+
+	/**
+	 * Creates a sender and announces the binary protocol.
+	 *
+	 * @param out the stream to write to
+	 * @throws IOException if the announcement cannot be written
+	 */
+	public BinaryMessageSender(OutputStream out) throws IOException {
+		fOut= new DataOutputStream(new BufferedOutputStream(out, 8192));
+		fOut.write((MessageIds.PROTOCOL + MessageIds.BINARY_PROTOCOL + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+		fOut.flush();
+	}
+
+	@Override
+	public synchronized void sendMessage(String msg) {
+		if (fFailed)
+			return;
+		try {
+			if (fBlockEnd != null) {
+				if (msg.startsWith(fBlockEnd))
+					fBlockEnd= null;
+				writeMessage(msg);
+			} else if (msg.startsWith(MessageIds.TEST_START)) {
+				sendEvent(msg, 0);
+			} else if (msg.startsWith(MessageIds.TEST_END)) {
+				sendEvent(msg, 1);
+			} else if (msg.startsWith(MessageIds.TEST_TREE)) {
+				sendTreeEntry(msg);
+			} else if (msg.startsWith(MessageIds.TEST_FAILED)) {
+				sendFailure(msg, TEST_FAILED);
+			} else if (msg.startsWith(MessageIds.TEST_ERROR)) {
+				sendFailure(msg, TEST_ERROR);
+			} else {
+				fBlockEnd= getBlockEnd(msg);
+				writeMessage(msg);
+			}
+		} catch (IOException e) {
+			fFailed= true;
+		}
+	}
+
+	@Override
+	public synchronized void flush() {
+		if (fFailed)
+			return;
+		if (fEventCount > 0 && System.currentTimeMillis() - fFirstEventTime < FLUSH_INTERVAL)
+			return; // sent by the timer
+		try {
+			writeEvents();
+			fOut.flush();
+		} catch (IOException e) {
+			fFailed= true;
+		}
+	}
+
+	/**
+	 * Sends the pending notifications and closes the stream.
+	 */
+	public synchronized void close() {
+		fTimer.cancel();
+		try {
+			if (!fFailed)
+				writeEvents();
+			fOut.close();
+		} catch (IOException e) {
+			fFailed= true;
+		}
+	}
+
+	private void sendEvent(String msg, int ended) throws IOException {
+		int comma= msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH);
+		int id= parseId(msg, MessageIds.MSG_HEADER_LENGTH, comma);
+		if (id < 0) {
+			writeMessage(msg);
+			return;
+		}
+		if (!isSent(id, msg, comma + 1, msg.length())) {
+			writeEvents();
+			String name= msg.substring(comma + 1);
+			startFrame(TEST_NAME);
+			fFrameData.writeInt(id);
+			writeString(name);
+			endFrame();
+			setName(id, name);
+		}
+		if (fEventCount == MAX_EVENTS)
+			writeEvents();
+		if (fEventCount == 0) {
+			fFirstEventTime= System.currentTimeMillis();
+			fTimer.schedule(new TimerTask() {
+				@Override
+				public void run() {
+					flush();
+				}
+			}, FLUSH_INTERVAL);
+		}
+		fEvents[fEventCount++]= id << 1 | ended;
+	}
+
+	private void sendTreeEntry(String msg) throws IOException {
+		int comma= msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH);
+		int id= parseId(msg, MessageIds.MSG_HEADER_LENGTH, comma);
+		int nameEnd= id < 0 ? -1 : indexOfUnescapedComma(msg, comma + 1);
+		if (nameEnd < 0) {
+			writeMessage(msg);
+			return;
+		}
+		writeEvents();
+		String name= msg.substring(comma + 1, nameEnd);
+		startFrame(TREE_ENTRY);
+		fFrameData.writeInt(id);
+		writeString(name);
+		writeString(msg.substring(nameEnd + 1));
+		endFrame();
+		setName(id, name);
+	}
+
+	private void sendFailure(String msg, byte type) throws IOException {
+		int comma= msg.indexOf(',', MessageIds.MSG_HEADER_LENGTH);
+		int id= parseId(msg, MessageIds.MSG_HEADER_LENGTH, comma);
+		if (id < 0 || !isSent(id, msg, comma + 1, msg.length())) {
+			writeMessage(msg);
+			return;
+		}
+		writeEvents();
+		startFrame(type);
+		fFrameData.writeInt(id);
+		endFrame();
+	}
+
+	private void writeMessage(String msg) throws IOException {
+		writeEvents();
+		startFrame(MESSAGE);
+		writeString(msg);
+		endFrame();
+	}
+
+	private void writeEvents() throws IOException {
+		if (fEventCount == 0)
+			return;
+		startFrame(EVENTS);
+		fFrameData.writeInt(fEventCount);
+		for (int i= 0; i < fEventCount; i++)
+			fFrameData.writeInt(fEvents[i]);
+		fEventCount= 0;
+		endFrame();
+	}
+
+	private void startFrame(byte type) throws IOException {
+		fFrame.reset();
+		fFrameData.writeByte(type);
+	}
+
+	private void endFrame() throws IOException {
+		fOut.writeInt(fFrame.size());
+		fFrame.writeTo(fOut);
+	}
+
+	private void writeString(String s) throws IOException {
+		byte[] bytes= s.getBytes(StandardCharsets.UTF_8);
+		fFrameData.writeInt(bytes.length);
+		fFrameData.write(bytes);
+	}
+
+	private boolean isSent(int id, String msg, int start, int end) {
+		if (id >= fNames.length)
+			return false;
+		String name= fNames[id];
+		return name != null && name.length() == end - start && msg.regionMatches(start, name, 0, name.length());
+	}
+
+	private void setName(int id, String name) {
+		if (id >= fNames.length)
+			fNames= Arrays.copyOf(fNames, Math.max(id + 1, fNames.length * 2));
+		fNames[id]= name;
+	}
+
+	/**
+	 * Parses a non-negative test id.
+	 *
+	 * @param msg the message
+	 * @param start the start of the id
+	 * @param end the end of the id
+	 * @return the id, or <code>-1</code> if the id is not a number
+	 */
+	private static int parseId(String msg, int start, int end) {
+		if (end <= start || end - start > 9)
+			return -1;
+		int id= 0;
+		for (int i= start; i < end; i++) {
+			char c= msg.charAt(i);
+			if (c < '0' || c > '9')
+				return -1;
+			id= id * 10 + c - '0';
+		}
+		return id;
+	}
+
+	private static int indexOfUnescapedComma(String msg, int start) {
+		for (int i= start; i < msg.length(); i++) {
+			char c= msg.charAt(i);
+			if (c == '\\')
+				i++;
+			else if (c == ',')
+				return i;
+		}
+		return -1;
+	}
+
+	private static String getBlockEnd(String msg) {
+		if (msg.startsWith(MessageIds.TRACE_START))
+			return MessageIds.TRACE_END;
+		if (msg.startsWith(MessageIds.RTRACE_START))
+			return MessageIds.RTRACE_END;
+		if (msg.startsWith(MessageIds.EXPECTED_START))
+			return MessageIds.EXPECTED_END;
+		if (msg.startsWith(MessageIds.ACTUAL_START))
+			return MessageIds.ACTUAL_END;
+		return null;
+	}
+}
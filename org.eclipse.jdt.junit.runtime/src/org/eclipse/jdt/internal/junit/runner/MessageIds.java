@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -123,6 +123,17 @@ public class MessageIds {
 	 * See: ITestRunListener2#testTreeEntry
 	 */
 	public static final String TEST_TREE= "%TSTTREE"; //$NON-NLS-1$
+	/**
+	 * Notification that all following messages are sent in the given protocol.
+	 * Sent as the first line if the client asked for the protocol with the
+	 * <code>-protocol</code> argument.
+	 * PROTOCOL + protocolName
+	 */
+	public static final String PROTOCOL= "%PROTOCL"; //$NON-NLS-1$
+	/**
+	 * The length-prefixed binary protocol written by {@link BinaryMessageSender}.
+	 */
+	public static final String BINARY_PROTOCOL= "binary1"; //$NON-NLS-1$
 	/**
 	 * Request to stop the current test run.
 	 */
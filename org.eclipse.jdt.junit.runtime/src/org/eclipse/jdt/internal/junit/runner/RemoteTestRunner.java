@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,6 +91,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * Print writer for sending messages
 	 */
 	private PrintWriter fWriter;
+	/**
+	 * Sender for messages in the binary protocol, or <code>null</code> if the line based
+	 * protocol is used
+	 */
+	private BinaryMessageSender fBinarySender;
+	/**
+	 * Has the client asked for the binary protocol
+	 */
+	private boolean fBinaryProtocol= false;
 	/**
 	 * Reader for incoming messages
 	 */
@@ -202,6 +211,7 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 	 * -host: the host to connect to default local host
 	 * -port: the port to connect to, mandatory argument
 	 * -keepalive: keep the process alive after a test run
+	 * -protocol: the protocol to send messages in, if supported
      * </pre>
      */
 	public static void main(String[] args) {
@@ -301,6 +311,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			else if("-keepalive".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
 				fKeepAlive= true;
 			}
+			else if("-protocol".equalsIgnoreCase(args[i])) { //$NON-NLS-1$
+				fBinaryProtocol= MessageIds.BINARY_PROTOCOL.equals(args[i+1]);
+				i++;
+			}
 			else if("-debugging".equalsIgnoreCase(args[i]) || "-debug".equalsIgnoreCase(args[i])){ //$NON-NLS-1$ //$NON-NLS-2$
 			    fDebugMode= true;
 
@@ -639,11 +653,15 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 		for (int i= 1; i < 20; i++) {
 			try{
 				fClientSocket= new Socket(fHost, fPort);
-				try {
-				    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
-	            } catch (UnsupportedEncodingException e1) {
-	                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
-	            }
+				if (fBinaryProtocol) {
+					fBinarySender= new BinaryMessageSender(fClientSocket.getOutputStream());
+				} else {
+					try {
+					    fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream(), StandardCharsets.UTF_8)), false/*true*/);
+		            } catch (UnsupportedEncodingException e1) {
+		                fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(fClientSocket.getOutputStream())), false/*true*/);
+		            }
+				}
 				try {
 				    fReader= new BufferedReader(new InputStreamReader(fClientSocket.getInputStream(), StandardCharsets.UTF_8));
                 } catch (UnsupportedEncodingException e1) {
@@ -672,6 +690,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 			fWriter.close();
 			fWriter= null;
 		}
+		if (fBinarySender != null) {
+			fBinarySender.close();
+			fBinarySender= null;
+		}
 		try {
 			if (fReaderThread != null)   {
 				// interrupt reader thread so that we don't block on close
@@ -701,6 +723,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void sendMessage(String msg) {
+		if (fBinarySender != null) {
+			fBinarySender.sendMessage(msg);
+			return;
+		}
 		if(fWriter == null)
 			return;
 		fWriter.println(msg);
@@ -741,7 +767,10 @@ public class RemoteTestRunner implements MessageSender, IVisitsTestTrees {
 
 	@Override
 	public void flush() {
-	    fWriter.flush();
+		if (fBinarySender != null)
+			fBinarySender.flush();
+		else
+			fWriter.flush();
 	}
 
 	private void runTests(TestExecution execution) {
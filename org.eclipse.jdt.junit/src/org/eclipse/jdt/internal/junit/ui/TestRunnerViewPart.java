@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -168,6 +168,15 @@ public class TestRunnerViewPart extends ViewPart {
 	private static final String RERUN_FAILED_FIRST_COMMAND= "org.eclipse.jdt.junit.junitShortcut.rerunFailedFirst"; //$NON-NLS-1$
 
 	static final int REFRESH_INTERVAL= 200;
+	/**
+	 * Maximal delay in milliseconds between two updates of a running test run, see
+	 * {@link UpdateUIJob}.
+	 */
+	private static final int MAX_REFRESH_INTERVAL= 2000;
+	/**
+	 * Ratio of the delay between two updates and the time spent in an update.
+	 */
+	private static final int REFRESH_LOAD_FACTOR= 4;
 
 	public static final int LAYOUT_FLAT= 0;
 	public static final int LAYOUT_HIERARCHICAL= 1;
@@ -877,13 +886,26 @@ public class TestRunnerViewPart extends ViewPart {
 		}
 		@Override
 		public IStatus runInUIThread(IProgressMonitor monitor) {
+			long start= System.currentTimeMillis();
 			if (!isDisposed()) {
 				processChangesInUI();
 			}
-			schedule(REFRESH_INTERVAL);
+			schedule(getRefreshDelay(System.currentTimeMillis() - start));
 			return Status.OK_STATUS;
 		}
 
+		/**
+		 * Adapts the refresh cadence to the load of the UI thread: when an update takes long, e.g.
+		 * because many tests changed, the next update is delayed so that the UI thread spends at
+		 * most a fifth of its time on updating the view.
+		 *
+		 * @param updateTime the time in milliseconds spent in the last update
+		 * @return the delay of the next update in milliseconds
+		 */
+		private long getRefreshDelay(long updateTime) {
+			return Math.min(MAX_REFRESH_INTERVAL, Math.max(REFRESH_INTERVAL, updateTime * REFRESH_LOAD_FACTOR));
+		}
+
 		public void stop() {
 			fRunning= false;
 		}
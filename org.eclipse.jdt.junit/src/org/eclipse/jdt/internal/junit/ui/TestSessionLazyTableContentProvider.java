@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.junit.model.ITestElement;
+
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.jface.viewers.ViewerFilter;
+
+import org.eclipse.jdt.internal.junit.model.TestRoot;
+
+/**
+ * Content provider of the virtual table of the flat layout. Only the items that become visible are
+ * created. JFace neither filters nor sorts viewers with a lazy content provider, so the filter and
+ * the comparator of the table are applied by the content provider.
+ */
+public class TestSessionLazyTableContentProvider implements ILazyContentProvider {
+
+	private TableViewer fViewer;
+
+	private ViewerFilter fFilter;
+
+	private ViewerComparator fComparator;
+
+	/**
+	 * The elements shown in the table
+	 */
+	private List<ITestElement> fElements= new ArrayList<>();
+
+	/**
+	 * The index of each element in the unfiltered table, or <code>null</code> if the table is not
+	 * filtered
+	 */
+	private Map<ITestElement, Integer> fPositions;
+
+	private final Comparator<ITestElement> fPositionComparator= (e1, e2) -> Integer.compare(fPositions.get(e1), fPositions.get(e2));
+
+	/**
+	 * Sets the filter of the table. It is applied when the input is set the next time.
+	 *
+	 * @param filter the filter, or <code>null</code> to show all elements
+	 */
+	public void setFilter(ViewerFilter filter) {
+		fFilter= filter;
+	}
+
+	/**
+	 * Sets the comparator of the table. It is applied when the input is set the next time.
+	 *
+	 * @param comparator the comparator, or <code>null</code> to show the elements in execution
+	 *            order
+	 */
+	public void setComparator(ViewerComparator comparator) {
+		fComparator= comparator;
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		fViewer= (TableViewer) viewer;
+		fElements= new ArrayList<>();
+		fPositions= null;
+		if (newInput instanceof TestRoot) {
+			List<ITestElement> all= TestSessionTableContentProvider.getTestElements((TestRoot) newInput);
+			if (fComparator != null)
+				all.sort((e1, e2) -> fComparator.compare(fViewer, e1, e2));
+			if (fFilter == null) {
+				fElements= all;
+			} else {
+				fPositions= new HashMap<>();
+				for (int i= 0; i < all.size(); i++) {
+					ITestElement element= all.get(i);
+					fPositions.put(element, i);
+					if (fFilter.select(fViewer, newInput, element))
+						fElements.add(element);
+				}
+			}
+		}
+		fViewer.setItemCount(fElements.size());
+	}
+
+	@Override
+	public void updateElement(int index) {
+		if (index < fElements.size())
+			fViewer.replace(fElements.get(index), index);
+	}
+
+	/**
+	 * Updates the table after the status of the given elements has changed. If the table is
+	 * filtered, elements that no longer pass the filter are removed and elements that pass it now
+	 * are inserted at their position. Only the items that are visible are updated.
+	 *
+	 * @param elements the changed elements
+	 */
+	public void update(Object[] elements) {
+		if (fPositions == null) {
+			fViewer.update(elements, null);
+			return;
+		}
+		List<Object> changed= new ArrayList<>();
+		int firstMoved= fElements.size();
+		boolean moved= false;
+		for (Object object : elements) {
+			if (!fPositions.containsKey(object))
+				continue; // not in the flat layout when the input was set
+			ITestElement element= (ITestElement) object;
+			int index= Collections.binarySearch(fElements, element, fPositionComparator);
+			boolean shown= fFilter.select(fViewer, fViewer.getInput(), element);
+			if (shown && index < 0) {
+				index= -index - 1;
+				fElements.add(index, element);
+			} else if (!shown && index >= 0) {
+				fElements.remove(index);
+			} else {
+				if (shown)
+					changed.add(element);
+				continue;
+			}
+			firstMoved= Math.min(firstMoved, index);
+			moved= true;
+		}
+		if (moved) {
+			fViewer.setItemCount(fElements.size());
+			if (firstMoved < fElements.size())
+				fViewer.getTable().clear(firstMoved, fElements.size() - 1); // the visible items are requested again
+		}
+		if (!changed.isEmpty())
+			fViewer.update(changed.toArray(), null);
+	}
+
+	@Override
+	public void dispose() {
+		fElements= new ArrayList<>();
+		fPositions= null;
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.ui;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Content provider of the virtual tree of the hierarchical layout, used while the tree is neither
+ * filtered nor sorted. Only the items of expanded suites that become visible are created, so a
+ * suite with many children can be expanded without creating an item per child.
+ */
+public class TestSessionLazyTreeContentProvider implements ILazyTreeContentProvider {
+
+	private TreeViewer fViewer;
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		fViewer= (TreeViewer) viewer;
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		if (index >= getChildCount(parent))
+			return;
+		TestElement child= ((TestSuiteElement) parent).getChild(index);
+		fViewer.replace(parent, index, child);
+		fViewer.setChildCount(child, getChildCount(child));
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count= getChildCount(element);
+		if (count != currentChildCount)
+			fViewer.setChildCount(element, count);
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		return ((TestElement) element).getParent();
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	private static int getChildCount(Object element) {
+		if (element instanceof TestSuiteElement)
+			return ((TestSuiteElement) element).getChildCount();
+		return 0;
+	}
+}
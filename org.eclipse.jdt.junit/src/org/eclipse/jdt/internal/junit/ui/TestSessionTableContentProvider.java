@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,12 +34,20 @@ public class TestSessionTableContentProvider implements IStructuredContentProvid
 
 	@Override
 	public Object[] getElements(Object inputElement) {
+		return getTestElements((TestRoot) inputElement).toArray();
+	}
+
+	/**
+	 * @param root the test root
+	 * @return the test cases and the failed suites of the flat layout, in execution order
+	 */
+	static ArrayList<ITestElement> getTestElements(TestRoot root) {
 		ArrayList<ITestElement> all= new ArrayList<>();
-		addAll(all, (TestRoot) inputElement);
-		return all.toArray();
+		addAll(all, root);
+		return all;
 	}
 
-	private void addAll(ArrayList<ITestElement> all, TestSuiteElement suite) {
+	private static void addAll(ArrayList<ITestElement> all, TestSuiteElement suite) {
 		ITestElement[] children= suite.getChildren();
 		for (ITestElement element : children) {
 			if (element instanceof TestSuiteElement) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,7 +40,6 @@ import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Menu;
-import org.eclipse.swt.widgets.TableItem;
 
 import org.eclipse.core.runtime.CoreException;
 
@@ -49,6 +48,7 @@ import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.viewers.AbstractTreeViewer;
+import org.eclipse.jface.viewers.IContentProvider;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.SelectionChangedEvent;
@@ -205,9 +205,10 @@ public class TestViewer {
 	private PageBook fViewerbook;
 	private TreeViewer fTreeViewer;
 	private TestSessionTreeContentProvider fTreeContentProvider;
+	private TestSessionLazyTreeContentProvider fLazyTreeContentProvider;
 	private TestSessionLabelProvider fTreeLabelProvider;
 	private TableViewer fTableViewer;
-	private TestSessionTableContentProvider fTableContentProvider;
+	private TestSessionLazyTableContentProvider fTableContentProvider;
 	private TestSessionLabelProvider fTableLabelProvider;
 	private SelectionProviderMediator fSelectionProvider;
 
@@ -220,6 +221,10 @@ public class TestViewer {
 	private boolean fTreeNeedsRefresh;
 	private boolean fTableNeedsRefresh;
 	private HashSet<TestElement> fNeedUpdate;
+	/**
+	 * Suites to which tests have been added
+	 */
+	private HashSet<TestSuiteElement> fNeedChildCountUpdate;
 	private TestCaseElement fAutoScrollTarget;
 
 	private LinkedList<TestSuiteElement> fAutoClose;
@@ -242,17 +247,18 @@ public class TestViewer {
 	private void createTestViewers(Composite parent) {
 		fViewerbook= new PageBook(parent, SWT.NULL);
 
-		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE);
+		fTreeViewer= new TreeViewer(fViewerbook, SWT.V_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTreeViewer.setUseHashlookup(true);
 		WorkbenchViewerSetup.setupViewer(fTreeViewer);
 		fTreeContentProvider= new TestSessionTreeContentProvider();
-		fTreeViewer.setContentProvider(fTreeContentProvider);
+		fLazyTreeContentProvider= new TestSessionLazyTreeContentProvider();
+		fTreeViewer.setContentProvider(fLazyTreeContentProvider);
 		fTreeLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
 		fTreeViewer.setLabelProvider(new ColoringLabelProvider(fTreeLabelProvider));
 
-		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE);
+		fTableViewer= new TableViewer(fViewerbook, SWT.V_SCROLL | SWT.H_SCROLL | SWT.SINGLE | SWT.VIRTUAL);
 		fTableViewer.setUseHashlookup(true);
-		fTableContentProvider= new TestSessionTableContentProvider();
+		fTableContentProvider= new TestSessionLazyTableContentProvider();
 		fTableViewer.setContentProvider(fTableContentProvider);
 		fTableLabelProvider= new TestSessionLabelProvider(fTestRunnerPart, TestRunnerViewPart.LAYOUT_FLAT);
 		fTableViewer.setLabelProvider(new ColoringLabelProvider(fTableLabelProvider));
@@ -498,8 +504,33 @@ public class TestViewer {
 				viewerComparator= null;
 				break;
 		}
-		fTableViewer.setComparator(viewerComparator);
+		boolean lazy= viewerComparator == null;
+		if (!lazy)
+			setLazyTreeContentProvider(false);
 		fTreeViewer.setComparator(viewerComparator);
+		if (lazy)
+			setLazyTreeContentProvider(!fTreeHasFilter);
+		// the table content provider sorts the table itself
+		fTableContentProvider.setComparator(viewerComparator);
+		fTableNeedsRefresh= true;
+		processChangesInUI();
+	}
+
+	/**
+	 * Switches the tree viewer between its lazy and its regular content provider. Lazy tree content
+	 * providers do not support filtering and sorting, so the regular content provider is used while
+	 * the tree is filtered or sorted.
+	 *
+	 * @param lazy whether to use the lazy content provider
+	 */
+	private void setLazyTreeContentProvider(boolean lazy) {
+		IContentProvider contentProvider= lazy ? fLazyTreeContentProvider : fTreeContentProvider;
+		if (fTreeViewer.getContentProvider() == contentProvider)
+			return;
+
+		fTreeViewer.setInput(null);
+		fTreeViewer.setContentProvider(contentProvider);
+		fTreeNeedsRefresh= true;
 	}
 
 	private final class TestNameComparator extends ViewerComparator {
@@ -610,7 +641,12 @@ public class TestViewer {
 				if (ignoredOnly == true) {
 					filter= fIgnoredOnlyFilter;
 				}
-				viewer.addFilter(filter);
+				if (viewer == fTableViewer) {
+					fTableContentProvider.setFilter(filter); // the table content provider filters the table itself
+				} else {
+					setLazyTreeContentProvider(false);
+					viewer.addFilter(filter);
+				}
 				setActiveViewerNeedsRefresh(true);
 
 			} else {
@@ -620,6 +656,10 @@ public class TestViewer {
 					viewer.setInput(null);
 					viewer.removeFilter(fIgnoredOnlyFilter);
 					viewer.removeFilter(fFailuresOnlyFilter);
+					if (viewer == fTableViewer)
+						fTableContentProvider.setFilter(null);
+					else
+						setLazyTreeContentProvider(viewer.getComparator() == null);
 				}
 			}
 			processChangesInUI();
@@ -695,32 +735,43 @@ public class TestViewer {
 
 		} else {
 			Object[] toUpdate;
+			TestSuiteElement[] toUpdateChildCount;
 			synchronized (this) {
 				toUpdate= fNeedUpdate.toArray();
 				fNeedUpdate.clear();
+				toUpdateChildCount= fNeedChildCountUpdate.toArray(new TestSuiteElement[fNeedChildCountUpdate.size()]);
+				fNeedChildCountUpdate.clear();
+			}
+			if (! fTreeNeedsRefresh && toUpdateChildCount.length > 0) {
+				// only the suites with added tests are refreshed, their labels are updated below
+				boolean lazy= fTreeViewer.getContentProvider() == fLazyTreeContentProvider;
+				for (TestSuiteElement suite : toUpdateChildCount) {
+					if (lazy)
+						fTreeViewer.setChildCount(suite, suite.getChildCount());
+					else
+						fTreeViewer.refresh(suite, false);
+				}
 			}
 			if (! fTreeNeedsRefresh && toUpdate.length > 0) {
 				if (fTreeHasFilter)
 					for (Object element : toUpdate)
 						updateElementInTree((TestElement) element);
 				else {
-					HashSet<Object> toUpdateWithParents= new HashSet<>(Arrays.asList(toUpdate));
+					// coalesce per suite: each suite is updated once, however many of its tests changed
+					HashSet<TestSuiteElement> parents= new HashSet<>();
 					for (Object element : toUpdate) {
-						TestElement parent= ((TestElement) element).getParent();
-						while (parent != null) {
-							toUpdateWithParents.add(parent);
+						TestSuiteElement parent= ((TestElement) element).getParent();
+						while (parent != null && parents.add(parent))
 							parent= parent.getParent();
-						}
 					}
+					LinkedHashSet<Object> toUpdateWithParents= new LinkedHashSet<>(Arrays.asList(toUpdate));
+					toUpdateWithParents.addAll(parents);
 					fTreeViewer.update(toUpdateWithParents.toArray(), null);
 				}
 			}
 			if (! fTableNeedsRefresh && toUpdate.length > 0) {
-				if (fTableHasFilter)
-					for (Object element : toUpdate)
-						updateElementInTable((TestElement) element);
-				else
-					fTableViewer.update(toUpdate, null);
+				// a filtered table inserts and removes the changed tests, only visible items are updated
+				fTableContentProvider.update(toUpdate);
 			}
 		}
 		autoScrollInUI();
@@ -758,25 +809,6 @@ public class TestViewer {
 		}
 	}
 
-	private void updateElementInTable(TestElement element) {
-		if (isShown(element)) {
-			if (fTableViewer.testFindItem(element) == null) {
-				TestElement previous= getNextFailure(element, false);
-				int insertionIndex= -1;
-				if (previous != null) {
-					TableItem item= (TableItem) fTableViewer.testFindItem(previous);
-					if (item != null)
-						insertionIndex= fTableViewer.getTable().indexOf(item);
-				}
-				fTableViewer.insert(element, insertionIndex);
-			} else  {
-				fTableViewer.update(element, null);
-			}
-		} else {
-			fTableViewer.remove(element);
-		}
-	}
-
 	private boolean isShown(TestElement current) {
 		return fFailuresOnlyFilter.select(current);
 	}
@@ -924,7 +956,10 @@ public class TestViewer {
 	}
 
 	private void clearUpdateAndExpansion() {
+		if (fNeedChildCountUpdate != null && !fNeedChildCountUpdate.isEmpty())
+			fTreeNeedsRefresh= true; // the tree has not yet shown the added tests
 		fNeedUpdate= new LinkedHashSet<>();
+		fNeedChildCountUpdate= new LinkedHashSet<>();
 		fAutoClose= new LinkedList<>();
 		fAutoExpand= new HashSet<>();
 	}
@@ -933,8 +968,10 @@ public class TestViewer {
 	 * @param testElement the added test
 	 */
 	public synchronized void registerTestAdded(TestElement testElement) {
-		//TODO: performance: would only need to refresh parent of added element
-		fTreeNeedsRefresh= true;
+		TestSuiteElement parent= testElement.getParent();
+		if (parent != null)
+			fNeedChildCountUpdate.add(parent);
+		// the position of the test in the flat layout depends on its suite
 		fTableNeedsRefresh= true;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -155,6 +155,10 @@ public class AbstractSemanticHighlightingTest {
 		return document.getPositions(positionCategory);
 	}
 
+	protected SourceViewer getSourceViewer() {
+		return fSourceViewer;
+	}
+
 	protected void setUpSemanticHighlighting(String semanticHighlighting) {
 		enableSemanticHighlighting(semanticHighlighting);
 		EditorTestHelper.forceReconcile(fSourceViewer);
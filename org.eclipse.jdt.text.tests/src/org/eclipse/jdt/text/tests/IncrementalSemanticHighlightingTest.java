@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+
+/**
+ * Edits within a member body only reconcile the semantic highlighting positions of that member.
+ * The resulting positions must be the same as the ones of a full reconcile.
+ */
+public class IncrementalSemanticHighlightingTest extends AbstractSemanticHighlightingTest {
+
+	@RegisterExtension
+	public SemanticHighlightingTestSetup shts= new SemanticHighlightingTestSetup("/SHTest/src/SHTest.java");
+
+	private Position[] reconcile(boolean forced) throws Exception {
+		if (forced)
+			EditorTestHelper.forceReconcile(getSourceViewer());
+		assertTrue(EditorTestHelper.joinReconciler(getSourceViewer(), 0, 10000, 100));
+		EditorTestHelper.runEventQueue(100);
+		return getSemanticHighlightingPositions();
+	}
+
+	@Test
+	public void editInMethodBody() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+		int before= getSemanticHighlightingPositions().length;
+
+		IDocument document= getSourceViewer().getDocument();
+		document.replace(document.getLineOffset(9) + 2, 0, "int other= local; "); //$NON-NLS-1$
+
+		Position[] incremental= reconcile(false);
+		assertEquals(before + 1, incremental.length);
+		assertEqualPositions(reconcile(true), incremental);
+	}
+
+	@Test
+	public void editInMemberDeclarations() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+
+		IDocument document= getSourceViewer().getDocument();
+		document.replace(document.getLineOffset(19), 0, "\tvoid added() { int added= 0; }\n"); //$NON-NLS-1$
+
+		Position[] incremental= reconcile(false);
+		assertEqualPositions(reconcile(true), incremental);
+		assertEqualPositions(new Position[] {
+				createPosition(7, 17, 5),
+				createPosition(8, 6, 5),
+				createPosition(13, 11, 6),
+				createPosition(14, 26, 6),
+				createPosition(19, 20, 5),
+				createPosition(42, 16, 4),
+				createPosition(43, 20, 13),
+				createPosition(44, 15, 7),
+		}, incremental);
+	}
+
+	@Test
+	public void undoEdit() throws Exception {
+		setUpSemanticHighlighting(SemanticHighlightings.LOCAL_VARIABLE_DECLARATION);
+		Position[] initial= getSemanticHighlightingPositions();
+
+		IDocument document= getSourceViewer().getDocument();
+		int offset= document.getLineOffset(9) + 2;
+		String text= "int other= local; "; //$NON-NLS-1$
+		document.replace(offset, 0, text);
+		reconcile(false);
+		document.replace(offset, text.length(), ""); //$NON-NLS-1$
+
+		assertEqualPositions(initial, reconcile(false));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,11 +18,15 @@ import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
 
 import org.eclipse.jdt.text.tests.codemining.CodeMiningTriggerTest;
+import org.eclipse.jdt.text.tests.codemining.JavaImplementationCounterTest;
+import org.eclipse.jdt.text.tests.codemining.JavaReferenceCounterTest;
 import org.eclipse.jdt.text.tests.codemining.ParameterNamesCodeMiningTest;
 import org.eclipse.jdt.text.tests.contentassist.ContentAssistTestSuite;
 import org.eclipse.jdt.text.tests.folding.FoldingTestSuite;
 import org.eclipse.jdt.text.tests.semantictokens.SemanticTokensProviderErrorTest;
 import org.eclipse.jdt.text.tests.semantictokens.SemanticTokensProviderTest;
+import org.eclipse.jdt.text.tests.spelling.CompactSpellDictionaryTest;
+import org.eclipse.jdt.text.tests.spelling.IncrementalSpellingTest;
 import org.eclipse.jdt.text.tests.spelling.SpellCheckEngineTestCase;
 import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 
@@ -55,7 +59,10 @@ import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 	MarkOccurrenceTest1d8.class,
 	BracketInserterTest.class,
 	SpellCheckEngineTestCase.class,
+	CompactSpellDictionaryTest.class,
+	IncrementalSpellingTest.class,
 	SemanticHighlightingTest.class,
+	IncrementalSemanticHighlightingTest.class,
 	SemanticTokensProviderTest.class,
 	SemanticTokensProviderErrorTest.class,
 	AutoboxingSemanticHighlightingTest.class,
@@ -74,6 +81,8 @@ import org.eclipse.jdt.text.tests.templates.TemplatesTestSuite;
 	JavaElementPrefixPatternMatcherTest.class,
 	CodeMiningTriggerTest.class,
 	ParameterNamesCodeMiningTest.class,
+	JavaReferenceCounterTest.class,
+	JavaImplementationCounterTest.class,
 	FoldingTestSuite.class,
 })
 public class JdtTextTestSuite {
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaImplementationCounter;
+
+public class JavaImplementationCounterTest {
+
+	private IJavaProject fProject;
+
+	private IPackageFragment fPackage;
+
+	private final JavaImplementationCounter fCounter= JavaImplementationCounter.getInstance();
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+
+		Map<String, String> options= fProject.getOptions(false);
+		JavaProjectHelper.set17_CompilerOptions(options);
+		fProject.setOptions(options);
+
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= root.createPackageFragment("p", true, null);
+		fCounter.clear();
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		fCounter.clear();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void sharedHierarchy() throws Exception {
+		ICompilationUnit i= fPackage.createCompilationUnit("I.java", """
+				package p;
+				public interface I {
+					void foo();
+					void bar();
+				}
+				""", true, null);
+		fPackage.createCompilationUnit("A.java", """
+				package p;
+				public class A implements I {
+					public void foo() {}
+					public void bar() {}
+				}
+				""", true, null);
+		fPackage.createCompilationUnit("B.java", """
+				package p;
+				public abstract class B implements I {
+					public void foo() {}
+				}
+				""", true, null);
+		IType type= i.getType("I");
+		String[] noParameters= new String[0];
+
+		int hierarchies= fCounter.getHierarchyCount();
+		int hits= fCounter.getHitCount();
+		assertEquals(2, fCounter.getSourceSubtypes(type, new NullProgressMonitor()).length);
+		assertEquals(2, fCounter.getImplementingSubtypes("foo", noParameters, type, new NullProgressMonitor()).length);
+		assertEquals(1, fCounter.getImplementingSubtypes("bar", noParameters, type, new NullProgressMonitor()).length);
+		assertEquals(1, fCounter.getHierarchyCount() - hierarchies);
+		assertEquals(2, fCounter.getHitCount() - hits);
+
+		// a new subtype changes the hierarchy
+		fPackage.createCompilationUnit("C.java", """
+				package p;
+				public class C extends A {
+					public void bar() {}
+				}
+				""", true, null);
+		hierarchies= fCounter.getHierarchyCount();
+		assertEquals(3, fCounter.getSourceSubtypes(type, new NullProgressMonitor()).length);
+		assertEquals(2, fCounter.getImplementingSubtypes("bar", noParameters, type, new NullProgressMonitor()).length);
+		assertEquals(1, fCounter.getHierarchyCount() - hierarchies);
+	}
+
+	@Test
+	public void cancelledComputationIsNotShared() throws Exception {
+		ICompilationUnit i= fPackage.createCompilationUnit("I.java", """
+				package p;
+				public interface I {
+				}
+				""", true, null);
+		fPackage.createCompilationUnit("A.java", """
+				package p;
+				public class A implements I {
+				}
+				""", true, null);
+		fPackage.createCompilationUnit("B.java", """
+				package p;
+				public class B implements I {
+				}
+				""", true, null);
+		IType type= i.getType("I");
+
+		CountDownLatch computing= new CountDownLatch(1);
+		CountDownLatch cancel= new CountDownLatch(1);
+		IProgressMonitor cancelled= new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				computing.countDown();
+				try {
+					cancel.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return true;
+			}
+		};
+		CompletableFuture<IType[]> first= CompletableFuture.supplyAsync(() -> getSourceSubtypes(type, cancelled));
+		assertTrue(computing.await(10, TimeUnit.SECONDS));
+
+		// a second request waits for the hierarchy the first one is computing
+		int hits= fCounter.getHitCount();
+		CompletableFuture<IType[]> second= CompletableFuture.supplyAsync(() -> getSourceSubtypes(type, new NullProgressMonitor()));
+		long deadline= System.currentTimeMillis() + 10000;
+		while (fCounter.getHitCount() == hits && System.currentTimeMillis() < deadline)
+			Thread.sleep(10);
+		cancel.countDown();
+
+		ExecutionException e= assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+		assertInstanceOf(OperationCanceledException.class, e.getCause());
+		assertEquals(2, second.get(10, TimeUnit.SECONDS).length);
+		assertEquals(2, fCounter.getSourceSubtypes(type, new NullProgressMonitor()).length);
+	}
+
+	private IType[] getSourceSubtypes(IType type, IProgressMonitor monitor) {
+		try {
+			return fCounter.getSourceSubtypes(type, monitor);
+		} catch (JavaModelException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
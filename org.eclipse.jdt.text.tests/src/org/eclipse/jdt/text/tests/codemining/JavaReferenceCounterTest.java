@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.codemining;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.ui.javaeditor.codemining.JavaReferenceCounter;
+
+public class JavaReferenceCounterTest {
+
+	private IJavaProject fProject;
+
+	private IPackageFragment fPackage;
+
+	private final JavaReferenceCounter fCounter= JavaReferenceCounter.getInstance();
+
+	@BeforeEach
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject(getClass().getName(), "bin");
+		JavaProjectHelper.addRTJar_17(fProject, true);
+
+		Map<String, String> options= fProject.getOptions(false);
+		JavaProjectHelper.set17_CompilerOptions(options);
+		fProject.setOptions(options);
+
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		fPackage= root.createPackageFragment("p", true, null);
+		fCounter.clear();
+	}
+
+	@AfterEach
+	public void tearDown() throws Exception {
+		fCounter.clear();
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void batchedCounts() throws Exception {
+		ICompilationUnit a= fPackage.createCompilationUnit("A.java", """
+				package p;
+				public class A {
+					int field;
+					A() {}
+					void foo() {}
+					void bar(int i) {}
+					void bar(String s) {}
+				}
+				""", true, null);
+		ICompilationUnit b= fPackage.createCompilationUnit("B.java", """
+				package p;
+				public class B {
+					void m(A a) {
+						a.foo();
+						a.foo();
+						a.bar(1);
+						a.bar("");
+						a.field++;
+						new A();
+					}
+				}
+				""", true, null);
+		IType type= a.getType("A");
+		IJavaElement field= type.getField("field");
+		IJavaElement constructor= type.getMethod("A", new String[0]);
+		IJavaElement foo= type.getMethod("foo", new String[0]);
+		IJavaElement barInt= type.getMethod("bar", new String[] { "I" });
+		IJavaElement barString= type.getMethod("bar", new String[] { "QString;" });
+		IJavaElement[] elements= { type, field, constructor, foo, barInt, barString };
+		long[] expected= { 2, 1, 1, 2, 1, 1 };
+
+		JavaReferenceCounter.Batch batch= fCounter.createBatch();
+		for (IJavaElement element : elements)
+			batch.add(element);
+		int searches= fCounter.getSearchCount();
+		for (int i= 0; i < elements.length; i++)
+			assertEquals(expected[i], batch.getReferenceCount(elements[i], new NullProgressMonitor()), elements[i].getElementName());
+		// type, field and foo are searched together, the constructor and the overloaded methods separately
+		assertEquals(4, fCounter.getSearchCount() - searches);
+
+		JavaReferenceCounter.Batch cached= fCounter.createBatch();
+		for (IJavaElement element : elements)
+			cached.add(element);
+		int hits= fCounter.getHitCount();
+		searches= fCounter.getSearchCount();
+		assertEquals(2, cached.getReferenceCount(foo, new NullProgressMonitor()));
+		assertEquals(elements.length, fCounter.getHitCount() - hits);
+		assertEquals(0, fCounter.getSearchCount() - searches);
+
+		b.getBuffer().setContents(b.getSource().replace("a.foo();\n", "")); //$NON-NLS-1$ //$NON-NLS-2$
+		b.save(null, true);
+
+		JavaReferenceCounter.Batch changed= fCounter.createBatch();
+		for (IJavaElement element : elements)
+			changed.add(element);
+		assertEquals(0, changed.getReferenceCount(foo, new NullProgressMonitor()));
+		assertEquals(1, changed.getReferenceCount(field, new NullProgressMonitor()));
+	}
+
+	@Test
+	public void countsAfterReconcileAndCommit() throws Exception {
+		ICompilationUnit a= fPackage.createCompilationUnit("A.java", """
+				package p;
+				public class A {
+					void foo() {}
+				}
+				""", true, null);
+		ICompilationUnit b= fPackage.createCompilationUnit("B.java", """
+				package p;
+				public class B {
+					void m(A a) {
+						a.foo();
+					}
+				}
+				""", true, null);
+		IJavaElement foo= a.getType("A").getMethod("foo", new String[0]);
+
+		JavaReferenceCounter.Batch batch= fCounter.createBatch();
+		batch.add(foo);
+		assertEquals(1, batch.getReferenceCount(foo, new NullProgressMonitor()));
+
+		// an editor adds a member with a reference and saves
+		b.becomeWorkingCopy(null);
+		try {
+			b.getBuffer().setContents("""
+					package p;
+					public class B {
+						void m(A a) {
+							a.foo();
+						}
+						void n(A a) {
+							a.foo();
+						}
+					}
+					""");
+			b.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			b.commitWorkingCopy(true, null);
+		} finally {
+			b.discardWorkingCopy();
+		}
+		assertEquals(2, b.getType("B").getMethods().length);
+
+		JavaReferenceCounter.Batch changed= fCounter.createBatch();
+		changed.add(foo);
+		assertEquals(2, changed.getReferenceCount(foo, new NullProgressMonitor()));
+	}
+
+	@Test
+	public void referencedName() throws Exception {
+		ICompilationUnit a= fPackage.createCompilationUnit("A.java", """
+				package p;
+				import java.util.List;
+				public class A {
+					java.util.List<String> list;
+					List<String> other() {
+						return list.subList(0, list.size());
+					}
+				}
+				""", true, null);
+		IType type= a.getType("A");
+		JavaReferenceCounter.Batch batch= fCounter.createBatch();
+		batch.add(type.getField("list"));
+		batch.add(type.getMethod("other", new String[0]));
+		assertEquals(2, batch.getReferenceCount(type.getField("list"), new NullProgressMonitor()));
+		assertEquals(0, batch.getReferenceCount(type.getMethod("other", new String[0]), new NullProgressMonitor()));
+	}
+}
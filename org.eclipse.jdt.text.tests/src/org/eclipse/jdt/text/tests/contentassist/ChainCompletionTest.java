@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials are made
  * available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -53,6 +56,7 @@ import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.text.ChainTypeIndex;
 import org.eclipse.jdt.internal.ui.text.java.ChainCompletionProposalComputer;
 
 public class ChainCompletionTest {
@@ -208,6 +212,72 @@ public class ChainCompletionTest {
 		assertProposalsExist(expected, proposals);
 	}
 
+	@Test
+	public void testTypeIndexRestoredFromFile() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("""
+			package test;
+			
+			import java.util.Iterator;
+			import java.util.List;
+			
+			public class Foo {
+			  public void method(final List list){
+			    Iterator it = $
+			  }
+			}""");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		ChainTypeIndex.clear();
+		Set<String> expected= getDisplayStrings(computeCompletionProposals(cu, completionIndex));
+		assertFalse(expected.isEmpty());
+		assertTrue(ChainTypeIndex.getSize() > 0);
+
+		File file= File.createTempFile("ChainTypeIndex", ".bin");
+		try {
+			ChainTypeIndex.save(file);
+			ChainTypeIndex.clear();
+			ChainTypeIndex.load(file);
+			int restores= ChainTypeIndex.getRestoreCount();
+
+			assertEquals(expected, getDisplayStrings(computeCompletionProposals(cu, completionIndex)));
+			assertTrue(ChainTypeIndex.getRestoreCount() > restores);
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testTypeIndexShutdown() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("""
+			package test;
+			
+			import java.util.Iterator;
+			import java.util.List;
+			
+			public class Foo {
+			  public void method(final List list){
+			    Iterator it = $
+			  }
+			}""");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "Foo.java");
+
+		Set<String> expected= getDisplayStrings(computeCompletionProposals(cu, completionIndex));
+		assertFalse(expected.isEmpty());
+
+		ChainTypeIndex.shutdown();
+		assertEquals(0, ChainTypeIndex.getSize());
+
+		// the index is initialized again on its next use
+		assertEquals(expected, getDisplayStrings(computeCompletionProposals(cu, completionIndex)));
+		assertTrue(ChainTypeIndex.getSize() > 0);
+	}
+
 	@Test
 	public void testAvoidRecursiveCallToMember() throws Exception {
 		StringBuffer buf= new StringBuffer();
@@ -746,6 +816,14 @@ public class ChainCompletionTest {
 		}
 	}
 
+	private Set<String> getDisplayStrings(List<ICompletionProposal> proposals) {
+		Set<String> displayStrings= new HashSet<>();
+		for (ICompletionProposal proposal : proposals) {
+			displayStrings.add(proposal.getDisplayString());
+		}
+		return displayStrings;
+	}
+
 	private void assertProposalsExist(List<String> expected, List<ICompletionProposal> proposals) {
 		for (String propDisplay : expected) {
 			assertTrue(proposals.stream().anyMatch(p -> propDisplay.equals(p.getDisplayString())));
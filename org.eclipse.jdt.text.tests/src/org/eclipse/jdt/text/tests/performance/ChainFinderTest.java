@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.ui.text.Chain;
+import org.eclipse.jdt.internal.ui.text.ChainElement;
+import org.eclipse.jdt.internal.ui.text.ChainFinder;
+import org.eclipse.jdt.internal.ui.text.ChainType;
+import org.eclipse.jdt.internal.ui.text.ChainTypeIndex;
+
+
+/**
+ * Measures the search for call chains ending in an iterator, starting from fields of collection
+ * and I/O types, with copied chains and with shared prefixes on one and on several threads, and
+ * without the types indexed by earlier searches. Also checks that the parallel search finds the
+ * same chains in the same order as the search on one thread.
+ */
+public class ChainFinderTest extends TextPerformanceTestCase {
+
+	private static final Class<ChainFinderTest> THIS= ChainFinderTest.class;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 10;
+
+	private static final int MIN_DEPTH= 1;
+
+	private static final int MAX_DEPTH= 4;
+
+	private IJavaProject fJProject;
+
+	private IType fReceiverType;
+
+	private List<ChainElement> fEntrypoints;
+
+	private List<ChainType> fExpectedTypes;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		fJProject= JavaProjectHelper.createJavaProject("ChainFinderTest", "bin"); //$NON-NLS-1$ //$NON-NLS-2$
+		JavaProjectHelper.addRTJar(fJProject);
+		IPackageFragment fragment= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("test", false, null); //$NON-NLS-1$ //$NON-NLS-2$
+		ICompilationUnit cu= fragment.createCompilationUnit("Chains.java", """
+				package test;
+
+				public class Chains {
+					java.util.List<String> list;
+					java.util.Map<String, java.util.Set<String>> map;
+					java.util.Properties properties;
+					java.io.File file;
+					Thread thread;
+					StringBuilder builder;
+				}
+				""", false, null); //$NON-NLS-1$ //$NON-NLS-2$
+		fReceiverType= cu.findPrimaryType();
+
+		fEntrypoints= new ArrayList<>();
+		for (IField field : fReceiverType.getFields())
+			fEntrypoints.add(new ChainElement(field, false));
+		fExpectedTypes= Collections.singletonList(new ChainType(fJProject.findType("java.util.Iterator"))); //$NON-NLS-1$
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	public void testCopiedChains() throws Exception {
+		measureSearch(getNullPerformanceMeter(), getWarmUpRuns(), false, 1, false);
+		PerformanceMeter performanceMeter= createPerformanceMeter("Chain completion: copied chains"); //$NON-NLS-1$
+		measureSearch(performanceMeter, getMeasuredRuns(), false, 1, false);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testSharedPrefixes() throws Exception {
+		measureSearch(getNullPerformanceMeter(), getWarmUpRuns(), true, 1, false);
+		PerformanceMeter performanceMeter= createPerformanceMeter("Chain completion: shared prefixes"); //$NON-NLS-1$
+		measureSearch(performanceMeter, getMeasuredRuns(), true, 1, false);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testSharedPrefixesInParallel() throws Exception {
+		int parallelism= Math.max(2, Runtime.getRuntime().availableProcessors());
+		assertTrue(search(true, parallelism, Integer.MAX_VALUE).size() >= search(false, 1, Integer.MAX_VALUE).size());
+
+		measureSearch(getNullPerformanceMeter(), getWarmUpRuns(), true, parallelism, false);
+		PerformanceMeter performanceMeter= createPerformanceMeterForSummary("Chain completion: shared prefixes in parallel", "Chain completion search", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$ //$NON-NLS-2$
+		measureSearch(performanceMeter, getMeasuredRuns(), true, parallelism, false);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testSameChainsInParallel() throws Exception {
+		int parallelism= Math.max(2, Runtime.getRuntime().availableProcessors());
+		List<List<ChainElement>> expected= getElements(search(true, 1, Integer.MAX_VALUE));
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, getElements(search(true, parallelism, Integer.MAX_VALUE)));
+
+		int maxChains= Math.max(1, expected.size() / 2);
+		assertEquals(expected.subList(0, maxChains), getElements(search(true, 1, maxChains)));
+		assertEquals(expected.subList(0, maxChains), getElements(search(true, parallelism, maxChains)));
+	}
+
+	public void testColdTypeIndex() throws Exception {
+		measureSearch(getNullPerformanceMeter(), getWarmUpRuns(), true, 1, true);
+		PerformanceMeter performanceMeter= createPerformanceMeter("Chain completion: cold type index"); //$NON-NLS-1$
+		measureSearch(performanceMeter, getMeasuredRuns(), true, 1, true);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureSearch(PerformanceMeter performanceMeter, int runs, boolean sharePrefixes, int parallelism, boolean coldTypeIndex) {
+		for (int i= 0; i < runs; i++) {
+			if (coldTypeIndex)
+				ChainTypeIndex.clear();
+			performanceMeter.start();
+			search(sharePrefixes, parallelism, Integer.MAX_VALUE);
+			performanceMeter.stop();
+		}
+	}
+
+	private List<Chain> search(boolean sharePrefixes, int parallelism, int maxChains) {
+		ChainFinder finder= new ChainFinder(fExpectedTypes, Collections.emptyList(), fReceiverType);
+		finder.setSharePrefixes(sharePrefixes);
+		finder.setParallelism(parallelism);
+		finder.startChainSearch(fEntrypoints, maxChains, MIN_DEPTH, MAX_DEPTH);
+		return finder.getChains();
+	}
+
+	private static List<List<ChainElement>> getElements(List<Chain> chains) {
+		List<List<ChainElement>> elements= new ArrayList<>(chains.size());
+		for (Chain chain : chains)
+			elements.add(chain.getElements());
+		return elements;
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.text.tests.Accessor;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings;
+
+/**
+ * Measures the time to compute the semantic highlighting positions of a large file in the Java
+ * editor, with the default and with all semantic highlightings enabled.
+ */
+public class JavaSemanticHighlightingTest extends TextPerformanceTestCase {
+
+	private static final Class<JavaSemanticHighlightingTest> THIS= JavaSemanticHighlightingTest.class;
+
+	private static final String FILE= PerformanceTestSetup.STYLED_TEXT;
+
+	private static final int WARM_UP_RUNS= 5;
+
+	private static final int MEASURED_RUNS= 10;
+
+	private static final int REPEAT= 5;
+
+	private JavaEditor fEditor;
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		EditorTestHelper.closeAllEditors();
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		for (SemanticHighlighting semanticHighlighting : SemanticHighlightings.getSemanticHighlightings())
+			store.setToDefault(SemanticHighlightings.getEnabledPreferenceKey(semanticHighlighting));
+	}
+
+	/**
+	 * Measures the time to compute the semantic highlighting positions with the default
+	 * semantic highlightings enabled.
+	 */
+	public void testDefaultHighlightings() throws Exception {
+		openEditor();
+		measure(getNullPerformanceMeter(), getWarmUpRuns());
+		measure(createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/**
+	 * Measures the time to compute the semantic highlighting positions with all semantic
+	 * highlightings enabled.
+	 */
+	public void testAllHighlightings() throws Exception {
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		for (SemanticHighlighting semanticHighlighting : SemanticHighlightings.getSemanticHighlightings())
+			store.setValue(SemanticHighlightings.getEnabledPreferenceKey(semanticHighlighting), true);
+		openEditor();
+		measure(getNullPerformanceMeter(), getWarmUpRuns());
+		measure(createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void openEditor() throws Exception {
+		fEditor= (JavaEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(FILE), true);
+		EditorTestHelper.joinBackgroundActivities(fEditor);
+	}
+
+	private void measure(PerformanceMeter performanceMeter, int runs) {
+		SemanticHighlightingManager manager= (SemanticHighlightingManager) new Accessor(fEditor, JavaEditor.class).get("fSemanticManager"); //$NON-NLS-1$
+		SemanticHighlightingReconciler reconciler= (SemanticHighlightingReconciler) new Accessor(manager, SemanticHighlightingManager.class).get("fReconciler"); //$NON-NLS-1$
+		ITypeRoot cu= EditorUtility.getEditorInputJavaElement(fEditor, false);
+		CompilationUnit ast= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_YES, null);
+		assertNotNull(ast);
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			for (int j= 0; j < REPEAT; j++)
+				reconciler.reconciled(ast, true, new NullProgressMonitor());
+			performanceMeter.stop();
+			EditorTestHelper.runEventQueue();
+		}
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.LocaleSensitiveSpellDictionary;
+
+
+/**
+ * Measures loading the English spell dictionary from its word list and from the cached
+ * compact form, as well as the throughput of correctness checks and proposal computations.
+ * <p>
+ * The performance meters also record the used Java heap, which allows to compare the footprint
+ * of the dictionary between builds.
+ * </p>
+ */
+public class SpellDictionaryTest extends TextPerformanceTestCase {
+
+	private static final Class<SpellDictionaryTest> THIS= SpellDictionaryTest.class;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private static final int PROPOSAL_WORDS= 200;
+
+	/**
+	 * English dictionary that caches its compact form in a temporary file.
+	 */
+	private static class TestDictionary extends LocaleSensitiveSpellDictionary {
+
+		private final File fCacheFile;
+
+		public TestDictionary(URL location, File cacheFile) {
+			super(Locale.US, location);
+			fCacheFile= cacheFile;
+		}
+
+		@Override
+		protected File getCacheFile() {
+			return fCacheFile;
+		}
+	}
+
+	private URL fLocation;
+
+	private File fCacheDirectory;
+
+	private List<String> fWords;
+
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		fLocation= SpellCheckEngine.getDictionaryLocations().nextElement();
+		fCacheDirectory= Files.createTempDirectory("spelling").toFile(); //$NON-NLS-1$
+
+		fWords= new ArrayList<>();
+		try (BufferedReader reader= new BufferedReader(new InputStreamReader(new URL(fLocation, "en_US.dictionary").openStream(), StandardCharsets.UTF_8))) { //$NON-NLS-1$
+			String word;
+			while ((word= reader.readLine()) != null)
+				fWords.add(word);
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		File[] files= fCacheDirectory.listFiles();
+		if (files != null)
+			for (File file : files)
+				file.delete();
+		fCacheDirectory.delete();
+	}
+
+	public void testLoadWordList() throws Exception {
+		measureLoad(getNullPerformanceMeter(), getWarmUpRuns(), null);
+		PerformanceMeter performanceMeter= createPerformanceMeter("Spelling: load word list"); //$NON-NLS-1$
+		measureLoad(performanceMeter, getMeasuredRuns(), null);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testLoadCached() throws Exception {
+		File cacheFile= new File(fCacheDirectory, "en_US.dictionary.idx"); //$NON-NLS-1$
+		measureLoad(getNullPerformanceMeter(), getWarmUpRuns(), cacheFile);
+		assertTrue(cacheFile.isFile());
+		PerformanceMeter performanceMeter= createPerformanceMeter("Spelling: load cached dictionary"); //$NON-NLS-1$
+		measureLoad(performanceMeter, getMeasuredRuns(), cacheFile);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testIsCorrect() throws Exception {
+		TestDictionary dictionary= new TestDictionary(fLocation, null);
+		assertTrue(dictionary.isCorrect("dictionary")); //$NON-NLS-1$
+
+		measureIsCorrect(getNullPerformanceMeter(), getWarmUpRuns(), dictionary);
+		PerformanceMeter performanceMeter= createPerformanceMeterForSummary("Spelling: is correct", "Spell dictionary lookups", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$ //$NON-NLS-2$
+		measureIsCorrect(performanceMeter, getMeasuredRuns(), dictionary);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	public void testGetProposals() throws Exception {
+		TestDictionary dictionary= new TestDictionary(fLocation, null);
+		assertFalse(dictionary.getProposals("dictionnary", false).isEmpty()); //$NON-NLS-1$
+
+		measureGetProposals(getNullPerformanceMeter(), getWarmUpRuns(), dictionary);
+		PerformanceMeter performanceMeter= createPerformanceMeter("Spelling: get proposals"); //$NON-NLS-1$
+		measureGetProposals(performanceMeter, getMeasuredRuns(), dictionary);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measureLoad(PerformanceMeter performanceMeter, int runs, File cacheFile) {
+		for (int i= 0; i < runs; i++) {
+			TestDictionary dictionary= new TestDictionary(fLocation, cacheFile);
+			performanceMeter.start();
+			dictionary.isCorrect("dictionary"); //$NON-NLS-1$
+			performanceMeter.stop();
+			assertTrue(dictionary.isLoaded());
+		}
+	}
+
+	private void measureIsCorrect(PerformanceMeter performanceMeter, int runs, TestDictionary dictionary) {
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			for (String word : fWords) {
+				dictionary.isCorrect(word);
+				dictionary.isCorrect(word + 'x');
+			}
+			performanceMeter.stop();
+		}
+	}
+
+	private void measureGetProposals(PerformanceMeter performanceMeter, int runs, TestDictionary dictionary) {
+		int step= Math.max(1, fWords.size() / PROPOSAL_WORDS);
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			for (int w= 0; w < fWords.size(); w+= step) {
+				String word= fWords.get(w);
+				if (word.length() > 1)
+					dictionary.getProposals(word.substring(1), false);
+			}
+			performanceMeter.stop();
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.jdt.internal.ui.text.spelling.engine.CompactSpellDictionary;
+
+
+public class CompactSpellDictionaryTest {
+
+	@TempDir
+	Path fTempDir;
+
+	private static CompactSpellDictionary createDictionary() {
+		CompactSpellDictionary.Builder builder= new CompactSpellDictionary.Builder(4);
+		builder.add("TRK", "truck"); //$NON-NLS-1$ //$NON-NLS-2$
+		builder.add("LR", "lorry"); //$NON-NLS-1$ //$NON-NLS-2$
+		builder.add("TRK", "trek"); //$NON-NLS-1$ //$NON-NLS-2$
+		builder.add("ÜB", "über"); //$NON-NLS-1$ //$NON-NLS-2$
+		return builder.build();
+	}
+
+	@Test
+	public void lookup() {
+		CompactSpellDictionary dictionary= createDictionary();
+		assertEquals(4, dictionary.getWordCount());
+		assertEquals(3, dictionary.getHashCount());
+		assertFalse(dictionary.isDirect());
+
+		assertTrue(dictionary.contains("TRK", "truck")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(dictionary.contains("TRK", "trek")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(dictionary.contains("ÜB", "über")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(dictionary.contains("TRK", "lorry")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(dictionary.contains("TRK", "truc")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse(dictionary.contains("TR", "truck")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		List<String> words= new ArrayList<>();
+		dictionary.getWords("TRK", words); //$NON-NLS-1$
+		assertEquals(List.of("truck", "trek"), words); //$NON-NLS-1$ //$NON-NLS-2$
+		words.clear();
+		dictionary.getWords("XYZ", words); //$NON-NLS-1$
+		assertTrue(words.isEmpty());
+	}
+
+	@Test
+	public void empty() {
+		assertTrue(CompactSpellDictionary.EMPTY.isEmpty());
+		assertFalse(CompactSpellDictionary.EMPTY.contains("TRK", "truck")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void writeAndRead() throws Exception {
+		File file= fTempDir.resolve("en_US.dictionary.idx").toFile(); //$NON-NLS-1$
+		createDictionary().write(file, "key"); //$NON-NLS-1$
+
+		CompactSpellDictionary read= CompactSpellDictionary.read(file, "key"); //$NON-NLS-1$
+		assertTrue(read.isDirect());
+		assertEquals(4, read.getWordCount());
+		assertTrue(read.contains("TRK", "trek")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue(read.contains("LR", "lorry")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertNull(CompactSpellDictionary.read(file, "other key")); //$NON-NLS-1$
+		assertNull(CompactSpellDictionary.read(fTempDir.resolve("missing").toFile(), "key")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void rewriteWhileRead() throws Exception {
+		File file= fTempDir.resolve("en_US.dictionary.idx").toFile(); //$NON-NLS-1$
+		createDictionary().write(file, "key"); //$NON-NLS-1$
+		CompactSpellDictionary read= CompactSpellDictionary.read(file, "key"); //$NON-NLS-1$
+
+		// the file is not held open or mapped, it can be replaced and deleted
+		new CompactSpellDictionary.Builder(1).build().write(file, "key"); //$NON-NLS-1$
+		assertEquals(0, CompactSpellDictionary.read(file, "key").getWordCount()); //$NON-NLS-1$
+		assertTrue(file.delete());
+
+		assertEquals(4, read.getWordCount());
+		assertTrue(read.contains("TRK", "truck")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
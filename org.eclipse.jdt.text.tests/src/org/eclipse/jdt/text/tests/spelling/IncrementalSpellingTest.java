@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.spelling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.rules.FastPartitioner;
+
+import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingProblem;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.text.FastJavaPartitionScanner;
+import org.eclipse.jdt.internal.ui.text.spelling.IncrementalSpellingContext;
+import org.eclipse.jdt.internal.ui.text.spelling.JavaSpellingEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+
+
+public class IncrementalSpellingTest {
+
+	private static class WordCollector implements ISpellingProblemCollector {
+
+		private final IDocument fDocument;
+		final List<String> fWords= new ArrayList<>();
+		final List<Integer> fOffsets= new ArrayList<>();
+
+		WordCollector(IDocument document) {
+			fDocument= document;
+		}
+
+		@Override
+		public void accept(SpellingProblem problem) {
+			try {
+				fWords.add(fDocument.get(problem.getOffset(), problem.getLength()));
+				fOffsets.add(Integer.valueOf(problem.getOffset()));
+			} catch (BadLocationException e) {
+				throw new AssertionError(e);
+			}
+		}
+
+		@Override
+		public void beginCollecting() {
+		}
+
+		@Override
+		public void endCollecting() {
+		}
+	}
+
+	private static final String CONTENT= """
+			class A {
+				// this comment is mispelled
+				int i;
+				/* another commment */
+			}
+			""";
+
+	private IDocument fDocument;
+
+	private IncrementalSpellingContext fContext;
+
+	private final JavaSpellingEngine fEngine= new JavaSpellingEngine();
+
+	@BeforeEach
+	public void setUp() {
+		fDocument= new Document(CONTENT);
+		String[] types= new String[] {
+				IJavaPartitions.JAVA_DOC,
+				IJavaPartitions.JAVA_MULTI_LINE_COMMENT,
+				IJavaPartitions.JAVA_SINGLE_LINE_COMMENT,
+				IJavaPartitions.JAVA_STRING,
+				IJavaPartitions.JAVA_CHARACTER,
+				IJavaPartitions.JAVA_MULTI_LINE_STRING,
+				IDocument.DEFAULT_CONTENT_TYPE
+		};
+		FastPartitioner partitioner= new FastPartitioner(new FastJavaPartitionScanner(), types);
+		partitioner.connect(fDocument);
+		fDocument.setDocumentPartitioner(IJavaPartitions.JAVA_PARTITIONING, partitioner);
+
+		fContext= new IncrementalSpellingContext();
+		fContext.connect(fDocument);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		fContext.disconnect();
+	}
+
+	private WordCollector check() {
+		WordCollector collector= new WordCollector(fDocument);
+		fEngine.check(fDocument, new IRegion[] { new Region(0, fDocument.getLength()) }, fContext, collector, null);
+		return collector;
+	}
+
+	@Test
+	public void unchangedPartitionsAreReused() throws Exception {
+		WordCollector first= check();
+		assertEquals(List.of("mispelled", "commment"), first.fWords); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, fContext.getCheckedPartitionCount());
+		assertEquals(0, fContext.getReusedPartitionCount());
+
+		String insertion= "long l; "; //$NON-NLS-1$
+		fDocument.replace(CONTENT.indexOf("int i;"), 0, insertion); //$NON-NLS-1$
+
+		WordCollector second= check();
+		assertEquals(first.fWords, second.fWords);
+		assertEquals(first.fOffsets.get(0), second.fOffsets.get(0));
+		assertEquals(first.fOffsets.get(1).intValue() + insertion.length(), second.fOffsets.get(1).intValue());
+		assertEquals(0, fContext.getCheckedPartitionCount());
+		assertEquals(2, fContext.getReusedPartitionCount());
+	}
+
+	@Test
+	public void changedPartitionIsChecked() throws Exception {
+		check();
+
+		fDocument.replace(CONTENT.indexOf("mispelled"), "mispelled".length(), "misspelled"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		WordCollector collector= check();
+		assertEquals(List.of("commment"), collector.fWords); //$NON-NLS-1$
+		assertEquals(1, fContext.getCheckedPartitionCount());
+		assertEquals(1, fContext.getReusedPartitionCount());
+	}
+
+	@Test
+	public void ignoredWordIsNotReplayed() throws Exception {
+		check();
+
+		ISpellChecker checker= SpellCheckEngine.getInstance().getSpellChecker();
+		checker.ignoreWord("commment"); //$NON-NLS-1$
+		try {
+			WordCollector collector= check();
+			assertEquals(List.of("mispelled"), collector.fWords); //$NON-NLS-1$
+			assertEquals(2, fContext.getReusedPartitionCount());
+		} finally {
+			checker.checkWord("commment"); //$NON-NLS-1$
+		}
+	}
+}
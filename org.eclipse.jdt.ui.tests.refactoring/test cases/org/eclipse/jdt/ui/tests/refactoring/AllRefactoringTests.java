@@ -119,7 +119,9 @@ import org.junit.platform.suite.api.Suite;
 
 	//--helpers
 	RenamingNameSuggestorTests.class,
-	DelegateCreatorTests.class
+	DelegateCreatorTests.class,
+	RefactoringASTParserTests.class,
+	QualifiedNameFinderTests.class
 })
 public class AllRefactoringTests {
 }
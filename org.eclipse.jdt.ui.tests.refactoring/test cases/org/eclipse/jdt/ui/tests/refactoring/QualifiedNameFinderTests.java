@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.ltk.core.refactoring.TextChange;
+
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameFinder;
+import org.eclipse.jdt.internal.corext.refactoring.util.QualifiedNameSearchResult;
+
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests that the parallel scanner of {@link QualifiedNameFinder} finds the same matches as the text
+ * search engine.
+ */
+public class QualifiedNameFinderTests {
+
+	private static final String FILE_PATTERNS= "*.txt, *.properties";
+
+	@Rule
+	public RefactoringTestSetup rts= new RefactoringTestSetup();
+
+	private IFile createFile(String name, byte[] contents) throws Exception {
+		IFile file= rts.getProject().getProject().getFile(name);
+		file.create(new ByteArrayInputStream(contents), true, null);
+		return file;
+	}
+
+	private Map<String, String> search(String name, String newName, int parallelism) throws Exception {
+		IProject project= rts.getProject().getProject();
+		QualifiedNameSearchResult result= new QualifiedNameSearchResult();
+		QualifiedNameFinder.process(result, name, newName, FILE_PATTERNS, project, parallelism, new NullProgressMonitor());
+
+		Map<String, String> matches= new TreeMap<>();
+		for (TextChange change : result.getAllChanges()) {
+			List<String> edits= new ArrayList<>();
+			for (TextEdit edit : change.getEdit().getChildren())
+				edits.add(edit.getOffset() + ":" + edit.getLength());
+			matches.put(change.getName(), edits + "\n" + change.getPreviewContent(new NullProgressMonitor()));
+		}
+		return matches;
+	}
+
+	private void assertSameMatches(String name, String newName, int expectedFiles) throws Exception {
+		Map<String, String> expected= search(name, newName, 0);
+		assertEquals(expected.toString(), expectedFiles, expected.size());
+		assertEquals(expected, search(name, newName, 1));
+		assertEquals(expected, search(name, newName, 4));
+	}
+
+	@Test
+	public void testSameMatches() throws Exception {
+		createFile("plain.txt", "p.Some\nsee p.Some, not xp.Some, p.Some.Inner or p.SomeOther\n".getBytes(StandardCharsets.UTF_8));
+		createFile("none.txt", "q.Some\n".getBytes(StandardCharsets.UTF_8));
+		createFile("plugin.properties", "class=p.Some\n# p.Some\n".getBytes(StandardCharsets.ISO_8859_1));
+		assertSameMatches("p.Some", "p.Other", 2);
+	}
+
+	@Test
+	public void testUTF16() throws Exception {
+		IFile file= createFile("utf16.txt", "first=p.Some\n\u00e4second=p.Some\n".getBytes(StandardCharsets.UTF_16));
+		file.setCharset("UTF-16", null);
+		assertSameMatches("p.Some", "p.Other", 1);
+	}
+
+	@Test
+	public void testByteOrderMark() throws Exception {
+		byte[] bom= { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+		byte[] text= "p.Some\n\u00e4 p.Some\n".getBytes(StandardCharsets.UTF_8);
+		byte[] contents= new byte[bom.length + text.length];
+		System.arraycopy(bom, 0, contents, 0, bom.length);
+		System.arraycopy(text, 0, contents, bom.length, text.length);
+		IFile file= createFile("bom.txt", contents);
+		file.setCharset("UTF-8", null);
+		assertSameMatches("p.Some", "p.Other", 1);
+	}
+
+	@Test
+	public void testUnsavedEditorBuffer() throws Exception {
+		IFile file= createFile("dirty.txt", "p.Some\n".getBytes(StandardCharsets.UTF_8));
+		createFile("saved.txt", "p.Some\n".getBytes(StandardCharsets.UTF_8));
+		ITextFileBufferManager manager= FileBuffers.getTextFileBufferManager();
+		manager.connect(file.getFullPath(), LocationKind.IFILE, null);
+		try {
+			manager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE).getDocument().set("unsaved p.Some and p.Some\n");
+			Map<String, String> expected= search("p.Some", "p.Other", 0);
+			assertEquals(expected.toString(), "[8:6, 19:6]\nunsaved p.Other and p.Other\n", expected.get("dirty.txt"));
+			assertEquals(expected, search("p.Some", "p.Other", 4));
+		} finally {
+			manager.disconnect(file.getFullPath(), LocationKind.IFILE, null);
+		}
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.dom.ASTMatcher;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+import org.eclipse.jdt.ui.tests.refactoring.infra.AbstractJunit4CUTestCase;
+import org.eclipse.jdt.ui.tests.refactoring.infra.RefactoringTestPlugin;
+import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
+
+/**
+ * Tests that {@link RefactoringASTParser#createASTs} creates the same ASTs and bindings as parsing
+ * every unit on its own.
+ */
+public class RefactoringASTParserTests extends AbstractJunit4CUTestCase {
+
+	@Rule
+	public RefactoringTestSetup rts= new RefactoringTestSetup();
+
+	@Override
+	protected InputStream getFileInputStream(String fileName) throws IOException {
+		return RefactoringTestPlugin.getDefault().getTestResourceStream(fileName);
+	}
+
+	private static List<String> getBindingKeys(CompilationUnit ast) {
+		List<String> keys= new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(SimpleName node) {
+				IBinding binding= node.resolveBinding();
+				keys.add(node.getIdentifier() + "@" + node.getStartPosition() + "=" + (binding != null ? binding.getKey() : null));
+				return true;
+			}
+		});
+		return keys;
+	}
+
+	private void assertSameAsSingleParse(List<ICompilationUnit> units) throws Exception {
+		List<ICompilationUnit> accepted= new ArrayList<>();
+		List<CompilationUnit> asts= new ArrayList<>();
+		new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).createASTs(units, null, true, false, false, (unit, ast) -> {
+			accepted.add(unit);
+			asts.add(ast);
+		}, null);
+		assertEquals(units, accepted);
+
+		for (int i= 0; i < units.size(); i++) {
+			ICompilationUnit unit= units.get(i);
+			CompilationUnit single= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(unit, null, true, false, false, null);
+			CompilationUnit batched= asts.get(i);
+			assertTrue("AST differs: " + unit.getElementName(), single.subtreeMatch(new ASTMatcher(true), batched));
+			assertEquals("bindings differ: " + unit.getElementName(), getBindingKeys(single), getBindingKeys(batched));
+		}
+	}
+
+	@Test
+	public void testSameASTsAndBindings() throws Exception {
+		IPackageFragment packP= rts.getPackageP();
+		IPackageFragment packQ= rts.getPackageQ();
+		ICompilationUnit cuA= createCU(packP, "A.java", """
+			package p;
+			import java.util.List;
+			public class A<T> {
+				protected List<T> fElements;
+				public T get(int index) {
+					return fElements.get(index);
+				}
+			}
+			""");
+		ICompilationUnit cuB= createCU(packP, "B.java", """
+			package p;
+			public class B extends A<String> {
+				@Override
+				public String get(int index) {
+					String element= super.get(index);
+					return element.trim();
+				}
+			}
+			""");
+		ICompilationUnit cuC= createCU(packQ, "C.java", """
+			package q;
+			import p.A;
+			import p.B;
+			public class C {
+				void m(B b, A<Integer> a) {
+					int length= b.get(0).length() + a.get(1).intValue();
+					new Runnable() {
+						public void run() {
+							System.out.println(length);
+						}
+					}.run();
+				}
+			}
+			""");
+		assertSameAsSingleParse(List.of(cuC, cuA, cuB));
+	}
+
+	@Test
+	public void testUnsavedWorkingCopy() throws Exception {
+		IPackageFragment pack= rts.getPackageP();
+		ICompilationUnit cuA= createCU(pack, "A.java", """
+			package p;
+			public class A {
+				public int count() {
+					return 0;
+				}
+			}
+			""");
+		ICompilationUnit cuB= createCU(pack, "B.java", """
+			package p;
+			public class B {
+				long m(A a) {
+					return a.count();
+				}
+			}
+			""");
+		cuA.becomeWorkingCopy(null);
+		try {
+			cuA.getBuffer().setContents("""
+				package p;
+				public class A {
+					public long count() {
+						return 0;
+					}
+				}
+				""");
+			cuA.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			assertSameAsSingleParse(List.of(cuA, cuB));
+		} finally {
+			cuA.discardWorkingCopy();
+		}
+	}
+}
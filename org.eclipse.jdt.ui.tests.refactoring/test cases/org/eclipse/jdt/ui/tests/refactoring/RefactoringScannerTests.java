@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ import java.util.Collections;
 
 import org.junit.Test;
 
+import org.eclipse.jdt.core.ICompilationUnit;
+
 import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringScanner;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringScanner.TextMatch;
 
@@ -113,4 +115,32 @@ public class RefactoringScannerTests extends GenericRefactoringTest {
 				new Position(38, 20),
 		});
 	}
+
+	@Test
+	public void testCachedTokens() throws Exception{
+		RefactoringScanner.clearCache();
+		ICompilationUnit cu= createCU(rts.getPackageP(), "D.java", """
+			package p;
+			/** TestPattern */
+			class D {
+				String s= "org.eclipse.TestPattern";
+			}
+			""");
+		try {
+			fScanner.scan(cu);
+			assertEquals("results.length", 2, fScanner.getMatches().size());
+			int hits= RefactoringScanner.getCacheHitCount();
+
+			fScanner.scan(cu);
+			assertEquals("results.length", 2, fScanner.getMatches().size());
+			assertEquals("cache hits", hits + 1, RefactoringScanner.getCacheHitCount());
+
+			cu.getBuffer().setContents(cu.getBuffer().getContents().replace("class D {", "class D { // TestPattern"));
+			fScanner.scan(cu);
+			assertEquals("results.length", 3, fScanner.getMatches().size());
+			assertEquals("cache hits", hits + 1, RefactoringScanner.getCacheHitCount());
+		} finally {
+			cu.delete(true, null);
+		}
+	}
 }
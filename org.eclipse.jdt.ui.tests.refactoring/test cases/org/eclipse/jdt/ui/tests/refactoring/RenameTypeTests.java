@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,10 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -37,9 +40,12 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.Refactoring;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.TextChange;
 import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
 import org.eclipse.ltk.core.refactoring.participants.RenameRefactoring;
 
@@ -250,6 +256,30 @@ public class RenameTypeTests extends GenericRefactoringTest {
 		project.setOption(JavaCore.CODEASSIST_ARGUMENT_SUFFIXES, suffixes);
 	}
 
+	private Map<String, String> createPreviews(ICompilationUnit cu, String oldName, String newName, int parallelism) throws Exception {
+		RenameJavaElementDescriptor descriptor= createRefactoringDescriptor(getType(cu, oldName), newName);
+		setTheOptions(descriptor, true, false, true, null, RenamingNameSuggestor.STRATEGY_EMBEDDED);
+		Refactoring refactoring= createRefactoring(descriptor);
+		RenameTypeProcessor processor= (RenameTypeProcessor) ((RenameRefactoring) refactoring).getProcessor();
+		processor.setParallelism(parallelism);
+		RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+		assertFalse(status.toString(), status.hasError());
+
+		Map<String, String> previews= new LinkedHashMap<>();
+		collectPreviews(refactoring.createChange(new NullProgressMonitor()), previews);
+		previews.put("similar elements", Arrays.toString(processor.getSimilarElements()));
+		return previews;
+	}
+
+	private static void collectPreviews(Change change, Map<String, String> previews) throws CoreException {
+		if (change instanceof CompositeChange composite) {
+			for (Change child : composite.getChildren())
+				collectPreviews(child, previews);
+		} else if (change instanceof TextChange textChange) {
+			previews.put(textChange.getName(), textChange.getPreviewContent(new NullProgressMonitor()));
+		}
+	}
+
 	// </------------------------------------ Similarly named elements --------------------------------->
 
 	@Test
@@ -1926,4 +1956,32 @@ public class RenameTypeTests extends GenericRefactoringTest {
 		// Test references in annotations and type parameters
 		helper3("Try", "Bla", true, false, true);
 	}
+
+	@Test
+	public void testParallelReferenceUpdates() throws Exception {
+		// the references are processed concurrently, but must result in the same changes
+		IPackageFragment pack= getPackageP();
+		ICompilationUnit cu= createCU(pack, "Some.java", """
+			package p;
+			public class Some {
+			}
+			""");
+		for (int i= 0; i < 12; i++) {
+			createCU(pack, "User" + i + ".java", """
+				package p;
+				public class User%d {
+					private Some fSome;
+					Some getSome(Some pmSome_pm) {
+						Some lvSome_lv= pmSome_pm;
+						return lvSome_lv != null ? lvSome_lv : fSome;
+					}
+				}
+				""".formatted(Integer.valueOf(i)));
+		}
+
+		Map<String, String> sequential= createPreviews(cu, "Some", "Other", 1);
+		Map<String, String> parallel= createPreviews(cu, "Some", "Other", 4);
+		assertTrue(sequential.get("User7.java").contains("Other getOther(Other pmOther_pm)"));
+		assertEquals(sequential, parallel);
+	}
 }
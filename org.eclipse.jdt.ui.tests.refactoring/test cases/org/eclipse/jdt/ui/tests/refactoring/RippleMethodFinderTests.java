@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,6 +33,7 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 
 import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodFinder2;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RippleMethodIndex;
 
 import org.eclipse.jdt.ui.tests.refactoring.infra.AbstractJunit4CUTestCase;
 import org.eclipse.jdt.ui.tests.refactoring.infra.RefactoringTestPlugin;
@@ -139,4 +141,111 @@ public class RippleMethodFinderTests extends AbstractJunit4CUTestCase {
 		perform();
 	}
 
+	@Test
+	public void testIndexUpdatedByDeltas() throws Exception {
+		IPackageFragment pack= rts.getPackageP();
+		ICompilationUnit cuA= createCU(pack, "A.java", """
+			package p;
+			public class A {
+				public void m() {}
+			}
+			""");
+		IMethod target= cuA.getType("A").getMethod("m", new String[0]);
+
+		RippleMethodIndex.clear();
+		assertEquals(1, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+		int hits= RippleMethodIndex.getHitCount();
+		assertEquals(1, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+		assertEquals(hits + 1, RippleMethodIndex.getHitCount());
+
+		ICompilationUnit cuB= createCU(pack, "B.java", """
+			package p;
+			public class B extends A {
+				@Override
+				public void m() {}
+			}
+			""");
+		IMethod[] rippleMethods= RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null);
+		assertEquals(2, rippleMethods.length);
+		assertTrue(List.of(rippleMethods).contains(cuB.getType("B").getMethod("m", new String[0])));
+	}
+
+	@Test
+	public void testIndexUpdatedAfterShutdown() throws Exception {
+		IPackageFragment pack= rts.getPackageP();
+		ICompilationUnit cuA= createCU(pack, "A.java", """
+			package p;
+			public class A {
+				public void m() {}
+			}
+			""");
+		IMethod target= cuA.getType("A").getMethod("m", new String[0]);
+
+		assertEquals(1, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+		RippleMethodIndex.shutdown();
+		assertEquals(0, RippleMethodIndex.getSize());
+
+		// the listener is added again when the index is used next
+		assertEquals(1, RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null).length);
+		ICompilationUnit cuB= createCU(pack, "B.java", """
+			package p;
+			public class B extends A {
+				@Override
+				public void m() {}
+			}
+			""");
+		IMethod[] rippleMethods= RippleMethodFinder2.getRelatedMethods(target, new NullProgressMonitor(), null);
+		assertEquals(2, rippleMethods.length);
+		assertTrue(List.of(rippleMethods).contains(cuB.getType("B").getMethod("m", new String[0])));
+	}
+
+	@Test
+	public void testFirstQueryOfRippleMethodIsIndexed() throws Exception {
+		IPackageFragment pack= rts.getPackageP();
+		ICompilationUnit cuI= createCU(pack, "I.java", """
+			package p;
+			public interface I {
+				void m(String s);
+			}
+			""");
+		ICompilationUnit cuA= createCU(pack, "A.java", """
+			package p;
+			public class A implements I {
+				@Override
+				public void m(String s) {}
+			}
+			""");
+		ICompilationUnit cuB= createCU(pack, "B.java", """
+			package p;
+			public class B extends A {
+				@Override
+				public void m(String s) {}
+			}
+			""");
+		ICompilationUnit cuC= createCU(rts.getPackageQ(), "C.java", """
+			package q;
+			public class C implements p.I {
+				@Override
+				public void m(String s) {}
+			}
+			""");
+		IMethod methodI= cuI.getType("I").getMethod("m", new String[] { "QString;" });
+		IMethod methodB= cuB.getType("B").getMethod("m", new String[] { "QString;" });
+		IMethod methodC= cuC.getType("C").getMethod("m", new String[] { "QString;" });
+
+		RippleMethodIndex.clear();
+		Set<IMethod> ripple= Set.of(RippleMethodFinder2.getRelatedMethods(methodI, new NullProgressMonitor(), null));
+		assertEquals(Set.of(methodI, cuA.getType("A").getMethod("m", new String[] { "QString;" }), methodB, methodC), ripple);
+
+		// the override relationships found for I.m answer the first query for B.m without building hierarchies
+		int hits= RippleMethodIndex.getHitCount();
+		int misses= RippleMethodIndex.getMissCount();
+		assertEquals(ripple, Set.of(RippleMethodFinder2.getRelatedMethods(methodB, new NullProgressMonitor(), null)));
+		assertEquals(hits + 1, RippleMethodIndex.getHitCount());
+		assertEquals(misses, RippleMethodIndex.getMissCount());
+
+		// C.m is in another package and could see other package visible declarations
+		assertEquals(ripple, Set.of(RippleMethodFinder2.getRelatedMethods(methodC, new NullProgressMonitor(), null)));
+		assertEquals(misses + 1, RippleMethodIndex.getMissCount());
+	}
 }
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.MessageSender;
+
+/**
+ * Measures the throughput of the line based and the binary protocol between the test runner and
+ * {@link RemoteTestRunnerClient}, for a run of many parameterized tests of which some fail with
+ * long stack traces.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class RemoteTestRunnerProtocolPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int TESTS= 200_000;
+
+	private static final int FAILURE_RATE= 100;
+
+	private static final int RUNS= 10;
+
+	private static class TextMessageSender implements MessageSender {
+		private final PrintWriter fWriter;
+
+		TextMessageSender(Socket socket) throws IOException {
+			fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)), false);
+		}
+
+		@Override
+		public void sendMessage(String msg) {
+			fWriter.println(msg);
+		}
+
+		@Override
+		public void flush() {
+			fWriter.flush();
+		}
+	}
+
+	private static class CountingListener implements ITestRunListener2 {
+		final CountDownLatch fEnded= new CountDownLatch(1);
+		int fTreeEntries;
+		int fTestsEnded;
+		int fFailures;
+
+		@Override
+		public void testRunStarted(int testCount) {
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fTestsEnded++;
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			fTreeEntries++;
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fFailures++;
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+		}
+	}
+
+	@Test
+	public void testBinaryProtocol() throws Exception {
+		tagAsSummary("Test runner binary protocol", Dimension.ELAPSED_PROCESS);
+		measure(true);
+	}
+
+	@Test
+	public void testTextProtocol() throws Exception {
+		measure(false);
+	}
+
+	private void measure(boolean binary) throws Exception {
+		String trace= createTrace();
+		transmit(binary, trace);
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			transmit(binary, trace);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	private static void transmit(boolean binary, String trace) throws Exception {
+		int port= SocketUtil.findFreePort();
+		CountingListener listener= new CountingListener();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient(TestKindRegistry.getDefault().getKind(TestKindRegistry.JUNIT5_TEST_KIND_ID));
+		client.startListening(new ITestRunListener2[] { listener }, port);
+		try (Socket socket= connect(port)) {
+			MessageSender sender= binary ? new BinaryMessageSender(socket.getOutputStream()) : new TextMessageSender(socket);
+			sendRun(sender, trace);
+			assertTrue(listener.fEnded.await(5, TimeUnit.MINUTES));
+			if (sender instanceof BinaryMessageSender binarySender)
+				binarySender.close();
+		}
+		assertEquals(TESTS, listener.fTreeEntries);
+		assertEquals(TESTS, listener.fTestsEnded);
+		assertEquals(TESTS / FAILURE_RATE, listener.fFailures);
+	}
+
+	private static void sendRun(MessageSender sender, String trace) {
+		sender.sendMessage(MessageIds.TEST_RUN_START + TESTS + " v2");
+		for (int id= 1; id <= TESTS; id++) {
+			String name= getName(id);
+			sender.sendMessage(MessageIds.TEST_TREE + id + ',' + name + ",false,1,false,-1,[" + id + "] value=" + id + ",int,[engine:junit-jupiter]/[class:p.ParameterizedTest]/[test-template:test(int)]/[test-template-invocation:#" + id + ']');
+		}
+		for (int id= 1; id <= TESTS; id++) {
+			String test= id + "," + getName(id);
+			sender.sendMessage(MessageIds.TEST_START + test);
+			sender.flush();
+			if (id % FAILURE_RATE == 0) {
+				sender.sendMessage(MessageIds.TEST_FAILED + test);
+				sender.sendMessage(MessageIds.TRACE_START);
+				sender.sendMessage(trace);
+				sender.sendMessage(MessageIds.TRACE_END);
+				sender.flush();
+			}
+			sender.sendMessage(MessageIds.TEST_END + test);
+			sender.flush();
+		}
+		sender.sendMessage(MessageIds.TEST_RUN_END + 0);
+		sender.flush();
+	}
+
+	private static String getName(int id) {
+		return "test[" + id + "](p.ParameterizedTest)";
+	}
+
+	private static String createTrace() {
+		StringBuilder trace= new StringBuilder("org.opentest4j.AssertionFailedError: expected: <1> but was: <2>");
+		for (int i= 0; i < 100; i++)
+			trace.append(System.lineSeparator()).append("\tat p.ParameterizedTest.frame").append(i).append("(ParameterizedTest.java:").append(i + 10).append(')');
+		return trace.toString();
+	}
+
+	private static Socket connect(int port) throws Exception {
+		for (int i= 0; ; i++) {
+			try {
+				return new Socket("localhost", port);
+			} catch (ConnectException e) {
+				if (i == 100)
+					throw e;
+				Thread.sleep(50);
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+/**
+ * Measures the heap used by a test run session with many invocations of a parameterized test.
+ * <p>
+ * A test invocation is expected to take about 280 bytes with compressed references: 72 for the test case
+ * element, 48 for its id, 64 for its display name, 80 for the last segment of its unique ID, and
+ * about 10 for its slots in the id index and in the children of its suite. The name, the parameter
+ * types and the unique ID of the parameterized test are shared.
+ * </p>
+ */
+public class TestRunSessionMemoryPerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int TESTS= 200_000;
+
+	private static final int RUNS= 5;
+
+	private static final String CLASS_ID= "[engine:junit-jupiter]/[class:p.ParameterizedTest]";
+
+	private static final String TEMPLATE_ID= CLASS_ID + "/[test-template:test(int)]";
+
+	@Test
+	public void testParameterizedTestMemory() throws Exception {
+		tagAsSummary("Test run session memory", Dimension.USED_JAVA_HEAP);
+		for (int i= 0; i < RUNS; i++) {
+			collectGarbage();
+			startMeasuring();
+			TestRunSession session= createSession();
+			collectGarbage();
+			stopMeasuring();
+			assertEquals(TESTS, session.getTotalCount());
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.USED_JAVA_HEAP, -100, +10);
+	}
+
+	@Test
+	public void testLookupById() throws Exception {
+		TestRunSession session= createSession();
+		for (int i= 0; i < RUNS; i++) {
+			startMeasuring();
+			for (int id= 3; id < TESTS + 3; id++) {
+				TestElement testElement= session.getTestElement(Integer.toString(id));
+				assertEquals(TEMPLATE_ID + "/[test-template-invocation:#" + (id - 2) + ']', testElement.getUniqueId());
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	/**
+	 * Creates the test elements like the test runner client does, i.e. from freshly parsed strings.
+	 *
+	 * @return the session
+	 */
+	private static TestRunSession createSession() {
+		TestRunSession session= new TestRunSession("memory", null);
+		TestSuiteElement testClass= (TestSuiteElement) session.createTestElement(session.getTestRoot(), "1", "p.ParameterizedTest", true, 0, false, "ParameterizedTest", null, CLASS_ID);
+		TestSuiteElement template= (TestSuiteElement) session.createTestElement(testClass, "2", "test(p.ParameterizedTest)", true, 0, false, "test(int)", new String[] { "int" }, TEMPLATE_ID);
+		for (int i= 1; i <= TESTS; i++) {
+			String testName= new StringBuilder("test(p.ParameterizedTest)").toString();
+			String uniqueId= TEMPLATE_ID + "/[test-template-invocation:#" + i + ']';
+			TestElement testElement= session.createTestElement(template, Integer.toString(i + 2), testName, false, 1, true, "[" + i + "] value=" + i, new String[] { "int" }, uniqueId);
+			assertSame(template.getTestName(), testElement.getTestName());
+			session.registerTestEnded(testElement, true);
+		}
+		return session;
+	}
+
+	private static void collectGarbage() {
+		for (int i= 0; i < 3; i++)
+			System.gc();
+	}
+}
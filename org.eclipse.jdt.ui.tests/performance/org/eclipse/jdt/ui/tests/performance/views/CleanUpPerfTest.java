@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@
 package org.eclipse.jdt.ui.tests.performance.views;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,18 +46,25 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IParent;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.CleanUpPreferenceUtil;
 import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 
 import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
 import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
 import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
 import org.eclipse.jdt.ui.cleanup.ICleanUp;
 import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
 
+import org.eclipse.jdt.internal.common.FusedASTVisitor;
+
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.fix.AbstractCleanUp;
 import org.eclipse.jdt.internal.ui.fix.ArrayWithCurlyCleanUpCore;
@@ -79,11 +87,14 @@ import org.eclipse.jdt.internal.ui.fix.EmbeddedIfCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.EvaluateNullableCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.ExpressionsCleanUp;
 import org.eclipse.jdt.internal.ui.fix.HashCleanUp;
+import org.eclipse.jdt.internal.ui.fix.IFusableCleanUp;
+import org.eclipse.jdt.internal.ui.fix.IFusableCleanUp.FixCollector;
 import org.eclipse.jdt.internal.ui.fix.ImportsCleanUp;
 import org.eclipse.jdt.internal.ui.fix.InvertEqualsCleanUpCore;
 import org.eclipse.jdt.internal.ui.fix.Java50CleanUp;
 import org.eclipse.jdt.internal.ui.fix.JoinCleanUp;
 import org.eclipse.jdt.internal.ui.fix.LazyLogicalCleanUp;
+import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.fix.MapCloningCleanUp;
 import org.eclipse.jdt.internal.ui.fix.MergeConditionalBlocksCleanUp;
 import org.eclipse.jdt.internal.ui.fix.OneIfRatherThanDuplicateBlocksThatFallThroughCleanUpCore;
@@ -1014,6 +1025,134 @@ public class CleanUpPerfTest extends JdtPerformanceTestCaseCommon {
 		doCleanUp(cleanUpRefactoring);
 	}
 
+	@Test
+	public void testSaveActionAllCleanUps() throws Exception {
+		tagAsSummary("Save Action - All Clean Ups", Dimension.ELAPSED_PROCESS);
+
+		ICleanUp[] cleanUps= createAllCleanUps();
+		ICompilationUnit unit= getLargestCU(MyTestSetup.fJProject1.getChildren(), null);
+		for (int i= 0; i < 12; i++) {
+			joinBackgroudActivities();
+			System.gc();
+			if (i >= 2)
+				startMeasuring();
+			for (ICleanUp cleanUp : cleanUps) {
+				Assert.assertFalse(cleanUp.checkPreConditions(unit.getJavaProject(), new ICompilationUnit[] { unit }, null).hasFatalError());
+			}
+			CompilationUnit ast= createAST(unit, cleanUps);
+			CleanUpRefactoring.calculateChange(new CleanUpContext(unit, ast), cleanUps, new ArrayList<>(), null);
+			for (ICleanUp cleanUp : cleanUps) {
+				cleanUp.checkPostConditions(null);
+			}
+			if (i >= 2)
+				stopMeasuring();
+		}
+
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	/*
+	 * testFusedTraversal and testUnfusedTraversal measure the same fusable clean ups on the same
+	 * AST, once visiting it together and once visiting it per clean up.
+	 */
+	@Test
+	public void testFusedTraversal() throws Exception {
+		tagAsSummary("Fusable Clean Ups - One Traversal", Dimension.ELAPSED_PROCESS);
+		measureTraversal(true);
+	}
+
+	@Test
+	public void testUnfusedTraversal() throws Exception {
+		tagAsSummary("Fusable Clean Ups - Traversal per Clean Up", Dimension.ELAPSED_PROCESS);
+		measureTraversal(false);
+	}
+
+	private void measureTraversal(boolean fused) throws Exception {
+		List<IFusableCleanUp> cleanUps= new ArrayList<>();
+		for (ICleanUp cleanUp : createAllCleanUps()) {
+			if (cleanUp instanceof IFusableCleanUp)
+				cleanUps.add((IFusableCleanUp) cleanUp);
+		}
+		Assert.assertTrue(cleanUps.toString(), cleanUps.size() > 1);
+
+		ICompilationUnit unit= getLargestCU(MyTestSetup.fJProject1.getChildren(), null);
+		CompilationUnit ast= createAST(unit, cleanUps.toArray(new ICleanUp[cleanUps.size()]));
+		for (int i= 0; i < 12; i++) {
+			joinBackgroudActivities();
+			System.gc();
+			if (i >= 2)
+				startMeasuring();
+			for (int j= 0; j < 10; j++) {
+				if (fused) {
+					List<FixCollector> collectors= new ArrayList<>();
+					for (IFusableCleanUp cleanUp : cleanUps) {
+						FixCollector collector= cleanUp.createFixCollector(ast);
+						if (collector != null)
+							collectors.add(collector);
+					}
+					FusedASTVisitor.visit(ast, collectors);
+					for (FixCollector collector : collectors) {
+						collector.createFix();
+					}
+				} else {
+					for (IFusableCleanUp cleanUp : cleanUps) {
+						IFusableCleanUp.createFix(cleanUp, ast);
+					}
+				}
+			}
+			if (i >= 2)
+				stopMeasuring();
+		}
+
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	private ICleanUp[] createAllCleanUps() {
+		CleanUpOptions defaults= JavaPlugin.getDefault().getCleanUpRegistry().getDefaultOptions(CleanUpConstants.DEFAULT_CLEAN_UP_OPTIONS);
+		Map<String, String> node= getNullSettings();
+		for (String key : node.keySet()) {
+			String value= defaults.getValue(key);
+			if (CleanUpOptions.TRUE.equals(value) || CleanUpOptions.FALSE.equals(value))
+				node.put(key, CleanUpOptions.TRUE);
+		}
+		// without the changed regions of a save there is nothing to restrict the formatter to
+		node.put(CleanUpConstants.FORMAT_SOURCE_CODE_CHANGES_ONLY, CleanUpOptions.FALSE);
+
+		ICleanUp[] cleanUps= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		for (ICleanUp cleanUp : cleanUps) {
+			cleanUp.setOptions(new MapCleanUpOptions(node));
+		}
+		return cleanUps;
+	}
+
+	private CompilationUnit createAST(ICompilationUnit unit, ICleanUp[] cleanUps) {
+		Map<String, String> compilerOptions= RefactoringASTParser.getCompilerOptions(unit.getJavaProject());
+		for (ICleanUp cleanUp : cleanUps) {
+			Map<String, String> options= cleanUp.getRequirements().getCompilerOptions();
+			if (options != null)
+				compilerOptions.putAll(options);
+		}
+		ASTParser parser= CleanUpRefactoring.createCleanUpASTParser();
+		parser.setSource(unit);
+		parser.setCompilerOptions(compilerOptions);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	private ICompilationUnit getLargestCU(IJavaElement[] children, ICompilationUnit largest) throws JavaModelException {
+		for (IJavaElement element : children) {
+			if (element instanceof ICompilationUnit) {
+				ICompilationUnit unit= (ICompilationUnit)element;
+				if (largest == null || unit.getBuffer().getLength() > largest.getBuffer().getLength())
+					largest= unit;
+			} else if (element instanceof IPackageFragmentRoot || element instanceof IPackageFragment) {
+				largest= getLargestCU(((IParent)element).getChildren(), largest);
+			}
+		}
+		return largest;
+	}
+
 	private void doCleanUp(CleanUpRefactoring refactoring) throws CoreException {
 		refactoring.setUseOptionsFromProfile(true);
 
@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.performance.views;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExternalResource;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+import org.eclipse.test.performance.Dimension;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.performance.JdtPerformanceTestCaseCommon;
+
+/**
+ * Measures {@link SuperTypeHierarchyCache} with several threads requesting override testers for
+ * all types of the JUnit sources at the same time.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SuperTypeHierarchyCachePerfTest extends JdtPerformanceTestCaseCommon {
+
+	private static final int THREADS= 8;
+
+	private static class MyTestSetup extends ExternalResource {
+		public static final String SRC_CONTAINER= "src";
+
+		public static IJavaProject fJProject1;
+		public static IPackageFragmentRoot fJunitSrcRoot;
+
+		@Override
+		public void before() throws Throwable {
+			fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+			assertNotNull("rt not found", JavaProjectHelper.addRTJar(fJProject1));
+			File junitSrcArchive= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.JUNIT_SRC_381);
+			fJunitSrcRoot= JavaProjectHelper.addSourceContainerWithImport(fJProject1, SRC_CONTAINER, junitSrcArchive, JavaProjectHelper.JUNIT_SRC_ENCODING);
+		}
+
+		@Override
+		public void after() {
+			try {
+				if (fJProject1 != null && fJProject1.exists())
+					JavaProjectHelper.delete(fJProject1);
+			} catch (CoreException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	@Rule
+	public MyTestSetup stup= new MyTestSetup();
+
+	@Test
+	public void testAConcurrentCold() throws Exception {
+		List<IType> types= collectTypes();
+		for (int i= 0; i < 10; i++) {
+			SuperTypeHierarchyCache.flushCache();
+			joinBackgroudActivities();
+
+			startMeasuring();
+			queryConcurrently(types, 1);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	@Test
+	public void testBConcurrentWarm() throws Exception {
+		tagAsSummary("Concurrent super type hierarchy cache lookups", Dimension.ELAPSED_PROCESS);
+
+		List<IType> types= collectTypes();
+		queryConcurrently(types, 1);
+		for (int i= 0; i < 10; i++) {
+			joinBackgroudActivities();
+
+			startMeasuring();
+			queryConcurrently(types, 100);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, +10);
+	}
+
+	private static List<IType> collectTypes() throws CoreException {
+		List<IType> types= new ArrayList<>();
+		for (IJavaElement element : MyTestSetup.fJunitSrcRoot.getChildren()) {
+			for (ICompilationUnit cu : ((IPackageFragment) element).getCompilationUnits()) {
+				for (IType type : cu.getAllTypes()) {
+					types.add(type);
+				}
+			}
+		}
+		return types;
+	}
+
+	private static void queryConcurrently(List<IType> types, int rounds) throws Exception {
+		ExecutorService executor= Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures= new ArrayList<>();
+			for (int t= 0; t < THREADS; t++) {
+				int offset= t;
+				futures.add(executor.submit(() -> {
+					for (int r= 0; r < rounds; r++) {
+						for (int i= 0; i < types.size(); i++) {
+							// each thread starts at a different type to mix hits and concurrent misses
+							SuperTypeHierarchyCache.getMethodOverrideTester(types.get((i + offset) % types.size()));
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
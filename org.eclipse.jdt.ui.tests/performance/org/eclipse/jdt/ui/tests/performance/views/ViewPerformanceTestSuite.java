@@ -24,6 +24,7 @@ import org.junit.platform.suite.api.Suite;
 	PackageExplorerWarmPerfTest.class,
 	PackageExplorerWorkspacePerfTest.class,
 	PackageExplorerWorkspaceWarmPerfTest.class,
+	SuperTypeHierarchyCachePerfTest.class,
 	TypeHierarchyPerfTest.class
 })
 public class ViewPerformanceTestSuite {
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IfStatement;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+public class FusedASTVisitorTest {
+
+	private static CompilationUnit unit;
+
+	@BeforeAll
+	public static void init() {
+		String code= """
+				package test;
+				public class E {
+					void foo(boolean b) {
+						if (b) {
+							bar(1);
+							if (!b) {
+								bar(2);
+							}
+						}
+						bar(3);
+					}
+					void bar(int i) {
+						if (i > 0) {
+							foo(i > 1);
+						}
+					}
+				}
+				""";
+		ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+		parser.setSource(code.toCharArray());
+		unit= (CompilationUnit) parser.createAST(null);
+	}
+
+	@Test
+	public void testSameNodesAsSeparateVisitors() {
+		List<String> expectedIfs= new ArrayList<>();
+		List<String> expectedInvocations= new ArrayList<>();
+		unit.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(IfStatement node) {
+				expectedIfs.add("visit " + node.getExpression());
+				return false;
+			}
+
+			@Override
+			public void endVisit(IfStatement node) {
+				expectedIfs.add("endVisit " + node.getExpression());
+			}
+		});
+		unit.accept(new ASTVisitor() {
+			@Override
+			public boolean visit(MethodInvocation node) {
+				expectedInvocations.add(node.toString());
+				return true;
+			}
+		});
+
+		List<String> ifs= new ArrayList<>();
+		List<String> invocations= new ArrayList<>();
+		FusedASTVisitor.Participant ifParticipant= new FusedASTVisitor.Participant()
+				.visit(VisitorEnum.IfStatement, (IfStatement node) -> {
+					ifs.add("visit " + node.getExpression());
+					return false;
+				})
+				.endVisit(VisitorEnum.IfStatement, (IfStatement node) -> ifs.add("endVisit " + node.getExpression()));
+		FusedASTVisitor.Participant invocationParticipant= new FusedASTVisitor.Participant()
+				.visit(VisitorEnum.MethodInvocation, (MethodInvocation node) -> invocations.add(node.toString()));
+		FusedASTVisitor.visit(unit, List.of(ifParticipant, invocationParticipant));
+
+		assertEquals(List.of("visit b", "endVisit b", "visit i > 0", "endVisit i > 0"), expectedIfs);
+		assertEquals(expectedIfs, ifs);
+		assertEquals(List.of("bar(1)", "bar(2)", "bar(3)", "foo(i > 1)"), expectedInvocations);
+		assertEquals(expectedInvocations, invocations);
+	}
+
+	@Test
+	public void testPrunesSubtreesNoParticipantIsInterestedIn() {
+		List<ASTNode> visited= new ArrayList<>();
+		FusedASTVisitor.Participant participant= new FusedASTVisitor.Participant()
+				.visit(VisitorEnum.Block, (Block node) -> {
+					visited.add(node);
+					return false;
+				});
+		FusedASTVisitor visitor= new FusedASTVisitor(List.of(participant)) {
+			@Override
+			public boolean preVisit2(ASTNode node) {
+				if (node instanceof MethodInvocation) {
+					visited.add(node);
+				}
+				return super.preVisit2(node);
+			}
+		};
+		unit.accept(visitor);
+
+		// only the method bodies, nothing inside them
+		assertEquals(2, visited.size());
+	}
+}
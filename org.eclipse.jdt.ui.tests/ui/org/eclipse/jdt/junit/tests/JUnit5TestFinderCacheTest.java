@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.junit.launcher.JUnit5TestFinder;
+
+/**
+ * Tests the cached test status of the indexed test discovery of <code>JUnit5TestFinder</code>.
+ */
+public class JUnit5TestFinderCacheTest {
+
+	/**
+	 * Counts the types whose test status is computed instead of taken from the cache.
+	 */
+	private static class CountingTestFinder extends JUnit5TestFinder {
+
+		private final AtomicInteger fEvaluated= new AtomicInteger();
+
+		@Override
+		protected boolean[] isTest(List<IType> types) throws JavaModelException {
+			fEvaluated.addAndGet(types.size());
+			return super.isTest(types);
+		}
+	}
+
+	/**
+	 * The cache outlives the projects, so every test uses new project names.
+	 */
+	private static int fgProjectCount;
+
+	private IJavaProject fProject1;
+
+	private IJavaProject fProject2;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject1= createProject("TestProject" + ++fgProjectCount);
+		fProject2= createProject("TestProject" + ++fgProjectCount);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject1);
+		JavaProjectHelper.delete(fProject2);
+	}
+
+	@Test
+	public void testUnchangedRerunSkipsEvaluation() throws Exception {
+		IPackageFragment pack= getPackage(fProject1);
+		createTestClass(pack, "ATest");
+		createTestClass(pack, "BTest");
+
+		assertTests(pack, 2, "ATest", "BTest");
+		assertTests(pack, 0, "ATest", "BTest");
+	}
+
+	@Test
+	public void testRemovedAnnotation() throws Exception {
+		IPackageFragment pack= getPackage(fProject1);
+		ICompilationUnit cu= createTestClass(pack, "ATest");
+		createTestClass(pack, "BTest");
+		assertTests(pack, 2, "ATest", "BTest");
+
+		String str= """
+			package p;
+
+			public class ATest {
+				public void test() {
+				}
+			}
+			""";
+		cu.getBuffer().setContents(str);
+		cu.save(null, true);
+
+		assertTests(pack, 0, "BTest");
+	}
+
+	@Test
+	public void testChangedTestClass() throws Exception {
+		IPackageFragment pack= getPackage(fProject1);
+		ICompilationUnit cu= createTestClass(pack, "ATest");
+		createTestClass(pack, "BTest");
+		assertTests(pack, 2, "ATest", "BTest");
+
+		String str= """
+			package p;
+
+			import org.junit.jupiter.api.Test;
+
+			public abstract class ATest {
+				@Test
+				public void test() {
+				}
+			}
+			""";
+		cu.getBuffer().setContents(str);
+		cu.save(null, true);
+
+		assertTests(pack, 1, "BTest");
+	}
+
+	@Test
+	public void testCachePerProject() throws Exception {
+		IPackageFragment pack1= getPackage(fProject1);
+		createTestClass(pack1, "ATest");
+		assertTests(pack1, 1, "ATest");
+
+		// a custom test annotation gives the second project another set of test annotations
+		IPackageFragment pack2= getPackage(fProject2);
+		String str= """
+			package p;
+
+			import java.lang.annotation.Retention;
+			import java.lang.annotation.RetentionPolicy;
+
+			import org.junit.jupiter.api.Test;
+
+			@Retention(RetentionPolicy.RUNTIME)
+			@Test
+			public @interface MyTest {
+			}
+			""";
+		pack2.createCompilationUnit("MyTest.java", str, false, null);
+		String str1= """
+			package p;
+
+			public class CTest {
+				@MyTest
+				public void test() {
+				}
+			}
+			""";
+		pack2.createCompilationUnit("CTest.java", str1, false, null);
+		assertTests(pack2, 1, "CTest");
+
+		assertTests(pack1, 0, "ATest");
+		assertTests(pack2, 0, "CTest");
+	}
+
+	private void assertTests(IPackageFragment pack, int evaluated, String... typeNames) throws Exception {
+		CountingTestFinder finder= new CountingTestFinder();
+		Set<IType> result= new HashSet<>();
+		finder.findTestsInContainer(pack, result, null);
+
+		Set<String> names= new HashSet<>();
+		for (IType type : result) {
+			names.add(type.getElementName());
+		}
+		assertThat(names).containsExactlyInAnyOrder(typeNames);
+		assertThat(finder.fEvaluated.get()).isEqualTo(evaluated);
+	}
+
+	private static ICompilationUnit createTestClass(IPackageFragment pack, String name) throws JavaModelException {
+		String str= """
+			package p;
+
+			import org.junit.jupiter.api.Test;
+
+			public class %s {
+				@Test
+				public void test() {
+				}
+			}
+			""".formatted(name);
+		return pack.createCompilationUnit(name + ".java", str, false, null);
+	}
+
+	private static IPackageFragment getPackage(IJavaProject project) throws JavaModelException {
+		return project.findPackageFragmentRoot(project.getPath().append("src")).getPackageFragment("p");
+	}
+
+	private static IJavaProject createProject(String name) throws Exception {
+		IJavaProject project= JavaProjectHelper.createJavaProject(name, "bin");
+		JavaProjectHelper.addRTJar(project);
+		IClasspathEntry cpe= JavaCore.newContainerEntry(JUnitCore.JUNIT5_CONTAINER_PATH);
+		JavaProjectHelper.addToClasspath(project, cpe);
+		JavaProjectHelper.set18CompilerOptions(project);
+
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(project, "src");
+		root.createPackageFragment("p", true, null);
+		return project;
+	}
+}
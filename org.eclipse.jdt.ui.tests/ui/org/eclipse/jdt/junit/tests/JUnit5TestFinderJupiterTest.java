@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Vector Informatik GmbH and others.
+ * Copyright (c) 2023, 2026 Vector Informatik GmbH and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,7 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.junit.JUnitPreferencesConstants;
 import org.eclipse.jdt.internal.junit.launcher.ITestFinder;
 import org.eclipse.jdt.internal.junit.launcher.JUnit5TestFinder;
 import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
@@ -131,6 +132,16 @@ public class JUnit5TestFinderJupiterTest {
 		assertThat(foundTestTypes).hasSize(scenario.testTypesCount());
 	}
 
+	@Test
+	public void testFindTestsInContainerWithoutIndexedDiscovery() throws Exception {
+		JUnitPreferencesConstants.setIndexedTestDiscovery(false);
+		try {
+			testFindTestsInContainer();
+		} finally {
+			JUnitPreferencesConstants.setIndexedTestDiscovery(true);
+		}
+	}
+
 
 	private IType findTypeWithName(String name) throws JavaModelException {
 		for (IType type : compilationUnit.getAllTypes()) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,11 +38,15 @@ TestRunFilteredParameterizedRunnerTest4.class,
 
 TestRunSessionSerializationTests3.class,
 TestRunSessionSerializationTests4.class,
+TestRunSessionSwapFileTest.class,
+RemoteTestRunnerProtocolTest.class,
+TestViewerTest.class,
 
 JUnit3TestFinderTest.class,
 JUnitTestFinderTest.class,
 JUnit4TestFinderTest16.class,
 JUnit5TestFinderJupiterTest.class,
+JUnit5TestFinderCacheTest.class,
 JUnit6TestFinderJupiterTest.class,
 
 JUnitQuickAssistTest.class,
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.launching.SocketUtil;
+
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+import org.eclipse.jdt.internal.junit.model.ITestRunListener2;
+import org.eclipse.jdt.internal.junit.model.RemoteTestRunnerClient;
+import org.eclipse.jdt.internal.junit.runner.BinaryMessageSender;
+import org.eclipse.jdt.internal.junit.runner.MessageIds;
+import org.eclipse.jdt.internal.junit.runner.MessageSender;
+
+/**
+ * Tests that {@link RemoteTestRunnerClient} reports the same events for the line based protocol and
+ * for the binary protocol written by {@link BinaryMessageSender}.
+ */
+public class RemoteTestRunnerProtocolTest {
+
+	private static final String TRACE= "org.opentest4j.AssertionFailedError: expected: <1> but was: <2>" + System.lineSeparator()
+			+ "\tat p.ATest.testFailed(ATest.java:12)" + System.lineSeparator()
+			+ "\tat p.ATest.run(ATest.java:20)";
+
+	/**
+	 * A runtime that does not know the binary protocol and never sends {@link MessageIds#PROTOCOL}.
+	 */
+	private static class TextMessageSender implements MessageSender {
+		private final PrintWriter fWriter;
+
+		TextMessageSender(Socket socket) throws IOException {
+			fWriter= new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)), false);
+		}
+
+		@Override
+		public void sendMessage(String msg) {
+			fWriter.println(msg);
+		}
+
+		@Override
+		public void flush() {
+			fWriter.flush();
+		}
+	}
+
+	private static class RecordingListener implements ITestRunListener2 {
+		final CountDownLatch fEnded= new CountDownLatch(1);
+		final List<String> fEvents= Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public void testRunStarted(int testCount) {
+			fEvents.add("runStarted " + testCount);
+		}
+
+		@Override
+		public void testRunEnded(long elapsedTime) {
+			fEvents.add("runEnded " + elapsedTime);
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testRunStopped(long elapsedTime) {
+			fEvents.add("runStopped " + elapsedTime);
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testStarted(String testId, String testName) {
+			fEvents.add("started " + testId + " " + testName);
+		}
+
+		@Override
+		public void testEnded(String testId, String testName) {
+			fEvents.add("ended " + testId + " " + testName);
+		}
+
+		@Override
+		public void testRunTerminated() {
+			fEvents.add("terminated");
+			fEnded.countDown();
+		}
+
+		@Override
+		public void testTreeEntry(String description) {
+			fEvents.add("tree " + description);
+		}
+
+		@Override
+		public void testFailed(int status, String testId, String testName, String trace, String expected, String actual) {
+			fEvents.add("failed " + status + " " + testId + " " + testName + " trace=" + trace.trim() + " expected=" + expected + " actual=" + actual);
+		}
+
+		@Override
+		public void testReran(String testId, String testClass, String testName, int status, String trace, String expected, String actual) {
+			fEvents.add("reran " + testId + " " + testClass + " " + testName + " " + status + " trace=" + trace.trim() + " expected=" + expected + " actual=" + actual);
+		}
+	}
+
+	@Test
+	public void testTextProtocolWithoutAnnouncement() throws Exception {
+		List<String> events= transmit(false);
+		assertTrue(events.toString(), events.contains("tree 5,test\\,escaped(p.ATest),false,1,false,1,test\\,escaped,,"));
+		assertTrue(events.toString(), events.contains("started x7 testOther(p.ATest)"));
+		assertTrue(events.toString(), events.contains("ended 1500 testLarge(p.ATest)"));
+		assertEquals(events.toString(), "runEnded 42", events.get(events.size() - 1));
+		assertEquals(events.toString(), 1, count(events, "failed 2 3 testFailed(p.ATest) trace=" + TRACE + " expected=1"));
+		assertEquals(events.toString(), 1, count(events, "failed 1 4 testError(p.ATest) "));
+		assertEquals(events.toString(), 1, count(events, "reran 3 p.ATest testFailed 2 trace=" + TRACE));
+	}
+
+	@Test
+	public void testBinaryProtocol() throws Exception {
+		assertEquals(transmit(false), transmit(true));
+	}
+
+	private static int count(List<String> events, String prefix) {
+		int count= 0;
+		for (String event : events) {
+			if (event.startsWith(prefix))
+				count++;
+		}
+		return count;
+	}
+
+	private static List<String> transmit(boolean binary) throws Exception {
+		int port= SocketUtil.findFreePort();
+		RecordingListener listener= new RecordingListener();
+		RemoteTestRunnerClient client= new RemoteTestRunnerClient(TestKindRegistry.getDefault().getKind(TestKindRegistry.JUNIT5_TEST_KIND_ID));
+		client.startListening(new ITestRunListener2[] { listener }, port);
+		try (Socket socket= connect(port)) {
+			MessageSender sender= binary ? new BinaryMessageSender(socket.getOutputStream()) : new TextMessageSender(socket);
+			sendRun(sender);
+			assertTrue(listener.fEnded.await(1, TimeUnit.MINUTES));
+			if (sender instanceof BinaryMessageSender binarySender)
+				binarySender.close();
+		} finally {
+			client.stopWaiting();
+		}
+		synchronized (listener.fEvents) {
+			return new ArrayList<>(listener.fEvents);
+		}
+	}
+
+	private static void sendRun(MessageSender sender) {
+		sender.sendMessage(MessageIds.TEST_RUN_START + 6 + " v2");
+		sender.sendMessage(MessageIds.TEST_TREE + "1,p.ATest,true,6,false,-1,p.ATest,,");
+		sender.sendMessage(MessageIds.TEST_TREE + "2,testOk(p.ATest),false,1,false,1,testOk,,");
+		sender.sendMessage(MessageIds.TEST_TREE + "3,testFailed(p.ATest),false,1,false,1,testFailed,,");
+		sender.sendMessage(MessageIds.TEST_TREE + "4,testError(p.ATest),false,1,false,1,testError,,");
+		sender.sendMessage(MessageIds.TEST_TREE + "5,test\\,escaped(p.ATest),false,1,false,1,test\\,escaped,,");
+		sender.sendMessage(MessageIds.TEST_TREE + "1500,testLarge(p.ATest),false,1,false,1,testLarge,,");
+		sender.sendMessage(MessageIds.TEST_TREE + "x7,testOther(p.ATest),false,1,false,1,testOther,,");
+		sender.flush();
+
+		sender.sendMessage(MessageIds.TEST_START + "2,testOk(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_END + "2,testOk(p.ATest)");
+
+		sender.sendMessage(MessageIds.TEST_START + "3,testFailed(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_FAILED + "3,testFailed(p.ATest)");
+		sender.sendMessage(MessageIds.EXPECTED_START);
+		sender.sendMessage("1");
+		sender.sendMessage(MessageIds.EXPECTED_END);
+		sender.sendMessage(MessageIds.ACTUAL_START);
+		sender.sendMessage("2");
+		sender.sendMessage(MessageIds.ACTUAL_END);
+		sender.sendMessage(MessageIds.TRACE_START);
+		sender.sendMessage(TRACE);
+		sender.sendMessage(MessageIds.TRACE_END);
+		sender.sendMessage(MessageIds.TEST_END + "3,testFailed(p.ATest)");
+		sender.flush();
+
+		sender.sendMessage(MessageIds.TEST_START + "4,testError(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_ERROR + "4,testError(p.ATest)");
+		sender.sendMessage(MessageIds.TRACE_START);
+		sender.sendMessage("java.lang.IllegalStateException" + System.lineSeparator() + "\tat p.ATest.testError(ATest.java:16)");
+		sender.sendMessage(MessageIds.TRACE_END);
+		sender.sendMessage(MessageIds.TEST_END + "4,testError(p.ATest)");
+
+		sender.sendMessage(MessageIds.TEST_START + "5,test\\,escaped(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_END + "5,test\\,escaped(p.ATest)");
+
+		// a test name that differs from the one in the tree entry is sent again
+		sender.sendMessage(MessageIds.TEST_START + "1500,testLarge(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_END + "1500,testLarge(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_START + "1500,testLarge[1](p.ATest)");
+		sender.sendMessage(MessageIds.TEST_END + "1500,testLarge[1](p.ATest)");
+
+		// ids that are not numbers are sent in the line based format
+		sender.sendMessage(MessageIds.TEST_START + "x7,testOther(p.ATest)");
+		sender.sendMessage(MessageIds.TEST_FAILED + "x7,testOther(p.ATest)");
+		sender.sendMessage(MessageIds.TRACE_START);
+		sender.sendMessage("java.lang.AssertionError");
+		sender.sendMessage(MessageIds.TRACE_END);
+		sender.sendMessage(MessageIds.TEST_END + "x7,testOther(p.ATest)");
+		sender.flush();
+
+		sender.sendMessage(MessageIds.RTRACE_START);
+		sender.sendMessage(TRACE);
+		sender.sendMessage(MessageIds.RTRACE_END);
+		sender.sendMessage(MessageIds.TEST_RERAN + "3 p.ATest testFailed FAILURE");
+
+		sender.sendMessage(MessageIds.TEST_RUN_END + 42);
+		sender.flush();
+	}
+
+	private static Socket connect(int port) throws Exception {
+		for (int i= 0; ; i++) {
+			try {
+				return new Socket("localhost", port);
+			} catch (ConnectException e) {
+				if (i == 100)
+					throw e;
+				Thread.sleep(50);
+			}
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.model.ITestElement.Result;
+
+import org.eclipse.jdt.internal.junit.model.JUnitModel;
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestRunSessionSwapFile;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+
+public class TestRunSessionSwapFileTest {
+
+	private File fSwapFile;
+
+	@Before
+	public void setUp() throws Exception {
+		fSwapFile= File.createTempFile("testrun", ".swap");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fSwapFile.delete();
+	}
+
+	@Test
+	public void testSwapOutAndIn() throws Exception {
+		TestRunSession session= new TestRunSession("swap", null);
+		TestSuiteElement suite= (TestSuiteElement) session.createTestElement(session.getTestRoot(), "1", "p.ATest", true, 0, false, null, null, "[engine:junit-jupiter]/[class:p.ATest]");
+		TestElement ok= session.createTestElement(suite, "2", "testOk(p.ATest)", false, 0, false, "ok", null, null);
+		TestElement failed= session.createTestElement(suite, "3", "testFailed(p.ATest)", false, 0, false, null, new String[] { "int", "java.lang.String" }, null);
+		TestElement error= session.createTestElement(suite, "4", "testError(p.ATest)", false, 0, false, null, null, null);
+		TestCaseElement ignored= (TestCaseElement) session.createTestElement(suite, "5", "testIgnored(p.ATest)", false, 0, true, null, null, null);
+		TestElement assumption= session.createTestElement(suite, "6", "testAssumption(p.ATest)", false, 0, false, null, null, null);
+		TestElement notRun= session.createTestElement(suite, "7", "testNotRun(p.ATest)", false, 0, false, null, null, null);
+
+		ok.setElapsedTimeInSeconds(0.25);
+		session.registerTestFailureStatus(failed, Status.FAILURE, "org.junit.ComparisonFailure: ä\n\tat p.ATest.testFailed(ATest.java:12)\n", "expected", "actual");
+		session.registerTestFailureStatus(error, Status.ERROR, "java.lang.IllegalStateException\n\tat p.ATest.testError(ATest.java:17)\n", null, null);
+		ignored.setIgnored(true);
+		assumption.setAssumptionFailed(true);
+		session.registerTestFailureStatus(assumption, Status.OK, "org.opentest4j.TestAbortedException: Assumption failed\n", null, null);
+		for (TestElement testElement : new TestElement[] { ok, failed, error, ignored, assumption })
+			session.registerTestEnded(testElement, true);
+		session.registerTestEnded(notRun, false);
+		session.registerTestEnded(suite, true);
+
+		TestRunSessionSwapFile.write(session, fSwapFile);
+		TestRunSession swappedIn= new TestRunSession("swap", null);
+		TestRunSessionSwapFile.read(fSwapFile, swappedIn);
+
+		String xml= export(session);
+		assertEquals(xml, export(swappedIn));
+		assertTrue(fSwapFile.length() < xml.length());
+		assertEquals(session.getTotalCount(), swappedIn.getTotalCount());
+		assertEquals(session.getStartedCount(), swappedIn.getStartedCount());
+		assertEquals(session.getFailureCount(), swappedIn.getFailureCount());
+		assertEquals(session.getErrorCount(), swappedIn.getErrorCount());
+		assertEquals(session.getIgnoredCount(), swappedIn.getIgnoredCount());
+		assertEquals(session.getAssumptionFailureCount(), swappedIn.getAssumptionFailureCount());
+
+		TestSuiteElement swappedSuite= (TestSuiteElement) swappedIn.getTestRoot().getChildren()[0];
+		assertEquals("1", swappedSuite.getId());
+		assertEquals("[engine:junit-jupiter]/[class:p.ATest]", swappedSuite.getUniqueId());
+		TestElement swappedOk= swappedSuite.getChild(0);
+		assertEquals("ok", swappedOk.getDisplayName());
+		assertEquals(0.25, swappedOk.getElapsedTimeInSeconds(), 0);
+		assertNull(swappedOk.getTrace());
+		TestElement swappedFailed= swappedSuite.getChild(1);
+		assertEquals(Result.FAILURE, swappedFailed.getTestResult(false));
+		assertArrayEquals(new String[] { "int", "java.lang.String" }, swappedFailed.getParameterTypes());
+		assertEquals(failed.getTrace(), swappedFailed.getTrace());
+		assertEquals("expected", swappedFailed.getExpected());
+		assertEquals("actual", swappedFailed.getActual());
+		assertTrue(swappedFailed.isComparisonFailure());
+		assertTrue(((TestCaseElement) swappedSuite.getChild(3)).isDynamicTest());
+		assertEquals(Result.IGNORED, swappedSuite.getChild(4).getTestResult(false));
+		assertEquals(assumption.getTrace(), swappedSuite.getChild(4).getTrace());
+	}
+
+	private static String export(TestRunSession session) throws Exception {
+		ByteArrayOutputStream out= new ByteArrayOutputStream();
+		JUnitModel.exportTestRunSession(session, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.TreeItem;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+
+import org.eclipse.jdt.internal.junit.model.TestCaseElement;
+import org.eclipse.jdt.internal.junit.model.TestElement;
+import org.eclipse.jdt.internal.junit.model.TestElement.Status;
+import org.eclipse.jdt.internal.junit.model.TestRunSession;
+import org.eclipse.jdt.internal.junit.model.TestSuiteElement;
+import org.eclipse.jdt.internal.junit.ui.JUnitPlugin;
+import org.eclipse.jdt.internal.junit.ui.TestRunnerViewPart;
+import org.eclipse.jdt.internal.junit.ui.TestRunnerViewPart.SortingCriterion;
+import org.eclipse.jdt.internal.junit.ui.TestViewer;
+
+/**
+ * Tests that the tree and the table of the JUnit view show the children of the test run session at
+ * the right indices while the status of the tests changes, with and without the failures filter.
+ */
+public class TestViewerTest {
+
+	private TestRunnerViewPart fTestRunnerViewPart;
+
+	private TestViewer fTestViewer;
+
+	private TestRunSession fSession;
+
+	private TestSuiteElement fSuiteA;
+
+	private List<TestCaseElement> fTests;
+
+	@Before
+	public void setUp() throws Exception {
+		fTestRunnerViewPart= (TestRunnerViewPart) JUnitPlugin.getActivePage().showView(TestRunnerViewPart.NAME);
+		fTestViewer= fTestRunnerViewPart.getTestViewer();
+
+		fSession= new TestRunSession("viewer", null);
+		fSuiteA= (TestSuiteElement) fSession.createTestElement(fSession.getTestRoot(), "1", "p.ATest", true, 3, false, null, null, null);
+		TestSuiteElement suiteB= (TestSuiteElement) fSession.createTestElement(fSession.getTestRoot(), "2", "p.BTest", true, 3, false, null, null, null);
+		fTests= new ArrayList<>();
+		fTests.add((TestCaseElement) fSession.createTestElement(fSuiteA, "3", "testC(p.ATest)", false, 0, false, null, null, null));
+		fTests.add((TestCaseElement) fSession.createTestElement(fSuiteA, "4", "testA(p.ATest)", false, 0, false, null, null, null));
+		fTests.add((TestCaseElement) fSession.createTestElement(fSuiteA, "5", "testB(p.ATest)", false, 0, false, null, null, null));
+		fTests.add((TestCaseElement) fSession.createTestElement(suiteB, "6", "testE(p.BTest)", false, 0, false, null, null, null));
+		fTests.add((TestCaseElement) fSession.createTestElement(suiteB, "7", "testD(p.BTest)", false, 0, false, null, null, null));
+		fTests.add((TestCaseElement) fSession.createTestElement(suiteB, "8", "testF(p.BTest)", false, 0, false, null, null, null));
+		fTestViewer.registerActiveSession(fSession);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fTestViewer.setSortingCriterion(fTestRunnerViewPart.getSortingCriterion());
+		fTestViewer.setShowFailuresOrIgnoredOnly(false, false, TestRunnerViewPart.LAYOUT_FLAT);
+		fTestViewer.setShowFailuresOrIgnoredOnly(false, false, TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+		fTestRunnerViewPart.setLayoutMode(TestRunnerViewPart.LAYOUT_HIERARCHICAL);
+		fTestViewer.registerActiveSession(fTestRunnerViewPart.getTestRunSession());
+		fTestViewer.processChangesInUI();
+	}
+
+	@Test
+	public void testTree() throws Exception {
+		assertStatusChangesShown(TestRunnerViewPart.LAYOUT_HIERARCHICAL, false);
+	}
+
+	@Test
+	public void testTreeWithFailuresFilter() throws Exception {
+		assertStatusChangesShown(TestRunnerViewPart.LAYOUT_HIERARCHICAL, true);
+	}
+
+	@Test
+	public void testTable() throws Exception {
+		assertStatusChangesShown(TestRunnerViewPart.LAYOUT_FLAT, false);
+	}
+
+	@Test
+	public void testTableWithFailuresFilter() throws Exception {
+		assertStatusChangesShown(TestRunnerViewPart.LAYOUT_FLAT, true);
+	}
+
+	@Test
+	public void testSortedTableWithFailuresFilter() throws Exception {
+		fTestViewer.setSortingCriterion(SortingCriterion.SORT_BY_NAME);
+		fTestViewer.setShowFailuresOrIgnoredOnly(true, false, TestRunnerViewPart.LAYOUT_FLAT);
+		run(fTests.get(0), Status.FAILURE);
+		run(fTests.get(1), Status.OK);
+		run(fTests.get(2), Status.FAILURE);
+		assertEquals(List.of("testB(p.ATest)", "testC(p.ATest)"), getShownElements(TestRunnerViewPart.LAYOUT_FLAT));
+		run(fTests.get(3), Status.ERROR);
+		run(fTests.get(4), Status.FAILURE);
+		assertEquals(List.of("testB(p.ATest)", "testC(p.ATest)", "testD(p.BTest)", "testE(p.BTest)"), getShownElements(TestRunnerViewPart.LAYOUT_FLAT));
+
+		rerun(fTests.get(2), Status.OK);
+		assertEquals(List.of("testC(p.ATest)", "testD(p.BTest)", "testE(p.BTest)"), getShownElements(TestRunnerViewPart.LAYOUT_FLAT));
+	}
+
+	private void assertStatusChangesShown(int layout, boolean failuresOnly) {
+		fTestViewer.setShowFailuresOrIgnoredOnly(failuresOnly, false, layout);
+		assertShown(layout, failuresOnly);
+
+		Status[] results= { Status.OK, Status.FAILURE, Status.OK, Status.ERROR, Status.OK, Status.FAILURE };
+		for (int i= 0; i < fTests.size(); i++) {
+			run(fTests.get(i), results[i]);
+			assertShown(layout, failuresOnly);
+		}
+
+		TestCaseElement added= (TestCaseElement) fSession.createTestElement(fSuiteA, "9", "testG(p.ATest)", false, 0, false, null, null, null);
+		fTestViewer.registerTestAdded(added);
+		fTestViewer.processChangesInUI();
+		assertShown(layout, failuresOnly);
+		run(added, Status.FAILURE);
+		assertShown(layout, failuresOnly);
+
+		rerun(fTests.get(1), Status.OK);
+		assertShown(layout, failuresOnly);
+		rerun(fTests.get(2), Status.ERROR);
+		assertShown(layout, failuresOnly);
+	}
+
+	private void run(TestCaseElement test, Status status) {
+		test.setStatus(Status.RUNNING);
+		fTestViewer.registerViewerUpdate(test);
+		fTestViewer.processChangesInUI();
+		test.setStatus(status);
+		fTestViewer.registerViewerUpdate(test);
+		fTestViewer.processChangesInUI();
+	}
+
+	private void rerun(TestCaseElement test, Status status) {
+		test.setStatus(status);
+		fTestViewer.registerViewerUpdate(test);
+		fTestViewer.processChangesInUI();
+	}
+
+	private void assertShown(int layout, boolean failuresOnly) {
+		List<String> expected= new ArrayList<>();
+		if (layout == TestRunnerViewPart.LAYOUT_HIERARCHICAL) {
+			addExpectedTreeElements(expected, fSession.getTestRoot(), "", failuresOnly);
+		} else {
+			addExpectedTableElements(expected, fSession.getTestRoot(), failuresOnly);
+		}
+		assertEquals(expected, getShownElements(layout));
+	}
+
+	/*
+	 * The failures filter also shows running tests and suites of a session that is not running,
+	 * since they are rerun.
+	 */
+	private static boolean isFailureShown(TestElement element) {
+		Status status= element.getStatus();
+		return status.isErrorOrFailure() || status == Status.RUNNING;
+	}
+
+	private static void addExpectedTreeElements(List<String> expected, TestSuiteElement suite, String indent, boolean failuresOnly) {
+		for (int i= 0; i < suite.getChildCount(); i++) {
+			TestElement child= suite.getChild(i);
+			if (failuresOnly && !isFailureShown(child))
+				continue;
+			expected.add(indent + child.getTestName());
+			if (child instanceof TestSuiteElement)
+				addExpectedTreeElements(expected, (TestSuiteElement) child, indent + "  ", failuresOnly);
+		}
+	}
+
+	private static void addExpectedTableElements(List<String> expected, TestSuiteElement suite, boolean failuresOnly) {
+		for (int i= 0; i < suite.getChildCount(); i++) {
+			TestElement child= suite.getChild(i);
+			if (child instanceof TestSuiteElement) {
+				if (((TestSuiteElement) child).getSuiteStatus().isErrorOrFailure())
+					expected.add(child.getTestName());
+				addExpectedTableElements(expected, (TestSuiteElement) child, failuresOnly);
+			} else if (!failuresOnly || isFailureShown(child)) {
+				expected.add(child.getTestName());
+			}
+		}
+	}
+
+	private List<String> getShownElements(int layout) {
+		List<String> shown= new ArrayList<>();
+		if (layout == TestRunnerViewPart.LAYOUT_HIERARCHICAL) {
+			TreeViewer treeViewer= (TreeViewer) fTestViewer.getActiveViewer();
+			if (!(treeViewer.getContentProvider() instanceof ILazyTreeContentProvider))
+				treeViewer.expandAll();
+			addTreeItems(shown, treeViewer.getTree().getItems(), "");
+		} else {
+			Table table= ((TableViewer) fTestViewer.getActiveViewer()).getTable();
+			for (int i= 0; i < table.getItemCount(); i++) {
+				TableItem item= table.getItem(i);
+				item.getText(); // lets the virtual table request the element
+				shown.add(((TestElement) item.getData()).getTestName());
+			}
+		}
+		return shown;
+	}
+
+	private static void addTreeItems(List<String> shown, TreeItem[] items, String indent) {
+		for (TreeItem item : items) {
+			item.getText(); // lets the virtual tree request the element and its child count
+			shown.add(indent + ((TestElement) item.getData()).getTestName());
+			addTreeItems(shown, item.getItems(), indent + "  ");
+		}
+	}
+}
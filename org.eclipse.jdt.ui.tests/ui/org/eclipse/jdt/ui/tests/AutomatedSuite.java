@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.jdt.testplugin.TestOptions;
 
 import org.eclipse.jdt.core.JavaCore;
 
+import org.eclipse.jdt.internal.common.FusedASTVisitorTest;
 import org.eclipse.jdt.internal.common.VisitorTest;
 
 import org.eclipse.jdt.ui.tests.browsing.PackagesViewContentProviderTests;
@@ -59,6 +60,7 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 @Suite
 @SelectClasses({
 	VisitorTest.class,
+	FusedASTVisitorTest.class,
 	CoreTests.class,
 	CoreTestSuite.class,
 	QuickFixTestSuite.class,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -44,9 +46,13 @@ import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.core.manipulation.RecentASTCache;
+
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 
 /**
  * Tests the AST provider.
@@ -142,6 +148,44 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testASTOfInactiveEditor() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str1= """
+			package test1;
+			public class E1 {
+			}
+			""";
+		ICompilationUnit cu1= pack1.createCompilationUnit("E1.java", str1, false, null);
+		String str2= """
+			package test1;
+			public class E2 {
+			}
+			""";
+		ICompilationUnit cu2= pack1.createCompilationUnit("E2.java", str2, false, null);
+
+		try {
+			JavaUI.openInEditor(cu1);
+			assertNotNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_YES, null));
+
+			JavaUI.openInEditor(cu2);
+			assertNotNull(SharedASTProviderCore.getAST(cu2, SharedASTProviderCore.WAIT_YES, null));
+
+			RecentASTCache cache= RecentASTCache.getInstance();
+			int hits= cache.getHitCount();
+			CompilationUnit ast= SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null);
+			assertNotNull(ast);
+			assertEquals(str1, ast.toString());
+			assertEquals(hits + 1, cache.getHitCount());
+			assertTrue(cache.getRetainedSize() > 0);
+
+			cu1.getBuffer().replace(str1.indexOf('}'), 0, "int i;");
+			assertNull(SharedASTProviderCore.getAST(cu1, SharedASTProviderCore.WAIT_NO, null));
+		} finally {
+			JavaPlugin.getActivePage().closeAllEditors(false);
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
@@ -57,6 +57,7 @@ TypeHierarchyViewPartTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
 StringsTest.class,
+SuperTypeHierarchyCacheTest.class,
 IndentManipulationTest.class,
 SelectionHistoryTest.class,
 ASTProviderTest.class,
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+
+	private IPackageFragment fPack1;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		fPack1= sourceFolder.createPackageFragment("test1", false, null);
+		SuperTypeHierarchyCache.flushCache();
+		SuperTypeHierarchyCache.resetStatistics();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SuperTypeHierarchyCache.flushCache();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	@Test
+	public void subtypeHierarchyAnswersSupertypes() throws Exception {
+		ICompilationUnit cu= fPack1.createCompilationUnit("A.java", """
+			package test1;
+			public class A {
+			}
+			class B extends A {
+			}
+			""", false, null);
+		IType a= cu.getType("A");
+		IType b= cu.getType("B");
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(a));
+
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheHits());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheSize());
+		assertTrue(SuperTypeHierarchyCache.getRetainedSize() > 0);
+	}
+
+	@Test
+	public void methodOverrideTesterIsShared() throws Exception {
+		ICompilationUnit cu= fPack1.createCompilationUnit("A.java", """
+			package test1;
+			public class A {
+			    public void foo() {}
+			}
+			class B extends A {
+			    @Override public void foo() {}
+			}
+			""", false, null);
+		IType b= cu.getType("B");
+
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(b);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(b));
+		assertSame(SuperTypeHierarchyCache.getTypeHierarchy(b), tester.getTypeHierarchy());
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+	}
+
+	@Test
+	public void invalidatedOnHierarchyChange() throws Exception {
+		ICompilationUnit cu= fPack1.createCompilationUnit("A.java", """
+			package test1;
+			public class A {
+			}
+			class B extends A {
+			}
+			""", false, null);
+		IType b= cu.getType("B");
+
+		SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertTrue(SuperTypeHierarchyCache.hasInCache(b));
+
+		cu.getBuffer().setContents("""
+			package test1;
+			public class A {
+			}
+			class B {
+			}
+			""");
+		cu.save(null, true);
+
+		assertFalse(SuperTypeHierarchyCache.hasInCache(b));
+		assertEquals(1, SuperTypeHierarchyCache.getInvalidationCount());
+		assertEquals(0, SuperTypeHierarchyCache.getCacheSize());
+		assertEquals(0, SuperTypeHierarchyCache.getRetainedSize());
+	}
+
+	@Test
+	public void concurrentCallersBuildOnce() throws Exception {
+		ICompilationUnit cu= fPack1.createCompilationUnit("A.java", """
+			package test1;
+			public class A {
+			}
+			""", false, null);
+		IType a= cu.getType("A");
+
+		int nThreads= 8;
+		ExecutorService executor= Executors.newFixedThreadPool(nThreads);
+		try {
+			List<Future<ITypeHierarchy>> futures= new ArrayList<>();
+			for (int i= 0; i < nThreads; i++) {
+				futures.add(executor.submit(() -> SuperTypeHierarchyCache.getTypeHierarchy(a)));
+			}
+			ITypeHierarchy first= futures.get(0).get();
+			for (Future<ITypeHierarchy> future : futures) {
+				assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(nThreads - 1, SuperTypeHierarchyCache.getCacheHits());
+	}
+}
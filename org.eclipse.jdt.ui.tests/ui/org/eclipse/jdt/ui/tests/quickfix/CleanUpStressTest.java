@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,12 +16,17 @@
 package org.eclipse.jdt.ui.tests.quickfix;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -30,12 +35,15 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
@@ -44,13 +52,68 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser.BatchStatistics;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
+import org.eclipse.jdt.internal.corext.fix.CleanUpProfiler;
+import org.eclipse.jdt.internal.corext.fix.CleanUpProfiler.Statistics;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring;
+import org.eclipse.jdt.internal.corext.fix.CleanUpRefactoring.UnitStatistics;
 
 import org.eclipse.jdt.ui.JavaElementLabels;
+import org.eclipse.jdt.ui.cleanup.CleanUpContext;
+import org.eclipse.jdt.ui.cleanup.CleanUpOptions;
+import org.eclipse.jdt.ui.cleanup.CleanUpRequirements;
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+import org.eclipse.jdt.ui.cleanup.ICleanUpFix;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.IFusableCleanUp;
+
 public class CleanUpStressTest extends CleanUpTestCase {
 
+	/**
+	 * Hides that a clean up is fusable, so that it visits the AST on its own.
+	 */
+	private static final class UnfusedCleanUp implements ICleanUp {
+
+		private final ICleanUp fCleanUp;
+
+		UnfusedCleanUp(ICleanUp cleanUp) {
+			fCleanUp= cleanUp;
+		}
+
+		@Override
+		public void setOptions(CleanUpOptions options) {
+			fCleanUp.setOptions(options);
+		}
+
+		@Override
+		public String[] getStepDescriptions() {
+			return fCleanUp.getStepDescriptions();
+		}
+
+		@Override
+		public CleanUpRequirements getRequirements() {
+			return fCleanUp.getRequirements();
+		}
+
+		@Override
+		public RefactoringStatus checkPreConditions(IJavaProject project, ICompilationUnit[] compilationUnits, IProgressMonitor monitor) throws CoreException {
+			return fCleanUp.checkPreConditions(project, compilationUnits, monitor);
+		}
+
+		@Override
+		public ICleanUpFix createFix(CleanUpContext context) throws CoreException {
+			return fCleanUp.createFix(context);
+		}
+
+		@Override
+		public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
+			return fCleanUp.checkPostConditions(monitor);
+		}
+	}
+
 	@Rule
     public ProjectTestSetup projectSetup = new ProjectTestSetup();
 
@@ -5247,6 +5310,212 @@ public class CleanUpStressTest extends CleanUpTestCase {
 		List<IJavaElement> cus= new ArrayList<>();
 		addAllCUs(getProject().getChildren(), cus);
 
+		enableAllCleanUps();
+
+		ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
+		performRefactoring(units, null);
+
+
+//		generateTable(units);
+		assertExpectedChanges(units);
+	}
+
+	@Test
+	public void testAllCleanUpsInParallel() throws Exception {
+		CleanUpRefactoring ref= createRefactoring();
+		ref.setParallelism(4);
+		cleanUpAll(ref, getAllCUs());
+	}
+
+	@Test
+	public void testAllCleanUpsStreaming() throws Exception {
+		ICompilationUnit[] units= getAllCUs();
+		CleanUpRefactoring ref= createRefactoring();
+		ref.setMemoryBudget(1024 * 1024);
+		cleanUpAll(ref, units);
+
+		List<BatchStatistics> statistics= ref.getBatchStatistics();
+		assertFalse(statistics.isEmpty());
+		int parsedUnits= 0;
+		for (BatchStatistics batch : statistics) {
+			assertTrue(batch.getUnitCount() > 0);
+			parsedUnits+= batch.getUnitCount();
+		}
+		assertTrue("Each unit is parsed at least once", parsedUnits >= units.length);
+	}
+
+	@Test
+	public void testAllCleanUpsWithEditAwareFixpoint() throws Exception {
+		CleanUpRefactoring ref= createRefactoring();
+		ref.setEditAwareFixpoint(true);
+		cleanUpAll(ref, getAllCUs());
+	}
+
+	@Test
+	public void testAllCleanUpsWithoutEditAwareFixpoint() throws Exception {
+		ICompilationUnit[] units= getAllCUs();
+		CleanUpRefactoring ref= createRefactoring();
+		assertFalse(ref.isEditAwareFixpoint());
+		cleanUpAll(ref, units);
+
+		List<UnitStatistics> statistics= ref.getUnitStatistics();
+		assertEquals(units.length, statistics.size());
+		for (UnitStatistics unit : statistics) {
+			assertTrue(unit.getIterations() > 0);
+			assertTrue("A unit is parsed at most once per iteration", unit.getParseCount() <= unit.getIterations());
+		}
+	}
+
+	@Test
+	public void testEditAwareFixpointParsesLess() throws Exception {
+		ICompilationUnit[] units= getAllCUs();
+		String[] originals= getContents(units);
+
+		CleanUpRefactoring editAware= createRefactoring();
+		editAware.setEditAwareFixpoint(true);
+		cleanUpAll(editAware, units);
+
+		setContents(units, originals);
+
+		CleanUpRefactoring reparsing= createRefactoring();
+		reparsing.setEditAwareFixpoint(false);
+		cleanUpAll(reparsing, units);
+
+		int editAwareParses= getParseCount(editAware);
+		int parses= getParseCount(reparsing);
+		assertTrue("The AST is reused until the first edit: " + editAwareParses + " parses, " + parses + " without", editAwareParses < parses);
+	}
+
+	private static int getParseCount(CleanUpRefactoring refactoring) {
+		int count= 0;
+		for (UnitStatistics unit : refactoring.getUnitStatistics()) {
+			count+= unit.getParseCount();
+		}
+		return count;
+	}
+
+	@Test
+	public void testAllCleanUpsProfiled() throws Exception {
+		ICompilationUnit[] units= getAllCUs();
+		CleanUpProfiler profiler= CleanUpProfiler.getDefault();
+		boolean enabled= profiler.isEnabled();
+		profiler.reset();
+		profiler.setEnabled(true);
+		try {
+			cleanUpAll(createRefactoring(), units);
+
+			List<Statistics> statistics= profiler.getStatistics();
+			assertFalse(statistics.isEmpty());
+			for (Statistics cleanUp : statistics) {
+				assertTrue(cleanUp.getUnitCount() >= units.length);
+				assertEquals(cleanUp.getUnitCount(), cleanUp.getTimeHistogram().getCount());
+				assertTrue(cleanUp.getMaxTime() <= cleanUp.getTotalTime());
+			}
+
+			StringWriter report= new StringWriter();
+			profiler.writeReport(report);
+			assertEquals(statistics.size() + 1, report.toString().split("\n").length);
+		} finally {
+			profiler.setEnabled(enabled);
+			profiler.reset();
+		}
+	}
+
+	@Test
+	public void testFusedCleanUpsAsUnfused() throws Exception {
+		ICompilationUnit[] units= getAllCUs();
+		String[] originals= getContents(units);
+		enableAllCleanUps();
+		enableFusableCleanUps();
+
+		Set<String> fusable= new HashSet<>();
+		for (ICleanUp cleanUp : JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps()) {
+			if (cleanUp instanceof IFusableCleanUp)
+				fusable.add(cleanUp.getClass().getName());
+		}
+
+		CleanUpProfiler profiler= CleanUpProfiler.getDefault();
+		boolean enabled= profiler.isEnabled();
+		profiler.reset();
+		profiler.setEnabled(true);
+		try {
+			performRefactoring(createRefactoring(), units, JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps(), null);
+
+			// only the clean ups visiting the AST together measure the visited nodes
+			Set<String> fused= new HashSet<>();
+			for (Statistics cleanUp : profiler.getStatistics()) {
+				if (cleanUp.getNodeHistogram().getCount() > 0) {
+					fused.add(cleanUp.getCleanUp());
+					assertTrue(cleanUp.getCleanUp(), cleanUp.getNodeHistogram().getCount() <= cleanUp.getUnitCount());
+				} else {
+					assertEquals(cleanUp.getCleanUp(), 0, cleanUp.getTotalNodes());
+				}
+			}
+			assertTrue("Fused clean ups: " + fused, fused.size() >= 2);
+			assertTrue("Fused clean ups: " + fused, fusable.containsAll(fused));
+		} finally {
+			profiler.setEnabled(enabled);
+			profiler.reset();
+		}
+		String[] fusedContents= getContents(units);
+
+		setContents(units, originals);
+		ICleanUp[] unfused= JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps();
+		for (int i= 0; i < unfused.length; i++) {
+			if (unfused[i] instanceof IFusableCleanUp)
+				unfused[i]= new UnfusedCleanUp(unfused[i]);
+		}
+		performRefactoring(createRefactoring(), units, unfused, null);
+
+		for (int i= 0; i < units.length; i++) {
+			assertEquals(getCompilationUnitName(units[i]), fusedContents[i], units[i].getBuffer().getContents());
+		}
+	}
+
+	private ICompilationUnit[] getAllCUs() throws JavaModelException {
+		List<IJavaElement> cus= new ArrayList<>();
+		addAllCUs(getProject().getChildren(), cus);
+		return cus.toArray(new ICompilationUnit[cus.size()]);
+	}
+
+	private static CleanUpRefactoring createRefactoring() {
+		CleanUpRefactoring ref= new CleanUpRefactoring();
+		ref.setUseOptionsFromProfile(true);
+		return ref;
+	}
+
+	/**
+	 * Runs the clean ups enabled by {@link #enableAllCleanUps()} on the units with the given
+	 * refactoring and checks that the units are changed as expected.
+	 */
+	private void cleanUpAll(CleanUpRefactoring ref, ICompilationUnit[] units) throws Exception {
+		enableAllCleanUps();
+		performRefactoring(ref, units, JavaPlugin.getDefault().getCleanUpRegistry().createCleanUps(), null);
+		assertExpectedChanges(units);
+	}
+
+	private static String[] getContents(ICompilationUnit[] units) throws JavaModelException {
+		String[] contents= new String[units.length];
+		for (int i= 0; i < units.length; i++) {
+			contents[i]= units[i].getBuffer().getContents();
+		}
+		return contents;
+	}
+
+	private static void setContents(ICompilationUnit[] units, String[] contents) throws JavaModelException {
+		for (int i= 0; i < units.length; i++) {
+			units[i].getBuffer().setContents(contents[i]);
+			units[i].save(null, true);
+		}
+	}
+
+	private void enableFusableCleanUps() throws CoreException {
+		enable(CleanUpConstants.USE_UNBOXING);
+		enable(CleanUpConstants.STRINGBUILDER);
+		enable(CleanUpConstants.USE_OBJECTS_EQUALS);
+	}
+
+	private void enableAllCleanUps() throws CoreException {
 		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS);
 		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_FIELD_USE_THIS_ALWAYS);
 		enable(CleanUpConstants.MEMBER_ACCESSES_NON_STATIC_METHOD_USE_THIS);
@@ -5299,12 +5568,9 @@ public class CleanUpStressTest extends CleanUpTestCase {
 
 		enable(CleanUpConstants.REMOVE_REDUNDANT_MODIFIERS);
 		enable(CleanUpConstants.REMOVE_REDUNDANT_SEMICOLONS);
+	}
 
-		ICompilationUnit[] units= cus.toArray(new ICompilationUnit[cus.size()]);
-		performRefactoring(units, null);
-
-
-//		generateTable(units);
+	private void assertExpectedChanges(ICompilationUnit[] units) throws JavaModelException {
 		for (ICompilationUnit cu : units) {
 			String previewContent= getNormalizedContent(new Document(cu.getBuffer().getContents()));
 			String compilationUnitName= getCompilationUnitName(cu);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2016 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,19 +13,30 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.corext.dom;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IBinding;
 
 import org.eclipse.jdt.internal.ui.util.Progress;
@@ -34,11 +45,123 @@ import org.eclipse.jdt.internal.ui.util.Progress;
  * Creates AST from a set of compilation units. Uses the
  * batch parser. Splits the set of compilation units in subsets
  * such that it is unlikely that a out of memory exception will occur.
+ * <p>
+ * If a memory budget is set, the parser works in streaming mode: the
+ * batch size is adjusted after every batch from the observed heap growth
+ * and heap pressure, and statistics are recorded for each batch.
+ * </p>
  *
  * @since 3.4
  */
 public class ASTBatchParser {
 
+	/**
+	 * Statistics of one batch parsed in streaming mode.
+	 *
+	 * @see ASTBatchParser#setMemoryBudget(long)
+	 */
+	public static final class BatchStatistics {
+
+		private final int fUnitCount;
+		private final long fElapsedTime;
+		private final long fPeakHeapGrowth;
+		private final long fHeapUsedAfter;
+
+		private BatchStatistics(int unitCount, long elapsedTime, long peakHeapGrowth, long heapUsedAfter) {
+			fUnitCount= unitCount;
+			fElapsedTime= elapsedTime;
+			fPeakHeapGrowth= peakHeapGrowth;
+			fHeapUsedAfter= heapUsedAfter;
+		}
+
+		/**
+		 * @return the number of compilation units in the batch
+		 */
+		public int getUnitCount() {
+			return fUnitCount;
+		}
+
+		/**
+		 * @return the wall time in nanoseconds used to parse the batch, including the time spent
+		 *         in the requestor
+		 */
+		public long getElapsedTime() {
+			return fElapsedTime;
+		}
+
+		/**
+		 * @return the number of bytes the heap grew at most while the batch was parsed, sampled
+		 *         whenever an AST is accepted, an estimate of the memory allocated for the batch
+		 */
+		public long getPeakHeapGrowth() {
+			return fPeakHeapGrowth;
+		}
+
+		/**
+		 * @return the number of bytes used in the heap after the batch has been parsed
+		 */
+		public long getHeapUsedAfter() {
+			return fHeapUsedAfter;
+		}
+
+		@Override
+		public String toString() {
+			return fUnitCount + " units, " + (fElapsedTime / 1000000) + " ms, peak heap growth " + (fPeakHeapGrowth >> 10) + " KiB, heap used " + (fHeapUsedAfter >> 10) + " KiB"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
+	/**
+	 * Progress monitor handed to the workers of
+	 * {@link ASTBatchParser#createASTs(ICompilationUnit[], String[], ASTRequestor, int, IProgressMonitor)}.
+	 * Only propagates cancelation of the caller's monitor.
+	 */
+	private static final class WorkerProgressMonitor extends NullProgressMonitor {
+
+		private volatile boolean fCanceled;
+
+		@Override
+		public boolean isCanceled() {
+			return fCanceled;
+		}
+
+		@Override
+		public void setCanceled(boolean canceled) {
+			fCanceled= canceled;
+		}
+	}
+
+	/**
+	 * Requestor that samples the heap usage whenever an AST is accepted, to find the peak heap
+	 * usage of a batch without resetting the JVM-wide peak usage of the memory pools.
+	 */
+	private static final class HeapSamplingRequestor extends ASTRequestor {
+
+		private final ASTRequestor fRequestor;
+
+		private long fPeakHeapUsage;
+
+		HeapSamplingRequestor(ASTRequestor requestor, long heapUsage) {
+			fRequestor= requestor;
+			fPeakHeapUsage= heapUsage;
+		}
+
+		@Override
+		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+			// the AST and its bindings are alive now, the heap is close to its peak for this unit
+			fPeakHeapUsage= Math.max(fPeakHeapUsage, getHeapUsage().getUsed());
+			fRequestor.acceptAST(source, ast);
+		}
+
+		@Override
+		public void acceptBinding(String bindingKey, IBinding binding) {
+			fRequestor.acceptBinding(bindingKey, binding);
+		}
+
+		long getPeakHeapUsage() {
+			return Math.max(fPeakHeapUsage, getHeapUsage().getUsed());
+		}
+	}
+
 	private static final int MAX_AT_ONCE;
 	static {
 		long maxMemory= Runtime.getRuntime().maxMemory() / (1 << 20); // in MiB
@@ -50,6 +173,61 @@ public class ASTBatchParser {
 		else                        MAX_AT_ONCE=  25;
 	}
 
+	/**
+	 * Batch size used for the first batch in streaming mode.
+	 */
+	private static final int INITIAL_STREAMING_BATCH_SIZE= Math.min(MAX_AT_ONCE, 25);
+
+	/**
+	 * Lower bound of the estimated heap growth per compilation unit, protects the estimate against
+	 * garbage collections that happen during a batch.
+	 */
+	private static final long MIN_BYTES_PER_UNIT= 64 * 1024;
+
+	/**
+	 * Fraction of the maximal heap size above which the batch size is reduced in streaming mode.
+	 */
+	private static final double HIGH_HEAP_PRESSURE= 0.75;
+
+	private long fMemoryBudget;
+	private int fBatchSize= INITIAL_STREAMING_BATCH_SIZE;
+	private final List<BatchStatistics> fBatchStatistics= new ArrayList<>();
+
+	/**
+	 * Enables the streaming mode. In streaming mode the compilation units are parsed in batches
+	 * whose size is adjusted such that the heap growth of a batch stays within the given budget.
+	 * The batch size never exceeds the size used without a budget.
+	 *
+	 * @param memoryBudget the number of bytes a batch may allocate, or 0 to use fixed batches
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		fMemoryBudget= Math.max(0, memoryBudget);
+	}
+
+	/**
+	 * Sets the size of the next batch in streaming mode, for example the size determined by a
+	 * previous parser.
+	 *
+	 * @param batchSize the number of compilation units of the next batch
+	 */
+	public void setBatchSize(int batchSize) {
+		fBatchSize= Math.max(1, Math.min(MAX_AT_ONCE, batchSize));
+	}
+
+	/**
+	 * @return the size of the next batch in streaming mode
+	 */
+	public int getBatchSize() {
+		return fBatchSize;
+	}
+
+	/**
+	 * @return the statistics of the batches parsed in streaming mode so far
+	 */
+	public List<BatchStatistics> getBatchStatistics() {
+		return fBatchStatistics;
+	}
+
 	/**
 	 * Creates ASTs for each compilation unit in <code>units</code>.
 	 * <p>
@@ -79,7 +257,9 @@ public class ASTBatchParser {
 		try {
 
 			for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
-				if (units.length <= MAX_AT_ONCE) {
+				if (fMemoryBudget > 0) {
+					createASTsStreaming(units, bindingKeys, requestor, monitor);
+				} else if (units.length <= MAX_AT_ONCE) {
 					createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, Progress.subMonitor(monitor, units.length));
 				} else {
 					List<ICompilationUnit> list= Arrays.asList(units);
@@ -100,6 +280,156 @@ public class ASTBatchParser {
 		}
 	}
 
+	private void createASTsStreaming(ICompilationUnit[] units, String[] bindingKeys, ASTRequestor requestor, IProgressMonitor monitor) {
+		int cursor= 0;
+		while (cursor < units.length) {
+			if (monitor.isCanceled())
+				throw new OperationCanceledException();
+
+			int end= Math.min(cursor + fBatchSize, units.length);
+			ICompilationUnit[] batch= Arrays.copyOfRange(units, cursor, end);
+
+			long heapBefore= getHeapUsage().getUsed();
+			HeapSamplingRequestor samplingRequestor= new HeapSamplingRequestor(requestor, heapBefore);
+			long start= System.nanoTime();
+			createParser(units[0].getJavaProject()).createASTs(batch, bindingKeys, samplingRequestor, Progress.subMonitor(monitor, batch.length));
+			long elapsed= System.nanoTime() - start;
+
+			BatchStatistics statistics= new BatchStatistics(batch.length, elapsed, Math.max(0, samplingRequestor.getPeakHeapUsage() - heapBefore), getHeapUsage().getUsed());
+			fBatchStatistics.add(statistics);
+			fBatchSize= computeNextBatchSize(statistics);
+			cursor= end;
+		}
+	}
+
+	private int computeNextBatchSize(BatchStatistics statistics) {
+		long bytesPerUnit= Math.max(MIN_BYTES_PER_UNIT, statistics.getPeakHeapGrowth() / statistics.getUnitCount());
+		long size= fMemoryBudget / bytesPerUnit;
+
+		// grow gradually, a single cheap batch is not representative
+		size= Math.min(size, 2L * fBatchSize);
+
+		MemoryUsage heap= getHeapUsage();
+		if (heap.getMax() > 0 && heap.getUsed() > heap.getMax() * HIGH_HEAP_PRESSURE) {
+			size= Math.min(size, fBatchSize / 2);
+		}
+		return (int) Math.max(1, Math.min(MAX_AT_ONCE, size));
+	}
+
+	private static MemoryUsage getHeapUsage() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+	}
+
+	/**
+	 * Creates ASTs for each compilation unit in <code>units</code> using up to
+	 * <code>parallelism</code> threads.
+	 * <p>
+	 * The compilation units are split into per-project partitions which are parsed by independent
+	 * parsers on a bounded worker pool. The partitions are sized such that no more units are
+	 * processed at the same time than by a sequential batch. <code>ASTRequestor.acceptAST</code> is called in no
+	 * particular order and from several threads at the same time, the requestor must therefore be
+	 * thread-safe. The calls for the units of one partition are made from the same thread while the
+	 * binding environment of that partition is alive.
+	 * </p>
+	 * <p>
+	 * Runtime exceptions thrown by the requestor cancel the remaining partitions and are rethrown
+	 * in the calling thread. The progress monitor is only accessed from the calling thread, while
+	 * holding the monitor's lock, so a requestor can share it by synchronizing on it.
+	 * </p>
+	 *
+	 * @param compilationUnits the compilation units to create ASTs for
+	 * @param bindingKeys the binding keys to create bindings for
+	 * @param requestor the thread-safe AST requestor that collects abstract syntax trees and bindings
+	 * @param parallelism the maximal number of partitions parsed at the same time
+	 * @param monitor the progress monitor used to report progress and request cancelation,
+	 *   or <code>null</code> if none
+	 * @see #createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)
+	 */
+	public final void createASTs(ICompilationUnit[] compilationUnits, String[] bindingKeys, ASTRequestor requestor, int parallelism, IProgressMonitor monitor) {
+		if (parallelism <= 1 || compilationUnits.length <= 1) {
+			createASTs(compilationUnits, bindingKeys, requestor, monitor);
+			return;
+		}
+
+		if (monitor == null)
+			monitor= new NullProgressMonitor();
+
+		List<ICompilationUnit[]> partitions= new ArrayList<>();
+		for (ICompilationUnit[] units : splitByProject(compilationUnits)) {
+			// several partitions per project so that a single large project keeps all workers busy,
+			// but no more units alive at once than in a sequential run
+			int partitionSize= Math.max(1, Math.min(MAX_AT_ONCE / parallelism, (units.length + parallelism - 1) / parallelism));
+			for (int cursor= 0; cursor < units.length; cursor+= partitionSize) {
+				partitions.add(Arrays.copyOfRange(units, cursor, Math.min(cursor + partitionSize, units.length)));
+			}
+		}
+
+		synchronized (monitor) {
+			monitor.beginTask("", compilationUnits.length); //$NON-NLS-1$
+		}
+		WorkerProgressMonitor workerMonitor= new WorkerProgressMonitor();
+		ExecutorService executor= Executors.newFixedThreadPool(Math.min(parallelism, partitions.size()));
+		try {
+			CompletionService<ICompilationUnit[]> completionService= new ExecutorCompletionService<>(executor);
+			for (ICompilationUnit[] units : partitions) {
+				completionService.submit(() -> {
+					if (!workerMonitor.isCanceled()) {
+						createParser(units[0].getJavaProject()).createASTs(units, bindingKeys, requestor, workerMonitor);
+					}
+					return units;
+				});
+			}
+
+			int pending= partitions.size();
+			while (pending > 0) {
+				Future<ICompilationUnit[]> done= completionService.poll(100, TimeUnit.MILLISECONDS);
+				synchronized (monitor) {
+					if (monitor.isCanceled()) {
+						workerMonitor.setCanceled(true);
+						throw new OperationCanceledException();
+					}
+					if (done != null) {
+						monitor.worked(done.get().length);
+						pending--;
+					}
+				}
+			}
+			if (workerMonitor.isCanceled())
+				throw new OperationCanceledException();
+		} catch (InterruptedException e) {
+			workerMonitor.setCanceled(true);
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			workerMonitor.setCanceled(true);
+			Throwable cause= e.getCause();
+			if (cause instanceof RuntimeException runtimeException)
+				throw runtimeException;
+			if (cause instanceof Error error)
+				throw error;
+			throw new IllegalStateException(cause);
+		} finally {
+			executor.shutdownNow();
+			awaitTermination(executor);
+			synchronized (monitor) {
+				monitor.done();
+			}
+		}
+	}
+
+	private static void awaitTermination(ExecutorService executor) {
+		boolean interrupted= false;
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				interrupted= true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
 	/**
 	 * Creates a new parser which can be used to create ASTs
 	 * for compilation units in <code>project</code>
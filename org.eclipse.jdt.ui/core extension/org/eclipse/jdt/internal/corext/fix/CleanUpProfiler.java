@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.fix;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.ui.cleanup.ICleanUp;
+
+/**
+ * Records the cost of each clean up per compilation unit: the wall time and the bytes allocated to
+ * create its fix and change, and the number of AST nodes it visited. The nodes are only known for
+ * clean ups that visit the AST together with others, the traversal of the other clean ups is not
+ * observed. The samples are aggregated
+ * per clean up class into totals and histograms, which can be queried with
+ * {@link #getStatistics()} or exported with {@link #writeReport(Writer)}.
+ * <p>
+ * Profiling is disabled by default and can be enabled with {@link #setEnabled(boolean)} or the
+ * system property <code>org.eclipse.jdt.ui.cleanUpProfiling</code>. The wall time is always
+ * measured, it is needed to warn about slow save actions.
+ * </p>
+ */
+public final class CleanUpProfiler {
+
+	/**
+	 * A histogram with buckets of exponentially growing size: bucket <code>i</code> counts the
+	 * values from <code>2<sup>i-1</sup></code> to <code>2<sup>i</sup> - 1</code>, bucket 0 the
+	 * value 0.
+	 */
+	public static final class Histogram {
+
+		private static final int BUCKET_COUNT= 64;
+
+		private final long[] fCounts;
+		private long fCount;
+
+		private Histogram() {
+			fCounts= new long[BUCKET_COUNT];
+		}
+
+		private Histogram(Histogram other) {
+			fCounts= other.fCounts.clone();
+			fCount= other.fCount;
+		}
+
+		private void add(long value) {
+			fCounts[value <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value)]++;
+			fCount++;
+		}
+
+		/**
+		 * @return the number of values
+		 */
+		public long getCount() {
+			return fCount;
+		}
+
+		/**
+		 * @return the number of buckets
+		 */
+		public int getBucketCount() {
+			return BUCKET_COUNT;
+		}
+
+		/**
+		 * @param bucket the bucket index
+		 * @return the number of values in the bucket
+		 */
+		public long getCount(int bucket) {
+			return fCounts[bucket];
+		}
+
+		/**
+		 * @param bucket the bucket index
+		 * @return the largest value counted in the bucket
+		 */
+		public static long getUpperBound(int bucket) {
+			return bucket == 0 ? 0 : (1L << bucket) - 1;
+		}
+
+		/**
+		 * @param percentile the percentile, between 0 and 1
+		 * @return an upper bound of the value below which the given fraction of values falls, 0
+		 *         if there are no values
+		 */
+		public long getPercentile(double percentile) {
+			long rank= (long) Math.ceil(percentile * fCount);
+			long count= 0;
+			for (int i= 0; i < BUCKET_COUNT; i++) {
+				count+= fCounts[i];
+				if (count >= rank && count > 0)
+					return getUpperBound(i);
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * The aggregated samples of a clean up.
+	 */
+	public static final class Statistics {
+
+		private final String fCleanUp;
+		private int fUnitCount;
+		private long fTotalTime;
+		private long fMaxTime;
+		private long fTotalAllocation;
+		private long fTotalNodes;
+		private final Histogram fTimeHistogram;
+		private final Histogram fAllocationHistogram;
+		private final Histogram fNodeHistogram;
+
+		private Statistics(String cleanUp) {
+			fCleanUp= cleanUp;
+			fTimeHistogram= new Histogram();
+			fAllocationHistogram= new Histogram();
+			fNodeHistogram= new Histogram();
+		}
+
+		private Statistics(Statistics other) {
+			fCleanUp= other.fCleanUp;
+			fUnitCount= other.fUnitCount;
+			fTotalTime= other.fTotalTime;
+			fMaxTime= other.fMaxTime;
+			fTotalAllocation= other.fTotalAllocation;
+			fTotalNodes= other.fTotalNodes;
+			fTimeHistogram= new Histogram(other.fTimeHistogram);
+			fAllocationHistogram= new Histogram(other.fAllocationHistogram);
+			fNodeHistogram= new Histogram(other.fNodeHistogram);
+		}
+
+		private void add(Sample sample) {
+			fUnitCount++;
+			fTotalTime+= sample.fTime;
+			fMaxTime= Math.max(fMaxTime, sample.fTime);
+			fTimeHistogram.add(sample.fTime);
+			if (sample.fAllocation >= 0) {
+				fTotalAllocation+= sample.fAllocation;
+				fAllocationHistogram.add(sample.fAllocation);
+			}
+			if (sample.fNodes >= 0) {
+				fTotalNodes+= sample.fNodes;
+				fNodeHistogram.add(sample.fNodes);
+			}
+		}
+
+		/**
+		 * @return the fully qualified class name of the clean up
+		 */
+		public String getCleanUp() {
+			return fCleanUp;
+		}
+
+		/**
+		 * @return the number of compilation units the clean up has been applied to
+		 */
+		public int getUnitCount() {
+			return fUnitCount;
+		}
+
+		/**
+		 * @return the wall time in nanoseconds spent in the clean up
+		 */
+		public long getTotalTime() {
+			return fTotalTime;
+		}
+
+		/**
+		 * @return the longest wall time in nanoseconds the clean up spent on a unit
+		 */
+		public long getMaxTime() {
+			return fMaxTime;
+		}
+
+		/**
+		 * @return the number of bytes allocated by the clean up, 0 if the VM does not support
+		 *         measuring allocations
+		 */
+		public long getTotalAllocation() {
+			return fTotalAllocation;
+		}
+
+		/**
+		 * @return the number of AST nodes visited by the clean up in the units where it has been
+		 *         measured, see {@link #getNodeHistogram()}
+		 */
+		public long getTotalNodes() {
+			return fTotalNodes;
+		}
+
+		/**
+		 * @return the wall time per unit in nanoseconds
+		 */
+		public Histogram getTimeHistogram() {
+			return fTimeHistogram;
+		}
+
+		/**
+		 * @return the bytes allocated per unit
+		 */
+		public Histogram getAllocationHistogram() {
+			return fAllocationHistogram;
+		}
+
+		/**
+		 * @return the AST nodes visited per unit, only counting the units where the clean up has
+		 *         visited the AST together with other clean ups
+		 */
+		public Histogram getNodeHistogram() {
+			return fNodeHistogram;
+		}
+	}
+
+	/**
+	 * The cost of a clean up for one compilation unit.
+	 */
+	static final class Sample {
+
+		long fTime;
+		long fAllocation;
+		long fNodes= -1;
+
+		private long fStartTime;
+		private long fStartAllocation;
+
+		/**
+		 * Starts to measure the cost of the clean up.
+		 *
+		 * @param allocation <code>true</code> to measure the allocated bytes as well
+		 */
+		void start(boolean allocation) {
+			fStartAllocation= allocation ? getAllocatedBytes() : -1;
+			fStartTime= System.nanoTime();
+		}
+
+		/**
+		 * Adds the cost since the last call to {@link #start(boolean)}.
+		 */
+		void stop() {
+			fTime+= System.nanoTime() - fStartTime;
+			addAllocation(fStartAllocation < 0 ? -1 : getAllocatedBytes() - fStartAllocation);
+		}
+
+		void addAllocation(long allocation) {
+			fAllocation= fAllocation < 0 || allocation < 0 ? -1 : fAllocation + allocation;
+		}
+	}
+
+	private static final boolean DEFAULT_ENABLED= Boolean.getBoolean("org.eclipse.jdt.ui.cleanUpProfiling"); //$NON-NLS-1$
+
+	private static final CleanUpProfiler fgDefault= new CleanUpProfiler();
+
+	private static final ThreadMXBean fgThreadBean;
+	private static final Method fgGetAllocatedBytes;
+
+	static {
+		ThreadMXBean threadBean= null;
+		Method getAllocatedBytes= null;
+		try {
+			// com.sun.management is not visible to bundles, look the extension up reflectively
+			Class<?> extension= Class.forName("com.sun.management.ThreadMXBean", false, ClassLoader.getSystemClassLoader()); //$NON-NLS-1$
+			threadBean= ManagementFactory.getThreadMXBean();
+			if (extension.isInstance(threadBean) && Boolean.TRUE.equals(extension.getMethod("isThreadAllocatedMemoryEnabled").invoke(threadBean))) { //$NON-NLS-1$
+				getAllocatedBytes= extension.getMethod("getCurrentThreadAllocatedBytes"); //$NON-NLS-1$
+			}
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			// allocations are not measured
+		}
+		fgThreadBean= threadBean;
+		fgGetAllocatedBytes= getAllocatedBytes;
+	}
+
+	private volatile boolean fEnabled;
+
+	private final Map<String, Statistics> fStatistics;
+
+	private CleanUpProfiler() {
+		fEnabled= DEFAULT_ENABLED;
+		fStatistics= new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @return the profiler used by the clean up refactoring and the save actions
+	 */
+	public static CleanUpProfiler getDefault() {
+		return fgDefault;
+	}
+
+	public boolean isEnabled() {
+		return fEnabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		fEnabled= enabled;
+	}
+
+	/**
+	 * Discards all recorded samples.
+	 */
+	public void reset() {
+		fStatistics.clear();
+	}
+
+	void record(ICleanUp cleanUp, Sample sample) {
+		Statistics statistics= fStatistics.computeIfAbsent(cleanUp.getClass().getName(), Statistics::new);
+		synchronized (statistics) {
+			statistics.add(sample);
+		}
+	}
+
+	/**
+	 * @return a snapshot of the statistics of all profiled clean ups, the most expensive first
+	 */
+	public List<Statistics> getStatistics() {
+		List<Statistics> result= new ArrayList<>(fStatistics.size());
+		for (Statistics statistics : fStatistics.values()) {
+			synchronized (statistics) {
+				result.add(new Statistics(statistics));
+			}
+		}
+		result.sort(Comparator.comparingLong(Statistics::getTotalTime).reversed());
+		return result;
+	}
+
+	/**
+	 * Writes the statistics as comma separated values, one line per clean up with a header line.
+	 * Times are in milliseconds, percentiles are upper bounds. The node columns are empty for clean
+	 * ups whose visited nodes have not been measured.
+	 *
+	 * @param writer the writer to write to
+	 * @throws IOException if writing fails
+	 */
+	public void writeReport(Writer writer) throws IOException {
+		writer.write("clean up,units,total ms,mean ms,p50 ms,p90 ms,p99 ms,max ms,allocated bytes,p90 allocated bytes,nodes,p90 nodes\n"); //$NON-NLS-1$
+		for (Statistics statistics : getStatistics()) {
+			Histogram time= statistics.getTimeHistogram();
+			StringBuilder line= new StringBuilder();
+			line.append(statistics.getCleanUp()).append(',');
+			line.append(statistics.getUnitCount()).append(',');
+			line.append(toMillis(statistics.getTotalTime())).append(',');
+			line.append(toMillis(statistics.getTotalTime() / Math.max(1, statistics.getUnitCount()))).append(',');
+			line.append(toMillis(time.getPercentile(0.5))).append(',');
+			line.append(toMillis(time.getPercentile(0.9))).append(',');
+			line.append(toMillis(time.getPercentile(0.99))).append(',');
+			line.append(toMillis(statistics.getMaxTime())).append(',');
+			line.append(statistics.getTotalAllocation()).append(',');
+			line.append(statistics.getAllocationHistogram().getPercentile(0.9)).append(',');
+			if (statistics.getNodeHistogram().getCount() > 0) {
+				line.append(statistics.getTotalNodes()).append(',');
+				line.append(statistics.getNodeHistogram().getPercentile(0.9));
+			} else {
+				line.append(',');
+			}
+			line.append('\n');
+			writer.write(line.toString());
+		}
+		writer.flush();
+	}
+
+	private static String toMillis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", Double.valueOf(nanos / 1e6)); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the number of bytes allocated by the current thread so far, or -1 if the VM does
+	 *         not support measuring allocations
+	 */
+	static long getAllocatedBytes() {
+		if (fgGetAllocatedBytes == null)
+			return -1;
+		try {
+			return ((Long) fgGetAllocatedBytes.invoke(fgThreadBean)).longValue();
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return -1;
+		}
+	}
+}
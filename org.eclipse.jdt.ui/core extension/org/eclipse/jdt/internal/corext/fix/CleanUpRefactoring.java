@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
 package org.eclipse.jdt.internal.corext.fix;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -69,9 +72,12 @@ import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.common.FusedASTVisitor;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.ASTBatchParser;
+import org.eclipse.jdt.internal.corext.dom.ASTBatchParser.BatchStatistics;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.fix.CleanUpProfiler.Sample;
 import org.eclipse.jdt.internal.corext.refactoring.Checks;
 import org.eclipse.jdt.internal.corext.refactoring.changes.DynamicValidationStateChange;
 import org.eclipse.jdt.internal.corext.refactoring.changes.MultiStateCompilationUnitChange;
@@ -89,6 +95,8 @@ import org.eclipse.jdt.ui.text.java.IProblemLocation;
 
 import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.fix.IFusableCleanUp;
+import org.eclipse.jdt.internal.ui.fix.IFusableCleanUp.FixCollector;
 import org.eclipse.jdt.internal.ui.fix.IMultiFix.MultiFixContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
 import org.eclipse.jdt.internal.ui.refactoring.IScheduledRefactoring;
@@ -170,6 +178,55 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Statistics about the fix-point iterations needed to clean up a compilation unit.
+	 */
+	public static final class UnitStatistics {
+
+		private final ICompilationUnit fCompilationUnit;
+		private int fIterations;
+		private int fParseCount;
+		private long fParseTime;
+
+		private UnitStatistics(ICompilationUnit compilationUnit) {
+			fCompilationUnit= compilationUnit;
+		}
+
+		/**
+		 * @return the compilation unit
+		 */
+		public ICompilationUnit getCompilationUnit() {
+			return fCompilationUnit;
+		}
+
+		/**
+		 * @return the number of times clean ups have been applied to the unit
+		 */
+		public int getIterations() {
+			return fIterations;
+		}
+
+		/**
+		 * @return the number of times the unit has been parsed
+		 */
+		public int getParseCount() {
+			return fParseCount;
+		}
+
+		/**
+		 * @return the wall time in nanoseconds spent to parse the unit, measured between two ASTs
+		 *         delivered by the batch parser
+		 */
+		public long getParseTime() {
+			return fParseTime;
+		}
+
+		@Override
+		public String toString() {
+			return fCompilationUnit.getElementName() + ": " + fIterations + " iterations, " + fParseCount + " parses, " + (fParseTime / 1000000) + " ms"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+	}
+
 	private static class FixCalculationException extends RuntimeException {
 
 		private static final long serialVersionUID= 3807273310144726165L;
@@ -246,17 +303,36 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		}
 	}
 
+	/**
+	 * Computes the clean up solutions for the ASTs it is handed. Can be used from several threads at
+	 * the same time, each compilation unit being accepted by at most one thread.
+	 */
 	private static class CleanUpASTRequestor extends ASTRequestor {
 
-		private final List<ParseListElement> fUndoneElements;
+		private final List<ParseListElement> fParseList;
+		private final Hashtable<ICompilationUnit, ParseListElement> fUndoneElements;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ParseListElement> fCompilationUnitParseElementMap;
+		private final Hashtable<ICompilationUnit, UnitStatistics> fUnitStatistics;
 		private final CleanUpRefactoringProgressMonitor fMonitor;
+		private final boolean fExclusiveCleanUps;
+		private final boolean fEditAware;
+		/**
+		 * The time the last AST has been handled by the current thread, the parser works on the next
+		 * one from then on.
+		 */
+		private final ThreadLocal<long[]> fLastAccepted;
 
-		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, CleanUpRefactoringProgressMonitor monitor) {
+		public CleanUpASTRequestor(List<ParseListElement> parseList, Hashtable<ICompilationUnit, List<CleanUpChange>> solutions, Hashtable<ICompilationUnit, UnitStatistics> unitStatistics, CleanUpRefactoringProgressMonitor monitor, boolean exclusiveCleanUps, boolean editAware) {
+			fParseList= parseList;
 			fSolutions= solutions;
+			fUnitStatistics= unitStatistics;
 			fMonitor= monitor;
-			fUndoneElements= new ArrayList<>();
+			fExclusiveCleanUps= exclusiveCleanUps;
+			fEditAware= editAware;
+			long start= System.nanoTime();
+			fLastAccepted= ThreadLocal.withInitial(() -> new long[] { start });
+			fUndoneElements= new Hashtable<>();
 			fCompilationUnitParseElementMap= new Hashtable<>(parseList.size());
 			for (ParseListElement element : parseList) {
 				fCompilationUnitParseElementMap.put(element.getTarget().getCompilationUnit(), element);
@@ -266,12 +342,21 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		@Override
 		public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
 
-			fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+			synchronized (fMonitor) {
+				fMonitor.subTask(fMonitor.getSubTaskMessage(source));
+			}
 
 			ICompilationUnit primary= (ICompilationUnit)source.getPrimaryElement();
 			ParseListElement element= fCompilationUnitParseElementMap.get(primary);
 			CleanUpTarget target= element.getTarget();
 
+			long[] lastAccepted= fLastAccepted.get();
+			if (ast != null) {
+				UnitStatistics statistics= fUnitStatistics.get(primary);
+				statistics.fParseCount++;
+				statistics.fParseTime+= System.nanoTime() - lastAccepted[0];
+			}
+
 			CleanUpContext context;
 			if (target instanceof MultiFixTarget) {
 				context= new MultiFixContext(source, ast, ((MultiFixTarget)target).getProblems());
@@ -280,27 +365,40 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 			ICleanUp[] rejectedCleanUps= calculateSolutions(context, element.getCleanUps());
 
-			if (rejectedCleanUps.length > 0) {
-				fUndoneElements.add(new ParseListElement(target, rejectedCleanUps));
-				fMonitor.reset();
-			} else {
-				fMonitor.flush();
+			synchronized (fMonitor) {
+				if (rejectedCleanUps.length > 0) {
+					fUndoneElements.put(primary, new ParseListElement(target, rejectedCleanUps));
+					fMonitor.reset();
+				} else {
+					fMonitor.flush();
+				}
 			}
+			lastAccepted[0]= System.nanoTime();
 		}
 
 		public void acceptSource(ICompilationUnit source) {
 			acceptAST(source, null);
 		}
 
+		/**
+		 * @return the elements with rejected clean ups, in the order of the parse list
+		 */
 		public List<ParseListElement> getUndoneElements() {
-			return fUndoneElements;
+			List<ParseListElement> result= new ArrayList<>(fUndoneElements.size());
+			for (ParseListElement element : fParseList) {
+				ParseListElement undone= fUndoneElements.get(element.getTarget().getCompilationUnit());
+				if (undone != null) {
+					result.add(undone);
+				}
+			}
+			return result;
 		}
 
 		private ICleanUp[] calculateSolutions(CleanUpContext context, ICleanUp[] cleanUps) {
 			List<ICleanUp>result= new ArrayList<>();
 			CleanUpChange solution;
 			try {
-				solution= calculateChange(context, cleanUps, result, null);
+				solution= calculateChange(context, cleanUps, result, null, fExclusiveCleanUps, fEditAware);
 			} catch (CoreException e) {
 				throw new FixCalculationException(e);
 			}
@@ -315,32 +413,46 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		private void integrateSolution(CleanUpChange solution, ICompilationUnit source) {
 			ICompilationUnit primary= source.getPrimary();
 
-			List<CleanUpChange> changes= fSolutions.get(primary);
-			if (changes == null) {
-				changes= new ArrayList<>();
-				fSolutions.put(primary, changes);
+			synchronized (fSolutions) {
+				List<CleanUpChange> changes= fSolutions.get(primary);
+				if (changes == null) {
+					changes= new ArrayList<>();
+					fSolutions.put(primary, changes);
+				}
+				changes.add(solution);
 			}
-			changes.add(solution);
 		}
 	}
 
 	private class CleanUpFixpointIterator {
 
 		private List<ParseListElement> fParseList;
+		private final CleanUpTarget[] fTargets;
 		private final Hashtable<ICompilationUnit, List<CleanUpChange>> fSolutions;
 		private final Hashtable<ICompilationUnit, ICompilationUnit> fWorkingCopies; // map from primary to working copy
+		private final Hashtable<ICompilationUnit, UnitStatistics> fStatistics;
 		private final Map<String, String> fCleanUpOptions;
 		private final Map<String, String> fSeparateOptions;
 		private final int fSize;
 		private int fIndex;
 
 		public CleanUpFixpointIterator(CleanUpTarget[] targets, ICleanUp[] cleanUps) {
+			fTargets= targets;
 			fSolutions= new Hashtable<>(targets.length);
 			fWorkingCopies= new Hashtable<>();
 
+			fStatistics= new Hashtable<>(targets.length);
+
 			fParseList= new ArrayList<>(targets.length);
 			for (CleanUpTarget target : targets) {
 				fParseList.add(new ParseListElement(target, cleanUps));
+
+				ICompilationUnit unit= target.getCompilationUnit();
+				if (!fStatistics.containsKey(unit)) {
+					UnitStatistics statistics= new UnitStatistics(unit);
+					fStatistics.put(unit, statistics);
+					fUnitStatistics.add(statistics);
+				}
 			}
 
 			fCleanUpOptions= new Hashtable<>();
@@ -369,6 +481,7 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			try {
 				for (ParseListElement element : fParseList) {
 					ICompilationUnit compilationUnit= element.getTarget().getCompilationUnit();
+					fStatistics.get(compilationUnit).fIterations++;
 					if (fSolutions.containsKey(compilationUnit)) {
 						if (fWorkingCopies.containsKey(compilationUnit)) {
 							compilationUnit= fWorkingCopies.get(compilationUnit);
@@ -387,7 +500,8 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 				}
 
 				CleanUpRefactoringProgressMonitor cuMonitor= new CleanUpRefactoringProgressMonitor(monitor, parseList.size() + sourceList.size(), fSize, fIndex);
-				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, cuMonitor);
+				boolean parallel= fParallelism > 1 && parseList.size() > 1;
+				CleanUpASTRequestor requestor= new CleanUpASTRequestor(fParseList, fSolutions, fStatistics, cuMonitor, parallel, fEditAwareFixpoint);
 				if (parseList.size() > 0) {
 					ASTBatchParser parser= new ASTBatchParser() {
 						@Override
@@ -405,11 +519,22 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 							return result;
 						}
 					};
+					if (fMemoryBudget > 0) {
+						parser.setMemoryBudget(fMemoryBudget);
+						if (fStreamingBatchSize > 0)
+							parser.setBatchSize(fStreamingBatchSize);
+					}
 					try {
 						ICompilationUnit[] units= parseList.toArray(new ICompilationUnit[parseList.size()]);
-						parser.createASTs(units, new String[0], requestor, cuMonitor);
+						if (parallel) {
+							parser.createASTs(units, new String[0], requestor, fParallelism, cuMonitor);
+						} else {
+							parser.createASTs(units, new String[0], requestor, cuMonitor);
+						}
 					} catch (FixCalculationException e) {
 						throw e.getException();
+					} finally {
+						addBatchStatistics(parser);
 					}
 				}
 
@@ -441,7 +566,26 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 			}
 		}
 
+		private void addBatchStatistics(ASTBatchParser parser) {
+			List<BatchStatistics> statistics= parser.getBatchStatistics();
+			if (statistics.isEmpty())
+				return;
+
+			fBatchStatistics.addAll(statistics);
+			fStreamingBatchSize= parser.getBatchSize();
+			if (JavaPlugin.DEBUG_CLEAN_UP) {
+				for (BatchStatistics batch : statistics) {
+					System.out.println("CleanUpRefactoring batch: " + batch); //$NON-NLS-1$
+				}
+			}
+		}
+
 		public void dispose() {
+			if (JavaPlugin.DEBUG_CLEAN_UP) {
+				for (CleanUpTarget target : fTargets) {
+					System.out.println("CleanUpRefactoring unit: " + fStatistics.get(target.getCompilationUnit())); //$NON-NLS-1$
+				}
+			}
 			for (ICompilationUnit cu : fWorkingCopies.values()) {
 				try {
 					cu.discardWorkingCopy();
@@ -465,9 +609,13 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 			Change[] result= new Change[fSolutions.size()];
 			int i=0;
-			for (Entry<ICompilationUnit, List<CleanUpChange>> entry : fSolutions.entrySet()) {
-				List<CleanUpChange> changes= entry.getValue();
-				ICompilationUnit unit= entry.getKey();
+			// report the changes in the order of the targets, independent of the order in which they were computed
+			HashSet<ICompilationUnit> reported= new HashSet<>();
+			for (CleanUpTarget target : fTargets) {
+				ICompilationUnit unit= target.getCompilationUnit();
+				List<CleanUpChange> changes= fSolutions.get(unit);
+				if (changes == null || !reported.add(unit))
+					continue;
 
 				int saveMode;
 				if (fLeaveFilesDirty) {
@@ -521,9 +669,30 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	/**
 	 * A clean up is considered slow if its execution lasts longer then the value of
-	 * SLOW_CLEAN_UP_THRESHOLD in ms.
+	 * SLOW_CLEAN_UP_THRESHOLD in ns.
+	 */
+	private static final long SLOW_CLEAN_UP_THRESHOLD= 2000L * 1000 * 1000;
+
+	/**
+	 * Default number of threads used to parse compilation units and compute their fixes. Can be
+	 * configured with the system property <code>org.eclipse.jdt.ui.cleanUpParallelism</code>, a
+	 * value of 1 disables the parallel execution.
+	 */
+	private static final int DEFAULT_PARALLELISM= Integer.getInteger("org.eclipse.jdt.ui.cleanUpParallelism", 1).intValue(); //$NON-NLS-1$
+
+	/**
+	 * Default number of bytes a batch of parsed compilation units may allocate. Can be configured
+	 * with the system property <code>org.eclipse.jdt.ui.cleanUpMemoryBudget</code>, a value of 0
+	 * uses batches of fixed size.
+	 */
+	private static final long DEFAULT_MEMORY_BUDGET= Long.getLong("org.eclipse.jdt.ui.cleanUpMemoryBudget", 0).longValue(); //$NON-NLS-1$
+
+	/**
+	 * Whether the fix-point iteration reuses the AST of a compilation unit until its first edit by
+	 * default. Off unless enabled with the system property <code>org.eclipse.jdt.ui.cleanUpEditAwareFixpoint</code>,
+	 * since clean ups requiring a fresh AST then see an AST they have not asked for.
 	 */
-	private static final int SLOW_CLEAN_UP_THRESHOLD= 2000;
+	private static final boolean DEFAULT_EDIT_AWARE_FIXPOINT= Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.ui.cleanUpEditAwareFixpoint", "false")); //$NON-NLS-1$ //$NON-NLS-2$
 
 	private final List<ICleanUp> fCleanUps;
 	private final Hashtable<IJavaProject, List<CleanUpTarget>> fProjects;
@@ -533,6 +702,15 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 
 	private boolean fUseOptionsFromProfile;
 
+	private int fParallelism;
+
+	private long fMemoryBudget;
+	private int fStreamingBatchSize;
+	private final List<BatchStatistics> fBatchStatistics;
+
+	private boolean fEditAwareFixpoint;
+	private final List<UnitStatistics> fUnitStatistics;
+
 	public CleanUpRefactoring() {
 		this(FixMessages.CleanUpRefactoring_Refactoring_name);
 	}
@@ -542,12 +720,89 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		fCleanUps= new ArrayList<>();
 		fProjects= new Hashtable<>();
 		fUseOptionsFromProfile= false;
+		fParallelism= DEFAULT_PARALLELISM;
+		fMemoryBudget= DEFAULT_MEMORY_BUDGET;
+		fBatchStatistics= new ArrayList<>();
+		fEditAwareFixpoint= DEFAULT_EDIT_AWARE_FIXPOINT;
+		fUnitStatistics= new ArrayList<>();
 	}
 
 	public void setUseOptionsFromProfile(boolean enabled) {
 		fUseOptionsFromProfile= enabled;
 	}
 
+	/**
+	 * Sets the number of threads used to parse the compilation units of a project and to compute
+	 * their fixes. The result does not depend on the parallelism: the changes are reported in the
+	 * order in which the targets have been added.
+	 * <p>
+	 * In parallel mode, different clean ups can create fixes for different compilation units at the
+	 * same time, but a single clean up instance is never asked to create two fixes concurrently.
+	 * </p>
+	 *
+	 * @param parallelism the number of threads, a value of 1 or less executes sequentially
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism= Math.max(1, parallelism);
+	}
+
+	public int getParallelism() {
+		return fParallelism;
+	}
+
+	/**
+	 * Enables the streaming mode. The compilation units are parsed, fixed and released in batches
+	 * whose size is adjusted from the observed heap growth and heap pressure, such that a batch
+	 * allocates about the given number of bytes. Statistics about each batch are available from
+	 * {@link #getBatchStatistics()} after the conditions have been checked.
+	 * <p>
+	 * The budget applies to sequential execution, see {@link #setParallelism(int)}.
+	 * </p>
+	 *
+	 * @param memoryBudget the number of bytes a batch may allocate, or 0 to use batches of fixed size
+	 * @see ASTBatchParser#setMemoryBudget(long)
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		fMemoryBudget= Math.max(0, memoryBudget);
+	}
+
+	public long getMemoryBudget() {
+		return fMemoryBudget;
+	}
+
+	/**
+	 * @return the statistics of the batches parsed in streaming mode by the last condition check,
+	 *         empty if the streaming mode is disabled
+	 */
+	public List<BatchStatistics> getBatchStatistics() {
+		return Collections.unmodifiableList(fBatchStatistics);
+	}
+
+	/**
+	 * Sets whether the fix-point iteration is edit aware, that is whether it reuses the AST of a
+	 * compilation unit until the first edit. Clean ups requiring a fresh AST are otherwise rejected
+	 * and computed on a newly parsed AST in the next iteration. In edit aware mode they are computed
+	 * on the current AST as long as none of the previous clean ups has changed the compilation
+	 * unit, so a unit is only parsed again after it has been edited.
+	 *
+	 * @param editAware <code>true</code> to reuse the AST until the first edit
+	 */
+	public void setEditAwareFixpoint(boolean editAware) {
+		fEditAwareFixpoint= editAware;
+	}
+
+	public boolean isEditAwareFixpoint() {
+		return fEditAwareFixpoint;
+	}
+
+	/**
+	 * @return the statistics of the compilation units cleaned up by the last condition check, in
+	 *         the order in which they have been added
+	 */
+	public List<UnitStatistics> getUnitStatistics() {
+		return Collections.unmodifiableList(fUnitStatistics);
+	}
+
 	public void addCompilationUnit(ICompilationUnit unit) {
 		addCleanUpTarget(new CleanUpTarget(unit));
 	}
@@ -645,6 +900,9 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 		int cuCount= getCleanUpTargetsSize();
 
 		RefactoringStatus result= new RefactoringStatus();
+		fBatchStatistics.clear();
+		fStreamingBatchSize= 0;
+		fUnitStatistics.clear();
 
 		ICleanUp[] cleanUps= getCleanUps();
 		pm.beginTask("", cuCount * 2 * fCleanUps.size() + 4 * cleanUps.length); //$NON-NLS-1$
@@ -779,54 +1037,166 @@ public class CleanUpRefactoring extends Refactoring implements IScheduledRefacto
 	}
 
 	public static CleanUpChange calculateChange(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps) throws CoreException {
+		return calculateChange(context, cleanUps, undoneCleanUps, slowCleanUps, false, DEFAULT_EDIT_AWARE_FIXPOINT);
+	}
+
+	private static CleanUpChange calculateChange(CleanUpContext context, ICleanUp[] cleanUps, List<ICleanUp> undoneCleanUps, HashSet<ICleanUp> slowCleanUps, boolean exclusiveCleanUps, boolean editAware) throws CoreException {
 		if (cleanUps.length == 0)
 			return null;
 
+		CleanUpProfiler profiler= CleanUpProfiler.getDefault();
+		boolean profile= profiler.isEnabled();
+
 		CleanUpChange solution= null;
-		int i= 0;
-		do {
-			ICleanUp cleanUp= cleanUps[i];
-			ICleanUpFix fix;
-			if (slowCleanUps != null) {
-				long timeBefore= System.currentTimeMillis();
-				fix= cleanUp.createFix(context);
-				if (System.currentTimeMillis() - timeBefore > SLOW_CLEAN_UP_THRESHOLD)
+		int start= 0;
+		while (start < cleanUps.length) {
+			// the clean ups up to the next one requiring a fresh AST work on the same AST
+			int count= start + 1;
+			while (count < cleanUps.length && (context.getAST() == null || !cleanUps[count].getRequirements().requiresFreshAST()))
+				count++;
+
+			Map<ICleanUp, Sample> fusedSamples= new HashMap<>();
+			Map<ICleanUp, ICleanUpFix> fusedFixes= createFusedFixes(context, cleanUps, start, count, exclusiveCleanUps, profile, fusedSamples);
+
+			for (int i= start; i < count; i++) {
+				ICleanUp cleanUp= cleanUps[i];
+				boolean fused= fusedFixes.containsKey(cleanUp);
+				Sample sample= fused ? fusedSamples.get(cleanUp) : new Sample();
+				sample.start(profile);
+				ICleanUpFix fix= fused ? fusedFixes.get(cleanUp) : createFix(cleanUp, context, exclusiveCleanUps);
+				CompilationUnitChange current= fix != null ? fix.createChange(null) : null;
+				sample.stop();
+
+				if (profile)
+					profiler.record(cleanUp, sample);
+				if (slowCleanUps != null && sample.fTime > SLOW_CLEAN_UP_THRESHOLD)
 					slowCleanUps.add(cleanUp);
-			} else {
-				fix= cleanUp.createFix(context);
-			}
-			if (fix != null) {
-				CompilationUnitChange current= fix.createChange(null);
-				TextEdit currentEdit= current.getEdit();
 
-				if (solution != null) {
-					if (TextEditUtil.overlaps(currentEdit, solution.getEdit())) {
-						undoneCleanUps.add(cleanUp);
-					} else {
-						CleanUpChange merge= new CleanUpChange(FixMessages.CleanUpRefactoring_clean_up_multi_chang_name, context.getCompilationUnit());
-						merge.setEdit(TextEditUtil.merge(currentEdit, solution.getEdit()));
+				if (current != null) {
+					TextEdit currentEdit= current.getEdit();
+
+					if (solution != null) {
+						if (TextEditUtil.overlaps(currentEdit, solution.getEdit())) {
+							undoneCleanUps.add(cleanUp);
+						} else {
+							CleanUpChange merge= new CleanUpChange(FixMessages.CleanUpRefactoring_clean_up_multi_chang_name, context.getCompilationUnit());
+							merge.setEdit(TextEditUtil.merge(currentEdit, solution.getEdit()));
 
-						copyChangeGroups(merge, solution);
-						copyChangeGroups(merge, current);
+							copyChangeGroups(merge, solution);
+							copyChangeGroups(merge, current);
 
-						solution= merge;
-					}
-				} else {
-					solution= new CleanUpChange(current.getName(), context.getCompilationUnit());
-					solution.setEdit(currentEdit);
+							solution= merge;
+						}
+					} else {
+						solution= new CleanUpChange(current.getName(), context.getCompilationUnit());
+						solution.setEdit(currentEdit);
 
-					copyChangeGroups(solution, current);
+						copyChangeGroups(solution, current);
+					}
 				}
 			}
-			i++;
-		} while (i < cleanUps.length && (context.getAST() == null || !cleanUps[i].getRequirements().requiresFreshAST()));
 
-		for (; i < cleanUps.length; i++) {
+			// an AST nothing has been changed in is still fresh, unless it has been created with other options
+			boolean separateOptions= cleanUps[start].getRequirements().requiresSeparateOptions()
+					|| count < cleanUps.length && cleanUps[count].getRequirements().requiresSeparateOptions();
+			start= count;
+			if (!editAware || solution != null || separateOptions)
+				break;
+		}
+
+		for (int i= start; i < cleanUps.length; i++) {
 			undoneCleanUps.add(cleanUps[i]);
 		}
 		return solution;
 	}
 
+	/**
+	 * Creates the fixes of the enabled {@link IFusableCleanUp}s among the clean ups from
+	 * <code>start</code> to <code>end</code> with a single traversal of the AST.
+	 *
+	 * @param context the context
+	 * @param cleanUps the clean ups
+	 * @param start the index of the first clean up working on the AST of the context
+	 * @param end the index after the last clean up working on the AST of the context
+	 * @param exclusive <code>true</code> if the same clean up instances are used for other
+	 *            compilation units concurrently
+	 * @param profile <code>true</code> to measure the time each clean up spends in the traversal
+	 *            and the bytes it allocates
+	 * @param samples the map to put the cost of creating each fix into
+	 * @return the fixes by clean up, empty if there are less than two fusable clean ups
+	 * @throws CoreException if a fix could not be created
+	 */
+	private static Map<ICleanUp, ICleanUpFix> createFusedFixes(CleanUpContext context, ICleanUp[] cleanUps, int start, int end, boolean exclusive, boolean profile, Map<ICleanUp, Sample> samples) throws CoreException {
+		CompilationUnit ast= context.getAST();
+		if (ast == null || context instanceof MultiFixContext)
+			return Collections.emptyMap();
+
+		Map<ICleanUp, FixCollector> collectors= new LinkedHashMap<>();
+		for (int i= start; i < end; i++) {
+			if (cleanUps[i] instanceof IFusableCleanUp) {
+				Sample sample= new Sample();
+				sample.start(profile);
+				FixCollector collector= createFixCollector((IFusableCleanUp) cleanUps[i], ast, exclusive);
+				sample.stop();
+				if (collector != null) {
+					collectors.put(cleanUps[i], collector);
+					samples.put(cleanUps[i], sample);
+				}
+			}
+		}
+		if (collectors.size() < 2)
+			return Collections.emptyMap();
+
+		Sample visit= new Sample();
+		visit.start(profile);
+		ast.accept(new FusedASTVisitor(new ArrayList<>(collectors.values()), profile));
+		visit.stop();
+
+		long visitTime= 0;
+		for (FixCollector collector : collectors.values()) {
+			visitTime+= collector.getVisitTime();
+		}
+
+		Map<ICleanUp, ICleanUpFix> result= new HashMap<>();
+		for (Entry<ICleanUp, FixCollector> entry : collectors.entrySet()) {
+			FixCollector collector= entry.getValue();
+			Sample sample= samples.get(entry.getKey());
+			if (profile) {
+				// the allocations of the traversal are split in proportion to the time spent
+				sample.fTime+= collector.getVisitTime();
+				sample.addAllocation(visit.fAllocation < 0 ? -1 : visitTime == 0 ? 0 : visit.fAllocation * collector.getVisitTime() / visitTime);
+			} else {
+				sample.fTime+= visit.fTime / collectors.size();
+			}
+			sample.fNodes= collector.getVisitCount();
+
+			sample.start(profile);
+			result.put(entry.getKey(), collector.createFix());
+			sample.stop();
+		}
+		return result;
+	}
+
+	private static FixCollector createFixCollector(IFusableCleanUp cleanUp, CompilationUnit ast, boolean exclusive) throws CoreException {
+		if (!exclusive)
+			return cleanUp.createFixCollector(ast);
+
+		// like createFix, the collector is created from the state of the clean up
+		synchronized (cleanUp) {
+			return cleanUp.createFixCollector(ast);
+		}
+	}
+
+	private static ICleanUpFix createFix(ICleanUp cleanUp, CleanUpContext context, boolean exclusive) throws CoreException {
+		if (!exclusive)
+			return cleanUp.createFix(context);
+
+		// clean ups may keep state between invocations, never call the same instance concurrently
+		synchronized (cleanUp) {
+			return cleanUp.createFix(context);
+		}
+	}
+
 	private static void copyChangeGroups(CompilationUnitChange target, CompilationUnitChange source) {
 		for (TextEditBasedChangeGroup changeGroup : source.getChangeGroups()) {
 			TextEditGroup textEditGroup= changeGroup.getTextEditGroup();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2025 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2026 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,7 @@ import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.common.VisitorEnum;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.OrderedInfixExpression;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
@@ -59,7 +60,7 @@ import org.eclipse.jdt.ui.text.java.IProblemLocation;
 /**
  * A fix that reduces the code of the equals method implementation by using Objects.equals().
  */
-public class ObjectsEqualsCleanUp extends AbstractMultiFix implements ICleanUpFix {
+public class ObjectsEqualsCleanUp extends AbstractMultiFix implements IFusableCleanUp, ICleanUpFix {
 	private static final String EQUALS_METHOD= "equals"; //$NON-NLS-1$
 
 	public ObjectsEqualsCleanUp() {
@@ -112,13 +113,18 @@ public class ObjectsEqualsCleanUp extends AbstractMultiFix implements ICleanUpFi
 
 	@Override
 	protected ICleanUpFix createFix(CompilationUnit unit) throws CoreException {
+		return IFusableCleanUp.createFix(this, unit);
+	}
+
+	@Override
+	public FixCollector createFixCollector(final CompilationUnit unit) {
 		if (!isEnabled(CleanUpConstants.USE_OBJECTS_EQUALS)) {
 			return null;
 		}
 
 		final List<CompilationUnitRewriteOperationWithSourceRange> rewriteOperations= new ArrayList<>();
 
-		unit.accept(new ASTVisitor() {
+		final ASTVisitor visitor= new ASTVisitor() {
 
 			@Override
 			public boolean visit(final IfStatement node) {
@@ -208,14 +214,21 @@ public class ObjectsEqualsCleanUp extends AbstractMultiFix implements ICleanUpFi
 					final ASTNode otherObject) {
 				return ASTNodes.match(thisObject, firstField) && ASTNodes.match(otherObject, secondField);
 			}
-		});
+		};
 
-		if (rewriteOperations.isEmpty()) {
-			return null;
-		}
+		FixCollector collector= new FixCollector() {
+			@Override
+			public ICleanUpFix createFix() {
+				if (rewriteOperations.isEmpty()) {
+					return null;
+				}
 
-		return new CompilationUnitRewriteOperationsFix(MultiFixMessages.ObjectsEqualsCleanup_description, unit,
-				rewriteOperations.toArray(new CompilationUnitRewriteOperationWithSourceRange[0]));
+				return new CompilationUnitRewriteOperationsFix(MultiFixMessages.ObjectsEqualsCleanup_description, unit,
+						rewriteOperations.toArray(new CompilationUnitRewriteOperationWithSourceRange[0]));
+			}
+		};
+		collector.visit(VisitorEnum.IfStatement, (IfStatement node) -> visitor.visit(node));
+		return collector;
 	}
 
 	@Override
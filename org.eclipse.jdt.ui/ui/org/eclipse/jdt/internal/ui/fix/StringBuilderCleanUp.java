@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2024 Fabrice TIERCELIN and others.
+ * Copyright (c) 2020, 2026 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -62,6 +62,7 @@ import org.eclipse.jdt.core.dom.WhileStatement;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 
+import org.eclipse.jdt.internal.common.VisitorEnum;
 import org.eclipse.jdt.internal.corext.dom.ASTNodeFactory;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.VarDefinitionsUsesVisitor;
@@ -87,7 +88,7 @@ import org.eclipse.jdt.internal.ui.actions.IndentAction;
  * <li>It should retrieve the string once.</li>
  * </ul>
  */
-public class StringBuilderCleanUp extends AbstractMultiFix implements ICleanUpFix {
+public class StringBuilderCleanUp extends AbstractMultiFix implements IFusableCleanUp, ICleanUpFix {
 	public StringBuilderCleanUp() {
 		this(Collections.emptyMap());
 	}
@@ -132,13 +133,18 @@ public class StringBuilderCleanUp extends AbstractMultiFix implements ICleanUpFi
 
 	@Override
 	protected ICleanUpFix createFix(final CompilationUnit unit) throws CoreException {
+		return IFusableCleanUp.createFix(this, unit);
+	}
+
+	@Override
+	public FixCollector createFixCollector(final CompilationUnit unit) {
 		if (!isEnabled(CleanUpConstants.STRINGBUILDER)) {
 			return null;
 		}
 
 		final List<CompilationUnitRewriteOperationWithSourceRange> rewriteOperations= new ArrayList<>();
 
-		unit.accept(new ASTVisitor() {
+		final ASTVisitor visitor= new ASTVisitor() {
 			class VarOccurrenceVisitor extends ASTVisitor {
 				private final Set<SimpleName> searchedVariables;
 				private final Set<SimpleName> foundVariables= new HashSet<>();
@@ -520,14 +526,21 @@ public class StringBuilderCleanUp extends AbstractMultiFix implements ICleanUpFi
 					}
 				}
 			}
-		});
+		};
 
-		if (rewriteOperations.isEmpty()) {
-			return null;
-		}
+		FixCollector collector= new FixCollector() {
+			@Override
+			public ICleanUpFix createFix() {
+				if (rewriteOperations.isEmpty()) {
+					return null;
+				}
 
-		return new CompilationUnitRewriteOperationsFix(MultiFixMessages.StringBuilderCleanUp_description, unit,
-				rewriteOperations.toArray(new CompilationUnitRewriteOperationWithSourceRange[0]));
+				return new CompilationUnitRewriteOperationsFix(MultiFixMessages.StringBuilderCleanUp_description, unit,
+						rewriteOperations.toArray(new CompilationUnitRewriteOperationWithSourceRange[0]));
+			}
+		};
+		collector.visit(VisitorEnum.Block, (Block node) -> visitor.visit(node));
+		return collector;
 	}
 
 	private static InfixExpression asStringConcatenation(final Expression expression) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2024 Fabrice TIERCELIN and others.
+ * Copyright (c) 2019, 2026 Fabrice TIERCELIN and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.SuperMethodInvocation;
 import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
 
+import org.eclipse.jdt.internal.common.VisitorEnum;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
 import org.eclipse.jdt.internal.corext.fix.CompilationUnitRewriteOperationsFix;
@@ -55,7 +56,7 @@ import org.eclipse.jdt.ui.text.java.IProblemLocation;
  * And it is the case for all the primitive wrappers. The method call is automatically added at compile time.</li>
  * </ul>
  */
-public class UnboxingCleanUp extends AbstractMultiFix {
+public class UnboxingCleanUp extends AbstractMultiFix implements IFusableCleanUp {
 	private static final String DOUBLE_VALUE= "doubleValue"; //$NON-NLS-1$
 	private static final String FLOAT_VALUE= "floatValue"; //$NON-NLS-1$
 	private static final String LONG_VALUE= "longValue"; //$NON-NLS-1$
@@ -108,13 +109,18 @@ public class UnboxingCleanUp extends AbstractMultiFix {
 
 	@Override
 	protected ICleanUpFix createFix(CompilationUnit unit) throws CoreException {
+		return IFusableCleanUp.createFix(this, unit);
+	}
+
+	@Override
+	public FixCollector createFixCollector(final CompilationUnit unit) {
 		if (!isEnabled(CleanUpConstants.USE_UNBOXING)) {
 			return null;
 		}
 
 		final List<CompilationUnitRewriteOperationWithSourceRange> rewriteOperations= new ArrayList<>();
 
-		unit.accept(new ASTVisitor() {
+		final ASTVisitor visitor= new ASTVisitor() {
 			@Override
 			public boolean visit(MethodInvocation visited) {
 				ASTNode parent= visited.getParent();
@@ -192,14 +198,21 @@ public class UnboxingCleanUp extends AbstractMultiFix {
 
 				return ASTNodes.hasConflictingMethodOrConstructor(visited.getParent(), binding, argumentTypes);
 			}
-		});
+		};
 
-		if (rewriteOperations.isEmpty()) {
-			return null;
-		}
+		FixCollector collector= new FixCollector() {
+			@Override
+			public ICleanUpFix createFix() {
+				if (rewriteOperations.isEmpty()) {
+					return null;
+				}
 
-		return new CompilationUnitRewriteOperationsFix(MultiFixMessages.UnboxingCleanup_description, unit,
-				rewriteOperations.toArray(new CompilationUnitRewriteOperationWithSourceRange[rewriteOperations.size()]));
+				return new CompilationUnitRewriteOperationsFix(MultiFixMessages.UnboxingCleanup_description, unit,
+						rewriteOperations.toArray(new CompilationUnitRewriteOperationWithSourceRange[rewriteOperations.size()]));
+			}
+		};
+		collector.visit(VisitorEnum.MethodInvocation, (MethodInvocation node) -> visitor.visit(node));
+		return collector;
 	}
 
 	@Override
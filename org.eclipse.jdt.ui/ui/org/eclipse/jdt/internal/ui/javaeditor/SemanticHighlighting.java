@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,8 @@ import org.eclipse.jface.resource.ColorRegistry;
 
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.dom.IBinding;
+
 import org.eclipse.jdt.ui.JavaUI;
 
 
@@ -27,6 +29,68 @@ import org.eclipse.jdt.ui.JavaUI;
  */
 public abstract class SemanticHighlighting extends SemanticHighlightingCore {
 
+	/**
+	 * Bit of {@link #getConsumedBindingKinds()} for semantic tokens whose name has no binding.
+	 */
+	public static final int NO_BINDING= 1;
+
+	/**
+	 * Bit of {@link #getConsumedBindingKinds()} for semantic tokens with type bindings.
+	 */
+	public static final int TYPE_BINDING= 1 << IBinding.TYPE;
+
+	/**
+	 * Bit of {@link #getConsumedBindingKinds()} for semantic tokens with variable bindings.
+	 */
+	public static final int VARIABLE_BINDING= 1 << IBinding.VARIABLE;
+
+	/**
+	 * Bit of {@link #getConsumedBindingKinds()} for semantic tokens with method bindings.
+	 */
+	public static final int METHOD_BINDING= 1 << IBinding.METHOD;
+
+	/**
+	 * Value of {@link #getConsumedBindingKinds()} for semantic tokens with any or no binding.
+	 */
+	public static final int ANY_BINDING= -1;
+
+	private static final int[] NO_NODE_TYPES= new int[0];
+
+	/**
+	 * Returns the kinds of bindings of the semantic tokens that this highlighting may consume.
+	 * {@link #consumes(SemanticToken)} is only called for tokens whose binding has one of these
+	 * kinds.
+	 *
+	 * @return a bit mask with the bits <code>1 &lt;&lt; </code>{@link IBinding#getKind()} of the
+	 *         consumed bindings and {@link #NO_BINDING}, or {@link #ANY_BINDING}
+	 */
+	public int getConsumedBindingKinds() {
+		return ANY_BINDING;
+	}
+
+	/**
+	 * Returns the node types of the parents of the simple names that this highlighting may consume.
+	 * {@link #consumes(SemanticToken)} is only called for tokens whose node has a parent of one of
+	 * these types.
+	 *
+	 * @return the node types, or <code>null</code> for any parent
+	 * @see org.eclipse.jdt.core.dom.ASTNode#getNodeType()
+	 */
+	public int[] getConsumedParentNodeTypes() {
+		return null;
+	}
+
+	/**
+	 * Returns the node types of the literals that this highlighting may consume.
+	 * {@link #consumesLiteral(SemanticToken)} is only called for literals of these types.
+	 *
+	 * @return the node types, empty by default
+	 * @see org.eclipse.jdt.core.dom.ASTNode#getNodeType()
+	 */
+	public int[] getConsumedLiteralNodeTypes() {
+		return NO_NODE_TYPES;
+	}
+
 	/**
 	 * @return the preference key, will be augmented by a prefix and a suffix for each preference
 	 */
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager.Highlighting;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings.DeprecatedMemberHighlighting;
+import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings.RestrictedIdentifiersHighlighting;
+
+/**
+ * Dispatch table from semantic tokens to the enabled semantic highlightings that may consume them.
+ * <p>
+ * Simple names are looked up by the node type of their parent and the kind of their binding,
+ * literals by their node type, as declared by {@link SemanticHighlighting#getConsumedParentNodeTypes()},
+ * {@link SemanticHighlighting#getConsumedBindingKinds()} and
+ * {@link SemanticHighlighting#getConsumedLiteralNodeTypes()}. The lookup yields the indices of the
+ * candidate highlightings in their precedence order, so that only those need to be asked whether
+ * they consume a token. The binding of a name is only resolved if the candidates depend on it.
+ * Entries of the table are computed on first use.
+ * </p>
+ * <p>
+ * A table is built for the enabled state of the highlightings at the time of its creation and is
+ * not thread safe.
+ * </p>
+ */
+final class SemanticHighlightingDispatcher {
+
+	/**
+	 * Number of binding kind keys: index <code>0</code> for names without binding, followed by the
+	 * kinds returned by {@link IBinding#getKind()}.
+	 */
+	private static final int BINDING_KEYS= IBinding.MODULE + 1;
+
+	private static final int INITIAL_NODE_TYPES= 128;
+
+	private final SemanticHighlighting[] fSemanticHighlightings;
+
+	private final Highlighting[] fHighlightings;
+
+	private final boolean[] fEnabled;
+
+	/**
+	 * Candidates for simple names by parent node type and binding key. A row of length
+	 * <code>1</code> holds the candidates for all binding keys.
+	 */
+	private int[][][] fNameCandidates= new int[INITIAL_NODE_TYPES][][];
+
+	/** Candidates for literals by node type */
+	private int[][] fLiteralCandidates= new int[INITIAL_NODE_TYPES][];
+
+	private final Highlighting fDeprecatedMemberHighlighting;
+
+	private final Highlighting fRestrictedIdentifiersHighlighting;
+
+	/**
+	 * Creates the dispatch table for the currently enabled highlightings.
+	 *
+	 * @param semanticHighlightings the semantic highlightings, in precedence order
+	 * @param highlightings the corresponding highlightings
+	 */
+	SemanticHighlightingDispatcher(SemanticHighlighting[] semanticHighlightings, Highlighting[] highlightings) {
+		fSemanticHighlightings= semanticHighlightings;
+		fHighlightings= highlightings;
+		fEnabled= new boolean[highlightings.length];
+		Highlighting deprecatedMemberHighlighting= null;
+		Highlighting restrictedIdentifiersHighlighting= null;
+		for (int i= 0; i < highlightings.length; i++) {
+			fEnabled[i]= highlightings[i].isEnabled();
+			if (deprecatedMemberHighlighting == null && fEnabled[i] && semanticHighlightings[i] instanceof DeprecatedMemberHighlighting)
+				deprecatedMemberHighlighting= highlightings[i];
+			if (restrictedIdentifiersHighlighting == null && semanticHighlightings[i] instanceof RestrictedIdentifiersHighlighting)
+				restrictedIdentifiersHighlighting= highlightings[i];
+		}
+		fDeprecatedMemberHighlighting= deprecatedMemberHighlighting;
+		fRestrictedIdentifiersHighlighting= restrictedIdentifiersHighlighting;
+	}
+
+	/**
+	 * Tells whether this table is up to date for the given highlightings.
+	 *
+	 * @param semanticHighlightings the semantic highlightings
+	 * @param highlightings the corresponding highlightings
+	 * @return <code>true</code> iff the highlightings and their enabled state are unchanged
+	 */
+	boolean isValid(SemanticHighlighting[] semanticHighlightings, Highlighting[] highlightings) {
+		if (semanticHighlightings != fSemanticHighlightings || highlightings != fHighlightings)
+			return false;
+		for (int i= 0; i < highlightings.length; i++) {
+			if (highlightings[i].isEnabled() != fEnabled[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return the enabled deprecated member highlighting, or <code>null</code>
+	 */
+	Highlighting getDeprecatedMemberHighlighting() {
+		return fDeprecatedMemberHighlighting;
+	}
+
+	/**
+	 * @return the restricted identifiers highlighting, or <code>null</code>
+	 */
+	Highlighting getRestrictedIdentifiersHighlighting() {
+		return fRestrictedIdentifiersHighlighting;
+	}
+
+	/**
+	 * Returns the highlighting consuming the given token.
+	 *
+	 * @param token the semantic token, updated with a simple name
+	 * @return the highlighting, or <code>null</code> if no enabled highlighting consumes the token
+	 */
+	Highlighting getHighlighting(SemanticToken token) {
+		SimpleName node= token.getNode();
+		int[][] row= getNameCandidates(node.getParent().getNodeType());
+		int[] candidates;
+		if (row.length == 1) {
+			candidates= row[0];
+		} else {
+			IBinding binding= token.getBinding();
+			int key= binding != null ? binding.getKind() : 0;
+			candidates= key < row.length ? row[key] : computeNameCandidates(node.getParent().getNodeType(), key);
+		}
+		for (int candidate : candidates) {
+			if (fSemanticHighlightings[candidate].consumes(token))
+				return fHighlightings[candidate];
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the highlighting consuming the given literal token.
+	 *
+	 * @param token the semantic token, updated with a literal
+	 * @return the highlighting, or <code>null</code> if no enabled highlighting consumes the token
+	 */
+	Highlighting getLiteralHighlighting(SemanticToken token) {
+		Expression literal= token.getLiteral();
+		for (int candidate : getLiteralCandidates(literal.getNodeType())) {
+			if (fSemanticHighlightings[candidate].consumesLiteral(token))
+				return fHighlightings[candidate];
+		}
+		return null;
+	}
+
+	private int[][] getNameCandidates(int parentType) {
+		if (parentType >= fNameCandidates.length)
+			fNameCandidates= Arrays.copyOf(fNameCandidates, parentType + 1);
+		int[][] row= fNameCandidates[parentType];
+		if (row == null) {
+			row= new int[BINDING_KEYS][];
+			boolean dependsOnBinding= false;
+			for (int key= 0; key < BINDING_KEYS; key++) {
+				row[key]= computeNameCandidates(parentType, key);
+				dependsOnBinding|= !Arrays.equals(row[key], row[0]);
+			}
+			if (!dependsOnBinding)
+				row= new int[][] { row[0] };
+			fNameCandidates[parentType]= row;
+		}
+		return row;
+	}
+
+	private int[] computeNameCandidates(int parentType, int bindingKey) {
+		int[] candidates= new int[fSemanticHighlightings.length];
+		int count= 0;
+		for (int i= 0; i < fSemanticHighlightings.length; i++) {
+			if (!fEnabled[i])
+				continue;
+			SemanticHighlighting semanticHighlighting= fSemanticHighlightings[i];
+			if ((semanticHighlighting.getConsumedBindingKinds() & (1 << bindingKey)) == 0)
+				continue;
+			int[] parentTypes= semanticHighlighting.getConsumedParentNodeTypes();
+			if (parentTypes == null || contains(parentTypes, parentType))
+				candidates[count++]= i;
+		}
+		return Arrays.copyOf(candidates, count);
+	}
+
+	private int[] getLiteralCandidates(int nodeType) {
+		if (nodeType >= fLiteralCandidates.length)
+			fLiteralCandidates= Arrays.copyOf(fLiteralCandidates, nodeType + 1);
+		int[] candidates= fLiteralCandidates[nodeType];
+		if (candidates == null) {
+			candidates= new int[fSemanticHighlightings.length];
+			int count= 0;
+			for (int i= 0; i < fSemanticHighlightings.length; i++) {
+				if (fEnabled[i] && contains(fSemanticHighlightings[i].getConsumedLiteralNodeTypes(), nodeType))
+					candidates[count++]= i;
+			}
+			candidates= Arrays.copyOf(candidates, count);
+			fLiteralCandidates[nodeType]= candidates;
+		}
+		return candidates;
+	}
+
+	private static boolean contains(int[] nodeTypes, int nodeType) {
+		for (int each : nodeTypes) {
+			if (each == nodeType)
+				return true;
+		}
+		return false;
+	}
+}
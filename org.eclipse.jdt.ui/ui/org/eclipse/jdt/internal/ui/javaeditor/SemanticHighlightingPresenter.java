@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -77,6 +77,24 @@ public class SemanticHighlightingPresenter extends SemanticHighlightingPresenter
 	}
 
 
+	/**
+	 * Adds the current positions that start within the given range to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list the list
+	 * @param offset the range offset
+	 * @param length the range length
+	 */
+	public void addPositions(List<Position> list, int offset, int length) {
+		synchronized (fPositionLock) {
+			int start= computeIndexAtOffset(fPositions, offset);
+			int end= computeIndexAtOffset(fPositions, offset + length);
+			list.addAll(fPositions.subList(start, end));
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
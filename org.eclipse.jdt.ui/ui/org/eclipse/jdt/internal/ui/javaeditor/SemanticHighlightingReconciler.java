@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,7 +30,9 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITextInputListener;
 import org.eclipse.jface.text.Position;
@@ -39,15 +41,24 @@ import org.eclipse.jface.text.source.ISourceViewer;
 
 import org.eclipse.ui.IWorkbenchPartSite;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.ConstructorInvocation;
 import org.eclipse.jdt.core.dom.Expression;
 import org.eclipse.jdt.core.dom.GuardedPattern;
 import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.Initializer;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.Modifier.ModifierKeyword;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
@@ -64,18 +75,171 @@ import org.eclipse.jdt.ui.text.java.ISemanticTokensProvider;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager.HighlightedPosition;
 import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightingManager.Highlighting;
-import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings.DeprecatedMemberHighlighting;
-import org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlightings.RestrictedIdentifiersHighlighting;
 import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
 import org.eclipse.jdt.internal.ui.util.ASTHelper;
 
 /**
  * Semantic highlighting reconciler - Background thread implementation.
+ * <p>
+ * In a compilation unit editor, the highlighting is updated incrementally if all document changes
+ * since the last update are within the body of a single method or initializer and the reconcile
+ * delta does not report structural changes. Only that member is visited again, and only the
+ * positions within the member are compared with the new ones, while the positions of the other
+ * members have been moved by the document's position updater.
+ * </p>
  *
  * @since 3.0
  */
 public class SemanticHighlightingReconciler implements IJavaReconcilingListener, ITextInputListener {
 
+	/**
+	 * The document range that changed since the highlighting was last updated, in the coordinates
+	 * of the document at the time the range was obtained.
+	 *
+	 * @param start the start offset of the range, or <code>-1</code> if the document did not change
+	 * @param end the end offset of the range
+	 * @param fullReconcile <code>true</code> if all positions must be reconciled
+	 * @param modificationCount the number of document changes seen by the tracker
+	 */
+	private record ChangedRange(int start, int end, boolean fullReconcile, long modificationCount) {
+
+		boolean isEmpty() {
+			return start == -1;
+		}
+	}
+
+	/**
+	 * Tracks the document changes since the highlighting was last updated.
+	 */
+	private static class ChangeTracker implements IDocumentListener, ITextInputListener {
+
+		private IDocument fDocument;
+		private int fStart= -1;
+		private int fEnd= -1;
+		private boolean fFullReconcile= true;
+		private long fModificationCount;
+
+		synchronized void connect(IDocument document) {
+			disconnect();
+			fDocument= document;
+			if (fDocument != null)
+				fDocument.addDocumentListener(this);
+			fStart= fEnd= -1;
+			fFullReconcile= true;
+			fModificationCount++;
+		}
+
+		synchronized void disconnect() {
+			if (fDocument != null) {
+				fDocument.removeDocumentListener(this);
+				fDocument= null;
+			}
+		}
+
+		synchronized ChangedRange getChangedRange() {
+			return new ChangedRange(fStart, fEnd, fFullReconcile, fModificationCount);
+		}
+
+		/**
+		 * @param range a changed range obtained from this tracker
+		 * @return <code>true</code> if the document did not change since the range was obtained
+		 */
+		synchronized boolean isCurrent(ChangedRange range) {
+			return range.modificationCount() == fModificationCount;
+		}
+
+		/**
+		 * Informs that the highlighting has been updated for the document the given range was
+		 * obtained for.
+		 *
+		 * @param range the changed range
+		 * @param positionsApplied <code>true</code> if positions have been added or removed
+		 */
+		synchronized void reconciled(ChangedRange range, boolean positionsApplied) {
+			if (range.modificationCount() == fModificationCount) {
+				fStart= fEnd= -1;
+				fFullReconcile= false;
+			} else if (positionsApplied) {
+				// the positions have been computed for an older document
+				fFullReconcile= true;
+			}
+		}
+
+		synchronized void requireFullReconcile() {
+			fFullReconcile= true;
+		}
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			int offset= event.getOffset();
+			int replacedEnd= offset + event.getLength();
+			int insertedEnd= offset + (event.getText() != null ? event.getText().length() : 0);
+			if (fStart == -1) {
+				fStart= offset;
+				fEnd= insertedEnd;
+			} else {
+				if (fEnd >= replacedEnd)
+					fEnd+= insertedEnd - replacedEnd;
+				else if (fEnd > offset)
+					fEnd= insertedEnd;
+				fStart= Math.min(fStart, offset);
+				fEnd= Math.max(fEnd, insertedEnd);
+			}
+			fModificationCount++;
+		}
+
+		@Override
+		public void inputDocumentAboutToBeChanged(IDocument oldInput, IDocument newInput) {
+		}
+
+		@Override
+		public void inputDocumentChanged(IDocument oldInput, IDocument newInput) {
+			connect(newInput);
+		}
+	}
+
+	/**
+	 * Records whether the reconcile delta of the editor's element reports structural changes,
+	 * which may affect the highlighting outside of the changed members.
+	 */
+	private class ReconcileDeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			JavaEditor editor= fEditor;
+			ITypeRoot element= editor != null ? editor.getInputJavaElement() : null;
+			if (element == null)
+				return;
+			IJavaElementDelta delta= findDelta(event.getDelta(), element);
+			if (delta != null && isStructuralChange(delta))
+				fJobStructureChanged= true;
+		}
+
+		private IJavaElementDelta findDelta(IJavaElementDelta delta, IJavaElement element) {
+			if (element.equals(delta.getElement()))
+				return delta;
+			if (delta.getElement().getElementType() >= IJavaElement.COMPILATION_UNIT)
+				return null;
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				IJavaElementDelta result= findDelta(child, element);
+				if (result != null)
+					return result;
+			}
+			return null;
+		}
+
+		private boolean isStructuralChange(IJavaElementDelta delta) {
+			int contentFlags= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED;
+			return delta.getKind() != IJavaElementDelta.CHANGED
+					|| delta.getAffectedChildren().length > 0
+					|| (delta.getFlags() & ~contentFlags) != 0;
+		}
+	}
+
 	/**
 	 * Collects positions from the AST.
 	 */
@@ -88,15 +252,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		protected boolean visitLiteral(Expression node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumesLiteral(fToken)) {
-					int offset= node.getStartPosition();
-					int length= node.getLength();
-					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
-					break;
-				}
+			Highlighting highlighting= fJobDispatcher.getLiteralHighlighting(fToken);
+			if (highlighting != null) {
+				int offset= node.getStartPosition();
+				int length= node.getLength();
+				if (offset > -1 && length > 0)
+					addPosition(offset, length, highlighting);
 			}
 			fToken.clear();
 			return false;
@@ -108,14 +269,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		public boolean visit(ConstructorInvocation node) {
-			// XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
-			if (fJobDeprecatedMemberHighlighting != null) {
+			Highlighting deprecatedMemberHighlighting= fJobDispatcher.getDeprecatedMemberHighlighting();
+			if (deprecatedMemberHighlighting != null) {
 				IMethodBinding constructorBinding= node.resolveConstructorBinding();
 				if (constructorBinding != null && constructorBinding.isDeprecated()) {
 					int offset= node.getStartPosition();
 					int length= 4;
 					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobDeprecatedMemberHighlighting);
+						addPosition(offset, length, deprecatedMemberHighlighting);
 				}
 			}
 			return true;
@@ -127,14 +288,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		 */
 		@Override
 		public boolean visit(SuperConstructorInvocation node) {
-			// XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
-			if (fJobDeprecatedMemberHighlighting != null) {
+			Highlighting deprecatedMemberHighlighting= fJobDispatcher.getDeprecatedMemberHighlighting();
+			if (deprecatedMemberHighlighting != null) {
 				IMethodBinding constructorBinding= node.resolveConstructorBinding();
 				if (constructorBinding != null && constructorBinding.isDeprecated()) {
 					int offset= node.getStartPosition();
 					int length= 5;
 					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobDeprecatedMemberHighlighting);
+						addPosition(offset, length, deprecatedMemberHighlighting);
 				}
 			}
 			return true;
@@ -146,12 +307,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= node.getLength();
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return false;
-						}
+					Highlighting highlighting= fJobDispatcher.getRestrictedIdentifiersHighlighting();
+					if (highlighting != null) {
+						addPosition(offset, length, highlighting);
+						return false;
 					}
 				}
 			}
@@ -165,12 +324,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getStartPosition();
 				int length= 5; // length of 'yield'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
+					Highlighting highlighting= fJobDispatcher.getRestrictedIdentifiersHighlighting();
+					if (highlighting != null) {
+						addPosition(offset, length, highlighting);
+						return true;
 					}
 				}
 			}
@@ -184,12 +341,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				int offset= node.getRestrictedIdentifierStartPosition();
 				int length= 6; // length of 'record'
 				if (offset > -1 && length > 0) {
-					for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-						SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-						if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-							addPosition(offset, length, fJobHighlightings[i]);
-							return true;
-						}
+					Highlighting highlighting= fJobDispatcher.getRestrictedIdentifiersHighlighting();
+					if (highlighting != null) {
+						addPosition(offset, length, highlighting);
+						return true;
 					}
 				}
 			}
@@ -203,12 +358,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 7; // length of 'permits'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
+						Highlighting highlighting= fJobDispatcher.getRestrictedIdentifiersHighlighting();
+						if (highlighting != null) {
+							addPosition(offset, length, highlighting);
+							return true;
 						}
 					}
 				}
@@ -237,12 +390,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				}
 			}
 			if (offset > -1 && length > 0) {
-				for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-						addPosition(offset, length, fJobHighlightings[i]);
-						return false;
-					}
+				Highlighting highlighting= fJobDispatcher.getRestrictedIdentifiersHighlighting();
+				if (highlighting != null) {
+					addPosition(offset, length, highlighting);
+					return false;
 				}
 			}
 			return true;
@@ -254,15 +405,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		@Override
 		public boolean visit(SimpleName node) {
 			fToken.update(node);
-			for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-				SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-				if (fJobHighlightings[i].isEnabled() && semanticHighlighting.consumes(fToken)) {
-					int offset= node.getStartPosition();
-					int length= node.getLength();
-					if (offset > -1 && length > 0)
-						addPosition(offset, length, fJobHighlightings[i]);
-					break;
-				}
+			Highlighting highlighting= fJobDispatcher.getHighlighting(fToken);
+			if (highlighting != null) {
+				int offset= node.getStartPosition();
+				int length= node.getLength();
+				if (offset > -1 && length > 0)
+					addPosition(offset, length, highlighting);
 			}
 			fToken.clear();
 			return false;
@@ -292,12 +440,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 					int offset= node.getRestrictedIdentifierStartPosition();
 					int length= 4; // length of 'when'
 					if (offset > -1) {
-						for (int i= 0; i < fJobSemanticHighlightings.length; i++) {
-							SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-							if (semanticHighlighting instanceof RestrictedIdentifiersHighlighting) {
-								addPosition(offset, length, fJobHighlightings[i]);
-								return true;
-							}
+						Highlighting highlighting= fJobDispatcher.getRestrictedIdentifiersHighlighting();
+						if (highlighting != null) {
+							addPosition(offset, length, highlighting);
+							return true;
 						}
 					}
 				}
@@ -388,17 +534,40 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	private Highlighting[] fJobSyntaxHighlightings;
 
 	/**
-	 * XXX Hack for performance reasons (should loop over fJobSemanticHighlightings can call consumes(*))
-	 * @since 3.5
+	 * Dispatch table for the enabled semantic highlightings, rebuilt when they change
+	 */
+	private SemanticHighlightingDispatcher fDispatcher;
+	/**
+	 * Dispatch table - cache for background thread, only valid during {@link #reconciled(CompilationUnit, boolean, IProgressMonitor)}
 	 */
-	private Highlighting fJobDeprecatedMemberHighlighting;
+	private SemanticHighlightingDispatcher fJobDispatcher;
+
+	/**
+	 * Tracks the document changes for incremental updates, only used in compilation unit editors.
+	 */
+	private final ChangeTracker fChangeTracker= new ChangeTracker();
+	/**
+	 * Listener for the reconcile deltas, only used in compilation unit editors.
+	 */
+	private IElementChangedListener fReconcileDeltaListener;
+	/**
+	 * The changes to be reconciled, obtained before the reconciler reads the document.
+	 */
+	private volatile ChangedRange fJobChangedRange;
+	/**
+	 * <code>true</code> if the reconcile delta reported structural changes.
+	 */
+	private volatile boolean fJobStructureChanged;
 
 	/*
 	 * @see org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener#aboutToBeReconciled()
 	 */
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		if (fReconcileDeltaListener != null) {
+			fJobStructureChanged= false;
+			fJobChangedRange= fChangeTracker.getChangedRange();
+		}
 	}
 
 	private static synchronized ISemanticTokensProvider[] getContributedSemanticTokensProviders() {
@@ -430,6 +599,21 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 */
 	@Override
 	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+		ChangedRange changedRange= fJobChangedRange;
+		fJobChangedRange= null;
+		reconcile(ast, forced, changedRange, progressMonitor);
+	}
+
+	/**
+	 * Reconciles the highlighted positions with the given AST.
+	 *
+	 * @param ast the compilation unit AST
+	 * @param forced <code>true</code> iff this reconciliation was forced
+	 * @param changedRange the document changes since the last update, obtained before the AST was
+	 *            created, or <code>null</code> if unknown
+	 * @param progressMonitor the progress monitor
+	 */
+	private void reconcile(CompilationUnit ast, boolean forced, ChangedRange changedRange, IProgressMonitor progressMonitor) {
 		// ensure at most one thread can be reconciling at any time
 		synchronized (fReconcileLock) {
 			if (fIsReconciling)
@@ -451,20 +635,17 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (ast == null || fJobPresenter.isCanceled())
 				return;
 
-			ASTNode[] subtrees= getAffectedSubtrees(ast);
+			ASTNode[] subtrees= getAffectedSubtrees(ast, forced, changedRange);
 			if (subtrees.length == 0)
 				return;
 
-			startReconcilingPositions();
+			startReconcilingPositions(subtrees);
 
 			if (!fJobPresenter.isCanceled()) {
-				fJobDeprecatedMemberHighlighting= null;
-				for (int i= 0, n= fJobSemanticHighlightings.length; i < n; i++) {
-					SemanticHighlighting semanticHighlighting= fJobSemanticHighlightings[i];
-					if (fJobHighlightings[i].isEnabled() && semanticHighlighting instanceof DeprecatedMemberHighlighting) {
-						fJobDeprecatedMemberHighlighting= fJobHighlightings[i];
-						break;
-					}
+				fJobDispatcher= fDispatcher;
+				if (fJobDispatcher == null || !fJobDispatcher.isValid(fJobSemanticHighlightings, fJobHighlightings)) {
+					fJobDispatcher= new SemanticHighlightingDispatcher(fJobSemanticHighlightings, fJobHighlightings);
+					fDispatcher= fJobDispatcher;
 				}
 
 				reconcilePositions(subtrees, getContributedSemanticTokens(ast));
@@ -475,15 +656,19 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			if (!fJobPresenter.isCanceled())
 				textPresentation= fJobPresenter.createPresentation(fAddedPositions, fRemovedPositions);
 
-			if (!fJobPresenter.isCanceled())
-				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
+			if (!fJobPresenter.isCanceled()) {
+				if (changedRange != null && fAddedPositions.isEmpty() && fRemovedPositions.isEmpty())
+					fChangeTracker.reconciled(changedRange, false);
+				else
+					updatePresentation(textPresentation, fAddedPositions, fRemovedPositions, changedRange);
+			}
 
 			stopReconcilingPositions();
 		} finally {
 			fJobPresenter= null;
 			fJobSemanticHighlightings= null;
 			fJobHighlightings= null;
-			fJobDeprecatedMemberHighlighting= null;
+			fJobDispatcher= null;
 			fJobSyntaxHighlightings = null;
 			synchronized (fReconcileLock) {
 				fIsReconciling= false;
@@ -493,18 +678,66 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 	/**
 	 * @param node Root node
+	 * @param forced <code>true</code> iff the reconciliation was forced
+	 * @param changedRange the document changes to reconcile, or <code>null</code> if unknown
 	 * @return Array of subtrees that may be affected by past document changes
 	 */
-	private ASTNode[] getAffectedSubtrees(ASTNode node) {
-		// TODO: only return nodes which are affected by document changes - would require an 'anchor' concept for taking distant effects into account
-		return new ASTNode[] { node };
+	private ASTNode[] getAffectedSubtrees(CompilationUnit node, boolean forced, ChangedRange changedRange) {
+		if (changedRange == null || forced || changedRange.fullReconcile() || fJobStructureChanged || !fChangeTracker.isCurrent(changedRange))
+			return new ASTNode[] { node };
+		if (changedRange.isEmpty())
+			return new ASTNode[0];
+
+		List<AbstractTypeDeclaration> types= node.types();
+		BodyDeclaration member= findChangedMember(types, changedRange.start(), changedRange.end());
+		if (member == null)
+			return new ASTNode[] { node };
+		return new ASTNode[] { member };
+	}
+
+	/**
+	 * Returns the method or initializer whose body contains the given range. Changes within a body
+	 * do not affect the highlighting of other members.
+	 *
+	 * @param declarations the body declarations
+	 * @param start the start offset of the range
+	 * @param end the end offset of the range
+	 * @return the member or <code>null</code> if the range is not within a single body
+	 */
+	private static BodyDeclaration findChangedMember(List<? extends BodyDeclaration> declarations, int start, int end) {
+		for (BodyDeclaration declaration : declarations) {
+			int declarationStart= declaration.getStartPosition();
+			if (start < declarationStart || end > declarationStart + declaration.getLength())
+				continue;
+
+			if (declaration instanceof AbstractTypeDeclaration) {
+				List<BodyDeclaration> members= ((AbstractTypeDeclaration) declaration).bodyDeclarations();
+				return findChangedMember(members, start, end);
+			}
+			Block body= null;
+			if (declaration instanceof MethodDeclaration)
+				body= ((MethodDeclaration) declaration).getBody();
+			else if (declaration instanceof Initializer)
+				body= ((Initializer) declaration).getBody();
+			if (body != null && start > body.getStartPosition() && end < body.getStartPosition() + body.getLength())
+				return declaration;
+			return null;
+		}
+		return null;
 	}
 
 	/**
 	 * Start reconciling positions.
+	 *
+	 * @param subtrees the AST subtrees to reconcile
 	 */
-	private void startReconcilingPositions() {
-		fJobPresenter.addAllPositions(fRemovedPositions);
+	private void startReconcilingPositions(ASTNode[] subtrees) {
+		if (subtrees.length == 1 && subtrees[0] instanceof CompilationUnit) {
+			fJobPresenter.addAllPositions(fRemovedPositions);
+		} else {
+			for (ASTNode subtree : subtrees)
+				fJobPresenter.addPositions(fRemovedPositions, subtree.getStartPosition(), subtree.getLength());
+		}
 		fNOfRemovedPositions= fRemovedPositions.size();
 	}
 
@@ -515,12 +748,12 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param contributedTokens contributed semantic tokens data
 	 */
 	private void reconcilePositions(ASTNode[] subtrees, List<ISemanticTokensProvider.SemanticToken> contributedTokens) {
-		// FIXME: remove positions not covered by subtrees
-
 		for (ASTNode subtree : subtrees)
 			subtree.accept(fCollector);
 
 		for (ISemanticTokensProvider.SemanticToken t : contributedTokens) {
+			if (!isCovered(subtrees, t.ofset()))
+				continue;
 			Highlighting h = fromSemanticTokenType(t.tokenType());
 			if (h == null) {
 				JavaPlugin.logErrorMessage("Cannot find semantic highlighting for %s".formatted(t)); //$NON-NLS-1$
@@ -537,6 +770,14 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fRemovedPositions= newPositions;
 	}
 
+	private static boolean isCovered(ASTNode[] subtrees, int offset) {
+		for (ASTNode subtree : subtrees) {
+			if (offset >= subtree.getStartPosition() && offset < subtree.getStartPosition() + subtree.getLength())
+				return true;
+		}
+		return false;
+	}
+
 	private Highlighting fromSemanticTokenType(ISemanticTokensProvider.TokenType type) {
 		if (type == null) {
 			return null;
@@ -632,8 +873,9 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @param textPresentation the text presentation
 	 * @param addedPositions the added positions
 	 * @param removedPositions the removed positions
+	 * @param changedRange the reconciled document changes, or <code>null</code> if unknown
 	 */
-	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions) {
+	private void updatePresentation(TextPresentation textPresentation, List<Position> addedPositions, List<Position> removedPositions, ChangedRange changedRange) {
 		Runnable runnable= fJobPresenter.createUpdateRunnable(textPresentation, addedPositions, removedPositions);
 		if (runnable == null)
 			return;
@@ -666,6 +908,8 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 				} else {
 					runnable.run();
 				}
+				if (changedRange != null)
+					fChangeTracker.reconciled(changedRange, true);
 			}
 		});
 	}
@@ -699,6 +943,10 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 
 		if (fEditor instanceof CompilationUnitEditor) {
 			if (registerAsEditorReconcilingListener()) {
+				fChangeTracker.connect(fSourceViewer.getDocument());
+				fSourceViewer.addTextInputListener(fChangeTracker);
+				fReconcileDeltaListener= new ReconcileDeltaListener();
+				JavaCore.addElementChangedListener(fReconcileDeltaListener, ElementChangedEvent.POST_RECONCILE);
 				((CompilationUnitEditor)fEditor).addReconcileListener(this);
 			}
 		} else if (fEditor != null) {
@@ -733,9 +981,15 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 			fPresenter.setCanceled(true);
 
 		if (fEditor != null) {
-			if (fEditor instanceof CompilationUnitEditor)
+			if (fEditor instanceof CompilationUnitEditor) {
 				((CompilationUnitEditor)fEditor).removeReconcileListener(this);
-			else
+				if (fReconcileDeltaListener != null) {
+					JavaCore.removeElementChangedListener(fReconcileDeltaListener);
+					fReconcileDeltaListener= null;
+					fSourceViewer.removeTextInputListener(fChangeTracker);
+					fChangeTracker.disconnect();
+				}
+			} else
 				fSourceViewer.removeTextInputListener(this);
 			fEditor= null;
 		}
@@ -743,6 +997,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 		fSourceViewer= null;
 		fSemanticHighlightings= null;
 		fHighlightings= null;
+		fDispatcher= null;
 		fPresenter= null;
 	}
 
@@ -784,7 +1039,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 							return Status.CANCEL_STATUS;
 						JavaCore.runReadOnly(() -> {
 							CompilationUnit ast= SharedASTProviderCore.getAST(element, SharedASTProviderCore.WAIT_YES, monitor);
-							reconciled(ast, false, monitor);
+							reconcile(ast, false, null, monitor);
 						});
 						synchronized (fJobLock) {
 							// allow the job to be gc'ed
@@ -829,6 +1084,7 @@ public class SemanticHighlightingReconciler implements IJavaReconcilingListener,
 	 * @since 3.2
 	 */
 	public void refresh() {
+		fChangeTracker.requireFullReconcile();
 		scheduleJob();
 	}
 }
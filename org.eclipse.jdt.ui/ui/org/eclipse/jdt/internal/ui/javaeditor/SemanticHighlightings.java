@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -270,6 +270,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_staticFinalField;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return VARIABLE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -333,6 +338,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_staticField;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return VARIABLE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -396,6 +406,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_field;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return VARIABLE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -467,6 +482,11 @@ public class SemanticHighlightings {
 			return isAutoUnBoxing(token.getLiteral());
 		}
 
+		@Override
+		public int[] getConsumedLiteralNodeTypes() {
+			return new int[] { ASTNode.NUMBER_LITERAL, ASTNode.BOOLEAN_LITERAL, ASTNode.CHARACTER_LITERAL };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -567,6 +587,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_methodDeclaration;
 		}
 
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.METHOD_DECLARATION, ASTNode.ANNOTATION_TYPE_MEMBER_DECLARATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -630,6 +655,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_staticMethodInvocation;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return METHOD_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -698,6 +728,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_annotationElementReference;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return METHOD_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.MEMBER_VALUE_PAIR };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -768,6 +808,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_abstractMethodInvocation;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return METHOD_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -846,6 +891,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_inheritedMethodInvocation;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return METHOD_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -921,6 +971,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_method;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return METHOD_BINDING | TYPE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -984,6 +1039,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_localVariableDeclaration;
 		}
 
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.VARIABLE_DECLARATION_FRAGMENT, ASTNode.SINGLE_VARIABLE_DECLARATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1055,6 +1115,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_localVariable;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return VARIABLE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1122,6 +1187,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_parameterVariable;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return VARIABLE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1309,6 +1379,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_typeVariables;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.TYPE_PARAMETER };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1381,6 +1461,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_classes;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE, ASTNode.QUALIFIED_NAME, ASTNode.THIS_EXPRESSION, ASTNode.TYPE_DECLARATION, ASTNode.METHOD_INVOCATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1442,6 +1532,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_records;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE, ASTNode.QUALIFIED_NAME, ASTNode.THIS_EXPRESSION, ASTNode.RECORD_DECLARATION, ASTNode.TYPE_DECLARATION, ASTNode.METHOD_INVOCATION };
+		}
+
 		@Override
 		public boolean consumes(SemanticToken token) {
 
@@ -1522,6 +1622,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_enums;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE, ASTNode.QUALIFIED_NAME, ASTNode.ENUM_DECLARATION, ASTNode.METHOD_INVOCATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1602,6 +1712,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_interfaces;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE, ASTNode.QUALIFIED_NAME, ASTNode.TYPE_DECLARATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1681,6 +1801,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_annotations;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE, ASTNode.QUALIFIED_NAME, ASTNode.ANNOTATION_TYPE_DECLARATION, ASTNode.MARKER_ANNOTATION, ASTNode.NORMAL_ANNOTATION, ASTNode.SINGLE_MEMBER_ANNOTATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1761,6 +1891,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_typeArguments;
 		}
 
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1840,6 +1975,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_numbers;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return 0;
+		}
+
+		@Override
+		public int[] getConsumedLiteralNodeTypes() {
+			return new int[] { ASTNode.NUMBER_LITERAL };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1912,6 +2057,16 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_abstractClasses;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return TYPE_BINDING;
+		}
+
+		@Override
+		public int[] getConsumedParentNodeTypes() {
+			return new int[] { ASTNode.SIMPLE_TYPE, ASTNode.QUALIFIED_TYPE, ASTNode.QUALIFIED_NAME, ASTNode.THIS_EXPRESSION, ASTNode.TYPE_DECLARATION, ASTNode.METHOD_INVOCATION };
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.SemanticHighlighting#consumes(org.eclipse.jdt.internal.ui.javaeditor.SemanticToken)
 		 */
@@ -1997,6 +2152,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_inheritedField;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return VARIABLE_BINDING;
+		}
+
 		/*
 		 * @see org.eclipse.jdt.internal.ui.javaeditor.ISemanticHighlighting#isMatched(org.eclipse.jdt.core.dom.ASTNode)
 		 */
@@ -2053,6 +2213,11 @@ public class SemanticHighlightings {
 			return JavaEditorMessages.SemanticHighlighting_restrictedIdentifiers;
 		}
 
+		@Override
+		public int getConsumedBindingKinds() {
+			return 0;
+		}
+
 		@Override
 		public boolean consumes(SemanticToken token) {
 			return false;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018 Angelo Zerr and others.
+ * Copyright (c) 2018, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,7 +104,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 		try {
 			IJavaElement[] elements= unit.getChildren();
 			List<ICodeMining> minings= new ArrayList<>(elements.length);
-			collectMinings(unit, textEditor, unit.getChildren(), minings, viewer, monitor);
+			collectMinings(unit, textEditor, unit.getChildren(), minings, JavaReferenceCounter.getInstance().createBatch(), viewer, monitor);
 			return minings;
 		} catch (JavaModelException e) {
 			// Should never occur
@@ -119,12 +119,13 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 	 * @param textEditor the Java editor
 	 * @param elements the java elements to track
 	 * @param minings the current list of minings to update
+	 * @param batch the batch for counting the references of all elements
 	 * @param viewer the viewer
 	 * @param monitor the monitor
 	 * @throws JavaModelException thrown when java model error
 	 */
 	private void collectMinings(ITypeRoot unit, ITextEditor textEditor, IJavaElement[] elements,
-			List<ICodeMining> minings, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
+			List<ICodeMining> minings, JavaReferenceCounter.Batch batch, ITextViewer viewer, IProgressMonitor monitor) throws JavaModelException {
 
 		// Only Java editor is supported, see bug 541811
 		if(!(textEditor instanceof JavaEditor)) {
@@ -141,7 +142,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 				return;
 			}
 			if (element.getElementType() == IJavaElement.TYPE) {
-				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, viewer, monitor);
+				collectMinings(unit, textEditor, ((IType) element).getChildren(), minings, batch, viewer, monitor);
 			} else if ((element.getElementType() != IJavaElement.METHOD)
 					&& (element.getElementType() != IJavaElement.FIELD)) {
 				continue;
@@ -153,7 +154,7 @@ public class JavaElementCodeMiningProvider extends AbstractCodeMiningProvider {
 							|| (showReferencesOnFields && (element.getElementType() == IJavaElement.FIELD)) // Show references on fields
 					) {
 						minings.add(new JavaReferenceCodeMining(element, (JavaEditor) textEditor, viewer.getDocument(),
-								this, showAtLeastOne));
+								this, showAtLeastOne, batch));
 					}
 				} catch (BadLocationException e) {
 					// Should never occur
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Angelo Zerr and others.
+ * Copyright (c) 2019, 2026 Angelo Zerr and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,12 +15,8 @@
 package org.eclipse.jdt.internal.ui.javaeditor.codemining;
 
 import java.text.MessageFormat;
-import java.util.List;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.MouseEvent;
@@ -161,8 +157,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws JavaModelException throws when Java error
 	 */
 	private static long countTypeImplementations(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).count();
+		return JavaImplementationCounter.getInstance().getSourceSubtypes(type, monitor).length;
 	}
 
 	/**
@@ -174,8 +169,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws JavaModelException throws when Java error
 	 */
 	private static IType getTypeImplementation(IType type, IProgressMonitor monitor) throws JavaModelException {
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		return Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).findFirst().get();
+		return JavaImplementationCounter.getInstance().getSourceSubtypes(type, monitor)[0];
 	}
 
 	/**
@@ -190,11 +184,7 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 		if (method == null) {
 			return 0;
 		}
-		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
-		long count= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).count();
-		return count;
+		return JavaImplementationCounter.getInstance().getImplementingSubtypes(method.getElementName(), method.getParameterTypes(), method.getDeclaringType(), monitor).length;
 	}
 
 	/**
@@ -206,11 +196,8 @@ public class JavaImplementationCodeMining extends AbstractJavaElementLineHeaderC
 	 * @throws CoreException throws when java error
 	 */
 	private static IMethod getMethodImplementation(IMethod method, IProgressMonitor monitor) throws CoreException {
-		IType type= method.getDeclaringType();
-		IType[] results= type.newTypeHierarchy(monitor).getAllSubtypes(type);
-		List<IType> list= Stream.of(results).filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null).collect(Collectors.toList());
-		Optional<IType> foundType= list.stream().filter(t -> t.getMethod(method.getElementName(), method.getParameterTypes()).exists()).findFirst();
-		return foundType.get().getMethod(method.getElementName(), method.getParameterTypes());
+		IType[] types= JavaImplementationCounter.getInstance().getImplementingSubtypes(method.getElementName(), method.getParameterTypes(), method.getDeclaringType(), monitor);
+		return types[0].getMethod(method.getElementName(), method.getParameterTypes());
 	}
 
 }
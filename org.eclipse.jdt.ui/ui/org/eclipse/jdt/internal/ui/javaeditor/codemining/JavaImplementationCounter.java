@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeHierarchyChangedListener;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Provides the implementations shown by the implementations code mining.
+ * <p>
+ * The subtypes of a type are computed with one type hierarchy, which is shared by the code minings
+ * of the type and of all its methods, and kept across reopenings of the editor. Concurrent requests
+ * for the same type wait for the hierarchy that is being computed, and compute it themselves if the
+ * request computing it is cancelled. The subtypes of a type are
+ * discarded when its hierarchy reports a change. Whether a subtype implements a method is checked
+ * on each request, since adding or removing methods does not change the hierarchy.
+ * </p>
+ */
+public final class JavaImplementationCounter {
+
+	private final class Entry implements ITypeHierarchyChangedListener {
+
+		private final IType fType;
+
+		private final CompletableFuture<IType[]> fSubtypes= new CompletableFuture<>();
+
+		private ITypeHierarchy fHierarchy;
+
+		private Entry(IType type) {
+			fType= type;
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			remove(this);
+		}
+
+		private void dispose() {
+			if (fHierarchy != null) {
+				fHierarchy.removeTypeHierarchyChangedListener(this);
+				fHierarchy= null;
+			}
+		}
+	}
+
+	/**
+	 * Maximal number of cached type hierarchies. Can be configured with the system property
+	 * <code>org.eclipse.jdt.ui.implementationCountCacheSize</code>.
+	 */
+	private static final int MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.ui.implementationCountCacheSize", 50).intValue(); //$NON-NLS-1$
+
+	private static final JavaImplementationCounter fgInstance= new JavaImplementationCounter();
+
+	private final Map<IType, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IType, Entry> eldest) {
+			if (size() <= MAX_ENTRIES)
+				return false;
+			eldest.getValue().dispose();
+			return true;
+		}
+	};
+
+	private int fHits;
+
+	private int fHierarchies;
+
+	private JavaImplementationCounter() {
+	}
+
+	/**
+	 * @return the implementation counter of the implementations code minings
+	 */
+	public static JavaImplementationCounter getInstance() {
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the subtypes of the given type that are declared in compilation units.
+	 *
+	 * @param type the type
+	 * @param monitor the progress monitor
+	 * @return the subtypes, in the order of {@link ITypeHierarchy#getAllSubtypes(IType)}
+	 * @throws JavaModelException if the type hierarchy cannot be created
+	 */
+	public IType[] getSourceSubtypes(IType type, IProgressMonitor monitor) throws JavaModelException {
+		while (true) {
+			Entry entry;
+			boolean compute;
+			synchronized (this) {
+				entry= fEntries.get(type);
+				compute= entry == null;
+				if (compute) {
+					entry= new Entry(type);
+					fEntries.put(type, entry);
+				} else {
+					fHits++;
+				}
+			}
+			if (compute)
+				computeSubtypes(entry, monitor);
+			try {
+				return entry.fSubtypes.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof OperationCanceledException) {
+					// another request has been cancelled and removed its entry, compute it again
+					if (monitor != null && monitor.isCanceled())
+						throw new OperationCanceledException();
+					continue;
+				}
+				if (e.getCause() instanceof JavaModelException)
+					throw (JavaModelException) e.getCause();
+				if (e.getCause() instanceof RuntimeException)
+					throw (RuntimeException) e.getCause();
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Returns the subtypes of the declaring type of the given method that declare a method with
+	 * the same signature.
+	 *
+	 * @param name the method name
+	 * @param parameterTypes the parameter type signatures of the method
+	 * @param declaringType the declaring type of the method
+	 * @param monitor the progress monitor
+	 * @return the implementing subtypes
+	 * @throws JavaModelException if the type hierarchy cannot be created
+	 */
+	public IType[] getImplementingSubtypes(String name, String[] parameterTypes, IType declaringType, IProgressMonitor monitor) throws JavaModelException {
+		return Stream.of(getSourceSubtypes(declaringType, monitor))
+				.filter(t -> t.getMethod(name, parameterTypes).exists())
+				.toArray(IType[]::new);
+	}
+
+	/**
+	 * Discards all type hierarchies.
+	 */
+	public synchronized void clear() {
+		for (Entry entry : fEntries.values())
+			entry.dispose();
+		fEntries.clear();
+	}
+
+	public synchronized int getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of type hierarchies that have been computed
+	 */
+	public synchronized int getHierarchyCount() {
+		return fHierarchies;
+	}
+
+	private void computeSubtypes(Entry entry, IProgressMonitor monitor) throws JavaModelException {
+		try {
+			ITypeHierarchy hierarchy= entry.fType.newTypeHierarchy(monitor);
+			IType[] subtypes= Stream.of(hierarchy.getAllSubtypes(entry.fType))
+					.filter(t -> t.getAncestor(IJavaElement.COMPILATION_UNIT) != null)
+					.toArray(IType[]::new);
+			hierarchy.addTypeHierarchyChangedListener(entry);
+			synchronized (this) {
+				fHierarchies++;
+				entry.fHierarchy= hierarchy;
+				if (fEntries.get(entry.fType) != entry)
+					entry.dispose(); // evicted or changed while computing
+			}
+			entry.fSubtypes.complete(subtypes);
+		} catch (JavaModelException | RuntimeException | Error e) {
+			// a failed or cancelled computation must not be found by later requests
+			remove(entry);
+			entry.fSubtypes.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	private synchronized void remove(Entry entry) {
+		if (fEntries.get(entry.fType) == entry)
+			fEntries.remove(entry.fType);
+		entry.dispose();
+	}
+}
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor.codemining;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.ui.PreferenceConstants;
+
+import org.eclipse.jdt.internal.ui.preferences.JavaPreferencesPropertyTester;
+import org.eclipse.jdt.internal.ui.search.JavaSearchScopeFactory;
+
+/**
+ * Counts the references to the Java elements of the references code mining.
+ * <p>
+ * The elements of an editor are collected in a {@link Batch}. When the first count of a batch is
+ * requested, the references to all elements of the batch are searched with a single search for a
+ * combined pattern. The matches are attributed to the elements by the referenced name, so elements
+ * whose names are not unique in the batch (overloaded methods, constructors) are searched
+ * separately.
+ * </p>
+ * <p>
+ * The counts are cached per element. Since any change of a compilation unit's contents may add or
+ * remove references, Java element deltas with content changes, added or removed members or class
+ * path changes clear the cache, while opening, closing and saving editors do not.
+ * </p>
+ */
+public final class JavaReferenceCounter {
+
+	/**
+	 * The elements of an editor whose references are counted together.
+	 */
+	public final class Batch {
+
+		private final Set<IJavaElement> fElements= new LinkedHashSet<>();
+
+		private Map<IJavaElement, Long> fCounts;
+
+		private Batch() {
+		}
+
+		/**
+		 * Adds an element to this batch.
+		 *
+		 * @param element the Java element
+		 */
+		public synchronized void add(IJavaElement element) {
+			fElements.add(element);
+		}
+
+		/**
+		 * Returns the number of references to the given element. The references to all elements of
+		 * the batch are searched on the first call.
+		 *
+		 * @param element the Java element
+		 * @param monitor the progress monitor
+		 * @return the number of references
+		 * @throws CoreException if the search failed
+		 */
+		public long getReferenceCount(IJavaElement element, IProgressMonitor monitor) throws CoreException {
+			Map<IJavaElement, Long> counts;
+			synchronized (this) {
+				if (fCounts == null) {
+					fElements.add(element);
+					fCounts= countReferences(new ArrayList<>(fElements), monitor);
+				}
+				counts= fCounts;
+			}
+			Long count= counts.get(element);
+			if (count != null)
+				return count.longValue();
+			return countReferences(List.of(element), monitor).get(element).longValue();
+		}
+	}
+
+	private record Key(IJavaElement element, boolean ignoreInaccurate) {
+	}
+
+	private class DeltaListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (affectsReferences(event.getDelta()))
+				clear();
+		}
+	}
+
+	/**
+	 * Maximal number of cached counts. Can be configured with the system property
+	 * <code>org.eclipse.jdt.ui.referenceCountCacheSize</code>.
+	 */
+	private static final int MAX_ENTRIES= Integer.getInteger("org.eclipse.jdt.ui.referenceCountCacheSize", 5000).intValue(); //$NON-NLS-1$
+
+	private static final JavaReferenceCounter fgInstance= new JavaReferenceCounter();
+
+	private final Map<Key, Long> fCounts= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * Incremented whenever the cache is cleared, so that counts which were searched while the Java
+	 * model changed are not cached.
+	 */
+	private long fGeneration;
+
+	private boolean fListenerInstalled;
+
+	private int fHits;
+
+	private int fSearches;
+
+	private JavaReferenceCounter() {
+	}
+
+	/**
+	 * @return the reference counter of the references code minings
+	 */
+	public static JavaReferenceCounter getInstance() {
+		return fgInstance;
+	}
+
+	/**
+	 * @return a new, empty batch
+	 */
+	public Batch createBatch() {
+		return new Batch();
+	}
+
+	/**
+	 * Removes all counts from the cache.
+	 */
+	public synchronized void clear() {
+		fCounts.clear();
+		fGeneration++;
+	}
+
+	public synchronized int getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of searches that have been run for counting references
+	 */
+	public synchronized int getSearchCount() {
+		return fSearches;
+	}
+
+	private synchronized long getGeneration() {
+		if (!fListenerInstalled) {
+			JavaCore.addElementChangedListener(new DeltaListener(), ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+			fListenerInstalled= true;
+		}
+		return fGeneration;
+	}
+
+	private synchronized Long getCachedCount(Key key) {
+		Long count= fCounts.get(key);
+		if (count != null)
+			fHits++;
+		return count;
+	}
+
+	private synchronized void putCachedCounts(long generation, boolean ignoreInaccurate, Map<IJavaElement, Long> counts) {
+		if (generation != fGeneration)
+			return;
+		for (Map.Entry<IJavaElement, Long> entry : counts.entrySet())
+			fCounts.put(new Key(entry.getKey(), ignoreInaccurate), entry.getValue());
+	}
+
+	private synchronized void searched() {
+		fSearches++;
+	}
+
+	private Map<IJavaElement, Long> countReferences(List<IJavaElement> elements, IProgressMonitor monitor) throws CoreException {
+		boolean ignoreInaccurate= JavaPreferencesPropertyTester.isEnabled(PreferenceConstants.EDITOR_JAVA_CODEMINING_IGNORE_INEXACT_MATCHES);
+		long generation= getGeneration();
+		Map<IJavaElement, Long> counts= new HashMap<>();
+		List<IJavaElement> insideJRE= new ArrayList<>();
+		List<IJavaElement> outsideJRE= new ArrayList<>();
+		JavaSearchScopeFactory factory= JavaSearchScopeFactory.getInstance();
+		for (IJavaElement element : elements) {
+			Long count= getCachedCount(new Key(element, ignoreInaccurate));
+			if (count != null)
+				counts.put(element, count);
+			else if (factory.isInsideJRE(element))
+				insideJRE.add(element);
+			else
+				outsideJRE.add(element);
+		}
+		Map<IJavaElement, Long> searched= new HashMap<>();
+		searchReferences(insideJRE, factory.createWorkspaceScope(true), ignoreInaccurate, searched, monitor);
+		searchReferences(outsideJRE, factory.createWorkspaceScope(false), ignoreInaccurate, searched, monitor);
+		putCachedCounts(generation, ignoreInaccurate, searched);
+		counts.putAll(searched);
+		return counts;
+	}
+
+	/**
+	 * Searches the references to the given elements. Elements with unique names are searched
+	 * together, the others separately.
+	 */
+	private void searchReferences(List<IJavaElement> elements, IJavaSearchScope scope, boolean ignoreInaccurate, Map<IJavaElement, Long> counts, IProgressMonitor monitor) throws CoreException {
+		if (elements.isEmpty())
+			return;
+		Map<String, IJavaElement> combined= new HashMap<>();
+		Set<String> ambiguousNames= new LinkedHashSet<>();
+		List<IJavaElement> separate= new ArrayList<>();
+		for (IJavaElement element : elements) {
+			String name= element.getElementName();
+			if (element instanceof IMethod && ((IMethod) element).isConstructor()) {
+				separate.add(element); // references by 'new', 'this' and 'super'
+			} else if (ambiguousNames.contains(name)) {
+				separate.add(element);
+			} else {
+				IJavaElement other= combined.put(name, element);
+				if (other != null) {
+					combined.remove(name);
+					ambiguousNames.add(name);
+					separate.add(other);
+					separate.add(element);
+				}
+			}
+		}
+		if (combined.size() > 1 && !searchCombined(combined, scope, ignoreInaccurate, counts, monitor))
+			separate.addAll(combined.values());
+		else if (combined.size() == 1)
+			separate.addAll(combined.values());
+		for (IJavaElement element : separate)
+			counts.put(element, Long.valueOf(searchSeparate(element, scope, ignoreInaccurate, monitor)));
+	}
+
+	/**
+	 * Searches the references to the given elements with a combined pattern.
+	 *
+	 * @return <code>false</code> if a match could not be attributed to an element
+	 */
+	private boolean searchCombined(Map<String, IJavaElement> elementsByName, IJavaSearchScope scope, boolean ignoreInaccurate, Map<IJavaElement, Long> counts, IProgressMonitor monitor) throws CoreException {
+		Map<String, Long> countsByName= new HashMap<>();
+		SearchPattern pattern= null;
+		for (Map.Entry<String, IJavaElement> entry : elementsByName.entrySet()) {
+			SearchPattern elementPattern= SearchPattern.createPattern(entry.getValue(), IJavaSearchConstants.REFERENCES);
+			if (elementPattern == null)
+				continue;
+			countsByName.put(entry.getKey(), Long.valueOf(0));
+			pattern= pattern == null ? elementPattern : SearchPattern.createOrPattern(pattern, elementPattern);
+		}
+		if (pattern != null) {
+			boolean[] unattributed= new boolean[1];
+			search(pattern, scope, new SearchRequestor() {
+				@Override
+				public void acceptSearchMatch(SearchMatch match) throws CoreException {
+					if (!isCounted(match, ignoreInaccurate))
+						return;
+					String name= getReferencedName(match);
+					Long count= name != null ? countsByName.get(name) : null;
+					if (count != null)
+						countsByName.put(name, Long.valueOf(count.longValue() + 1));
+					else
+						unattributed[0]= true;
+				}
+			}, monitor);
+			if (unattributed[0])
+				return false;
+		}
+		for (Map.Entry<String, IJavaElement> entry : elementsByName.entrySet()) {
+			Long count= countsByName.get(entry.getKey());
+			counts.put(entry.getValue(), count != null ? count : Long.valueOf(0));
+		}
+		return true;
+	}
+
+	private long searchSeparate(IJavaElement element, IJavaSearchScope scope, boolean ignoreInaccurate, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern= SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES);
+		if (pattern == null)
+			return 0;
+		long[] count= new long[1];
+		search(pattern, scope, new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (isCounted(match, ignoreInaccurate))
+					count[0]++;
+			}
+		}, monitor);
+		return count[0];
+	}
+
+	private void search(SearchPattern pattern, IJavaSearchScope scope, SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+		searched();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, requestor, monitor);
+	}
+
+	private static boolean isCounted(SearchMatch match, boolean ignoreInaccurate) {
+		if (match.getAccuracy() == SearchMatch.A_INACCURATE && ignoreInaccurate)
+			return false;
+		Object o= match.getElement();
+		if (o instanceof IJavaElement) {
+			IJavaElement e= (IJavaElement) o;
+			return e.getAncestor(IJavaElement.COMPILATION_UNIT) != null || e.getAncestor(IJavaElement.CLASS_FILE) != null;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the name of the element referenced by the given match: the last identifier of the
+	 * matched source before any arguments.
+	 *
+	 * @param match a reference match
+	 * @return the referenced name, or <code>null</code> if the source is not available
+	 * @throws JavaModelException if the buffer cannot be accessed
+	 */
+	static String getReferencedName(SearchMatch match) throws JavaModelException {
+		IOpenable openable= ((IJavaElement) match.getElement()).getOpenable();
+		IBuffer buffer= openable != null ? openable.getBuffer() : null;
+		int offset= match.getOffset();
+		int length= match.getLength();
+		if (buffer == null || offset < 0 || length <= 0 || offset + length > buffer.getLength())
+			return null;
+		String text= buffer.getText(offset, length);
+		int end= text.length();
+		int arguments= text.indexOf('(');
+		if (arguments >= 0)
+			end= arguments;
+		int typeArguments= text.indexOf('<');
+		if (typeArguments >= 0 && typeArguments < end)
+			end= typeArguments;
+		while (end > 0 && !Character.isJavaIdentifierPart(text.charAt(end - 1)))
+			end--;
+		int start= end;
+		while (start > 0 && Character.isJavaIdentifierPart(text.charAt(start - 1)))
+			start--;
+		return start < end ? text.substring(start, end) : null;
+	}
+
+	private static boolean affectsReferences(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		int kind= delta.getKind();
+		int flags= delta.getFlags();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				// content changes of non-Java resources do not affect references
+				if (kind != IJavaElementDelta.CHANGED || (flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0)
+					return true;
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				// opening, closing and saving editors do not change the contents, a reconcile that adds
+				// or removes members only reports the changed children
+				return kind != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN)) != 0
+						|| delta.getAffectedChildren().length > 0;
+			default:
+				return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (affectsReferences(child))
+				return true;
+		}
+		return false;
+	}
+}
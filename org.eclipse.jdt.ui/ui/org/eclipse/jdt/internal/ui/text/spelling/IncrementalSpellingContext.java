@@ -0,0 +1,398 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
+
+import org.eclipse.jdt.internal.ui.text.spelling.SpellingEngine.SpellEventListener;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellEvent;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellEventListener;
+import org.eclipse.jdt.internal.ui.text.spelling.engine.SpellEvent;
+
+
+/**
+ * Spelling context that remembers the spelling problems of the partitions of one document, so
+ * that a spelling engine only has to check partitions that have changed since the last check.
+ * <p>
+ * Results are looked up in two ways: partitions that have not been touched by a document change
+ * since they were checked are found by position, other partitions are found by a hash of their
+ * type and content. Cached misspellings are dropped when the spell checker accepts the word by
+ * now, e.g. after it has been added to the user dictionary or ignored. All results are discarded
+ * when the spell checker or a spelling preference changes, see
+ * {@link SpellCheckEngine#getConfigurationStamp()}.
+ * </p>
+ */
+public class IncrementalSpellingContext extends SpellingContext implements IDocumentListener {
+
+	/**
+	 * A spell event relative to the start of its partition.
+	 *
+	 * @param word the word
+	 * @param begin the begin offset relative to the partition
+	 * @param end the end offset relative to the partition
+	 * @param sentence <code>true</code> if the word starts a sentence
+	 * @param match <code>true</code> if the word is correctly spelled
+	 */
+	private record CachedEvent(String word, int begin, int end, boolean sentence, boolean match) {
+	}
+
+	/**
+	 * Key of the results of a partition with a certain content.
+	 *
+	 * @param type the partition type
+	 * @param length the length of the content
+	 * @param hash the 64-bit hash of the content
+	 */
+	private record ContentKey(String type, int length, long hash) {
+	}
+
+	/**
+	 * The results of a partition at a certain position of the document.
+	 */
+	private static class CachedPartition {
+		final ContentKey fKey;
+		final CachedEvent[] fEvents;
+		int fOffset;
+		int fGeneration;
+
+		CachedPartition(ContentKey key, CachedEvent[] events, int offset, int generation) {
+			fKey= key;
+			fEvents= events;
+			fOffset= offset;
+			fGeneration= generation;
+		}
+
+		int getEnd() {
+			return fOffset + fKey.length();
+		}
+	}
+
+	/**
+	 * Spell event with an absolute position that is replayed from the cache.
+	 */
+	private static class ReplayedSpellEvent extends SpellEvent {
+		ReplayedSpellEvent(ISpellChecker checker, CachedEvent event, int offset) {
+			super(checker, event.word(), offset + event.begin(), offset + event.end(), event.sentence(), event.match());
+		}
+	}
+
+	/**
+	 * Listener that forwards spell events and records them relative to the partition.
+	 */
+	private static class RecordingSpellEventListener implements ISpellEventListener {
+		private final ISpellEventListener fDelegate;
+		private final int fOffset;
+		private final List<CachedEvent> fEvents= new ArrayList<>();
+
+		RecordingSpellEventListener(ISpellEventListener delegate, int offset) {
+			fDelegate= delegate;
+			fOffset= offset;
+		}
+
+		@Override
+		public void handle(ISpellEvent event) {
+			fEvents.add(new CachedEvent(event.getWord(), event.getBegin() - fOffset, event.getEnd() - fOffset, event.isStart(), event.isMatch()));
+			fDelegate.handle(event);
+		}
+
+		CachedEvent[] getEvents() {
+			return fEvents.toArray(new CachedEvent[fEvents.size()]);
+		}
+	}
+
+
+	/** The maximal number of partition contents whose results are remembered */
+	private static final int MAX_CACHED_CONTENTS= 4096;
+
+	private static final CachedEvent[] NO_EVENTS= new CachedEvent[0];
+
+	/** The lock guarding the cached results */
+	private final Object fLock= new Object();
+
+	/** The results of the partitions, by partition offset */
+	private final TreeMap<Integer, CachedPartition> fPartitions= new TreeMap<>();
+
+	/** The results of partition contents, least recently used first */
+	private final Map<ContentKey, CachedEvent[]> fContents= new LinkedHashMap<>(64, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ContentKey, CachedEvent[]> eldest) {
+			return size() > MAX_CACHED_CONTENTS;
+		}
+	};
+
+	/** The document whose changes are tracked, or <code>null</code> */
+	private IDocument fDocument;
+
+	/** The spell checker that computed the cached results */
+	private ISpellChecker fChecker;
+
+	/** The spelling configuration with which the cached results were computed */
+	private int fConfigurationStamp;
+
+	/** Incremented whenever the tracked document changes */
+	private int fModificationCount;
+
+	/** The modification count at the beginning of the current check */
+	private int fCheckModificationCount;
+
+	/** Incremented at the beginning of each check */
+	private int fGeneration;
+
+	private int fReusedCount;
+	private int fCheckedCount;
+
+
+	/**
+	 * Starts tracking changes of the given document. Any previously connected document is
+	 * disconnected.
+	 *
+	 * @param document the document, or <code>null</code>
+	 */
+	public void connect(IDocument document) {
+		synchronized (fLock) {
+			if (fDocument == document)
+				return;
+			if (fDocument != null)
+				fDocument.removeDocumentListener(this);
+			fDocument= document;
+			if (fDocument != null)
+				fDocument.addDocumentListener(this);
+			clear();
+		}
+	}
+
+	/**
+	 * Stops tracking changes and discards all cached results.
+	 */
+	public void disconnect() {
+		connect(null);
+	}
+
+	/**
+	 * Discards all cached results.
+	 */
+	public void clear() {
+		synchronized (fLock) {
+			fPartitions.clear();
+			fContents.clear();
+			fChecker= null;
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// the positions are updated after the change
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		int start= event.getOffset();
+		int end= start + event.getLength();
+		int delta= (event.getText() == null ? 0 : event.getText().length()) - event.getLength();
+		synchronized (fLock) {
+			fModificationCount++;
+			if (fPartitions.isEmpty())
+				return;
+
+			// only the partition containing the start of the change can begin before it
+			Integer first= fPartitions.floorKey(Integer.valueOf(start));
+			List<CachedPartition> shifted= new ArrayList<>();
+			Iterator<CachedPartition> iter= fPartitions.tailMap(first != null ? first : Integer.valueOf(start)).values().iterator();
+			while (iter.hasNext()) {
+				CachedPartition partition= iter.next();
+				if (partition.getEnd() < start)
+					continue;
+				iter.remove();
+				// partitions touching the change are dirty, the ones behind it are moved
+				if (partition.fOffset > end) {
+					partition.fOffset+= delta;
+					shifted.add(partition);
+				}
+			}
+			for (CachedPartition partition : shifted)
+				fPartitions.put(Integer.valueOf(partition.fOffset), partition);
+		}
+	}
+
+	/**
+	 * Starts a check with the given spell checker.
+	 *
+	 * @param checker the spell checker
+	 */
+	void beginCheck(ISpellChecker checker) {
+		synchronized (fLock) {
+			int configurationStamp= SpellCheckEngine.getConfigurationStamp();
+			if (fChecker != checker || fConfigurationStamp != configurationStamp) {
+				fPartitions.clear();
+				fContents.clear();
+				fChecker= checker;
+				fConfigurationStamp= configurationStamp;
+			}
+			fCheckModificationCount= fModificationCount;
+			fGeneration++;
+			fReusedCount= 0;
+			fCheckedCount= 0;
+		}
+	}
+
+	/**
+	 * Ends a check and forgets the partitions inside the checked regions that no longer exist.
+	 *
+	 * @param regions the checked regions
+	 */
+	void endCheck(IRegion[] regions) {
+		synchronized (fLock) {
+			if (fCheckModificationCount != fModificationCount)
+				return;
+			Iterator<CachedPartition> iter= fPartitions.values().iterator();
+			while (iter.hasNext()) {
+				CachedPartition partition= iter.next();
+				if (partition.fGeneration != fGeneration && isInside(partition, regions))
+					iter.remove();
+			}
+		}
+	}
+
+	private static boolean isInside(CachedPartition partition, IRegion[] regions) {
+		for (IRegion region : regions) {
+			if (partition.fOffset >= region.getOffset() && partition.getEnd() <= region.getOffset() + region.getLength())
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Spell checks the given partition. Cached results are replayed if the partition is unchanged,
+	 * otherwise the partition is checked and its results are cached.
+	 *
+	 * @param document the document
+	 * @param partition the partition to check
+	 * @param checker the spell checker
+	 * @param listener the listener to report the spell events to
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 * @throws BadLocationException if the partition is not inside the document
+	 */
+	void check(IDocument document, ITypedRegion partition, ISpellChecker checker, SpellEventListener listener, IProgressMonitor monitor) throws BadLocationException {
+		int offset= partition.getOffset();
+		CachedEvent[] events= null;
+		ContentKey key= null;
+		synchronized (fLock) {
+			CachedPartition cached= fPartitions.get(Integer.valueOf(offset));
+			if (cached != null && cached.fKey.length() == partition.getLength() && cached.fKey.type().equals(partition.getType())) {
+				cached.fGeneration= fGeneration;
+				events= cached.fEvents;
+			}
+		}
+		if (events == null) {
+			key= new ContentKey(partition.getType(), partition.getLength(), hash(document.get(offset, partition.getLength())));
+			synchronized (fLock) {
+				events= fContents.get(key);
+			}
+		}
+
+		if (events != null) {
+			synchronized (fLock) {
+				fReusedCount++;
+				if (key != null && fCheckModificationCount == fModificationCount)
+					fPartitions.put(Integer.valueOf(offset), new CachedPartition(key, events, offset, fGeneration));
+			}
+			replay(events, offset, checker, listener);
+			return;
+		}
+
+		RecordingSpellEventListener recorder= new RecordingSpellEventListener(listener, offset);
+		checker.execute(recorder, new SpellCheckIterator(document, partition, checker.getLocale(), monitor));
+		synchronized (fLock) {
+			fCheckedCount++;
+		}
+		if (listener.isProblemsThresholdReached() || monitor != null && monitor.isCanceled())
+			return; // the results might be incomplete
+
+		events= recorder.getEvents();
+		if (events.length == 0)
+			events= NO_EVENTS;
+		synchronized (fLock) {
+			if (fCheckModificationCount != fModificationCount || fChecker != checker)
+				return; // the results might not match the content
+			fContents.put(key, events);
+			fPartitions.put(Integer.valueOf(offset), new CachedPartition(key, events, offset, fGeneration));
+		}
+	}
+
+	private static void replay(CachedEvent[] events, int offset, ISpellChecker checker, SpellEventListener listener) {
+		for (CachedEvent event : events) {
+			if (listener.isProblemsThresholdReached())
+				return;
+			if (!event.match() && checker.isCorrect(event.word()))
+				continue; // added to a dictionary or ignored in the meantime
+			listener.handle(new ReplayedSpellEvent(checker, event, offset));
+		}
+	}
+
+	/**
+	 * Computes a 64-bit FNV-1a hash of the given content.
+	 *
+	 * @param content the content
+	 * @return the hash
+	 */
+	private static long hash(String content) {
+		long hash= 0xcbf29ce484222325L;
+		for (int i= 0; i < content.length(); i++) {
+			hash^= content.charAt(i);
+			hash*= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the number of partitions whose results have been reused by the last check.
+	 *
+	 * @return the number of reused partitions
+	 */
+	public int getReusedPartitionCount() {
+		synchronized (fLock) {
+			return fReusedCount;
+		}
+	}
+
+	/**
+	 * Returns the number of partitions that have been spell checked by the last check.
+	 *
+	 * @return the number of checked partitions
+	 */
+	public int getCheckedPartitionCount() {
+		synchronized (fLock) {
+			return fCheckedCount;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.TextUtilities;
 
 import org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector;
+import org.eclipse.ui.texteditor.spelling.SpellingContext;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.IJavaPartitions;
@@ -43,9 +44,20 @@ public class JavaSpellingEngine extends SpellingEngine {
 	 */
 	@Override
 	protected void check(IDocument document, IRegion[] regions, ISpellChecker checker, ISpellingProblemCollector collector, IProgressMonitor monitor) {
+		check(document, regions, null, checker, collector, monitor);
+	}
+
+	/*
+	 * @see org.eclipse.jdt.internal.ui.text.spelling.SpellingEngine#check(org.eclipse.jface.text.IDocument, org.eclipse.jface.text.IRegion[], org.eclipse.ui.texteditor.spelling.SpellingContext, org.eclipse.jdt.internal.ui.text.spelling.engine.ISpellChecker, org.eclipse.ui.texteditor.spelling.ISpellingProblemCollector, org.eclipse.core.runtime.IProgressMonitor)
+	 */
+	@Override
+	protected void check(IDocument document, IRegion[] regions, SpellingContext context, ISpellChecker checker, ISpellingProblemCollector collector, IProgressMonitor monitor) {
 		SpellEventListener listener= new SpellEventListener(collector, document);
 		boolean isIgnoringJavaStrings= PreferenceConstants.getPreferenceStore().getBoolean(PreferenceConstants.SPELLING_IGNORE_JAVA_STRINGS);
+		IncrementalSpellingContext cache= context instanceof IncrementalSpellingContext ? (IncrementalSpellingContext) context : null;
 		try {
+			if (cache != null)
+				cache.beginCheck(checker);
 			for (IRegion region : regions) {
 				for (ITypedRegion partition : TextUtilities.computePartitioning(document, IJavaPartitions.JAVA_PARTITIONING, region.getOffset(), region.getLength(), false)) {
 					if (monitor != null && monitor.isCanceled())
@@ -55,10 +67,16 @@ public class JavaSpellingEngine extends SpellingEngine {
 					final String type= partition.getType();
 					if (isIgnoringJavaStrings && (IJavaPartitions.JAVA_STRING.equals(type) || IJavaPartitions.JAVA_MULTI_LINE_STRING.equals(type)))
 						continue;
-					if (!IDocument.DEFAULT_CONTENT_TYPE.equals(type) && !IJavaPartitions.JAVA_CHARACTER.equals(type))
-						checker.execute(listener, new SpellCheckIterator(document, partition, checker.getLocale(), monitor));
+					if (!IDocument.DEFAULT_CONTENT_TYPE.equals(type) && !IJavaPartitions.JAVA_CHARACTER.equals(type)) {
+						if (cache != null)
+							cache.check(document, partition, checker, listener, monitor);
+						else
+							checker.execute(listener, new SpellCheckIterator(document, partition, checker.getLocale(), monitor));
+					}
 				}
 			}
+			if (cache != null)
+				cache.endCheck(regions);
 		} catch (BadLocationException | AssertionFailedException x) {
 			// ignore: the document has been changed in another thread and will be checked again
 		}
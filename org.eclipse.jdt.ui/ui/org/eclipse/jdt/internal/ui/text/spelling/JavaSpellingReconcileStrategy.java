@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.spelling;
 
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentType;
 
@@ -112,6 +113,21 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	/** The problem requester. */
 	private IProblemRequestor fRequestor;
 
+	/**
+	 * The spelling context that caches the results of unchanged partitions.
+	 */
+	private final IncrementalSpellingContext fSpellingContext;
+
+	/**
+	 * The spelling problem collector.
+	 */
+	private ISpellingProblemCollector fSpellingProblemCollector;
+
+	/**
+	 * The progress monitor.
+	 */
+	private IProgressMonitor fProgressMonitor;
+
 
 	/**
 	 * Creates a new comment reconcile strategy.
@@ -122,6 +138,8 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	public JavaSpellingReconcileStrategy(ISourceViewer viewer, ITextEditor editor) {
 		super(viewer, EditorsUI.getSpellingService());
 		fEditor= editor;
+		fSpellingContext= new IncrementalSpellingContext();
+		fSpellingContext.setContentType(getContentType());
 	}
 
 	/*
@@ -129,8 +147,17 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	 */
 	@Override
 	public void reconcile(IRegion region) {
-		if (fRequestor != null && isSpellingEnabled())
-			super.reconcile(region);
+		if (fRequestor != null && isSpellingEnabled() && getAnnotationModel() != null)
+			EditorsUI.getSpellingService().check(getDocument(), new IRegion[] { region }, fSpellingContext, fSpellingProblemCollector, fProgressMonitor);
+	}
+
+	/*
+	 * @see org.eclipse.ui.texteditor.spelling.SpellingReconcileStrategy#setProgressMonitor(org.eclipse.core.runtime.IProgressMonitor)
+	 */
+	@Override
+	public void setProgressMonitor(IProgressMonitor monitor) {
+		super.setProgressMonitor(monitor);
+		fProgressMonitor= monitor;
 	}
 
 	private boolean isSpellingEnabled() {
@@ -161,9 +188,19 @@ public class JavaSpellingReconcileStrategy extends SpellingReconcileStrategy {
 	@Override
 	public void setDocument(IDocument document) {
 		super.setDocument(document);
+		fSpellingContext.connect(document);
+		fSpellingProblemCollector= createSpellingProblemCollector();
 		updateProblemRequester();
 	}
 
+	/**
+	 * Disposes this strategy. The spelling context stops tracking the changes of the document and
+	 * discards its cached results.
+	 */
+	public void dispose() {
+		fSpellingContext.disconnect();
+	}
+
 	/**
 	 * Update the problem requester based on the current editor
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
@@ -65,6 +66,11 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	/** The singleton engine instance */
 	private static ISpellCheckEngine fgEngine= null;
 
+	/**
+	 * Incremented whenever a spelling preference changes.
+	 */
+	private static final AtomicInteger fgConfigurationStamp= new AtomicInteger();
+
 	/**
 	 * Caches the locales of installed dictionaries.
 	 *
@@ -226,6 +232,17 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 		return null;
 	}
 
+	/**
+	 * Returns a stamp that changes whenever a spelling preference changes, e.g. the options
+	 * controlling which words are ignored. Results of earlier checks that were computed with a
+	 * different stamp may be outdated.
+	 *
+	 * @return the configuration stamp
+	 */
+	public static int getConfigurationStamp() {
+		return fgConfigurationStamp.get();
+	}
+
 	/**
 	 * Returns the singleton instance of the spell check engine.
 	 *
@@ -369,6 +386,9 @@ public class SpellCheckEngine implements ISpellCheckEngine, IPropertyChangeListe
 	 */
 	@Override
 	public final void propertyChange(final PropertyChangeEvent event) {
+		if (event.getProperty().startsWith("spelling_")) //$NON-NLS-1$
+			fgConfigurationStamp.incrementAndGet();
+
 		if (PreferenceConstants.SPELLING_LOCALE.equals(event.getProperty())) {
 			resetSpellChecker();
 			return;
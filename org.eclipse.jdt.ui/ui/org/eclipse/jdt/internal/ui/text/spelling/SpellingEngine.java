@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -92,10 +92,28 @@ public abstract class SpellingEngine implements ISpellingEngine {
 			final ISpellCheckEngine spellingEngine= SpellCheckEngine.getInstance();
 			ISpellChecker checker= spellingEngine.getSpellChecker();
 			if (checker != null)
-				check(document, regions, checker, collector, monitor);
+				check(document, regions, context, checker, collector, monitor);
 		}
 	}
 
+	/**
+	 * Spell checks the given document regions with the given arguments.
+	 * <p>
+	 * The default implementation ignores the context, subclasses may use it to reuse results of
+	 * previous checks.
+	 * </p>
+	 *
+	 * @param document the document
+	 * @param regions the regions
+	 * @param context the spelling context
+	 * @param checker the spell checker
+	 * @param collector the spelling problem collector
+	 * @param monitor the progress monitor, can be <code>null</code>
+	 */
+	protected void check(IDocument document, IRegion[] regions, SpellingContext context, ISpellChecker checker, ISpellingProblemCollector collector, IProgressMonitor monitor) {
+		check(document, regions, checker, collector, monitor);
+	}
+
 	/**
 	 * Spell checks the given document regions with the given arguments.
 	 *
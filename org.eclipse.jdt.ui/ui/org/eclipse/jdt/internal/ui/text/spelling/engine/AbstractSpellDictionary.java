@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2025 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,24 +14,24 @@
 package org.eclipse.jdt.internal.ui.text.spelling.engine;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.charset.MalformedInputException;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -50,49 +50,17 @@ import org.eclipse.jdt.internal.ui.JavaUIMessages;
 
 /**
  * Partial implementation of a spell dictionary.
+ * <p>
+ * The words loaded from the word list are kept in an immutable {@link CompactSpellDictionary}
+ * which is read without locking. Words hashed after the word list has been loaded are kept in a
+ * concurrent overlay. Subclasses can provide a {@linkplain #getCacheFile() cache file} to which
+ * the compact dictionary is written and from which it is read on subsequent loads.
+ * </p>
  *
  * @since 3.0
  */
 public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
-	/**
-	 * Byte array wrapper
-	 * @since 3.6
-	 */
-	private static class ByteArrayWrapper {
-
-		private byte[] byteArray;
-
-		public ByteArrayWrapper(byte[] byteArray) {
-			this.byteArray= byteArray;
-		}
-		@Override
-		public int hashCode() {
-			return 31 + Arrays.hashCode(byteArray);
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj)
-				return true;
-			if (obj == null)
-				return false;
-			if (!(obj instanceof ByteArrayWrapper))
-				return false;
-			ByteArrayWrapper other= (ByteArrayWrapper)obj;
-			if (!Arrays.equals(byteArray, other.byteArray))
-				return false;
-			return true;
-		}
-	}
-
-
-	/**
-	 * Canonical name for UTF-8 encoding
-	 * @since 3.6
-	 */
-	private static final String UTF_8= "UTF-8"; //$NON-NLS-1$
-
 	/** The bucket capacity */
 	protected static final int BUCKET_CAPACITY= 4;
 
@@ -111,19 +79,32 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	/** The phonetic distance algorithm */
 	private IPhoneticDistanceAlgorithm fDistanceAlgorithm= new DefaultPhoneticDistanceAlgorithm();
 
-	/** The mapping from phonetic hashes to word lists */
-	private final Map<ByteArrayWrapper, Object> fHashBuckets= new HashMap<>(getInitialSize(), LOAD_FACTOR);
+	/**
+	 * The words of the loaded word list.
+	 */
+	private volatile CompactSpellDictionary fDictionary= CompactSpellDictionary.EMPTY;
+
+	/**
+	 * The builder for the word list that is currently being loaded, only accessed while holding
+	 * the lock on this dictionary.
+	 */
+	private CompactSpellDictionary.Builder fBuilder;
+
+	/**
+	 * The mapping from phonetic hashes to the words hashed outside of loading the word list.
+	 */
+	private final Map<String, Set<String>> fAddedWords= new ConcurrentHashMap<>();
 
 	/** The phonetic hash provider */
 	private IPhoneticHashProvider fHashProvider= new DefaultPhoneticHashProvider();
 
 	/** Is the dictionary already loaded? */
-	private boolean fLoaded= false;
+	private volatile boolean fLoaded= false;
 	/**
 	 * Must the dictionary be loaded?
 	 * @since 3.2
 	 */
-	private boolean fMustLoad= true;
+	private volatile boolean fMustLoad= true;
 
 	/**
 	 * Tells whether to strip non-letters at word boundaries.
@@ -146,17 +127,15 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *
 	 * @param hash
 	 *                   The hash to retrieve the candidates of
-	 * @return Array of candidates for the phonetic hash
+	 * @return List of candidates for the phonetic hash, empty if there are none
 	 */
-	protected final Object getCandidates(final String hash) {
-		ByteArrayWrapper hashBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return null;
-		}
-		return fHashBuckets.get(hashBytes);
+	protected final List<String> getCandidates(final String hash) {
+		final List<String> candidates= new ArrayList<>(BUCKET_CAPACITY);
+		fDictionary.getWords(hash, candidates);
+		final Set<String> added= fAddedWords.get(hash);
+		if (added != null)
+			candidates.addAll(added);
+		return candidates;
 	}
 
 	/**
@@ -172,54 +151,20 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *                   Array of close hashes to find the matches
 	 * @return Set of ranked words with bounded distance to the specified word
 	 */
-	@SuppressWarnings("unchecked")
 	protected final Set<RankedWordProposal> getCandidates(final String word, final boolean sentence, final ArrayList<String> hashs) {
 
 		int distance= 0;
-		String hash= null;
 
 		final StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
 		final HashSet<RankedWordProposal> result= new HashSet<>(BUCKET_CAPACITY * hashs.size());
 
-		for (String hash2 : hashs) {
-
-			hash= hash2;
-
-			ArrayList<byte[]> candidateList;
-			synchronized(fHashBuckets) {
-				final Object candidates= getCandidates(hash);
-				if (candidates == null)
-					continue;
-				else if (candidates instanceof byte[]) {
-					String candidate;
-					try {
-						candidate= new String((byte[])candidates, UTF_8);
-					} catch (UnsupportedEncodingException e) {
-						JavaPlugin.log(e);
-						return result;
-					}
-					distance= fDistanceAlgorithm.getDistance(word, candidate);
-					if (distance < DISTANCE_THRESHOLD) {
-						buffer.setLength(0);
-						buffer.append(candidate);
-						if (sentence)
-							buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-						result.add(new RankedWordProposal(buffer.toString(), -distance));
-					}
-					continue;
-				}
-				candidateList= new ArrayList<>((ArrayList<byte[]>)candidates);
-			}
+		for (String hash : hashs) {
+
+			final List<String> candidateList= getCandidates(hash);
 			int candidateSize= Math.min(500, candidateList.size()); // see https://bugs.eclipse.org/bugs/show_bug.cgi?id=195357
 			for (int offset= 0; offset < candidateSize; offset++) {
 
-				String candidate;
-				try {
-					candidate= new String(candidateList.get(offset), UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return result;
-				}
+				final String candidate= candidateList.get(offset);
 				distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 				if (distance < DISTANCE_THRESHOLD) {
@@ -250,46 +195,16 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 *                   Set of ranked words with smallest possible distance to the
 	 *                   specified word
 	 */
-	@SuppressWarnings("unchecked")
 	protected final void getCandidates(final String word, final boolean sentence, final Set<RankedWordProposal> result) {
 
 		int distance= 0;
 		int minimum= Integer.MAX_VALUE;
 
 		StringBuilder buffer= new StringBuilder(BUFFER_CAPACITY);
-		ArrayList<byte[]> candidateList;
-		synchronized(fHashBuckets) {
-			final Object candidates= getCandidates(fHashProvider.getHash(word));
-			if (candidates == null)
-				return;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return;
-				}
-				distance= fDistanceAlgorithm.getDistance(word, candidate);
-				buffer.append(candidate);
-				if (sentence)
-					buffer.setCharAt(0, Character.toUpperCase(buffer.charAt(0)));
-				result.add(new RankedWordProposal(buffer.toString(), -distance));
-				return;
-			}
-
-			candidateList= new ArrayList<>((ArrayList<byte[]>)candidates);
-		}
+		final List<String> candidateList= getCandidates(fHashProvider.getHash(word));
 		final ArrayList<RankedWordProposal> matches= new ArrayList<>(candidateList.size());
 
-		for (byte[] element : candidateList) {
-			String candidate;
-			try {
-				candidate= new String(element, UTF_8);
-			} catch (UnsupportedEncodingException e) {
-				JavaPlugin.log(e);
-				return;
-			}
+		for (String candidate : candidateList) {
 			distance= fDistanceAlgorithm.getDistance(word, candidate);
 
 			if (distance <= minimum) {
@@ -318,7 +233,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 * @since 3.3
 	 */
 	protected boolean isEmpty() {
-		return fHashBuckets.isEmpty();
+		return fDictionary.isEmpty() && fAddedWords.isEmpty();
 	}
 
 	/**
@@ -341,20 +256,7 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 
 	@Override
 	public Set<RankedWordProposal> getProposals(final String word, final boolean sentence) {
-
-		try {
-
-			if (!fLoaded) {
-				synchronized (this) {
-					fLoaded= load(getURL());
-					if (fLoaded)
-						compact();
-				}
-			}
-
-		} catch (MalformedURLException exception) {
-			// Do nothing
-		}
+		ensureLoaded();
 
 		final String hash= fHashProvider.getHash(word);
 		final char[] mutators= fHashProvider.getMutators();
@@ -458,6 +360,41 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	 */
 	protected abstract URL getURL() throws MalformedURLException;
 
+	/**
+	 * Returns the file in which the compact form of the loaded word list is cached.
+	 * <p>
+	 * The default implementation returns <code>null</code>, i.e. the word list is not cached.
+	 * Subclasses whose word list does not change between sessions can return a file; it will be
+	 * read instead of the word list as long as the word list is unchanged.
+	 * </p>
+	 *
+	 * @return the cache file, or <code>null</code> if the word list must not be cached
+	 */
+	protected File getCacheFile() {
+		return null;
+	}
+
+	/**
+	 * Returns the key identifying the content of the given word list, or <code>null</code> if
+	 * the word list cannot be identified.
+	 *
+	 * @param url the URL of the word list
+	 * @return the key of the word list
+	 */
+	private String getSourceKey(final URL url) {
+		try {
+			URLConnection connection= url.openConnection();
+			long lastModified= connection.getLastModified();
+			long length= connection.getContentLengthLong();
+			connection.getInputStream().close();
+			if (lastModified <= 0 || length < 0)
+				return null;
+			return url + "|" + getEncoding() + "|" + fHashProvider.getClass().getName() + "|" + lastModified + "|" + length; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		} catch (IOException exception) {
+			return null;
+		}
+	}
+
 	/**
 	 * Hashes the word into the dictionary.
 	 *
@@ -467,87 +404,43 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	protected final void hashWord(final String word) {
 
 		final String hash= fHashProvider.getHash(word);
-		ByteArrayWrapper hashBytes;
-		byte[] wordBytes;
-		try {
-			hashBytes= new ByteArrayWrapper(hash.getBytes(UTF_8));
-			wordBytes= word.getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return;
-		}
-
-		synchronized(fHashBuckets) {
-			Object bucket= fHashBuckets.get(hashBytes);
-
-			if (bucket == null) {
-				fHashBuckets.put(hashBytes, wordBytes);
-			} else if (bucket instanceof ArrayList) {
-				@SuppressWarnings("unchecked")
-				ArrayList<byte[]> bucketList= (ArrayList<byte[]>)bucket;
-				bucketList.add(wordBytes);
-			} else {
-				ArrayList<Object> list= new ArrayList<>(BUCKET_CAPACITY);
-				list.add(bucket);
-				list.add(wordBytes);
-				fHashBuckets.put(hashBytes, list);
-			}
-		}
+		if (Thread.holdsLock(this) && fBuilder != null)
+			fBuilder.add(hash, word);
+		else
+			fAddedWords.computeIfAbsent(hash, h -> ConcurrentHashMap.newKeySet()).add(word);
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public boolean isCorrect(String word) {
 		word= stripNonLetters(word);
-		try {
+		ensureLoaded();
 
-			if (!fLoaded) {
-				synchronized (this) {
-					fLoaded= load(getURL());
-					if (fLoaded)
-						compact();
-				}
-			}
+		final String hash= fHashProvider.getHash(word);
+		final String lowercaseWord= word.toLowerCase();
+		final CompactSpellDictionary dictionary= fDictionary;
+		if (dictionary.contains(hash, word) || dictionary.contains(hash, lowercaseWord))
+			return true;
 
-		} catch (MalformedURLException exception) {
-			// Do nothing
-		}
+		final Set<String> added= fAddedWords.get(hash);
+		return added != null && (added.contains(word) || added.contains(lowercaseWord));
+	}
 
-		ArrayList<byte[]> candidateList;
-		Object candidates;
-		synchronized(fHashBuckets) {
-			candidates= getCandidates(fHashProvider.getHash(word));
-			if (candidates == null)
-				return false;
-			else if (candidates instanceof byte[]) {
-				String candidate;
-				try {
-					candidate= new String((byte[])candidates, UTF_8);
-				} catch (UnsupportedEncodingException e) {
-					JavaPlugin.log(e);
-					return false;
-				}
-				if (candidate.equals(word) || candidate.equals(word.toLowerCase()))
-					return true;
-				return false;
-			}
-			candidateList= new ArrayList<>((ArrayList<byte[]>)candidates);
-		}
-		byte[] wordBytes;
-		byte[] lowercaseWordBytes;
-		try {
-			wordBytes= word.getBytes(UTF_8);
-			lowercaseWordBytes= word.toLowerCase().getBytes(UTF_8);
-		} catch (UnsupportedEncodingException e) {
-			JavaPlugin.log(e);
-			return false;
-		}
-		for (byte[] candidate : candidateList) {
-			if (Arrays.equals(candidate, wordBytes) || Arrays.equals(candidate, lowercaseWordBytes)) {
-				return true;
+	/**
+	 * Loads the word list unless this has already been done. Once loaded, no lock is taken.
+	 */
+	private void ensureLoaded() {
+		if (fLoaded || !fMustLoad)
+			return;
+
+		synchronized (this) {
+			if (fLoaded)
+				return;
+			try {
+				fLoaded= load(getURL());
+			} catch (MalformedURLException exception) {
+				// Do nothing
 			}
 		}
-		return false;
 	}
 
 	@Override
@@ -583,8 +476,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	}
 
 	@Override
-	public synchronized final boolean isLoaded() {
-		return fLoaded || fHashBuckets.size() > 0;
+	public final boolean isLoaded() {
+		return fLoaded || !isEmpty();
 	}
 
 	/**
@@ -599,90 +492,119 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 		 if (!fMustLoad)
 			 return fLoaded;
 
-		if (url != null) {
-			InputStream stream= null;
-			int line= 0;
+		if (url == null)
+			return false;
+
+		final File cacheFile= getCacheFile();
+		final String sourceKey= cacheFile != null ? getSourceKey(url) : null;
+		if (sourceKey != null) {
 			try {
-				stream= url.openStream();
-				if (stream != null) {
-					String word= null;
-
-					// Setup a reader with a decoder in order to read over malformed input if needed.
-					CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
-					decoder.onMalformedInput(CodingErrorAction.REPORT);
-					decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
-					try (final BufferedReader reader= new BufferedReader(new InputStreamReader(stream, decoder))) {
-
-						boolean doRead= true;
-						while (doRead) {
-							try {
-								word= reader.readLine();
-							} catch (MalformedInputException ex) {
-								// Tell the decoder to replace malformed input in order to read the line.
-								decoder.onMalformedInput(CodingErrorAction.REPLACE);
-								decoder.reset();
-								word= reader.readLine();
-								decoder.onMalformedInput(CodingErrorAction.REPORT);
-
-								String message= Messages.format(JavaUIMessages.AbstractSpellingDictionary_encodingError,
-										new String[] { word, decoder.replacement(), BasicElementLabels.getURLPart(url.toString()) });
-								IStatus status= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.OK, message, ex);
-								JavaPlugin.log(status);
-
-								doRead= word != null;
-								continue;
-							}
-							doRead= word != null;
-							if (doRead)
-								hashWord(word);
-						}
-					}
+				final CompactSpellDictionary cached= CompactSpellDictionary.read(cacheFile, sourceKey);
+				if (cached != null) {
+					fDictionary= cached;
+					fMustLoad= false;
 					return true;
 				}
-			} catch (FileNotFoundException ex) {
-				String urlString= url.toString();
-				String lowercaseUrlString= urlString.toLowerCase();
-				if (urlString.equals(lowercaseUrlString))
-					JavaPlugin.log(ex);
-				else
-					try {
-						return load(new URL(lowercaseUrlString));
-					} catch (MalformedURLException e) {
-						JavaPlugin.log(e);
-					}
 			} catch (IOException exception) {
-				if (line > 0) {
-					String message= Messages.format(JavaUIMessages.AbstractSpellingDictionary_encodingError, new Object[] { Integer.valueOf(line), BasicElementLabels.getURLPart(url.toString()) });
-					IStatus status= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.OK, message, exception);
-					JavaPlugin.log(status);
-				} else
-					JavaPlugin.log(exception);
-			} finally {
-				fMustLoad= false;
-				try {
-					if (stream != null)
-						stream.close();
-				} catch (IOException x) {
-				}
+				JavaPlugin.log(exception);
 			}
 		}
-		return false;
+
+		boolean loaded= false;
+		fBuilder= new CompactSpellDictionary.Builder(getInitialSize());
+		try {
+			loaded= readWords(url);
+		} finally {
+			fMustLoad= false;
+			// publish what has been read, even if the word list could only partially be read
+			fDictionary= fBuilder.build();
+			fBuilder= null;
+		}
+
+		if (loaded && sourceKey != null) {
+			try {
+				fDictionary.write(cacheFile, sourceKey);
+			} catch (IOException exception) {
+				JavaPlugin.log(exception);
+			}
+		}
+		return loaded;
 	}
 
 	/**
-	 * Compacts the dictionary.
+	 * Reads the word list from the given URL and hashes its words.
 	 *
-	 * @since 3.3.
+	 * @param url
+	 *                   The URL of the word list to read
+	 * @return <code>true</code> iff the word list could be read, <code>false</code>
+	 *               otherwise
 	 */
-	private void compact() {
-		synchronized(fHashBuckets) {
-			Iterator<Object> iter= fHashBuckets.values().iterator();
-			while (iter.hasNext()) {
-				Object element= iter.next();
-				if (element instanceof ArrayList)
-					((ArrayList<?>)element).trimToSize();
+	private boolean readWords(final URL url) {
+		InputStream stream= null;
+		int line= 0;
+		try {
+			stream= url.openStream();
+			if (stream != null) {
+				String word= null;
+
+				// Setup a reader with a decoder in order to read over malformed input if needed.
+				CharsetDecoder decoder= Charset.forName(getEncoding()).newDecoder();
+				decoder.onMalformedInput(CodingErrorAction.REPORT);
+				decoder.onUnmappableCharacter(CodingErrorAction.REPORT);
+				try (final BufferedReader reader= new BufferedReader(new InputStreamReader(stream, decoder))) {
+
+					boolean doRead= true;
+					while (doRead) {
+						try {
+							word= reader.readLine();
+						} catch (MalformedInputException ex) {
+							// Tell the decoder to replace malformed input in order to read the line.
+							decoder.onMalformedInput(CodingErrorAction.REPLACE);
+							decoder.reset();
+							word= reader.readLine();
+							decoder.onMalformedInput(CodingErrorAction.REPORT);
+
+							String message= Messages.format(JavaUIMessages.AbstractSpellingDictionary_encodingError,
+									new String[] { word, decoder.replacement(), BasicElementLabels.getURLPart(url.toString()) });
+							IStatus status= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.OK, message, ex);
+							JavaPlugin.log(status);
+
+							doRead= word != null;
+							continue;
+						}
+						doRead= word != null;
+						if (doRead)
+							hashWord(word);
+					}
+				}
+				return true;
+			}
+		} catch (FileNotFoundException ex) {
+			String urlString= url.toString();
+			String lowercaseUrlString= urlString.toLowerCase();
+			if (urlString.equals(lowercaseUrlString))
+				JavaPlugin.log(ex);
+			else
+				try {
+					return readWords(new URL(lowercaseUrlString));
+				} catch (MalformedURLException e) {
+					JavaPlugin.log(e);
+				}
+		} catch (IOException exception) {
+			if (line > 0) {
+				String message= Messages.format(JavaUIMessages.AbstractSpellingDictionary_encodingError, new Object[] { Integer.valueOf(line), BasicElementLabels.getURLPart(url.toString()) });
+				IStatus status= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.OK, message, exception);
+				JavaPlugin.log(status);
+			} else
+				JavaPlugin.log(exception);
+		} finally {
+			try {
+				if (stream != null)
+					stream.close();
+			} catch (IOException x) {
 			}
 		}
+		return false;
 	}
 
 	/**
@@ -709,9 +631,8 @@ public abstract class AbstractSpellDictionary implements ISpellDictionary {
 	public synchronized void unload() {
 		fLoaded= false;
 		fMustLoad= true;
-		synchronized(fHashBuckets) {
-			fHashBuckets.clear();
-		}
+		fDictionary= CompactSpellDictionary.EMPTY;
+		fAddedWords.clear();
 	}
 
 	@Override
@@ -0,0 +1,394 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.spelling.engine;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compact representation of the words of a spell dictionary, keyed by phonetic hash.
+ * <p>
+ * All hashes and words are stored UTF-8 encoded in a single {@link ByteBuffer}: the hashes are
+ * sorted and located by binary search, each hash refers to the contiguous range of its words.
+ * The buffer is never modified after construction and is only accessed with absolute reads, so
+ * lookups are lock-free and may be performed concurrently.
+ * </p>
+ * <p>
+ * The buffer can be written to a file and read again later into a direct buffer, which avoids
+ * parsing the word list and keeps the words outside of the Java heap. The file is not mapped, so
+ * it can be rewritten or deleted while the dictionary is in use.
+ * </p>
+ * <p>
+ * Layout of the data (all integers are big-endian):
+ * </p>
+ * <pre>
+ * int hashCount, int wordCount, int hashBytesLength, int wordBytesLength
+ * int[hashCount + 1] hashOffsets  (into hashBytes)
+ * int[hashCount + 1] bucketStarts (into wordOffsets)
+ * int[wordCount + 1] wordOffsets  (into wordBytes)
+ * byte[hashBytesLength] hashBytes
+ * byte[wordBytesLength] wordBytes
+ * </pre>
+ */
+public final class CompactSpellDictionary {
+
+	/**
+	 * Collects the words of a dictionary and builds the compact representation.
+	 * <p>
+	 * Builders are not thread-safe.
+	 * </p>
+	 */
+	public static final class Builder {
+
+		/** The mapping from phonetic hashes to UTF-8 encoded words, in insertion order */
+		private final Map<String, List<byte[]>> fBuckets;
+
+		/** The number of words added so far */
+		private int fWordCount;
+
+		/** The number of bytes of all added words */
+		private int fWordBytesLength;
+
+		/**
+		 * Creates a new builder.
+		 *
+		 * @param initialSize the expected number of distinct hashes
+		 */
+		public Builder(int initialSize) {
+			fBuckets= new HashMap<>(Math.max(16, initialSize));
+		}
+
+		/**
+		 * Adds a word to the dictionary.
+		 *
+		 * @param hash the phonetic hash of the word
+		 * @param word the word to add
+		 */
+		public void add(String hash, String word) {
+			byte[] wordBytes= word.getBytes(StandardCharsets.UTF_8);
+			fBuckets.computeIfAbsent(hash, h -> new ArrayList<>(BUCKET_CAPACITY)).add(wordBytes);
+			fWordCount++;
+			fWordBytesLength+= wordBytes.length;
+		}
+
+		/**
+		 * Builds the compact dictionary from the words added so far.
+		 *
+		 * @return the compact dictionary
+		 */
+		public CompactSpellDictionary build() {
+			int hashCount= fBuckets.size();
+			byte[][] hashes= new byte[hashCount][];
+			int hashBytesLength= 0;
+			int i= 0;
+			for (String hash : fBuckets.keySet()) {
+				hashes[i]= hash.getBytes(StandardCharsets.UTF_8);
+				hashBytesLength+= hashes[i].length;
+				i++;
+			}
+			Arrays.sort(hashes, Arrays::compareUnsigned);
+
+			int hashOffsetsStart= HEADER_SIZE;
+			int bucketStartsStart= hashOffsetsStart + (hashCount + 1) * Integer.BYTES;
+			int wordOffsetsStart= bucketStartsStart + (hashCount + 1) * Integer.BYTES;
+			int hashBytesStart= wordOffsetsStart + (fWordCount + 1) * Integer.BYTES;
+			int wordBytesStart= hashBytesStart + hashBytesLength;
+
+			ByteBuffer data= ByteBuffer.allocate(wordBytesStart + fWordBytesLength);
+			data.putInt(0, hashCount);
+			data.putInt(4, fWordCount);
+			data.putInt(8, hashBytesLength);
+			data.putInt(12, fWordBytesLength);
+
+			int hashOffset= 0;
+			int wordIndex= 0;
+			int wordOffset= 0;
+			for (int h= 0; h < hashCount; h++) {
+				byte[] hash= hashes[h];
+				data.putInt(hashOffsetsStart + h * Integer.BYTES, hashOffset);
+				data.put(hashBytesStart + hashOffset, hash);
+				hashOffset+= hash.length;
+
+				data.putInt(bucketStartsStart + h * Integer.BYTES, wordIndex);
+				for (byte[] word : fBuckets.get(new String(hash, StandardCharsets.UTF_8))) {
+					data.putInt(wordOffsetsStart + wordIndex * Integer.BYTES, wordOffset);
+					data.put(wordBytesStart + wordOffset, word);
+					wordOffset+= word.length;
+					wordIndex++;
+				}
+			}
+			data.putInt(hashOffsetsStart + hashCount * Integer.BYTES, hashOffset);
+			data.putInt(bucketStartsStart + hashCount * Integer.BYTES, wordIndex);
+			data.putInt(wordOffsetsStart + fWordCount * Integer.BYTES, wordOffset);
+
+			return new CompactSpellDictionary(data);
+		}
+	}
+
+	/** The initial capacity of a bucket while building */
+	private static final int BUCKET_CAPACITY= 4;
+
+	/** The size of the data header */
+	private static final int HEADER_SIZE= 4 * Integer.BYTES;
+
+	/** Magic number of dictionary files ("JSPD") */
+	private static final int FILE_MAGIC= 0x4A535044;
+
+	/** Version of the dictionary file format */
+	private static final int FILE_VERSION= 1;
+
+	/** The empty dictionary */
+	public static final CompactSpellDictionary EMPTY= new Builder(0).build();
+
+	/** The encoded dictionary */
+	private final ByteBuffer fData;
+
+	private final int fHashCount;
+	private final int fWordCount;
+	private final int fBucketStartsStart;
+	private final int fWordOffsetsStart;
+	private final int fHashBytesStart;
+	private final int fWordBytesStart;
+
+	private CompactSpellDictionary(ByteBuffer data) {
+		fData= data;
+		fHashCount= data.getInt(0);
+		fWordCount= data.getInt(4);
+		fBucketStartsStart= HEADER_SIZE + (fHashCount + 1) * Integer.BYTES;
+		fWordOffsetsStart= fBucketStartsStart + (fHashCount + 1) * Integer.BYTES;
+		fHashBytesStart= fWordOffsetsStart + (fWordCount + 1) * Integer.BYTES;
+		fWordBytesStart= fHashBytesStart + data.getInt(8);
+	}
+
+	/**
+	 * Returns the number of words in this dictionary.
+	 *
+	 * @return the number of words
+	 */
+	public int getWordCount() {
+		return fWordCount;
+	}
+
+	/**
+	 * Returns the number of distinct phonetic hashes in this dictionary.
+	 *
+	 * @return the number of hashes
+	 */
+	public int getHashCount() {
+		return fHashCount;
+	}
+
+	/**
+	 * Tells whether this dictionary is empty.
+	 *
+	 * @return <code>true</code> if this dictionary does not contain any word
+	 */
+	public boolean isEmpty() {
+		return fWordCount == 0;
+	}
+
+	/**
+	 * Returns the number of bytes used by the encoded dictionary.
+	 *
+	 * @return the size of the data in bytes
+	 */
+	public int getDataSize() {
+		return fData.capacity();
+	}
+
+	/**
+	 * Tells whether the data of this dictionary lives outside of the Java heap, i.e. has been
+	 * read from a file.
+	 *
+	 * @return <code>true</code> if the data is in a direct buffer
+	 */
+	public boolean isDirect() {
+		return fData.isDirect();
+	}
+
+	/**
+	 * Returns all words with the given phonetic hash, in the order in which they have been added.
+	 *
+	 * @param hash the phonetic hash
+	 * @param result the list to which the words are added
+	 */
+	public void getWords(String hash, List<String> result) {
+		int index= indexOf(hash.getBytes(StandardCharsets.UTF_8));
+		if (index < 0)
+			return;
+		int end= bucketStart(index + 1);
+		for (int word= bucketStart(index); word < end; word++) {
+			int start= wordOffset(word);
+			byte[] bytes= new byte[wordOffset(word + 1) - start];
+			fData.get(fWordBytesStart + start, bytes);
+			result.add(new String(bytes, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Tells whether the given word is stored with the given phonetic hash.
+	 *
+	 * @param hash the phonetic hash of the word
+	 * @param word the word to look up
+	 * @return <code>true</code> if the dictionary contains the word
+	 */
+	public boolean contains(String hash, String word) {
+		int index= indexOf(hash.getBytes(StandardCharsets.UTF_8));
+		if (index < 0)
+			return false;
+		byte[] wordBytes= word.getBytes(StandardCharsets.UTF_8);
+		int end= bucketStart(index + 1);
+		for (int candidate= bucketStart(index); candidate < end; candidate++) {
+			int start= wordOffset(candidate);
+			if (wordOffset(candidate + 1) - start == wordBytes.length && compare(fWordBytesStart + start, wordBytes.length, wordBytes) == 0)
+				return true;
+		}
+		return false;
+	}
+
+	private int indexOf(byte[] hash) {
+		int low= 0;
+		int high= fHashCount - 1;
+		while (low <= high) {
+			int mid= (low + high) >>> 1;
+			int start= fData.getInt(HEADER_SIZE + mid * Integer.BYTES);
+			int length= fData.getInt(HEADER_SIZE + (mid + 1) * Integer.BYTES) - start;
+			int cmp= compare(fHashBytesStart + start, length, hash);
+			if (cmp < 0)
+				low= mid + 1;
+			else if (cmp > 0)
+				high= mid - 1;
+			else
+				return mid;
+		}
+		return -1;
+	}
+
+	private int compare(int position, int length, byte[] bytes) {
+		int common= Math.min(length, bytes.length);
+		for (int i= 0; i < common; i++) {
+			int cmp= Byte.compareUnsigned(fData.get(position + i), bytes[i]);
+			if (cmp != 0)
+				return cmp;
+		}
+		return length - bytes.length;
+	}
+
+	private int bucketStart(int index) {
+		return fData.getInt(fBucketStartsStart + index * Integer.BYTES);
+	}
+
+	private int wordOffset(int index) {
+		return fData.getInt(fWordOffsetsStart + index * Integer.BYTES);
+	}
+
+	/**
+	 * Writes this dictionary to the given file. The file is replaced atomically if the file system
+	 * supports it.
+	 *
+	 * @param file the file to write
+	 * @param sourceKey the key identifying the source of the words, see {@link #read(File, String)}
+	 * @throws IOException if the file could not be written
+	 */
+	public void write(File file, String sourceKey) throws IOException {
+		byte[] key= sourceKey.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer header= ByteBuffer.allocate(3 * Integer.BYTES + key.length);
+		header.putInt(FILE_MAGIC).putInt(FILE_VERSION).putInt(key.length).put(key).flip();
+
+		Path target= file.toPath();
+		Files.createDirectories(target.getParent());
+		Path temp= Files.createTempFile(target.getParent(), file.getName(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (FileChannel channel= FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer data= fData.duplicate().clear();
+				while (header.hasRemaining())
+					channel.write(header);
+				while (data.hasRemaining())
+					channel.write(data);
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Reads a dictionary that has been written with {@link #write(File, String)} into a direct
+	 * buffer. No mapping of the file is kept, so that it can be replaced while the dictionary is
+	 * alive.
+	 *
+	 * @param file the file to read
+	 * @param sourceKey the key identifying the source of the words
+	 * @return the dictionary, or <code>null</code> if the file does not exist, has an unknown
+	 *         format or has been written for a different source key
+	 * @throws IOException if the file could not be read
+	 */
+	public static CompactSpellDictionary read(File file, String sourceKey) throws IOException {
+		if (!file.isFile())
+			return null;
+
+		byte[] key= sourceKey.getBytes(StandardCharsets.UTF_8);
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			int dataStart= 3 * Integer.BYTES + key.length;
+			if (size < dataStart + HEADER_SIZE || size > Integer.MAX_VALUE)
+				return null;
+
+			ByteBuffer buffer= ByteBuffer.allocateDirect((int) size);
+			while (buffer.hasRemaining()) {
+				if (channel.read(buffer) < 0)
+					return null;
+			}
+			buffer.clear();
+			if (buffer.getInt(0) != FILE_MAGIC || buffer.getInt(4) != FILE_VERSION || buffer.getInt(8) != key.length)
+				return null;
+			byte[] storedKey= new byte[key.length];
+			buffer.get(12, storedKey);
+			if (!Arrays.equals(key, storedKey))
+				return null;
+
+			ByteBuffer data= buffer.slice(dataStart, (int) size - dataStart);
+			if (!isValid(data))
+				return null;
+			return new CompactSpellDictionary(data);
+		}
+	}
+
+	private static boolean isValid(ByteBuffer data) {
+		long hashCount= data.getInt(0);
+		long wordCount= data.getInt(4);
+		long hashBytesLength= data.getInt(8);
+		long wordBytesLength= data.getInt(12);
+		if (hashCount < 0 || wordCount < 0 || hashBytesLength < 0 || wordBytesLength < 0)
+			return false;
+		long expected= HEADER_SIZE + (2 * (hashCount + 1) + wordCount + 1) * Integer.BYTES + hashBytesLength + wordBytesLength;
+		return expected == data.capacity();
+	}
+}